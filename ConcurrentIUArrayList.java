@@ -0,0 +1,696 @@
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+
+/**
+ * Thread-safe array-based implementation of IndexedUnsortedList, laid out
+ * like IUArrayList: elements in [0, rear) of a backing array that grows
+ * and shrinks as decided by a GrowthPolicy.
+ *
+ * Every mutation holds the write lock of a StampedLock. get(), size(),
+ * isEmpty(), first(), last(), contains() and indexOf() take no lock at
+ * all: they read the array and size under an optimistic stamp and only
+ * if a writer got in meanwhile do they repeat the read under the read
+ * lock. Readers therefore never block each other, or write to shared
+ * memory.
+ *
+ * Each method is atomic, including the bulk operations addAll(),
+ * removeIf(), removeAll(), retainAll() and removeRange(), which make
+ * their whole change under one write lock. Filters and the argument of
+ * removeAll()/retainAll() run under that lock too, so they must not use
+ * this list. Sequences of calls, and iteration, are not atomic. The
+ * Iterator is fail-fast like IUArrayList's: it throws
+ * ConcurrentModificationException once any other change is made.
+ * ListIterator is unsupported. Elements are matched by identity (==).
+ *
+ * @author Morgan Zabriskie
+ *
+ * @param <T> type to store
+ */
+public class ConcurrentIUArrayList<T> implements IndexedUnsortedList<T> {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private final StampedLock lock = new StampedLock();
+    // written only under the write lock; read optimistically
+    private T[] array;
+    private int rear;
+    private int modCount;
+    private final GrowthPolicy growthPolicy;
+    private final int minimumCapacity;
+
+    /** Creates an empty list with default initial capacity */
+    public ConcurrentIUArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list with the given initial capacity
+     *
+     * @param initialCapacity
+     */
+    public ConcurrentIUArrayList(int initialCapacity) {
+        this(initialCapacity, GrowthPolicy.doubling());
+    }
+
+    /**
+     * Creates an empty list with the given initial capacity that resizes
+     * according to the given policy. Automatic shrinking never takes the
+     * capacity below initialCapacity.
+     *
+     * @param initialCapacity
+     * @param growthPolicy
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentIUArrayList(int initialCapacity, GrowthPolicy growthPolicy) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must not be negative: " + initialCapacity);
+        }
+        array = (T[]) (new Object[initialCapacity]);
+        rear = 0;
+        modCount = 0;
+        this.growthPolicy = growthPolicy;
+        this.minimumCapacity = initialCapacity;
+    }
+
+    /** Grow array, as the growth policy decides, if it has no free slot. Write lock held. */
+    private void expandCapacity() {
+        if (rear == array.length) {
+            array = Arrays.copyOf(array, growthPolicy.grow(array.length, rear + 1));
+        }
+    }
+
+    /** Give back capacity, as the growth policy decides, after a removal. Write lock held. */
+    private void shrinkCapacity() {
+        int newCapacity = Math.max(growthPolicy.shrink(array.length, rear), Math.max(rear, minimumCapacity));
+        if (newCapacity < array.length) {
+            array = Arrays.copyOf(array, newCapacity);
+        }
+    }
+
+    /**
+     * Insert element at index, which is in [0, rear]. Write lock held.
+     *
+     * @param index
+     * @param element
+     */
+    private void insertAt(int index, T element) {
+        expandCapacity();
+        System.arraycopy(array, index, array, index + 1, rear - index);
+        array[index] = element;
+        rear++;
+        modCount++;
+    }
+
+    /**
+     * Insert items[0, count) at index, which is in [0, rear], growing the
+     * array at most once. Write lock held.
+     *
+     * @param index
+     * @param items
+     * @param count
+     */
+    @SuppressWarnings("unchecked")
+    private void insertAll(int index, Object[] items, int count) {
+        if (count == 0) {
+            return;
+        }
+        if (rear + count > array.length) {
+            array = Arrays.copyOf(array, growthPolicy.grow(array.length, rear + count));
+        }
+        System.arraycopy(array, index, array, index + count, rear - index);
+        for (int i = 0; i < count; i++) {
+            array[index + i] = (T) items[i];
+        }
+        rear += count;
+        modCount++;
+    }
+
+    /**
+     * Remove every element that satisfies filter. All elements are tested
+     * before any is moved, so a filter that throws leaves the list as it
+     * was. Write lock held.
+     *
+     * @param filter
+     * @return true if any element was removed
+     */
+    private boolean removeMatching(Predicate<? super T> filter) {
+        long[] removed = null;
+        for (int i = 0; i < rear; i++) {
+            if (filter.test(array[i])) {
+                if (removed == null) {
+                    removed = new long[(rear + 63) >>> 6];
+                }
+                removed[i >>> 6] |= 1L << i;
+            }
+        }
+        if (removed == null) {
+            return false;
+        }
+        int kept = 0;
+        for (int i = 0; i < rear; i++) {
+            if ((removed[i >>> 6] & (1L << i)) == 0) {
+                array[kept++] = array[i];
+            }
+        }
+        Arrays.fill(array, kept, rear, null);
+        rear = kept;
+        modCount++;
+        shrinkCapacity();
+        return true;
+    }
+
+    /**
+     * Remove the element at index, which is in [0, rear). Write lock held.
+     *
+     * @param index
+     * @return the removed element
+     */
+    private T removeAt(int index) {
+        T element = array[index];
+        System.arraycopy(array, index + 1, array, index, rear - index - 1);
+        rear--;
+        array[rear] = null;
+        modCount++;
+        shrinkCapacity();
+        return element;
+    }
+
+    /**
+     * Position of the first element of elements[0, size) that is target.
+     * Safe on a torn optimistic read: never indexes past the array.
+     *
+     * @param elements
+     * @param size
+     * @param target
+     * @return index of the match, or -1
+     */
+    private static int find(Object[] elements, int size, Object target) {
+        int end = Math.min(size, elements.length);
+        for (int i = 0; i < end; i++) {
+            if (elements[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copy the elements of an Iterable into an exactly sized array before
+     * the write lock is taken, so iterating elements never runs under it
+     *
+     * @param elements
+     * @return array of the elements in iteration order
+     */
+    private static Object[] toArray(Iterable<?> elements) {
+        Object[] items = new Object[(elements instanceof IndexedUnsortedList)
+                ? ((IndexedUnsortedList<?>) elements).size() : DEFAULT_CAPACITY];
+        int count = 0;
+        for (Object element : elements) {
+            if (count == items.length) {
+                items = Arrays.copyOf(items, Math.max(DEFAULT_CAPACITY, count << 1));
+            }
+            items[count++] = element;
+        }
+        return (count == items.length) ? items : Arrays.copyOf(items, count);
+    }
+
+    /**
+     * Membership test for removeAll() and retainAll() that is safe to run
+     * under this list's write lock. Another ConcurrentIUArrayList is read
+     * into an identity set first, under its own read lock only, so two
+     * lists never hold each other's locks; other lists are asked directly.
+     *
+     * @param elements any list but this one
+     * @return test for membership in elements
+     */
+    private static <E> Predicate<E> membership(IndexedUnsortedList<E> elements) {
+        if (elements instanceof ConcurrentIUArrayList) {
+            ConcurrentIUArrayList<E> other = (ConcurrentIUArrayList<E>) elements;
+            Set<Object> members = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+            long stamp = other.lock.readLock();
+            try {
+                for (int i = 0; i < other.rear; i++) {
+                    members.add(other.array[i]);
+                }
+            } finally {
+                other.lock.unlockRead(stamp);
+            }
+            return members::contains;
+        }
+        return elements::contains;
+    }
+
+    @Override
+    public void addToFront(T element) {
+        long stamp = lock.writeLock();
+        try {
+            insertAt(0, element);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void addToRear(T element) {
+        add(element);
+    }
+
+    @Override
+    public void add(T element) {
+        long stamp = lock.writeLock();
+        try {
+            insertAt(rear, element);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void addAfter(T element, T target) {
+        long stamp = lock.writeLock();
+        try {
+            int targetLocation = find(array, rear, target);
+            if (targetLocation == -1) {
+                throw new NoSuchElementException();
+            } else {
+                insertAt(targetLocation + 1, element);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void add(int index, T element) {
+        long stamp = lock.writeLock();
+        try {
+            if ((index < 0) || (index > rear)) {
+                throw new IndexOutOfBoundsException();
+            } else {
+                insertAt(index, element);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void addAll(T[] elements) {
+        long stamp = lock.writeLock();
+        try {
+            insertAll(rear, elements, elements.length);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void addAll(Iterable<? extends T> elements) {
+        Object[] items = (elements == this) ? null : toArray(elements);
+        long stamp = lock.writeLock();
+        try {
+            if (items == null) {
+                items = Arrays.copyOf(array, rear);
+            }
+            insertAll(rear, items, items.length);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void addAll(int index, T[] elements) {
+        long stamp = lock.writeLock();
+        try {
+            if ((index < 0) || (index > rear)) {
+                throw new IndexOutOfBoundsException();
+            } else {
+                insertAll(index, elements, elements.length);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void addAll(int index, Iterable<? extends T> elements) {
+        Object[] items = (elements == this) ? null : toArray(elements);
+        long stamp = lock.writeLock();
+        try {
+            if ((index < 0) || (index > rear)) {
+                throw new IndexOutOfBoundsException();
+            } else {
+                if (items == null) {
+                    items = Arrays.copyOf(array, rear);
+                }
+                insertAll(index, items, items.length);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        long stamp = lock.writeLock();
+        try {
+            return removeMatching(filter);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean removeAll(IndexedUnsortedList<T> elements) {
+        Predicate<T> member = (elements == this) ? element -> true : membership(elements);
+        long stamp = lock.writeLock();
+        try {
+            return removeMatching(member);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean retainAll(IndexedUnsortedList<T> elements) {
+        Predicate<T> member = (elements == this) ? element -> true : membership(elements);
+        long stamp = lock.writeLock();
+        try {
+            return removeMatching(member.negate());
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        long stamp = lock.writeLock();
+        try {
+            if ((fromIndex < 0) || (toIndex > rear) || (fromIndex > toIndex)) {
+                throw new IndexOutOfBoundsException();
+            } else if (fromIndex < toIndex) {
+                System.arraycopy(array, toIndex, array, fromIndex, rear - toIndex);
+                int newRear = rear - (toIndex - fromIndex);
+                Arrays.fill(array, newRear, rear, null);
+                rear = newRear;
+                modCount++;
+                shrinkCapacity();
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public T removeFirst() {
+        long stamp = lock.writeLock();
+        try {
+            if (rear == 0) {
+                throw new NoSuchElementException();
+            } else {
+                return removeAt(0);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public T removeLast() {
+        long stamp = lock.writeLock();
+        try {
+            if (rear == 0) {
+                throw new NoSuchElementException();
+            } else {
+                return removeAt(rear - 1);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public T remove(T element) {
+        long stamp = lock.writeLock();
+        try {
+            int elementLocation = find(array, rear, element);
+            if (elementLocation == -1) {
+                throw new NoSuchElementException();
+            } else {
+                return removeAt(elementLocation);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public T remove(int index) {
+        long stamp = lock.writeLock();
+        try {
+            if ((index < 0) || (index >= rear)) {
+                throw new IndexOutOfBoundsException();
+            } else {
+                return removeAt(index);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void set(int index, T element) {
+        long stamp = lock.writeLock();
+        try {
+            if ((index < 0) || (index >= rear)) {
+                throw new IndexOutOfBoundsException();
+            } else {
+                array[index] = element;
+                modCount++;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public T get(int index) {
+        long stamp = lock.tryOptimisticRead();
+        T[] elements = array;
+        int size = rear;
+        T element = (index >= 0 && index < size && index < elements.length) ? elements[index] : null;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                size = rear;
+                element = (index >= 0 && index < size) ? array[index] : null;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException();
+        }
+        return element;
+    }
+
+    @Override
+    public int indexOf(T element) {
+        long stamp = lock.tryOptimisticRead();
+        int location = find(array, rear, element);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                location = find(array, rear, element);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return location;
+    }
+
+    @Override
+    public T first() {
+        long stamp = lock.tryOptimisticRead();
+        T[] elements = array;
+        int size = rear;
+        T element = (size > 0 && elements.length > 0) ? elements[0] : null;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                size = rear;
+                element = (size > 0) ? array[0] : null;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return element;
+    }
+
+    @Override
+    public T last() {
+        long stamp = lock.tryOptimisticRead();
+        T[] elements = array;
+        int size = rear;
+        T element = (size > 0 && size <= elements.length) ? elements[size - 1] : null;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                size = rear;
+                element = (size > 0) ? array[size - 1] : null;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return element;
+    }
+
+    @Override
+    public boolean contains(T target) {
+        return indexOf(target) != -1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int size = rear;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                size = rear;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        long stamp = lock.readLock();
+        try {
+            if (rear == 0) {
+                return "[ ]";
+            } else {
+                StringBuilder returnVal = new StringBuilder("[");
+                for (int i = 0; i < rear; i++) {
+                    returnVal.append(array[i]);
+                    returnVal.append((i == (rear - 1)) ? "]" : ", ");
+                }
+                return returnVal.toString();
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        long stamp = lock.readLock();
+        try {
+            return new ConcurrentIterator(modCount);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public ListIterator<T> listIterator() {
+        throw new UnsupportedOperationException("Unimplemented method 'listIterator'");
+    }
+
+    @Override
+    public ListIterator<T> listIterator(int startingIndex) {
+        throw new UnsupportedOperationException("Unimplemented method 'listIterator'");
+    }
+
+    /**
+     * Private inner class for iterators in the ConcurrentIUArrayList
+     * class. Each call takes the lock it needs, so an iterator may be
+     * used from any thread, one thread at a time.
+     *
+     * @author Morgan Zabriskie
+     */
+    private class ConcurrentIterator implements Iterator<T> {
+
+        // instance variables
+        private boolean nextCalled = false;
+        private int index = 0;
+        private int iterModCount;
+
+        public ConcurrentIterator(int modCount) {
+            this.iterModCount = modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            long stamp = lock.readLock();
+            try {
+                if (modCount != iterModCount) {
+                    throw new ConcurrentModificationException();
+                } else {
+                    return index < rear;
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @Override
+        public T next() {
+            long stamp = lock.readLock();
+            try {
+                if (modCount != iterModCount) {
+                    throw new ConcurrentModificationException();
+                } else if (index >= rear) {
+                    throw new NoSuchElementException();
+                } else {
+                    T next = array[index];
+                    index++;
+                    nextCalled = true;
+                    return next;
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @Override
+        public void remove() {
+            long stamp = lock.writeLock();
+            try {
+                if (modCount != iterModCount) {
+                    throw new ConcurrentModificationException();
+                } else if (!nextCalled) {
+                    throw new IllegalStateException();
+                } else {
+                    index--;
+                    removeAt(index);
+                    iterModCount = modCount;
+                    nextCalled = false;
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+    }
+}
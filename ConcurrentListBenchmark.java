@@ -0,0 +1,155 @@
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput comparison of ConcurrentIUArrayList against an IUArrayList
+ * behind a single monitor, the usual way to share a list between threads.
+ *
+ * Each thread runs a read-mostly mix on a 1000-element list for a fixed
+ * time: 99% get(), 1% contains(), and one thread also adds and removes
+ * at the rear once in every 1000 operations, so the optimistic reads of
+ * ConcurrentIUArrayList are sometimes invalidated. Every configuration
+ * is run three times and only the last, warmed-up round is reported.
+ *
+ * Usage: java ConcurrentListBenchmark [maxThreads] [millisPerRound]
+ *
+ * @author Morgan Zabriskie
+ */
+public final class ConcurrentListBenchmark {
+
+    private static final int SIZE = 1000;
+    private static final int ROUNDS = 3;
+
+    private ConcurrentListBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark for 1, 2, 4, ... threads up to maxThreads
+     *
+     * @param args optional maxThreads (default: available processors) and
+     *             millisPerRound (default: 1000)
+     * @throws InterruptedException if interrupted while waiting for workers
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = (args.length > 0) ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        long millis = (args.length > 1) ? Long.parseLong(args[1]) : 1000;
+        Integer[] values = new Integer[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            values[i] = i;
+        }
+        System.out.printf("%d processors, %d ms per round%n", Runtime.getRuntime().availableProcessors(), millis);
+        for (int threads = 1; threads <= maxThreads; threads <<= 1) {
+            ConcurrentIUArrayList<Integer> concurrent = new ConcurrentIUArrayList<Integer>();
+            concurrent.addAll(values);
+            SynchronizedList<Integer> synchronizedList = new SynchronizedList<Integer>();
+            synchronizedList.addAll(values);
+            report("ConcurrentIUArrayList", threads, run(concurrent, values, threads, millis));
+            report("synchronized IUArrayList", threads, run(synchronizedList, values, threads, millis));
+        }
+    }
+
+    /**
+     * Run ROUNDS rounds of the mix on list and return the operations per
+     * second of the last
+     *
+     * @param list
+     * @param values
+     * @param threads
+     * @param millis
+     * @return operations per second
+     * @throws InterruptedException
+     */
+    private static double run(IndexedUnsortedList<Integer> list, Integer[] values, int threads, long millis)
+            throws InterruptedException {
+        double opsPerSecond = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            LongAdder operations = new LongAdder();
+            LongAdder sink = new LongAdder();
+            AtomicBoolean stop = new AtomicBoolean();
+            Thread[] workers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                boolean writer = (t == 0);
+                workers[t] = new Thread(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    long done = 0;
+                    long seen = 0;
+                    while (!stop.get()) {
+                        for (int k = 0; k < 1000; k++) {
+                            int op = random.nextInt(1000);
+                            if (op == 0 && writer) {
+                                list.add(values[0]);
+                                list.removeLast();
+                            } else if (op < 10) {
+                                seen += list.contains(values[random.nextInt(SIZE)]) ? 1 : 0;
+                            } else {
+                                seen += list.get(random.nextInt(SIZE));
+                            }
+                        }
+                        done += 1000;
+                    }
+                    operations.add(done);
+                    sink.add(seen);
+                });
+            }
+            long start = System.nanoTime();
+            for (Thread worker : workers) {
+                worker.start();
+            }
+            Thread.sleep(millis);
+            stop.set(true);
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            opsPerSecond = operations.sum() / ((System.nanoTime() - start) / 1e9);
+        }
+        return opsPerSecond;
+    }
+
+    /**
+     * Print one result line
+     *
+     * @param name
+     * @param threads
+     * @param opsPerSecond
+     */
+    private static void report(String name, int threads, double opsPerSecond) {
+        System.out.printf("%-26s threads=%-3d %8.1f M ops/s%n", name, threads, opsPerSecond / 1e6);
+    }
+
+    /**
+     * IUArrayList with every operation used by the benchmark guarded by
+     * this object's monitor
+     *
+     * @author Morgan Zabriskie
+     *
+     * @param <T> type to store
+     */
+    private static final class SynchronizedList<T> extends IUArrayList<T> {
+
+        @Override
+        public synchronized void add(T element) {
+            super.add(element);
+        }
+
+        @Override
+        public synchronized void addAll(T[] elements) {
+            super.addAll(elements);
+        }
+
+        @Override
+        public synchronized T removeLast() {
+            return super.removeLast();
+        }
+
+        @Override
+        public synchronized T get(int index) {
+            return super.get(index);
+        }
+
+        @Override
+        public synchronized boolean contains(T target) {
+            return super.contains(target);
+        }
+    }
+}
@@ -0,0 +1,454 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Copy-on-write implementation of IndexedUnsortedList for lists that are
+ * read far more often than they change. The elements live in an exactly
+ * sized array that is never modified once published through a volatile
+ * field: readers take no lock, and an Iterator walks the snapshot it
+ * started with, so it never throws ConcurrentModificationException.
+ *
+ * Every mutation copies the array under a lock and publishes the copy;
+ * the bulk operations addAll(), removeIf(), removeAll(), retainAll()
+ * and removeRange() build and publish a single copy. update() applies
+ * a whole batch of edits to one working copy and publishes it once, so
+ * readers never see the batch half done.
+ * Iterator remove() and ListIterator are unsupported. Elements are
+ * matched by identity (==).
+ *
+ * @author Morgan Zabriskie
+ *
+ * @param <T> type to store
+ */
+public class CopyOnWriteIUList<T> implements IndexedUnsortedList<T> {
+
+    private static final Object[] EMPTY = new Object[0];
+
+    // held by writers while they copy and publish
+    private final Object lock = new Object();
+    // never modified after publication
+    private volatile Object[] array;
+
+    /** Creates an empty list */
+    public CopyOnWriteIUList() {
+        array = EMPTY;
+    }
+
+    /**
+     * Position of the first element of elements that is target
+     *
+     * @param elements
+     * @param target
+     * @return index of the match, or -1
+     */
+    private static int find(Object[] elements, Object target) {
+        for (int i = 0; i < elements.length; i++) {
+            if (elements[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Publish a copy of the current array with element inserted at index.
+     * Lock held.
+     *
+     * @param index in [0, size]
+     * @param element
+     */
+    private void insertAt(int index, T element) {
+        Object[] current = array;
+        Object[] copy = new Object[current.length + 1];
+        System.arraycopy(current, 0, copy, 0, index);
+        copy[index] = element;
+        System.arraycopy(current, index, copy, index + 1, current.length - index);
+        array = copy;
+    }
+
+    /**
+     * Publish a copy of the current array with items inserted at index.
+     * Lock held.
+     *
+     * @param index in [0, size]
+     * @param items
+     */
+    private void insertAll(int index, Object[] items) {
+        if (items.length == 0) {
+            return;
+        }
+        Object[] current = array;
+        Object[] copy = new Object[current.length + items.length];
+        System.arraycopy(current, 0, copy, 0, index);
+        System.arraycopy(items, 0, copy, index, items.length);
+        System.arraycopy(current, index, copy, index + items.length, current.length - index);
+        array = copy;
+    }
+
+    /**
+     * Copy the elements of an Iterable into an exactly sized array before
+     * the lock is taken, so iterating elements never runs under it
+     *
+     * @param elements
+     * @return array of the elements in iteration order
+     */
+    private static Object[] toArray(Iterable<?> elements) {
+        Object[] items = new Object[(elements instanceof IndexedUnsortedList)
+                ? ((IndexedUnsortedList<?>) elements).size() : 10];
+        int count = 0;
+        for (Object element : elements) {
+            if (count == items.length) {
+                items = Arrays.copyOf(items, Math.max(10, count << 1));
+            }
+            items[count++] = element;
+        }
+        return (count == items.length) ? items : Arrays.copyOf(items, count);
+    }
+
+    /**
+     * Publish a copy of the current array without the element at index.
+     * Lock held.
+     *
+     * @param index in [0, size)
+     * @return the removed element
+     */
+    @SuppressWarnings("unchecked")
+    private T removeAt(int index) {
+        Object[] current = array;
+        Object[] copy = new Object[current.length - 1];
+        System.arraycopy(current, 0, copy, 0, index);
+        System.arraycopy(current, index + 1, copy, index, current.length - index - 1);
+        array = copy;
+        return (T) current[index];
+    }
+
+    /**
+     * Applies a batch of edits atomically. edits receives a private
+     * working copy of this list, with the full IndexedUnsortedList API;
+     * when it returns, the working copy is published as the new contents
+     * in a single step. Other writers wait until the batch is published;
+     * readers keep seeing the old contents until then. If edits throws,
+     * nothing is published.
+     *
+     * @param edits changes to make to the working copy
+     */
+    @SuppressWarnings("unchecked")
+    public void update(Consumer<? super IndexedUnsortedList<T>> edits) {
+        synchronized (lock) {
+            Object[] current = array;
+            IUArrayList<T> working = new IUArrayList<T>(current.length + (current.length >>> 1) + 1);
+            working.addAll((T[]) current);
+            edits.accept(working);
+            array = working.toArray();
+        }
+    }
+
+    @Override
+    public void addToFront(T element) {
+        synchronized (lock) {
+            insertAt(0, element);
+        }
+    }
+
+    @Override
+    public void addToRear(T element) {
+        add(element);
+    }
+
+    @Override
+    public void add(T element) {
+        synchronized (lock) {
+            insertAt(array.length, element);
+        }
+    }
+
+    @Override
+    public void addAfter(T element, T target) {
+        synchronized (lock) {
+            int targetLocation = find(array, target);
+            if (targetLocation == -1) {
+                throw new NoSuchElementException();
+            } else {
+                insertAt(targetLocation + 1, element);
+            }
+        }
+    }
+
+    @Override
+    public void add(int index, T element) {
+        synchronized (lock) {
+            if ((index < 0) || (index > array.length)) {
+                throw new IndexOutOfBoundsException();
+            } else {
+                insertAt(index, element);
+            }
+        }
+    }
+
+    @Override
+    public void addAll(T[] elements) {
+        synchronized (lock) {
+            insertAll(array.length, elements);
+        }
+    }
+
+    @Override
+    public void addAll(Iterable<? extends T> elements) {
+        // a snapshot of this list is its current array, taken under the lock
+        Object[] items = (elements == this) ? null : toArray(elements);
+        synchronized (lock) {
+            insertAll(array.length, (items == null) ? array : items);
+        }
+    }
+
+    @Override
+    public void addAll(int index, T[] elements) {
+        synchronized (lock) {
+            if ((index < 0) || (index > array.length)) {
+                throw new IndexOutOfBoundsException();
+            } else {
+                insertAll(index, elements);
+            }
+        }
+    }
+
+    @Override
+    public void addAll(int index, Iterable<? extends T> elements) {
+        Object[] items = (elements == this) ? null : toArray(elements);
+        synchronized (lock) {
+            if ((index < 0) || (index > array.length)) {
+                throw new IndexOutOfBoundsException();
+            } else {
+                insertAll(index, (items == null) ? array : items);
+            }
+        }
+    }
+
+    @Override
+    public T removeFirst() {
+        synchronized (lock) {
+            if (array.length == 0) {
+                throw new NoSuchElementException();
+            } else {
+                return removeAt(0);
+            }
+        }
+    }
+
+    @Override
+    public T removeLast() {
+        synchronized (lock) {
+            if (array.length == 0) {
+                throw new NoSuchElementException();
+            } else {
+                return removeAt(array.length - 1);
+            }
+        }
+    }
+
+    @Override
+    public T remove(T element) {
+        synchronized (lock) {
+            int elementLocation = find(array, element);
+            if (elementLocation == -1) {
+                throw new NoSuchElementException();
+            } else {
+                return removeAt(elementLocation);
+            }
+        }
+    }
+
+    @Override
+    public T remove(int index) {
+        synchronized (lock) {
+            if ((index < 0) || (index >= array.length)) {
+                throw new IndexOutOfBoundsException();
+            } else {
+                return removeAt(index);
+            }
+        }
+    }
+
+    /**
+     * Removes every element that satisfies filter, publishing one copy
+     * holding the survivors.
+     *
+     * @param filter returns true for elements to be removed
+     * @return true if any element was removed
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean removeIf(Predicate<? super T> filter) {
+        synchronized (lock) {
+            Object[] current = array;
+            Object[] survivors = new Object[current.length];
+            int count = 0;
+            for (Object element : current) {
+                if (!filter.test((T) element)) {
+                    survivors[count++] = element;
+                }
+            }
+            if (count == current.length) {
+                return false;
+            }
+            array = Arrays.copyOf(survivors, count);
+            return true;
+        }
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        synchronized (lock) {
+            Object[] current = array;
+            if ((fromIndex < 0) || (toIndex > current.length) || (fromIndex > toIndex)) {
+                throw new IndexOutOfBoundsException();
+            } else if (fromIndex < toIndex) {
+                Object[] copy = new Object[current.length - (toIndex - fromIndex)];
+                System.arraycopy(current, 0, copy, 0, fromIndex);
+                System.arraycopy(current, toIndex, copy, fromIndex, current.length - toIndex);
+                array = copy;
+            }
+        }
+    }
+
+    @Override
+    public void set(int index, T element) {
+        synchronized (lock) {
+            Object[] current = array;
+            if ((index < 0) || (index >= current.length)) {
+                throw new IndexOutOfBoundsException();
+            } else {
+                Object[] copy = current.clone();
+                copy[index] = element;
+                array = copy;
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Object[] elements = array;
+        if ((index < 0) || (index >= elements.length)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            return (T) elements[index];
+        }
+    }
+
+    @Override
+    public int indexOf(T element) {
+        return find(array, element);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T first() {
+        Object[] elements = array;
+        if (elements.length == 0) {
+            throw new NoSuchElementException();
+        } else {
+            return (T) elements[0];
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T last() {
+        Object[] elements = array;
+        if (elements.length == 0) {
+            throw new NoSuchElementException();
+        } else {
+            return (T) elements[elements.length - 1];
+        }
+    }
+
+    @Override
+    public boolean contains(T target) {
+        return find(array, target) != -1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return array.length == 0;
+    }
+
+    @Override
+    public int size() {
+        return array.length;
+    }
+
+    @Override
+    public String toString() {
+        Object[] elements = array;
+        if (elements.length == 0) {
+            return "[ ]";
+        } else {
+            StringBuilder returnVal = new StringBuilder("[");
+            for (int i = 0; i < elements.length; i++) {
+                returnVal.append(elements[i]);
+                returnVal.append((i == (elements.length - 1)) ? "]" : ", ");
+            }
+            return returnVal.toString();
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new SnapshotIterator(array);
+    }
+
+    @Override
+    public ListIterator<T> listIterator() {
+        throw new UnsupportedOperationException("Unimplemented method 'listIterator'");
+    }
+
+    @Override
+    public ListIterator<T> listIterator(int startingIndex) {
+        throw new UnsupportedOperationException("Unimplemented method 'listIterator'");
+    }
+
+    /**
+     * Private inner class for iterators in the CopyOnWriteIUList class.
+     * Walks the array that was published when it was created, ignoring
+     * later changes to the list.
+     *
+     * @author Morgan Zabriskie
+     */
+    private class SnapshotIterator implements Iterator<T> {
+
+        // instance variables
+        private final Object[] snapshot;
+        private int index = 0;
+
+        public SnapshotIterator(Object[] snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < snapshot.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            } else {
+                T next = (T) snapshot[index];
+                index++;
+                return next;
+            }
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove");
+        }
+    }
+}
@@ -0,0 +1,54 @@
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * Helper for releasing the native memory behind direct and mapped
+ * ByteBuffers immediately, instead of waiting for the garbage collector
+ * to run the buffer's cleaner. Falls back to leaving the buffer to the
+ * collector when the JDK does not expose sun.misc.Unsafe.invokeCleaner.
+ *
+ * @author Morgan Zabriskie
+ */
+final class DirectMemory {
+
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private DirectMemory() {
+    }
+
+    /**
+     * Frees the native memory of a direct (or mapped) buffer now. The
+     * buffer, and every view of it, must not be used afterwards.
+     *
+     * @param buffer direct buffer to free, ignored if it is a heap buffer
+     */
+    static void free(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect() || INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // duplicates and slices cannot be cleaned; leave them to the GC
+        }
+    }
+}
@@ -0,0 +1,653 @@
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Array-based list of double values, backed by a double[] so elements are
+ * stored without boxing. Operations mirror IndexedUnsortedList with
+ * primitive parameters and return types; remove-by-value is named
+ * removeElement() so it cannot be confused with remove(int index).
+ * Values are matched like Double.equals(), so NaN is found by indexOf()
+ * and 0.0 and -0.0 are distinct.
+ * Searches and the sum(), min(), max(), count() and countBetween()
+ * aggregates scan the primitive array directly (see ScanKernels), and
+ * parallelSort() is a parallel radix sort (see SortKernels).
+ * asList() provides a boxed IndexedUnsortedList view for existing callers.
+ *
+ * @author Morgan Zabriskie
+ */
+public class DoubleIUArrayList {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private double[] array;
+    private int rear;
+    private int modCount;
+    private final GrowthPolicy growthPolicy;
+    // automatic shrinking never goes below this; raised by ensureCapacity()
+    private int minimumCapacity;
+
+    /** Creates an empty list with default initial capacity */
+    public DoubleIUArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list with the given initial capacity
+     *
+     * @param initialCapacity
+     */
+    public DoubleIUArrayList(int initialCapacity) {
+        this(initialCapacity, GrowthPolicy.doubling());
+    }
+
+    /**
+     * Creates an empty list with the given initial capacity that resizes
+     * according to the given policy
+     *
+     * @param initialCapacity
+     * @param growthPolicy
+     */
+    public DoubleIUArrayList(int initialCapacity, GrowthPolicy growthPolicy) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must not be negative: " + initialCapacity);
+        }
+        array = new double[initialCapacity];
+        rear = 0;
+        modCount = 0;
+        this.growthPolicy = growthPolicy;
+        this.minimumCapacity = initialCapacity;
+    }
+
+    /** Grow array, as the growth policy decides, if it has no free slot */
+    private void expandCapacity() {
+        if (rear == array.length) {
+            array = Arrays.copyOf(array, growthPolicy.grow(array.length, rear + 1));
+        }
+    }
+
+    /** Give back capacity, as the growth policy decides, after a removal */
+    private void shrinkCapacity() {
+        int newCapacity = Math.max(growthPolicy.shrink(array.length, rear), Math.max(rear, minimumCapacity));
+        if (newCapacity < array.length) {
+            array = Arrays.copyOf(array, newCapacity);
+        }
+    }
+
+    /**
+     * Block-move the elements in [index, rear) by distance slots and
+     * record a single structural modification
+     *
+     * @param index    first element to move
+     * @param distance number of slots to move the block right (or left if negative)
+     */
+    private void shift(int index, int distance) {
+        System.arraycopy(array, index, array, index + distance, rear - index);
+        rear += distance;
+        modCount++;
+        if (distance < 0) {
+            shrinkCapacity();
+        }
+    }
+
+    /**
+     * Grows the backing array, if necessary, so it can hold at least
+     * minCapacity elements without further resizing. Automatic shrinking
+     * keeps at least this capacity until trimToSize() is called.
+     *
+     * @param minCapacity
+     */
+    public void ensureCapacity(int minCapacity) {
+        minimumCapacity = Math.max(minimumCapacity, minCapacity);
+        if (minCapacity > array.length) {
+            array = Arrays.copyOf(array, growthPolicy.grow(array.length, minCapacity));
+        }
+    }
+
+    /**
+     * Shrinks the backing array to exactly the current number of
+     * elements, and drops the floor on automatic shrinking set by the
+     * initial capacity and ensureCapacity()
+     */
+    public void trimToSize() {
+        minimumCapacity = 0;
+        if (rear < array.length) {
+            array = Arrays.copyOf(array, rear);
+        }
+    }
+
+    /**
+     * Returns the number of elements the backing array can hold before
+     * it has to grow.
+     *
+     * @return current capacity
+     */
+    public int capacity() {
+        return array.length;
+    }
+
+    /**
+     * Adds the specified element to the front of this list.
+     *
+     * @param element
+     */
+    public void addToFront(double element) {
+        expandCapacity();
+        shift(0, 1);
+        array[0] = element;
+    }
+
+    /**
+     * Adds the specified element to the rear of this list.
+     *
+     * @param element
+     */
+    public void addToRear(double element) {
+        expandCapacity();
+        array[rear] = element;
+        rear++;
+        modCount++;
+    }
+
+    /**
+     * Adds the specified element to the rear of this list.
+     *
+     * @param element
+     */
+    public void add(double element) {
+        addToRear(element);
+    }
+
+    /**
+     * Adds the specified element after the first element matching target.
+     *
+     * @param element
+     * @param target
+     * @throws NoSuchElementException if target is not in this list
+     */
+    public void addAfter(double element, double target) {
+        int targetLocation = indexOf(target);
+        if (targetLocation == -1) {
+            throw new NoSuchElementException();
+        } else {
+            expandCapacity();
+            shift(targetLocation + 1, 1);
+            array[targetLocation + 1] = element;
+        }
+    }
+
+    /**
+     * Inserts the specified element at the specified index.
+     *
+     * @param index
+     * @param element
+     * @throws IndexOutOfBoundsException if index < 0 || index > size
+     */
+    public void add(int index, double element) {
+        if ((index < 0) || (index > rear)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            expandCapacity();
+            shift(index, 1);
+            array[index] = element;
+        }
+    }
+
+    /**
+     * Removes and returns the first element from this list.
+     *
+     * @return the first element
+     * @throws NoSuchElementException if list is empty
+     */
+    public double removeFirst() {
+        if (rear == 0) {
+            throw new NoSuchElementException();
+        } else {
+            double element = array[0];
+            shift(1, -1);
+            return element;
+        }
+    }
+
+    /**
+     * Removes and returns the last element from this list.
+     *
+     * @return the last element
+     * @throws NoSuchElementException if list is empty
+     */
+    public double removeLast() {
+        if (rear == 0) {
+            throw new NoSuchElementException();
+        } else {
+            double element = array[rear - 1];
+            rear--;
+            modCount++;
+            shrinkCapacity();
+            return element;
+        }
+    }
+
+    /**
+     * Removes and returns the first element matching the given value.
+     *
+     * @param element
+     * @return the removed element
+     * @throws NoSuchElementException if element is not in this list
+     */
+    public double removeElement(double element) {
+        int elementLocation = indexOf(element);
+        if (elementLocation == -1) {
+            throw new NoSuchElementException();
+        } else {
+            double removed = array[elementLocation];
+            shift(elementLocation + 1, -1);
+            return removed;
+        }
+    }
+
+    /**
+     * Removes and returns the element at the specified index.
+     *
+     * @param index
+     * @return the removed element
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size
+     */
+    public double remove(int index) {
+        if ((index < 0) || (index >= rear)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            double element = array[index];
+            shift(index + 1, -1);
+            return element;
+        }
+    }
+
+    /**
+     * Replaces the element at the specified index.
+     *
+     * @param index
+     * @param element
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size
+     */
+    public void set(int index, double element) {
+        if ((index < 0) || (index >= rear)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            array[index] = element;
+            modCount++;
+        }
+    }
+
+    /**
+     * Returns the element at the specified index.
+     *
+     * @param index
+     * @return the element at index
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size
+     */
+    public double get(int index) {
+        if ((index < 0) || (index >= rear)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            return array[index];
+        }
+    }
+
+    /**
+     * Returns the index of the first element matching the given value.
+     *
+     * @param element
+     * @return index of element, or -1 if it is not in this list
+     */
+    public int indexOf(double element) {
+        return ScanKernels.indexOf(array, rear, element);
+    }
+
+    /**
+     * Returns the first element in this list.
+     *
+     * @return the first element
+     * @throws NoSuchElementException if list is empty
+     */
+    public double first() {
+        if (rear == 0) {
+            throw new NoSuchElementException();
+        } else {
+            return array[0];
+        }
+    }
+
+    /**
+     * Returns the last element in this list.
+     *
+     * @return the last element
+     * @throws NoSuchElementException if list is empty
+     */
+    public double last() {
+        if (rear == 0) {
+            throw new NoSuchElementException();
+        } else {
+            return array[rear - 1];
+        }
+    }
+
+    /**
+     * Returns true if this list contains the given value.
+     *
+     * @param target
+     * @return true if target is in this list
+     */
+    public boolean contains(double target) {
+        return indexOf(target) != -1;
+    }
+
+    /**
+     * Returns the sum of the elements, added in list order.
+     *
+     * @return sum of all elements, 0 if empty
+     */
+    public double sum() {
+        return ScanKernels.sum(array, rear);
+    }
+
+    /**
+     * Returns the smallest element, NaN if any element is NaN.
+     *
+     * @return minimum element
+     * @throws NoSuchElementException if list is empty
+     */
+    public double min() {
+        if (rear == 0) {
+            throw new NoSuchElementException();
+        } else {
+            return ScanKernels.min(array, rear);
+        }
+    }
+
+    /**
+     * Returns the largest element, NaN if any element is NaN.
+     *
+     * @return maximum element
+     * @throws NoSuchElementException if list is empty
+     */
+    public double max() {
+        if (rear == 0) {
+            throw new NoSuchElementException();
+        } else {
+            return ScanKernels.max(array, rear);
+        }
+    }
+
+    /**
+     * Returns the number of elements matching the given value.
+     *
+     * @param element
+     * @return number of occurrences
+     */
+    public int count(double element) {
+        return ScanKernels.count(array, rear, element);
+    }
+
+    /**
+     * Returns the number of elements in the range [low, high]. NaN is never counted.
+     *
+     * @param low  smallest value counted
+     * @param high largest value counted
+     * @return number of elements in range
+     */
+    public int countBetween(double low, double high) {
+        return ScanKernels.countBetween(array, rear, low, high);
+    }
+
+    /**
+     * Sorts the elements into ascending order with a dual-pivot quicksort. Like Arrays.sort(double[]), -0.0 sorts before 0.0 and NaNs sort last.
+     */
+    public void sort() {
+        Arrays.sort(array, 0, rear);
+        modCount++;
+    }
+
+    /**
+     * Sorts the elements into ascending order with a radix sort that runs
+     * its passes in parallel on the common ForkJoinPool (see SortKernels);
+     * short lists are sorted like sort(). Like Arrays.sort(double[]), -0.0 sorts before 0.0 and NaNs sort last.
+     */
+    public void parallelSort() {
+        SortKernels.radixSort(array, rear);
+        modCount++;
+    }
+
+    /**
+     * Returns true if this list contains no elements.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return rear == 0;
+    }
+
+    /**
+     * Returns the number of elements in this list.
+     *
+     * @return number of elements
+     */
+    public int size() {
+        return rear;
+    }
+
+    /**
+     * Returns a copy of the elements in this list.
+     *
+     * @return new array holding the elements in order
+     */
+    public double[] toArray() {
+        return Arrays.copyOf(array, rear);
+    }
+
+    @Override
+    public String toString() {
+        if (rear == 0) {
+            return "[ ]";
+        } else {
+            StringBuilder returnVal = new StringBuilder("[");
+            for (int i = 0; i < rear; i++) {
+                returnVal.append(array[i]);
+                returnVal.append((i == (rear - 1)) ? "]" : ", ");
+            }
+            return returnVal.toString();
+        }
+    }
+
+    /**
+     * Returns a fail-fast iterator that hands out elements without boxing
+     * through nextDouble().
+     *
+     * @return primitive iterator over this list
+     */
+    public PrimitiveIterator.OfDouble iterator() {
+        return new DoubleArrayIterator();
+    }
+
+    /**
+     * Returns a live IndexedUnsortedList view of this list. Elements are
+     * boxed on the way out and unboxed on the way in, so null elements
+     * are rejected with NullPointerException.
+     *
+     * @return boxed view backed by this list
+     */
+    public IndexedUnsortedList<Double> asList() {
+        return new BoxedView();
+    }
+
+    /**
+     * Private inner class for iterators in the DoubleIUArrayList class
+     *
+     * @author Morgan Zabriskie
+     */
+    private class DoubleArrayIterator implements PrimitiveIterator.OfDouble {
+
+        // instance variables
+        private boolean nextCalled = false;
+        private int index = 0;
+        private int iterModCount;
+
+        public DoubleArrayIterator() {
+            this.iterModCount = modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (modCount != iterModCount) {
+                throw new ConcurrentModificationException();
+            } else {
+                return index < rear;
+            }
+        }
+
+        @Override
+        public double nextDouble() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            } else {
+                nextCalled = true;
+                return array[index++];
+            }
+        }
+
+        @Override
+        public void remove() {
+            if (modCount != iterModCount) {
+                throw new ConcurrentModificationException();
+            } else if (!nextCalled) {
+                throw new IllegalStateException();
+            } else {
+                index--;
+                shift(index + 1, -1);
+                iterModCount = modCount;
+                nextCalled = false;
+            }
+        }
+    }
+
+    /**
+     * Boxed IndexedUnsortedList adapter over the enclosing DoubleIUArrayList
+     *
+     * @author Morgan Zabriskie
+     */
+    private class BoxedView implements IndexedUnsortedList<Double> {
+
+        @Override
+        public void addToFront(Double element) {
+            DoubleIUArrayList.this.addToFront(element);
+        }
+
+        @Override
+        public void addToRear(Double element) {
+            DoubleIUArrayList.this.addToRear(element);
+        }
+
+        @Override
+        public void add(Double element) {
+            DoubleIUArrayList.this.add((double) element);
+        }
+
+        @Override
+        public void addAfter(Double element, Double target) {
+            if (target == null) {
+                throw new NoSuchElementException();
+            }
+            DoubleIUArrayList.this.addAfter(element, target);
+        }
+
+        @Override
+        public void add(int index, Double element) {
+            DoubleIUArrayList.this.add(index, (double) element);
+        }
+
+        @Override
+        public Double removeFirst() {
+            return DoubleIUArrayList.this.removeFirst();
+        }
+
+        @Override
+        public Double removeLast() {
+            return DoubleIUArrayList.this.removeLast();
+        }
+
+        @Override
+        public Double remove(Double element) {
+            if (element == null) {
+                throw new NoSuchElementException();
+            }
+            return DoubleIUArrayList.this.removeElement(element);
+        }
+
+        @Override
+        public Double remove(int index) {
+            return DoubleIUArrayList.this.remove(index);
+        }
+
+        @Override
+        public void set(int index, Double element) {
+            DoubleIUArrayList.this.set(index, (double) element);
+        }
+
+        @Override
+        public Double get(int index) {
+            return DoubleIUArrayList.this.get(index);
+        }
+
+        @Override
+        public int indexOf(Double element) {
+            return (element == null) ? -1 : DoubleIUArrayList.this.indexOf(element);
+        }
+
+        @Override
+        public Double first() {
+            return DoubleIUArrayList.this.first();
+        }
+
+        @Override
+        public Double last() {
+            return DoubleIUArrayList.this.last();
+        }
+
+        @Override
+        public boolean contains(Double target) {
+            return (target != null) && DoubleIUArrayList.this.contains(target);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return DoubleIUArrayList.this.isEmpty();
+        }
+
+        @Override
+        public int size() {
+            return DoubleIUArrayList.this.size();
+        }
+
+        @Override
+        public String toString() {
+            return DoubleIUArrayList.this.toString();
+        }
+
+        @Override
+        public Iterator<Double> iterator() {
+            return DoubleIUArrayList.this.iterator();
+        }
+
+        @Override
+        public ListIterator<Double> listIterator() {
+            throw new UnsupportedOperationException("Unimplemented method 'listIterator'");
+        }
+
+        @Override
+        public ListIterator<Double> listIterator(int startingIndex) {
+            throw new UnsupportedOperationException("Unimplemented method 'listIterator'");
+        }
+    }
+}
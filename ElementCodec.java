@@ -0,0 +1,165 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts elements of type T to and from a variable-length binary form,
+ * for ListSerializer. Custom codecs implement write() and read(); the
+ * built-in codecs for Integer, Long, Double and String also carry a tag
+ * that lets ListSerializer take a bulk fast path and lets a reader check
+ * that it was handed the same codec the writer used.
+ *
+ * @author Morgan Zabriskie
+ *
+ * @param <T> type to encode
+ */
+public interface ElementCodec<T> {
+
+    /** Tag for codecs with no fast path */
+    public static final byte CUSTOM = 0;
+    /** Tag for ints() */
+    public static final byte INT = 1;
+    /** Tag for longs() */
+    public static final byte LONG = 2;
+    /** Tag for doubles() */
+    public static final byte DOUBLE = 3;
+    /** Tag for strings() */
+    public static final byte STRING = 4;
+
+    /**
+     * Writes one element.
+     *
+     * @param out     destination
+     * @param element element to encode
+     * @throws IOException if out cannot be written
+     */
+    public void write(DataOutput out, T element) throws IOException;
+
+    /**
+     * Reads one element written by write().
+     *
+     * @param in source
+     * @return decoded element
+     * @throws IOException if in cannot be read or ends early
+     */
+    public T read(DataInput in) throws IOException;
+
+    /**
+     * Returns the tag recorded in the stream header for this codec.
+     *
+     * @return CUSTOM unless this is one of the built-in codecs
+     */
+    public default byte tag() {
+        return CUSTOM;
+    }
+
+    /**
+     * Returns the codec for Integer elements (4 bytes each, no nulls).
+     *
+     * @return Integer codec
+     */
+    public static ElementCodec<Integer> ints() {
+        return new ElementCodec<Integer>() {
+            @Override
+            public void write(DataOutput out, Integer element) throws IOException {
+                out.writeInt(element);
+            }
+
+            @Override
+            public Integer read(DataInput in) throws IOException {
+                return in.readInt();
+            }
+
+            @Override
+            public byte tag() {
+                return INT;
+            }
+        };
+    }
+
+    /**
+     * Returns the codec for Long elements (8 bytes each, no nulls).
+     *
+     * @return Long codec
+     */
+    public static ElementCodec<Long> longs() {
+        return new ElementCodec<Long>() {
+            @Override
+            public void write(DataOutput out, Long element) throws IOException {
+                out.writeLong(element);
+            }
+
+            @Override
+            public Long read(DataInput in) throws IOException {
+                return in.readLong();
+            }
+
+            @Override
+            public byte tag() {
+                return LONG;
+            }
+        };
+    }
+
+    /**
+     * Returns the codec for Double elements (8 bytes each, no nulls).
+     *
+     * @return Double codec
+     */
+    public static ElementCodec<Double> doubles() {
+        return new ElementCodec<Double>() {
+            @Override
+            public void write(DataOutput out, Double element) throws IOException {
+                out.writeDouble(element);
+            }
+
+            @Override
+            public Double read(DataInput in) throws IOException {
+                return in.readDouble();
+            }
+
+            @Override
+            public byte tag() {
+                return DOUBLE;
+            }
+        };
+    }
+
+    /**
+     * Returns the codec for String elements: a 4-byte UTF-8 length, or -1
+     * for null, followed by the UTF-8 bytes.
+     *
+     * @return String codec
+     */
+    public static ElementCodec<String> strings() {
+        return new ElementCodec<String>() {
+            @Override
+            public void write(DataOutput out, String element) throws IOException {
+                if (element == null) {
+                    out.writeInt(-1);
+                } else {
+                    byte[] bytes = element.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+            }
+
+            @Override
+            public String read(DataInput in) throws IOException {
+                int length = in.readInt();
+                if (length < 0) {
+                    return null;
+                }
+                byte[] bytes = new byte[length];
+                in.readFully(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public byte tag() {
+                return STRING;
+            }
+        };
+    }
+}
@@ -0,0 +1,125 @@
+import java.util.Objects;
+import java.util.function.BiPredicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Decides when two elements of an array-based list count as the same
+ * element, for indexOf(), contains(), remove(T) and addAfter().
+ *
+ * Every strategy except identity() also supplies a hash code. The list
+ * caches each element's hash in an int[] alongside its elements, and a
+ * search compares cached ints first, calling equivalent() only on the
+ * few candidates whose hashes match.
+ *
+ * @author Morgan Zabriskie
+ *
+ * @param <T> type of elements compared
+ */
+public interface EqualityStrategy<T> {
+
+    /**
+     * Returns a hash code consistent with equivalent(): equivalent
+     * elements must have equal hashes.
+     *
+     * @param element element to hash, possibly null
+     * @return hash code
+     */
+    public int hash(T element);
+
+    /**
+     * Returns true if a and b count as the same element.
+     *
+     * @param a element, possibly null
+     * @param b element, possibly null
+     * @return true if equivalent
+     */
+    public boolean equivalent(T a, T b);
+
+    /**
+     * Returns true if lists should cache hash() for each element. If
+     * false, searches call equivalent() on every element; identity()
+     * returns false since == is already as cheap as comparing two ints.
+     *
+     * @return true if hashes are worth caching
+     */
+    public default boolean cachesHashes() {
+        return true;
+    }
+
+    /**
+     * Returns the strategy that matches only the very same object (==).
+     *
+     * @param <T> type of elements compared
+     * @return identity strategy
+     */
+    public static <T> EqualityStrategy<T> identity() {
+        return new EqualityStrategy<T>() {
+            @Override
+            public int hash(T element) {
+                return System.identityHashCode(element);
+            }
+
+            @Override
+            public boolean equivalent(T a, T b) {
+                return a == b;
+            }
+
+            @Override
+            public boolean cachesHashes() {
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the strategy that matches elements by equals() and hashes
+     * them by hashCode(). Null matches only null.
+     *
+     * @param <T> type of elements compared
+     * @return equals strategy
+     */
+    public static <T> EqualityStrategy<T> equality() {
+        return new EqualityStrategy<T>() {
+            @Override
+            public int hash(T element) {
+                return Objects.hashCode(element);
+            }
+
+            @Override
+            public boolean equivalent(T a, T b) {
+                return Objects.equals(a, b);
+            }
+        };
+    }
+
+    /**
+     * Returns a strategy built from a custom hasher and equivalence test,
+     * e.g. case-insensitive Strings. The hasher must give equal hashes to
+     * equivalent elements. Neither function is called with null: null
+     * hashes to 0 and matches only null.
+     *
+     * @param <T>         type of elements compared
+     * @param hasher      hash function
+     * @param equivalence equivalence test
+     * @return custom strategy
+     */
+    public static <T> EqualityStrategy<T> custom(ToIntFunction<? super T> hasher,
+            BiPredicate<? super T, ? super T> equivalence) {
+        Objects.requireNonNull(hasher, "hasher");
+        Objects.requireNonNull(equivalence, "equivalence");
+        return new EqualityStrategy<T>() {
+            @Override
+            public int hash(T element) {
+                return (element == null) ? 0 : hasher.applyAsInt(element);
+            }
+
+            @Override
+            public boolean equivalent(T a, T b) {
+                if (a == null || b == null) {
+                    return a == b;
+                }
+                return equivalence.test(a, b);
+            }
+        };
+    }
+}
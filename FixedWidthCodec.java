@@ -0,0 +1,114 @@
+import java.nio.ByteBuffer;
+
+/**
+ * Maps elements of type T to and from a fixed number of bytes, for lists
+ * that keep their elements in a ByteBuffer instead of on the Java heap.
+ * Encodings must be canonical: two elements are treated as equal exactly
+ * when their encoded bytes are equal.
+ *
+ * @author Morgan Zabriskie
+ *
+ * @param <T> type to encode
+ */
+public interface FixedWidthCodec<T> {
+
+    /**
+     * Returns the number of bytes every encoded element occupies.
+     *
+     * @return encoded width in bytes, greater than 0
+     */
+    public int width();
+
+    /**
+     * Writes element into buffer starting at the absolute byte offset,
+     * without changing the buffer's position.
+     *
+     * @param buffer  destination buffer
+     * @param offset  absolute byte offset of the first encoded byte
+     * @param element element to encode
+     */
+    public void write(ByteBuffer buffer, int offset, T element);
+
+    /**
+     * Reads the element encoded in buffer at the absolute byte offset,
+     * without changing the buffer's position.
+     *
+     * @param buffer source buffer
+     * @param offset absolute byte offset of the first encoded byte
+     * @return decoded element
+     */
+    public T read(ByteBuffer buffer, int offset);
+
+    /**
+     * Returns a codec storing Integers as 4 bytes. Null is rejected.
+     *
+     * @return Integer codec
+     */
+    public static FixedWidthCodec<Integer> ints() {
+        return new FixedWidthCodec<Integer>() {
+            @Override
+            public int width() {
+                return Integer.BYTES;
+            }
+
+            @Override
+            public void write(ByteBuffer buffer, int offset, Integer element) {
+                buffer.putInt(offset, element);
+            }
+
+            @Override
+            public Integer read(ByteBuffer buffer, int offset) {
+                return buffer.getInt(offset);
+            }
+        };
+    }
+
+    /**
+     * Returns a codec storing Longs as 8 bytes. Null is rejected.
+     *
+     * @return Long codec
+     */
+    public static FixedWidthCodec<Long> longs() {
+        return new FixedWidthCodec<Long>() {
+            @Override
+            public int width() {
+                return Long.BYTES;
+            }
+
+            @Override
+            public void write(ByteBuffer buffer, int offset, Long element) {
+                buffer.putLong(offset, element);
+            }
+
+            @Override
+            public Long read(ByteBuffer buffer, int offset) {
+                return buffer.getLong(offset);
+            }
+        };
+    }
+
+    /**
+     * Returns a codec storing Doubles as their 8 raw IEEE 754 bytes, so
+     * equality follows Double.equals(). Null is rejected.
+     *
+     * @return Double codec
+     */
+    public static FixedWidthCodec<Double> doubles() {
+        return new FixedWidthCodec<Double>() {
+            @Override
+            public int width() {
+                return Double.BYTES;
+            }
+
+            @Override
+            public void write(ByteBuffer buffer, int offset, Double element) {
+                buffer.putLong(offset, Double.doubleToLongBits(element));
+            }
+
+            @Override
+            public Double read(ByteBuffer buffer, int offset) {
+                return Double.longBitsToDouble(buffer.getLong(offset));
+            }
+        };
+    }
+}
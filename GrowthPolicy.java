@@ -0,0 +1,192 @@
+/**
+ * Strategy for resizing the backing array of an array-based list.
+ * grow() is asked for a new capacity whenever the array is full, and
+ * shrink() is consulted after removals so that capacity can follow the
+ * live size of the list.
+ *
+ * The default shrink() uses hysteresis: capacity is halved only once the
+ * list is at most a quarter full, so a list hovering around a resize
+ * boundary does not grow and shrink on every add/remove pair.
+ *
+ * @author Morgan Zabriskie
+ */
+public interface GrowthPolicy {
+
+    /** Number of references that fit in a typical 4 KiB page with compressed oops */
+    public static final int PAGE_ELEMENTS = 1024;
+
+    /**
+     * Returns the capacity the array should grow to.
+     *
+     * @param capacity    current capacity
+     * @param minCapacity smallest capacity that satisfies the pending add
+     * @return new capacity, at least minCapacity
+     * @throws IllegalStateException if the policy cannot provide minCapacity
+     */
+    public int grow(int capacity, int minCapacity);
+
+    /**
+     * Returns the capacity the array should shrink to after a removal,
+     * or capacity itself to leave the array alone.
+     *
+     * @param capacity current capacity
+     * @param size     number of elements now in the list
+     * @return new capacity, at least size
+     */
+    public default int shrink(int capacity, int size) {
+        if (size <= capacity / 4) {
+            return capacity / 2;
+        } else {
+            return capacity;
+        }
+    }
+
+    /**
+     * Returns a policy that grows like this one but never shrinks.
+     *
+     * @return non-shrinking version of this policy
+     */
+    public default GrowthPolicy withoutShrink() {
+        GrowthPolicy base = this;
+        return new GrowthPolicy() {
+            @Override
+            public int grow(int capacity, int minCapacity) {
+                return base.grow(capacity, minCapacity);
+            }
+
+            @Override
+            public int shrink(int capacity, int size) {
+                return capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns a policy that doubles capacity on every growth.
+     *
+     * @return doubling policy
+     */
+    public static GrowthPolicy doubling() {
+        return scaling(2.0);
+    }
+
+    /**
+     * Returns a policy that multiplies capacity by factor on every growth,
+     * e.g. 1.5 for the java.util.ArrayList growth rate.
+     *
+     * @param factor growth factor, greater than 1
+     * @return scaling policy
+     * @throws IllegalArgumentException if factor is not greater than 1
+     */
+    public static GrowthPolicy scaling(double factor) {
+        if (!(factor > 1.0)) {
+            throw new IllegalArgumentException("factor must be greater than 1: " + factor);
+        }
+        return (capacity, minCapacity) -> {
+            long grown = (long) Math.ceil(capacity * factor);
+            return clamp(grown, minCapacity);
+        };
+    }
+
+    /**
+     * Returns a policy that adds a fixed number of slots on every growth.
+     *
+     * @param increment number of slots to add, greater than 0
+     * @return fixed-increment policy
+     * @throws IllegalArgumentException if increment is not positive
+     */
+    public static GrowthPolicy fixedIncrement(int increment) {
+        if (increment <= 0) {
+            throw new IllegalArgumentException("increment must be positive: " + increment);
+        }
+        return (capacity, minCapacity) -> clamp((long) capacity + increment, minCapacity);
+    }
+
+    /**
+     * Returns a policy that grows like base, then rounds the result up to
+     * a whole number of PAGE_ELEMENTS-slot pages.
+     *
+     * @param base policy deciding how much to grow
+     * @return page-aligned policy
+     */
+    public static GrowthPolicy pageAligned(GrowthPolicy base) {
+        return pageAligned(base, PAGE_ELEMENTS);
+    }
+
+    /**
+     * Returns a policy that grows like base, then rounds the result up to
+     * a whole number of pages of pageElements slots each.
+     *
+     * @param base         policy deciding how much to grow
+     * @param pageElements slots per page, greater than 0
+     * @return page-aligned policy
+     * @throws IllegalArgumentException if pageElements is not positive
+     */
+    public static GrowthPolicy pageAligned(GrowthPolicy base, int pageElements) {
+        if (pageElements <= 0) {
+            throw new IllegalArgumentException("pageElements must be positive: " + pageElements);
+        }
+        return new GrowthPolicy() {
+            @Override
+            public int grow(int capacity, int minCapacity) {
+                long grown = base.grow(capacity, minCapacity);
+                return clamp((grown + pageElements - 1) / pageElements * pageElements, minCapacity);
+            }
+
+            @Override
+            public int shrink(int capacity, int size) {
+                int shrunk = base.shrink(capacity, size);
+                if (shrunk == capacity) {
+                    return capacity;
+                }
+                long aligned = ((long) Math.max(shrunk, size) + pageElements - 1) / pageElements * pageElements;
+                return (int) Math.min(aligned, capacity);
+            }
+        };
+    }
+
+    /**
+     * Returns a policy that grows like base but never beyond maxCapacity.
+     *
+     * @param base        policy deciding how much to grow
+     * @param maxCapacity largest capacity the array may reach
+     * @return capped policy
+     * @throws IllegalArgumentException if maxCapacity is negative
+     */
+    public static GrowthPolicy capped(GrowthPolicy base, int maxCapacity) {
+        if (maxCapacity < 0) {
+            throw new IllegalArgumentException("maxCapacity must not be negative: " + maxCapacity);
+        }
+        return new GrowthPolicy() {
+            @Override
+            public int grow(int capacity, int minCapacity) {
+                if (minCapacity > maxCapacity) {
+                    throw new IllegalStateException("list is at its capacity limit of " + maxCapacity);
+                }
+                return Math.min(base.grow(capacity, minCapacity), maxCapacity);
+            }
+
+            @Override
+            public int shrink(int capacity, int size) {
+                return base.shrink(capacity, size);
+            }
+        };
+    }
+
+    /**
+     * Clamp a requested capacity to at least minCapacity and at most the
+     * largest array length the VM can reliably allocate.
+     *
+     * @param capacity    requested capacity
+     * @param minCapacity smallest acceptable capacity
+     * @return capacity that fits in an array
+     * @throws IllegalStateException if minCapacity cannot be allocated at all
+     */
+    private static int clamp(long capacity, int minCapacity) {
+        final int maxArrayLength = Integer.MAX_VALUE - 8;
+        if (minCapacity > maxArrayLength) {
+            throw new IllegalStateException("required capacity too large: " + minCapacity);
+        }
+        return (int) Math.min(Math.max(capacity, minCapacity), maxArrayLength);
+    }
+}
@@ -0,0 +1,336 @@
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+/**
+ * Lock-free, append-only implementation of IndexedUnsortedList for many
+ * threads adding at once. Elements are stored in a series of segments,
+ * each twice the size of the one before, that are allocated on demand
+ * and never copied, so growing the list never moves an element.
+ *
+ * An append claims its slot by atomically advancing the tail, writes the
+ * element, and then publishes it by advancing a watermark over every
+ * slot that is written. The watermark only passes contiguous written
+ * slots, so size() is always a prefix of fully written elements, even
+ * while later slots are still being filled by other threads. A thread
+ * that finds the slot just below its own not yet written leaves its
+ * element for that slot's writer to publish. get(), size() and iteration
+ * read only the watermark and the slots under it, so they are wait-free.
+ *
+ * Only add(T), addToRear() and addAll(T[]) are supported; every other
+ * mutation throws UnsupportedOperationException. The Iterator never
+ * throws ConcurrentModificationException: it also returns elements
+ * published after it was created. Elements are matched by identity (==).
+ *
+ * @author Morgan Zabriskie
+ *
+ * @param <T> type to store
+ */
+public class IUAppendOnlyList<T> implements IndexedUnsortedList<T> {
+
+    private static final int FIRST_SEGMENT_BITS = 4;
+    private static final int FIRST_SEGMENT = 1 << FIRST_SEGMENT_BITS;
+    private static final int SEGMENTS = 31 - FIRST_SEGMENT_BITS;
+    private static final int MAX_SIZE = Integer.MAX_VALUE - FIRST_SEGMENT;
+    // stored in place of null elements, so an empty slot is always null
+    private static final Object NULL = new Object();
+
+    // segment s holds FIRST_SEGMENT << s slots
+    private final AtomicReferenceArray<AtomicReferenceArray<Object>> segments;
+    // next slot to claim
+    private final AtomicInteger tail;
+    // every slot below this is written; only these are visible
+    private final AtomicInteger published;
+
+    /** Creates an empty list */
+    public IUAppendOnlyList() {
+        segments = new AtomicReferenceArray<AtomicReferenceArray<Object>>(SEGMENTS);
+        tail = new AtomicInteger();
+        published = new AtomicInteger();
+    }
+
+    /**
+     * Segment holding slot index
+     *
+     * @param index
+     * @return segment number
+     */
+    private static int segmentOf(int index) {
+        return (31 - Integer.numberOfLeadingZeros(index + FIRST_SEGMENT)) - FIRST_SEGMENT_BITS;
+    }
+
+    /**
+     * Position of slot index within its segment
+     *
+     * @param index
+     * @return offset into the segment
+     */
+    private static int offsetOf(int index) {
+        int shifted = index + FIRST_SEGMENT;
+        return shifted - Integer.highestOneBit(shifted);
+    }
+
+    /**
+     * Segment s, allocating it if no thread has yet; a thread that loses
+     * the race to install it uses the winner's
+     *
+     * @param s
+     * @return segment
+     */
+    private AtomicReferenceArray<Object> segment(int s) {
+        AtomicReferenceArray<Object> segment = segments.get(s);
+        if (segment == null) {
+            segments.compareAndSet(s, null, new AtomicReferenceArray<Object>(FIRST_SEGMENT << s));
+            segment = segments.get(s);
+        }
+        return segment;
+    }
+
+    /**
+     * Raw content of a slot below the tail: null if not written yet
+     *
+     * @param index
+     * @return stored value
+     */
+    private Object slot(int index) {
+        AtomicReferenceArray<Object> segment = segments.get(segmentOf(index));
+        return (segment == null) ? null : segment.get(offsetOf(index));
+    }
+
+    /**
+     * Claim count consecutive slots
+     *
+     * @param count
+     * @return first claimed slot
+     * @throws IllegalStateException if the list would exceed its maximum size
+     */
+    private int claim(int count) {
+        int first;
+        do {
+            first = tail.get();
+            if (first > MAX_SIZE - count) {
+                throw new IllegalStateException("list is full");
+            }
+        } while (!tail.compareAndSet(first, first + count));
+        return first;
+    }
+
+    /**
+     * Move the watermark past every written slot it can reach. Written
+     * slots are read after the write that made them so, and the
+     * watermark with a compare-and-set, so of two threads that write
+     * neighbouring slots at once at least one sees both and advances.
+     */
+    private void publish() {
+        int mark = published.get();
+        while (mark < tail.get() && slot(mark) != null) {
+            if (published.compareAndSet(mark, mark + 1)) {
+                mark++;
+            } else {
+                mark = published.get();
+            }
+        }
+    }
+
+    @Override
+    public void addToFront(T element) {
+        throw new UnsupportedOperationException("append-only list");
+    }
+
+    @Override
+    public void addToRear(T element) {
+        add(element);
+    }
+
+    @Override
+    public void add(T element) {
+        int index = claim(1);
+        segment(segmentOf(index)).set(offsetOf(index), (element == null) ? NULL : element);
+        publish();
+    }
+
+    /**
+     * Appends the elements as one contiguous run, claimed with a single
+     * compare-and-set on the tail; they are published together with any
+     * appends racing with them.
+     *
+     * @param elements the elements to be added to the rear of this list
+     */
+    @Override
+    public void addAll(T[] elements) {
+        if (elements.length == 0) {
+            return;
+        }
+        int first = claim(elements.length);
+        for (int i = 0; i < elements.length; i++) {
+            int index = first + i;
+            T element = elements[i];
+            segment(segmentOf(index)).set(offsetOf(index), (element == null) ? NULL : element);
+        }
+        publish();
+    }
+
+    @Override
+    public void addAfter(T element, T target) {
+        throw new UnsupportedOperationException("append-only list");
+    }
+
+    @Override
+    public void add(int index, T element) {
+        throw new UnsupportedOperationException("append-only list");
+    }
+
+    @Override
+    public T removeFirst() {
+        throw new UnsupportedOperationException("append-only list");
+    }
+
+    @Override
+    public T removeLast() {
+        throw new UnsupportedOperationException("append-only list");
+    }
+
+    @Override
+    public T remove(T element) {
+        throw new UnsupportedOperationException("append-only list");
+    }
+
+    @Override
+    public T remove(int index) {
+        throw new UnsupportedOperationException("append-only list");
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        throw new UnsupportedOperationException("append-only list");
+    }
+
+    @Override
+    public void set(int index, T element) {
+        throw new UnsupportedOperationException("append-only list");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if ((index < 0) || (index >= published.get())) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            Object value = slot(index);
+            return (value == NULL) ? null : (T) value;
+        }
+    }
+
+    @Override
+    public int indexOf(T element) {
+        Object target = (element == null) ? NULL : element;
+        int size = published.get();
+        for (int i = 0; i < size; i++) {
+            if (slot(i) == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public T first() {
+        if (published.get() == 0) {
+            throw new NoSuchElementException();
+        } else {
+            return get(0);
+        }
+    }
+
+    @Override
+    public T last() {
+        int size = published.get();
+        if (size == 0) {
+            throw new NoSuchElementException();
+        } else {
+            return get(size - 1);
+        }
+    }
+
+    @Override
+    public boolean contains(T target) {
+        return indexOf(target) != -1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return published.get() == 0;
+    }
+
+    @Override
+    public int size() {
+        return published.get();
+    }
+
+    @Override
+    public String toString() {
+        int size = published.get();
+        if (size == 0) {
+            return "[ ]";
+        } else {
+            StringBuilder returnVal = new StringBuilder("[");
+            for (int i = 0; i < size; i++) {
+                returnVal.append(get(i));
+                returnVal.append((i == (size - 1)) ? "]" : ", ");
+            }
+            return returnVal.toString();
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new AppendOnlyIterator();
+    }
+
+    @Override
+    public ListIterator<T> listIterator() {
+        throw new UnsupportedOperationException("Unimplemented method 'listIterator'");
+    }
+
+    @Override
+    public ListIterator<T> listIterator(int startingIndex) {
+        throw new UnsupportedOperationException("Unimplemented method 'listIterator'");
+    }
+
+    /**
+     * Private inner class for iterators in the IUAppendOnlyList class.
+     * Reads the watermark on every hasNext(), so it also returns elements
+     * published while it runs.
+     *
+     * @author Morgan Zabriskie
+     */
+    private class AppendOnlyIterator implements Iterator<T> {
+
+        // instance variables
+        private int index = 0;
+
+        @Override
+        public boolean hasNext() {
+            return index < published.get();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            } else {
+                T next = get(index);
+                index++;
+                return next;
+            }
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("append-only list");
+        }
+    }
+}
@@ -1,13 +1,37 @@
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
 
 /**
  * Array-based implementation of IndexedUnsortedList.
- * An Iterator with working remove() method is implemented, but
- * ListIterator is unsupported.
+ * The backing array grows and shrinks as decided by a GrowthPolicy.
+ * A full ListIterator is implemented, and iterator() returns the same
+ * fail-fast iterator. Iterator add() and remove() work on a gap buffer:
+ * the first edit opens a gap of free slots at the cursor, later edits
+ * and cursor moves only slide the gap along, and the gap is closed by
+ * the next list method that needs a contiguous array. A pass of k
+ * iterator edits therefore costs O(n + k) element moves instead of
+ * O(n * k).
+ *
+ * subList() returns live range views that share the backing array, and
+ * removeRange() deletes a range with a single block move.
+ *
+ * Elements are matched by identity (==) unless an EqualityStrategy is
+ * given. For other strategies each element's hash is cached in an int[]
+ * kept in step with the element array, so searches compare ints and
+ * only call equivalent() on hash matches.
  * 
  * @author Morgan Zabriskie
  *
@@ -17,10 +41,24 @@ import java.util.NoSuchElementException;
  public class IUArrayList<T> implements IndexedUnsortedList<T> {
 
      private static final int DEFAULT_CAPACITY = 10;
+     private static final int MIN_GAP = 16;
+     // fork-join leaves never get smaller than this many elements
+     private static final int MIN_LEAF = 1 << 12;
 
      private T[] array;
      private int rear;
      private int modCount;
+     private final GrowthPolicy growthPolicy;
+     // automatic shrinking never goes below this; raised by ensureCapacity()
+     private int minimumCapacity;
+     private final EqualityStrategy<? super T> equality;
+     // hashes[i] caches equality.hash(array[i]), or null if the strategy does not cache
+     private int[] hashes;
+
+     // free slots left open inside the array by iterator edits; logical
+     // index i is stored at physical(i)
+     private int gapStart;
+     private int gapLength;
 
      /** Creates an empty list with default initial capacity */
      public IUArrayList() {
@@ -32,305 +70,839 @@ import java.util.NoSuchElementException;
       * 
       * @param initialCapacity
       */
-     @SuppressWarnings("unchecked")
      public IUArrayList(int initialCapacity) {
+         this(initialCapacity, GrowthPolicy.doubling());
+     }
+
+     /**
+      * Creates an empty list with default initial capacity that resizes
+      * according to the given policy
+      * 
+      * @param growthPolicy
+      */
+     public IUArrayList(GrowthPolicy growthPolicy) {
+         this(DEFAULT_CAPACITY, growthPolicy);
+     }
+
+     /**
+      * Creates an empty list with the given initial capacity that resizes
+      * according to the given policy. Automatic shrinking never takes the
+      * capacity below initialCapacity.
+      * 
+      * @param initialCapacity
+      * @param growthPolicy
+      */
+     public IUArrayList(int initialCapacity, GrowthPolicy growthPolicy) {
+         this(initialCapacity, growthPolicy, EqualityStrategy.identity());
+     }
+
+     /**
+      * Creates an empty list with default initial capacity that matches
+      * elements with the given strategy
+      * 
+      * @param equality
+      */
+     public IUArrayList(EqualityStrategy<? super T> equality) {
+         this(DEFAULT_CAPACITY, GrowthPolicy.doubling(), equality);
+     }
+
+     /**
+      * Creates an empty list with the given initial capacity that resizes
+      * according to the given policy and matches elements with the given
+      * strategy. Automatic shrinking never takes the capacity below
+      * initialCapacity.
+      * 
+      * @param initialCapacity
+      * @param growthPolicy
+      * @param equality
+      */
+     @SuppressWarnings("unchecked")
+     public IUArrayList(int initialCapacity, GrowthPolicy growthPolicy, EqualityStrategy<? super T> equality) {
+         if (initialCapacity < 0) {
+             throw new IllegalArgumentException("initialCapacity must not be negative: " + initialCapacity);
+         }
          array = (T[]) (new Object[initialCapacity]);
          rear = 0;
          modCount = 0;
+         this.growthPolicy = growthPolicy;
+         this.minimumCapacity = initialCapacity;
+         this.equality = equality;
+         hashes = equality.cachesHashes() ? new int[initialCapacity] : null;
+         gapStart = 0;
+         gapLength = 0;
+     }
+
+     /**
+      * Reallocate the backing array (and hash cache) at a new capacity
+      *
+      * @param newCapacity at least rear + gapLength
+      */
+     private void resize(int newCapacity) {
+         array = Arrays.copyOf(array, newCapacity);
+         if (hashes != null) {
+             hashes = Arrays.copyOf(hashes, newCapacity);
+         }
+     }
+
+     /**
+      * Copy length slots from one position to another, overlapping
+      * allowed, moving cached hashes along with the elements
+      *
+      * @param from
+      * @param to
+      * @param length
+      */
+     private void move(int from, int to, int length) {
+         System.arraycopy(array, from, array, to, length);
+         if (hashes != null) {
+             System.arraycopy(hashes, from, hashes, to, length);
+         }
+     }
+
+     /**
+      * Write element into an array slot, caching its hash
+      *
+      * @param slot    physical index
+      * @param element
+      */
+     private void store(int slot, T element) {
+         array[slot] = element;
+         if (hashes != null) {
+             hashes[slot] = equality.hash(element);
+         }
+     }
+
+     /**
+      * Position of the first element matching target under the equality
+      * strategy. The array must be contiguous.
+      *
+      * @param target
+      * @return index of the match, or -1
+      */
+     private int find(T target) {
+         return find(target, 0, rear);
+     }
+
+     /**
+      * Position of the first element in [from, to) matching target under
+      * the equality strategy. The array must be contiguous.
+      *
+      * @param target
+      * @param from   first index searched
+      * @param to     index past the last one searched
+      * @return index of the match, or -1
+      */
+     private int find(T target, int from, int to) {
+         // locals, so the call to equivalent() does not force field reloads every iteration
+         T[] elements = array;
+         int[] cached = hashes;
+         if (cached == null) {
+             for (int i = from; i < to; i++) {
+                 if (equality.equivalent(elements[i], target)) {
+                     return i;
+                 }
+             }
+         } else {
+             int hash = equality.hash(target);
+             for (int i = from; i < to; i++) {
+                 if (cached[i] == hash && equality.equivalent(elements[i], target)) {
+                     return i;
+                 }
+             }
+         }
+         return -1;
+     }
+
+     /**
+      * Array slot holding the element at a logical index
+      *
+      * @param index logical index
+      * @return physical index into array
+      */
+     private int physical(int index) {
+         return (index < gapStart) ? index : index + gapLength;
+     }
+
+     /** Move the elements after an open gap down over it, making the array contiguous again */
+     private void closeGap() {
+         if (gapLength > 0) {
+             move(gapStart + gapLength, gapStart, rear - gapStart);
+             Arrays.fill(array, rear, rear + gapLength, null);
+             gapLength = 0;
+             gapStart = 0;
+         }
+     }
+
+     /**
+      * Slide the open gap so it starts at logical index to, moving only
+      * the elements between the old and new positions
+      *
+      * @param to logical index in [0, rear]
+      */
+     private void moveGap(int to) {
+         if (to < gapStart) {
+             move(to, to + gapLength, gapStart - to);
+         } else if (to > gapStart) {
+             move(gapStart + gapLength, gapStart, to - gapStart);
+         }
+         gapStart = to;
+     }
+
+     /**
+      * Open a gap of free slots at logical index at. The gap takes up to
+      * an eighth of the list size (at least MIN_GAP) out of the free
+      * capacity, growing the array first if it is full, so the cost of
+      * moving the tail is shared by many inserts. No gap may be open.
+      *
+      * @param at logical index in [0, rear]
+      */
+     private void openGap(int at) {
+         if (rear == array.length) {
+             resize(growthPolicy.grow(array.length, rear + 1));
+         }
+         int length = Math.min(array.length - rear, Math.max(MIN_GAP, rear >>> 3));
+         move(at, at + length, rear - at);
+         gapStart = at;
+         gapLength = length;
      }
 
-     /** Double the capacity of array */
+     /** Grow array, as the growth policy decides, if it has no free slot */
      private void expandCapacity() {
-         array = Arrays.copyOf(array, array.length * 2);
+         if (rear == array.length) {
+             resize(growthPolicy.grow(array.length, rear + 1));
+         }
+     }
+
+     /**
+      * Give back capacity, as the growth policy decides, after a removal.
+      * Closes the gap first if the array is actually reallocated.
+      */
+     private void shrinkCapacity() {
+         int newCapacity = Math.max(growthPolicy.shrink(array.length, rear), Math.max(rear, minimumCapacity));
+         if (newCapacity < array.length) {
+             closeGap();
+             resize(newCapacity);
+         }
+     }
+
+     /**
+      * Grows the backing array, if necessary, so it can hold at least
+      * minCapacity elements without further resizing. Automatic shrinking
+      * keeps at least this capacity until trimToSize() is called.
+      * 
+      * @param minCapacity
+      */
+     public void ensureCapacity(int minCapacity) {
+         closeGap();
+         minimumCapacity = Math.max(minimumCapacity, minCapacity);
+         if (minCapacity > array.length) {
+             resize(growthPolicy.grow(array.length, minCapacity));
+         }
+     }
+
+     /**
+      * Shrinks the backing array to exactly the current number of
+      * elements, and drops the floor on automatic shrinking set by the
+      * initial capacity and ensureCapacity()
+      */
+     public void trimToSize() {
+         closeGap();
+         minimumCapacity = 0;
+         if (rear < array.length) {
+             resize(rear);
+         }
+     }
+
+     /**
+      * Returns a copy of the elements in this list.
+      * 
+      * @return new array holding the elements in order
+      */
+     public Object[] toArray() {
+         closeGap();
+         return Arrays.copyOf(array, rear, Object[].class);
+     }
+
+     /**
+      * Returns the number of elements the backing array can hold before
+      * it has to grow.
+      * 
+      * @return current capacity
+      */
+     public int capacity() {
+         return array.length;
+     }
+
+     /**
+      * Block-move the elements in [index, rear) by distance slots and
+      * record a single structural modification. A positive distance opens
+      * a gap at index for new elements, a negative distance closes the
+      * distance slots just before index. Vacated slots past the new rear
+      * are cleared. Caller is responsible for capacity and bounds.
+      *
+      * @param index    first element to move
+      * @param distance number of slots to move the block right (or left if negative)
+      */
+     private void shift(int index, int distance) {
+         move(index, index + distance, rear - index);
+         int newRear = rear + distance;
+         if (distance < 0) {
+             Arrays.fill(array, newRear, rear, null);
+         }
+         rear = newRear;
+         modCount++;
+         if (distance < 0) {
+             shrinkCapacity();
+         }
      }
 
     @Override
-    public void addToFront(T element) { 
-        // check array length and increase if rear is in last spot of array
-        if (rear == (array.length - 2)) {
-            expandCapacity();
-        }
-        for(int i = rear; i > 0; i--) {
-            array[i] = array[i - 1];
-            modCount++;
-        }
-        array[0] = element;
-        modCount++;
-        rear++;
+    public void addToFront(T element) {
+        closeGap();
+        // make sure there is a free slot for the new element
+        expandCapacity();
+        shift(0, 1);
+        store(0, element);
     }
 
     @Override
     public void addToRear(T element) {
-        // check array length and increase if rear is in last spot of array
-        if (rear == (array.length - 2)) {
-            expandCapacity();
-        }
-        array[rear] = element;
+        closeGap();
+        // make sure there is a free slot for the new element
+        expandCapacity();
+        store(rear, element);
         rear++;
         modCount++;
     }
 
     @Override
     public void add(T element) {
-        // check array length and increase if rear is in last spot of array
-        if (rear == (array.length - 2)) {
-            expandCapacity();
-        }
-        array[rear] = element;
+        closeGap();
+        // make sure there is a free slot for the new element
+        expandCapacity();
+        store(rear, element);
         rear++;
         modCount++;
     }
 
     @Override
     public void addAfter(T element, T target) {
-        // check array length and increase if rear is in last spot of array
-        if (rear == (array.length - 2)) {
-            expandCapacity();
-        }
+        closeGap();
 
         // find location of target element
-        int targetLocation = -1;
-        for (int i = 0; i < rear; i++) {
-            if (array[i] == target) {
-                targetLocation = i;
-                break;
-            }
-        }
+        int targetLocation = find(target);
 
         // add new element after target element
         if(targetLocation == -1) {
             throw new NoSuchElementException();
-        } else if(targetLocation == 0 && rear == 1) {
-            array[rear] = element;
-            modCount++;
-            rear++;
         } else {
-            for (int i = rear; i >= (targetLocation + 1); i--) {
-                array[i] = array[i - 1];
-                modCount++;
-            }
-            array[targetLocation + 1] = element;
-            modCount++;
-            rear++;
+            // make sure there is a free slot for the new element
+            expandCapacity();
+            shift(targetLocation + 1, 1);
+            store(targetLocation + 1, element);
         }
     }
 
     @Override
     public void add(int index, T element) {
-        // check array length and increase if rear is in last spot of array
-        if (rear == (array.length - 2)) {
-            expandCapacity();
-        }
+        closeGap();
 
         // check index is possible to set something at
-        if ((index < 0) || (index > size())) {
+        if ((index < 0) || (index > rear)) {
             throw new IndexOutOfBoundsException();
         } else {
+            // make sure there is a free slot for the new element
+            expandCapacity();
             // shift elements at and after index to the right and insert new value at given index
-            for (int i = rear; i > index; i--) {
-                array[i] = array[i - 1];
-                modCount++;
+            shift(index, 1);
+            store(index, element);
+        }
+    }
+
+    /**
+     * Insert items[0, count) starting at index with one capacity check
+     * and one block move of the elements after index
+     *
+     * @param index in [0, rear]
+     * @param items
+     * @param count
+     */
+    @SuppressWarnings("unchecked")
+    private void insertAll(int index, Object[] items, int count) {
+        if (count == 0) {
+            return;
+        }
+        if (rear + count > array.length) {
+            resize(growthPolicy.grow(array.length, rear + count));
+        }
+        shift(index, count);
+        for (int i = 0; i < count; i++) {
+            store(index + i, (T) items[i]);
+        }
+    }
+
+    /**
+     * Copy the elements of an Iterable into an exactly sized array, so
+     * they can be inserted with a single shift even if elements is this
+     * list
+     *
+     * @param elements
+     * @return array of the elements in iteration order
+     */
+    private static Object[] toArray(Iterable<?> elements) {
+        Object[] items = new Object[(elements instanceof IndexedUnsortedList)
+                ? ((IndexedUnsortedList<?>) elements).size() : DEFAULT_CAPACITY];
+        int count = 0;
+        for (Object element : elements) {
+            if (count == items.length) {
+                items = Arrays.copyOf(items, Math.max(DEFAULT_CAPACITY, count << 1));
             }
-            array[index] = element;
-            modCount++;
-            rear++;
+            items[count++] = element;
+        }
+        return (count == items.length) ? items : Arrays.copyOf(items, count);
+    }
+
+    @Override
+    public void addAll(T[] elements) {
+        closeGap();
+        insertAll(rear, elements, elements.length);
+    }
+
+    @Override
+    public void addAll(Iterable<? extends T> elements) {
+        closeGap();
+        Object[] items = toArray(elements);
+        insertAll(rear, items, items.length);
+    }
+
+    @Override
+    public void addAll(int index, T[] elements) {
+        closeGap();
+        if ((index < 0) || (index > rear)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            insertAll(index, elements, elements.length);
+        }
+    }
+
+    @Override
+    public void addAll(int index, Iterable<? extends T> elements) {
+        closeGap();
+        if ((index < 0) || (index > rear)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            Object[] items = toArray(elements);
+            insertAll(index, items, items.length);
         }
     }
 
     @Override
     public T removeFirst() {
-        if (array[0] == null) {
+        closeGap();
+        if (rear == 0) {
             throw new NoSuchElementException();
         } else {
             T element = array[0];
-            modCount++;
-
-            for (int i = 0; i < rear; i++) {
-                array[i] = array[i + 1];
-                modCount++;
-            }
-            // check you aren't setting rear to a negative number
-            if (rear > 0) {
-                rear--;
-            } else {
-                rear = 0;
-            }
-        array[rear] = null;
-        return element;
+            shift(1, -1);
+            return element;
         }
     }
 
     @Override
     public T removeLast() {
-        if (array[0] == null) {
+        closeGap();
+        if (rear == 0) {
             throw new NoSuchElementException();
         } else {
             T element = array[rear - 1];
             array[rear - 1] = null;
             modCount++;
-
-            // check you aren't setting rear to a negative number
-            if (rear > 0) {
-                rear--;
-            } else {
-                rear = 0;
-            }
+            rear--;
+            shrinkCapacity();
             return element;
         }
     }
 
     @Override
     public T remove(T element) {
-        int elementLocation = -1;
-        T returnElement = element;
-
+        closeGap();
         // find location of target element
-        for(int i = 0; i < rear; i++) {
-            if (array[i] == element) {
-                elementLocation = i;
-                returnElement = array[i];
-                break;
-            }
-        }
+        int elementLocation = find(element);
 
         // move array elements to the left starting at target index
         if (elementLocation == -1) {
             throw new NoSuchElementException();
         } else {
-            for(int i = elementLocation; i < rear; i++) {
-                array[i] = array[i + 1];
-                modCount++; 
-            }
-            // check you aren't setting rear to a negative number
-            if (rear > 0) {
-                rear--;
-            } else {
-                rear = 0;
-            }
+            T returnElement = array[elementLocation];
+            shift(elementLocation + 1, -1);
+            return returnElement;
         }
-
-        return returnElement;
     }
 
     @Override
     public T remove(int index) {
-        T element = array[index];
-
+        closeGap();
         // check index is within possible range
-        if ((index < 0) || (index >= size())) {
+        if ((index < 0) || (index >= rear)) {
             throw new IndexOutOfBoundsException();
-        } else {
-            // remove element at index and shift elements after index to the left
-            for(int i = index; i < rear; i++) {
-                array[i] = array[i + 1];
-                modCount++;
-            }
-            // check you aren't setting rear to a negative number
-            if (rear > 0) {
-                rear--;
-            } else {
-                rear = 0;
-            }
         }
 
+        // remove element at index and shift elements after index to the left
+        T element = array[index];
+        shift(index + 1, -1);
+
         return element;
     }
 
+    /**
+     * Removes every element that satisfies filter in two passes: the
+     * first tests every element and marks the ones to remove in a bitset,
+     * the second slides the survivors down over them, so each element
+     * moves at most once. The filter sees the list unchanged, and if it
+     * throws the list is left as it was.
+     * 
+     * @param filter returns true for elements to be removed
+     * @return true if any element was removed
+     * @throws ConcurrentModificationException if filter modifies the list
+     */
     @Override
-    public void set(int index, T element) {
-        if ((index < 0) || (index >= size())) {
-            throw new IndexOutOfBoundsException();
-        } else {
-            array[index] = element;
-            modCount++;
-        }
+    public boolean removeIf(Predicate<? super T> filter) {
+        closeGap();
+        return removeIf(filter, 0, rear) > 0;
     }
 
-    @Override
-    public T get(int index) {
-        if ((index < 0) || (index >= size())) {
-            throw new IndexOutOfBoundsException();
-        } else {
-            return array[index];
+    /**
+     * Removes every element that satisfies filter, testing and moving the
+     * elements on the common ForkJoinPool. The list is cut into chunks
+     * that are marked in parallel, a prefix sum over the per-chunk
+     * survivor counts gives each chunk its offset in a new backing array,
+     * and the chunks scatter their survivors into it in parallel. filter
+     * must be safe to call from several threads at once; if it throws,
+     * the list is left as it was.
+     * 
+     * @param filter returns true for elements to be removed
+     * @return true if any element was removed
+     * @throws ConcurrentModificationException if filter modifies the list
+     */
+    @SuppressWarnings("unchecked")
+    public boolean parallelRemoveIf(Predicate<? super T> filter) {
+        closeGap();
+        // chunks start on 64-element boundaries, so no two share a word of the bitset
+        int chunkSize = (leafSize(rear) + 63) & ~63;
+        int chunks = (rear + chunkSize - 1) / chunkSize;
+        if (chunks <= 1) {
+            return removeIf(filter);
+        }
+        Compaction compaction = new Compaction(filter, rear, chunkSize, chunks);
+        new CompactionTask(compaction, false, 0, chunks).invoke();
+        if (modCount != compaction.expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        int[] offsets = compaction.offsets;
+        for (int c = 1; c <= chunks; c++) {
+            offsets[c] += offsets[c - 1];
         }
+        int survivors = offsets[chunks];
+        if (survivors == rear) {
+            return false;
+        }
+        // the capacity shrinkCapacity() would pick, so the new array is never copied again
+        int capacity = Math.min(array.length,
+                Math.max(growthPolicy.shrink(array.length, survivors), Math.max(survivors, minimumCapacity)));
+        compaction.target = (T[]) (new Object[capacity]);
+        compaction.targetHashes = (hashes == null) ? null : new int[capacity];
+        new CompactionTask(compaction, true, 0, chunks).invoke();
+        array = compaction.target;
+        hashes = compaction.targetHashes;
+        rear = survivors;
+        modCount++;
+        return true;
     }
 
-    @Override
-    public int indexOf(T element) {
-        int index = -1;
-
-        for(int i = 0; i < rear; i++) {
-            if (array[i] == element) {
-                index = i;
-                break;
+    /**
+     * removeIf() restricted to the elements in [from, to); the elements
+     * after to move down once, with the last survivor. The array must be
+     * contiguous.
+     *
+     * @param filter
+     * @param from
+     * @param to
+     * @return number of elements removed
+     */
+    private int removeIf(Predicate<? super T> filter, int from, int to) {
+        int expectedModCount = modCount;
+        long[] removed = null;
+        int first = -1;
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (filter.test(array[i])) {
+                if (removed == null) {
+                    removed = new long[((to - from) + 63) >>> 6];
+                    first = i;
+                }
+                removed[(i - from) >>> 6] |= 1L << (i - from);
+                count++;
             }
         }
-
-        return index;
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        if (count == 0) {
+            return 0;
+        }
+        int write = first;
+        for (int read = first + 1; read < to; read++) {
+            if ((removed[(read - from) >>> 6] & (1L << (read - from))) == 0) {
+                array[write] = array[read];
+                if (hashes != null) {
+                    hashes[write] = hashes[read];
+                }
+                write++;
+            }
+        }
+        shift(to, write - to);
+        return count;
     }
 
+    /**
+     * Removes the elements in [fromIndex, toIndex) with a single block
+     * move of the elements after them.
+     * 
+     * @param fromIndex index of the first element removed
+     * @param toIndex   index after the last element removed
+     * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size or fromIndex > toIndex
+     */
     @Override
-    public T first() {
-        if(isEmpty()) {
-            throw new NoSuchElementException();
-        } else {
-            return array[0];
+    public void removeRange(int fromIndex, int toIndex) {
+        closeGap();
+        if ((fromIndex < 0) || (toIndex > rear) || (fromIndex > toIndex)) {
+            throw new IndexOutOfBoundsException();
+        } else if (fromIndex < toIndex) {
+            shift(toIndex, fromIndex - toIndex);
         }
     }
 
-    @Override
-    public T last() {
-        if (isEmpty()) {
-            throw new NoSuchElementException();
-        } else {
-            return array[rear - 1];
+    /**
+     * Sorts the elements in place with a stable merge sort (TimSort).
+     * 
+     * @param comparator order to sort by, or null for natural ordering
+     * @throws ConcurrentModificationException if comparator modifies the list
+     */
+    public void sort(Comparator<? super T> comparator) {
+        closeGap();
+        int expectedModCount = modCount;
+        try {
+            Arrays.sort(array, 0, rear, comparator);
+        } finally {
+            // a comparator that throws may already have permuted some elements
+            rehash(false);
+            modCount++;
+        }
+        if (modCount != expectedModCount + 1) {
+            throw new ConcurrentModificationException();
         }
     }
 
-    @Override
-    public boolean contains(T target) {
-        boolean contains = false;
-
-        for(int i = 0; i < rear; i++) {
-            if(array[i] == target) {
-                contains = true;
-                break;
-            }
+    /**
+     * Sorts the elements in place with a stable fork-join merge sort on
+     * the common ForkJoinPool, which sorts ranges below its threshold
+     * sequentially with TimSort (Arrays.parallelSort()).
+     * 
+     * @param comparator order to sort by, or null for natural ordering
+     * @throws ConcurrentModificationException if comparator modifies the list
+     */
+    public void parallelSort(Comparator<? super T> comparator) {
+        closeGap();
+        int expectedModCount = modCount;
+        try {
+            Arrays.parallelSort(array, 0, rear, comparator);
+        } finally {
+            // a comparator that throws may already have permuted some elements
+            rehash(true);
+            modCount++;
+        }
+        if (modCount != expectedModCount + 1) {
+            throw new ConcurrentModificationException();
         }
-
-        return contains;
     }
 
-    @Override
-    public boolean isEmpty() {
-        boolean isEmpty = true;
-
-        for(int i = 0; i < rear; i++) {
-            if (array[i] != null) {
-                isEmpty = false;
-                break;
+    /**
+     * Recompute the cached hashes after the elements have been permuted
+     *
+     * @param parallel true to spread the work over the common ForkJoinPool
+     */
+    private void rehash(boolean parallel) {
+        if (hashes == null) {
+            return;
+        }
+        T[] elements = array;
+        int[] cached = hashes;
+        if (parallel) {
+            IntStream.range(0, rear).parallel().forEach(i -> cached[i] = equality.hash(elements[i]));
+        } else {
+            for (int i = 0; i < rear; i++) {
+                cached[i] = equality.hash(elements[i]);
             }
         }
-
-        return isEmpty;
     }
 
-    @Override
-    public int size() {
-        int size = 0;
-
-        for(int i = 0; i < rear; i++) {
-            if (array[i] != null) {
-                size++;
-            }
+    /**
+     * Replaces every element with the result of applying operator to it.
+     * 
+     * @param operator
+     * @throws ConcurrentModificationException if operator modifies the list
+     */
+    public void replaceAll(UnaryOperator<T> operator) {
+        closeGap();
+        int expectedModCount = modCount;
+        for (int i = 0; i < rear; i++) {
+            store(i, operator.apply(array[i]));
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        modCount++;
+    }
+
+    /**
+     * Replaces every element with the result of applying operator to it,
+     * splitting the list into index ranges run on the common ForkJoinPool.
+     * operator must be safe to call from several threads at once.
+     * 
+     * @param operator
+     * @throws ConcurrentModificationException if operator modifies the list
+     */
+    public void parallelReplaceAll(UnaryOperator<T> operator) {
+        closeGap();
+        new ReplaceAllTask(operator, 0, rear, leafSize(rear), modCount).invoke();
+        modCount++;
+    }
+
+    /**
+     * Combines the elements in order, starting from identity, like
+     * Stream.reduce(identity, accumulator).
+     * 
+     * @param identity    identity value of accumulator
+     * @param accumulator associative combining function
+     * @return the combined value, identity if the list is empty
+     * @throws ConcurrentModificationException if accumulator modifies the list
+     */
+    public T reduce(T identity, BinaryOperator<T> accumulator) {
+        closeGap();
+        int expectedModCount = modCount;
+        T result = identity;
+        for (int i = 0; i < rear; i++) {
+            result = accumulator.apply(result, array[i]);
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        return result;
+    }
+
+    /**
+     * Combines the elements like reduce(), reducing index ranges on the
+     * common ForkJoinPool and combining their results in order, so the
+     * result is the same as reduce() for any associative accumulator.
+     * 
+     * @param identity    identity value of accumulator
+     * @param accumulator associative, thread-safe combining function
+     * @return the combined value, identity if the list is empty
+     * @throws ConcurrentModificationException if accumulator modifies the list
+     */
+    public T parallelReduce(T identity, BinaryOperator<T> accumulator) {
+        closeGap();
+        return new ReduceTask(identity, accumulator, 0, rear, leafSize(rear), modCount).invoke();
+    }
+
+    /**
+     * Performs action on every element, splitting the list into index
+     * ranges run on the common ForkJoinPool, so elements are visited in
+     * no particular order.
+     * 
+     * @param action thread-safe action
+     * @throws ConcurrentModificationException if action modifies the list
+     */
+    public void parallelForEach(Consumer<? super T> action) {
+        closeGap();
+        new ForEachTask(action, 0, rear, leafSize(rear), modCount).invoke();
+    }
+
+    /**
+     * Range length below which a fork-join task stops splitting: about
+     * four leaves per worker of the common pool, so busy workers can
+     * steal, but never fewer than MIN_LEAF elements
+     *
+     * @param size
+     * @return leaf size
+     */
+    private static int leafSize(int size) {
+        return Math.max(MIN_LEAF, size / (ForkJoinPool.getCommonPoolParallelism() << 2));
+    }
+
+    @Override
+    public void set(int index, T element) {
+        if ((index < 0) || (index >= size())) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            store(physical(index), element);
+            modCount++;
+        }
+    }
+
+    @Override
+    public T get(int index) {
+        if ((index < 0) || (index >= size())) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            return array[physical(index)];
+        }
+    }
+
+    @Override
+    public int indexOf(T element) {
+        closeGap();
+        return find(element);
+    }
+
+    @Override
+    public T first() {
+        if(isEmpty()) {
+            throw new NoSuchElementException();
+        } else {
+            return array[physical(0)];
         }
+    }
+
+    @Override
+    public T last() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        } else {
+            return array[physical(rear - 1)];
+        }
+    }
+
+    @Override
+    public boolean contains(T target) {
+        closeGap();
+        return find(target) != -1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return rear == 0;
+    }
 
-        return size;
+    @Override
+    public int size() {
+        return rear;
     }
 
     @Override
     public String toString() {
-        if (array[0] == null) {
+        closeGap();
+        if (rear == 0) {
             String returnVal = "[ ]";
             return returnVal;
         } else {
@@ -349,98 +921,948 @@ import java.util.NoSuchElementException;
 
     @Override
     public Iterator<T> iterator() {
-        Iterator<T> newIterator = new ArrayIterator<T>();
-        return newIterator;
+        return new ArrayListIterator(0);
     }
 
     @Override
     public ListIterator<T> listIterator() {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'listIterator'");
+        return new ArrayListIterator(0);
     }
 
     @Override
     public ListIterator<T> listIterator(int startingIndex) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'listIterator'");
+        if ((startingIndex < 0) || (startingIndex > rear)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            return new ArrayListIterator(startingIndex);
+        }
+    }
+
+    /**
+     * Returns a live, fail-fast view of [fromIndex, toIndex) that reads
+     * and writes this list's backing array directly. A view of a view
+     * refers to this list too, with the offsets added up, so element
+     * access costs the same at any depth of nesting.
+     */
+    @Override
+    public IndexedUnsortedList<T> subList(int fromIndex, int toIndex) {
+        if ((fromIndex < 0) || (toIndex > rear) || (fromIndex > toIndex)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            return new SubList(null, fromIndex, toIndex - fromIndex);
+        }
     }
 
     /**
-     * Private inner class for iterators in the IUArrayList class
+     * Returns a late-binding Spliterator that splits by halving its index
+     * range, so a parallel stream gets balanced chunks without copying.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ArraySpliterator(0, -1, 0);
+    }
+
+    /**
+     * Private inner class for iterators in the IUArrayList class.
+     * Edits made through the iterator keep the list's gap at the cursor,
+     * so next() and previous() after an edit move one element across the
+     * gap and the following edit finds the gap already in place.
      * 
      * @author Morgan Zabriskie
-     *
-     * @param <E> type to store
      */
-    
-    private class ArrayIterator<E extends T> implements Iterator<T> {
+    private class ArrayListIterator implements ListIterator<T> {
 
         // instance variables
-        boolean nextCalled = false;
-        int index = -1;
-        int iterModCount;
+        private int cursor;
+        private int lastReturned = -1;
+        private int iterModCount;
 
-        public ArrayIterator() {
+        /**
+         * Creates an iterator positioned before the element at startingIndex
+         *
+         * @param startingIndex in [0, rear]
+         */
+        public ArrayListIterator(int startingIndex) {
+            this.cursor = startingIndex;
             this.iterModCount = modCount;
         }
 
+        /** Throw if the list changed other than through this iterator */
+        private void checkForComodification() {
+            if (modCount != iterModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
         @Override
         public boolean hasNext() {
-            if(modCount != iterModCount) {
-                throw new ConcurrentModificationException();
+            checkForComodification();
+            return cursor < rear;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
             } else {
-                boolean hasNext = false;
-                if(array[this.index + 1] != null) {
-                    hasNext = true;
+                if (gapLength > 0 && gapStart == cursor) {
+                    moveGap(cursor + 1);
                 }
+                lastReturned = cursor;
+                cursor++;
+                return array[physical(lastReturned)];
+            }
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            checkForComodification();
+            return cursor > 0;
+        }
 
-                return hasNext;
+        @Override
+        public T previous() {
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            } else {
+                if (gapLength > 0 && gapStart == cursor) {
+                    moveGap(cursor - 1);
+                }
+                cursor--;
+                lastReturned = cursor;
+                return array[physical(lastReturned)];
             }
         }
 
         @Override
-        public T next() {
-            if(modCount != iterModCount) {
+        public int nextIndex() {
+            checkForComodification();
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex() {
+            checkForComodification();
+            return cursor - 1;
+        }
+
+        @Override
+        public void remove() {
+            checkForComodification();
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            } else {
+                // grow the gap by the removed slot, bringing the gap alongside it first
+                int index = lastReturned;
+                if (gapLength == 0) {
+                    gapStart = index + 1;
+                } else if (gapStart != index && gapStart != index + 1) {
+                    moveGap(index + 1);
+                }
+                if (gapStart == index + 1) {
+                    array[index] = null;
+                    gapStart = index;
+                } else {
+                    array[index + gapLength] = null;
+                }
+                gapLength++;
+                rear--;
+                if (index < cursor) {
+                    cursor--;
+                }
+                lastReturned = -1;
+                modCount++;
+                iterModCount = modCount;
+                shrinkCapacity();
+            }
+        }
+
+        @Override
+        public void set(T element) {
+            checkForComodification();
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            } else {
+                store(physical(lastReturned), element);
+                modCount++;
+                iterModCount = modCount;
+            }
+        }
+
+        @Override
+        public void add(T element) {
+            checkForComodification();
+            if (gapLength == 0) {
+                openGap(cursor);
+            } else {
+                moveGap(cursor);
+            }
+            store(gapStart, element);
+            gapStart++;
+            gapLength--;
+            rear++;
+            cursor++;
+            lastReturned = -1;
+            modCount++;
+            iterModCount = modCount;
+        }
+    }
+
+    /**
+     * Private inner class for range views of the IUArrayList class.
+     * A view keeps its offset into the backing array and its size, and
+     * reports its own structural changes to every enclosing view so they
+     * stay in step; any other change makes it fail fast.
+     *
+     * @author Morgan Zabriskie
+     */
+    private class SubList implements IndexedUnsortedList<T> {
+
+        // instance variables
+        private final SubList parent;
+        private final int offset;
+        private int size;
+        private int expectedModCount;
+
+        /**
+         * Creates a view of size elements starting at offset
+         *
+         * @param parent enclosing view, or null for a view of the list itself
+         * @param offset index in the list of the first element of the view
+         * @param size
+         */
+        public SubList(SubList parent, int offset, int size) {
+            this.parent = parent;
+            this.offset = offset;
+            this.size = size;
+            this.expectedModCount = modCount;
+        }
+
+        /** Throw if the list changed other than through this view */
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
                 throw new ConcurrentModificationException();
+            }
+        }
+
+        /**
+         * Record a change made through this view in it and every
+         * enclosing view
+         *
+         * @param sizeChange
+         */
+        private void updateSize(int sizeChange) {
+            for (SubList view = this; view != null; view = view.parent) {
+                view.size += sizeChange;
+                view.expectedModCount = modCount;
+            }
+        }
+
+        @Override
+        public void addToFront(T element) {
+            add(0, element);
+        }
+
+        @Override
+        public void addToRear(T element) {
+            add(size, element);
+        }
+
+        @Override
+        public void add(T element) {
+            add(size, element);
+        }
+
+        @Override
+        public void addAfter(T element, T target) {
+            int targetLocation = indexOf(target);
+            if (targetLocation == -1) {
+                throw new NoSuchElementException();
+            } else {
+                add(targetLocation + 1, element);
+            }
+        }
+
+        @Override
+        public void add(int index, T element) {
+            checkForComodification();
+            if ((index < 0) || (index > size)) {
+                throw new IndexOutOfBoundsException();
+            } else {
+                closeGap();
+                expandCapacity();
+                shift(offset + index, 1);
+                store(offset + index, element);
+                updateSize(1);
+            }
+        }
+
+        @Override
+        public void addAll(T[] elements) {
+            addAll(size, elements);
+        }
+
+        @Override
+        public void addAll(Iterable<? extends T> elements) {
+            addAll(size, elements);
+        }
+
+        @Override
+        public void addAll(int index, T[] elements) {
+            checkForComodification();
+            if ((index < 0) || (index > size)) {
+                throw new IndexOutOfBoundsException();
+            } else {
+                closeGap();
+                insertAll(offset + index, elements, elements.length);
+                updateSize(elements.length);
+            }
+        }
+
+        @Override
+        public void addAll(int index, Iterable<? extends T> elements) {
+            checkForComodification();
+            if ((index < 0) || (index > size)) {
+                throw new IndexOutOfBoundsException();
+            } else {
+                Object[] items = IUArrayList.toArray(elements);
+                checkForComodification();
+                closeGap();
+                insertAll(offset + index, items, items.length);
+                updateSize(items.length);
+            }
+        }
+
+        @Override
+        public T removeFirst() {
+            if (isEmpty()) {
+                throw new NoSuchElementException();
+            } else {
+                return remove(0);
+            }
+        }
+
+        @Override
+        public T removeLast() {
+            if (isEmpty()) {
+                throw new NoSuchElementException();
+            } else {
+                return remove(size - 1);
+            }
+        }
+
+        @Override
+        public T remove(T element) {
+            int elementLocation = indexOf(element);
+            if (elementLocation == -1) {
+                throw new NoSuchElementException();
+            } else {
+                return remove(elementLocation);
+            }
+        }
+
+        @Override
+        public T remove(int index) {
+            checkForComodification();
+            if ((index < 0) || (index >= size)) {
+                throw new IndexOutOfBoundsException();
+            } else {
+                closeGap();
+                T element = array[offset + index];
+                shift(offset + index + 1, -1);
+                updateSize(-1);
+                return element;
+            }
+        }
+
+        @Override
+        public void removeRange(int fromIndex, int toIndex) {
+            checkForComodification();
+            if ((fromIndex < 0) || (toIndex > size) || (fromIndex > toIndex)) {
+                throw new IndexOutOfBoundsException();
+            } else if (fromIndex < toIndex) {
+                closeGap();
+                shift(offset + toIndex, fromIndex - toIndex);
+                updateSize(fromIndex - toIndex);
+            }
+        }
+
+        @Override
+        public boolean removeIf(Predicate<? super T> filter) {
+            checkForComodification();
+            closeGap();
+            int removed = IUArrayList.this.removeIf(filter, offset, offset + size);
+            if (removed == 0) {
+                return false;
+            }
+            updateSize(-removed);
+            return true;
+        }
+
+        @Override
+        public void set(int index, T element) {
+            checkForComodification();
+            if ((index < 0) || (index >= size)) {
+                throw new IndexOutOfBoundsException();
+            } else {
+                store(physical(offset + index), element);
+                modCount++;
+                updateSize(0);
+            }
+        }
+
+        @Override
+        public T get(int index) {
+            checkForComodification();
+            if ((index < 0) || (index >= size)) {
+                throw new IndexOutOfBoundsException();
+            } else {
+                return array[physical(offset + index)];
+            }
+        }
+
+        @Override
+        public int indexOf(T element) {
+            checkForComodification();
+            closeGap();
+            int location = find(element, offset, offset + size);
+            return (location == -1) ? -1 : location - offset;
+        }
+
+        @Override
+        public T first() {
+            if (isEmpty()) {
+                throw new NoSuchElementException();
+            } else {
+                return get(0);
+            }
+        }
+
+        @Override
+        public T last() {
+            if (isEmpty()) {
+                throw new NoSuchElementException();
+            } else {
+                return get(size - 1);
+            }
+        }
+
+        @Override
+        public boolean contains(T target) {
+            return indexOf(target) != -1;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            checkForComodification();
+            return size == 0;
+        }
+
+        @Override
+        public int size() {
+            checkForComodification();
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            checkForComodification();
+            closeGap();
+            if (size == 0) {
+                return "[ ]";
+            } else {
+                StringBuilder returnVal = new StringBuilder("[");
+                for (int i = offset; i < offset + size; i++) {
+                    returnVal.append(array[i]);
+                    returnVal.append((i == offset + size - 1) ? "]" : ", ");
+                }
+                return returnVal.toString();
+            }
+        }
+
+        @Override
+        public IndexedUnsortedList<T> subList(int fromIndex, int toIndex) {
+            checkForComodification();
+            if ((fromIndex < 0) || (toIndex > size) || (fromIndex > toIndex)) {
+                throw new IndexOutOfBoundsException();
+            } else {
+                return new SubList(this, offset + fromIndex, toIndex - fromIndex);
+            }
+        }
+
+        @Override
+        public Spliterator<T> spliterator() {
+            checkForComodification();
+            closeGap();
+            return new ArraySpliterator(offset, offset + size, modCount);
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new SubListIterator(0);
+        }
+
+        @Override
+        public ListIterator<T> listIterator() {
+            return new SubListIterator(0);
+        }
+
+        @Override
+        public ListIterator<T> listIterator(int startingIndex) {
+            checkForComodification();
+            if ((startingIndex < 0) || (startingIndex > size)) {
+                throw new IndexOutOfBoundsException();
             } else {
-                // account for empty list
-                if(array[0] == null) {
+                return new SubListIterator(startingIndex);
+            }
+        }
+
+        /**
+         * Private inner class for iterators over a SubList. Every edit
+         * goes through the view's own methods, so enclosing views see it.
+         *
+         * @author Morgan Zabriskie
+         */
+        private class SubListIterator implements ListIterator<T> {
+
+            // instance variables
+            private int cursor;
+            private int lastReturned = -1;
+            private int iterModCount;
+
+            /**
+             * Creates an iterator positioned before the element at startingIndex
+             *
+             * @param startingIndex in [0, size]
+             */
+            public SubListIterator(int startingIndex) {
+                this.cursor = startingIndex;
+                this.iterModCount = modCount;
+            }
+
+            /** Throw if the list changed other than through this iterator */
+            private void checkForComodification() {
+                if (modCount != iterModCount) {
+                    throw new ConcurrentModificationException();
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                checkForComodification();
+                return cursor < size;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
                     throw new NoSuchElementException();
-                    // account for end of list
-                } else if (array[this.index + 1] == null) {
+                } else {
+                    lastReturned = cursor;
+                    cursor++;
+                    return array[physical(offset + lastReturned)];
+                }
+            }
+
+            @Override
+            public boolean hasPrevious() {
+                checkForComodification();
+                return cursor > 0;
+            }
+
+            @Override
+            public T previous() {
+                if (!hasPrevious()) {
                     throw new NoSuchElementException();
                 } else {
-                    this.index++;
-                    T next = array[this.index];
-                    nextCalled = true;
-                    return next;
+                    cursor--;
+                    lastReturned = cursor;
+                    return array[physical(offset + lastReturned)];
+                }
+            }
+
+            @Override
+            public int nextIndex() {
+                checkForComodification();
+                return cursor;
+            }
+
+            @Override
+            public int previousIndex() {
+                checkForComodification();
+                return cursor - 1;
+            }
+
+            @Override
+            public void remove() {
+                checkForComodification();
+                if (lastReturned == -1) {
+                    throw new IllegalStateException();
+                } else {
+                    SubList.this.remove(lastReturned);
+                    cursor = lastReturned;
+                    lastReturned = -1;
+                    iterModCount = modCount;
                 }
             }
+
+            @Override
+            public void set(T element) {
+                checkForComodification();
+                if (lastReturned == -1) {
+                    throw new IllegalStateException();
+                } else {
+                    SubList.this.set(lastReturned, element);
+                    iterModCount = modCount;
+                }
+            }
+
+            @Override
+            public void add(T element) {
+                checkForComodification();
+                SubList.this.add(cursor, element);
+                cursor++;
+                lastReturned = -1;
+                iterModCount = modCount;
+            }
+        }
+    }
+
+    /**
+     * Private inner class for spliterators in the IUArrayList class.
+     * The range is bound to the list's contents at the first traversal,
+     * split or size query, not at creation. Elements are read straight
+     * from the backing array and modCount is checked once at the end of
+     * a traversal rather than per element.
+     *
+     * @author Morgan Zabriskie
+     */
+    private class ArraySpliterator implements Spliterator<T> {
+
+        // instance variables
+        private int index;
+        // index after the last element, or -1 until bound
+        private int fence;
+        private int expectedModCount;
+
+        /**
+         * Creates a spliterator over [origin, fence)
+         *
+         * @param origin           first index
+         * @param fence            index after the last one, or -1 to bind to the whole list on first use
+         * @param expectedModCount modCount when fence was set
+         */
+        public ArraySpliterator(int origin, int fence, int expectedModCount) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        /**
+         * Bind to the whole list if not yet bound
+         *
+         * @return fence
+         */
+        private int getFence() {
+            if (fence < 0) {
+                closeGap();
+                expectedModCount = modCount;
+                fence = rear;
+            }
+            return fence;
         }
 
         @Override
-        public void remove() {
-            if(modCount != iterModCount) {
+        public Spliterator<T> trySplit() {
+            int hi = getFence();
+            int lo = index;
+            int mid = (lo + hi) >>> 1;
+            if (lo >= mid) {
+                return null;
+            }
+            index = mid;
+            return new ArraySpliterator(lo, mid, expectedModCount);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            int hi = getFence();
+            if (index < hi) {
+                T element = array[index++];
+                action.accept(element);
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            int hi = getFence();
+            T[] elements = array;
+            for (int i = index; i < hi; i++) {
+                action.accept(elements[i]);
+            }
+            index = hi;
+            if (modCount != expectedModCount) {
                 throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return getFence() - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+    /**
+     * Fork-join task for parallelReplaceAll() over [lo, hi). Each leaf
+     * checks for comodification once, after its loop.
+     *
+     * @author Morgan Zabriskie
+     */
+    @SuppressWarnings("serial")
+    private class ReplaceAllTask extends RecursiveAction {
+
+        private final UnaryOperator<T> operator;
+        private final int lo;
+        private final int hi;
+        private final int leafSize;
+        private final int expectedModCount;
+
+        public ReplaceAllTask(UnaryOperator<T> operator, int lo, int hi, int leafSize, int expectedModCount) {
+            this.operator = operator;
+            this.lo = lo;
+            this.hi = hi;
+            this.leafSize = leafSize;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= leafSize) {
+                for (int i = lo; i < hi; i++) {
+                    store(i, operator.apply(array[i]));
+                }
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
             } else {
-                if(!nextCalled) {
-                    throw new IllegalStateException();
-                } else {
-                    for (int i = this.index; i < rear; i++) {
-                        array[i] = array[i + 1];
-                        modCount++;
-                        iterModCount++;
-                    }
-                    // check you aren't setting rear to a negative number
-                    if (rear > 0) {
-                        rear--;
-                    } else {
-                        rear = 0;
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new ReplaceAllTask(operator, lo, mid, leafSize, expectedModCount),
+                        new ReplaceAllTask(operator, mid, hi, leafSize, expectedModCount));
+            }
+        }
+    }
+
+    /**
+     * Fork-join task for parallelReduce() over [lo, hi). Each leaf
+     * checks for comodification once, after its loop.
+     *
+     * @author Morgan Zabriskie
+     */
+    @SuppressWarnings("serial")
+    private class ReduceTask extends RecursiveTask<T> {
+
+        private final T identity;
+        private final BinaryOperator<T> accumulator;
+        private final int lo;
+        private final int hi;
+        private final int leafSize;
+        private final int expectedModCount;
+
+        public ReduceTask(T identity, BinaryOperator<T> accumulator, int lo, int hi, int leafSize,
+                int expectedModCount) {
+            this.identity = identity;
+            this.accumulator = accumulator;
+            this.lo = lo;
+            this.hi = hi;
+            this.leafSize = leafSize;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        protected T compute() {
+            if (hi - lo <= leafSize) {
+                T[] elements = array;
+                T result = identity;
+                for (int i = lo; i < hi; i++) {
+                    result = accumulator.apply(result, elements[i]);
+                }
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                return result;
+            } else {
+                int mid = (lo + hi) >>> 1;
+                ReduceTask left = new ReduceTask(identity, accumulator, lo, mid, leafSize, expectedModCount);
+                left.fork();
+                T right = new ReduceTask(identity, accumulator, mid, hi, leafSize, expectedModCount).compute();
+                return accumulator.apply(left.join(), right);
+            }
+        }
+    }
+
+    /**
+     * Fork-join task for parallelForEach() over [lo, hi). Each leaf
+     * checks for comodification once, after its loop.
+     *
+     * @author Morgan Zabriskie
+     */
+    @SuppressWarnings("serial")
+    private class ForEachTask extends RecursiveAction {
+
+        private final Consumer<? super T> action;
+        private final int lo;
+        private final int hi;
+        private final int leafSize;
+        private final int expectedModCount;
+
+        public ForEachTask(Consumer<? super T> action, int lo, int hi, int leafSize, int expectedModCount) {
+            this.action = action;
+            this.lo = lo;
+            this.hi = hi;
+            this.leafSize = leafSize;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= leafSize) {
+                T[] elements = array;
+                for (int i = lo; i < hi; i++) {
+                    action.accept(elements[i]);
+                }
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+            } else {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new ForEachTask(action, lo, mid, leafSize, expectedModCount),
+                        new ForEachTask(action, mid, hi, leafSize, expectedModCount));
+            }
+        }
+    }
+
+    /**
+     * Shared state of one parallelRemoveIf(): a bitset of survivors, the
+     * survivor count of each chunk (turned into output offsets by a
+     * prefix sum) and the arrays the survivors are scattered into.
+     *
+     * @author Morgan Zabriskie
+     */
+    private class Compaction {
+
+        private final Predicate<? super T> filter;
+        private final int size;
+        private final int chunkSize;
+        private final int expectedModCount;
+        private final long[] survivors;
+        // offsets[c + 1] is the survivor count of chunk c until the prefix sum
+        private final int[] offsets;
+        private T[] target;
+        private int[] targetHashes;
+
+        public Compaction(Predicate<? super T> filter, int size, int chunkSize, int chunks) {
+            this.filter = filter;
+            this.size = size;
+            this.chunkSize = chunkSize;
+            this.expectedModCount = modCount;
+            this.survivors = new long[(size + 63) >>> 6];
+            this.offsets = new int[chunks + 1];
+        }
+
+        /**
+         * Test every element of a chunk, marking and counting survivors
+         *
+         * @param chunk
+         */
+        private void mark(int chunk) {
+            T[] elements = array;
+            int lo = chunk * chunkSize;
+            int hi = Math.min(size, lo + chunkSize);
+            int kept = 0;
+            for (int i = lo; i < hi; i++) {
+                if (!filter.test(elements[i])) {
+                    survivors[i >>> 6] |= 1L << i;
+                    kept++;
+                }
+            }
+            offsets[chunk + 1] = kept;
+        }
+
+        /**
+         * Copy the survivors of a chunk, with their cached hashes, to the
+         * chunk's offset in the target arrays
+         *
+         * @param chunk
+         */
+        private void scatter(int chunk) {
+            T[] elements = array;
+            int[] cached = hashes;
+            int write = offsets[chunk];
+            int lo = chunk * chunkSize;
+            int hi = Math.min(size, lo + chunkSize);
+            for (int word = lo >>> 6; word < ((hi + 63) >>> 6); word++) {
+                for (long bits = survivors[word]; bits != 0; bits &= bits - 1) {
+                    int i = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    target[write] = elements[i];
+                    if (cached != null) {
+                        targetHashes[write] = cached[i];
                     }
-                    this.index--;
-                    nextCalled = false;
+                    write++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Fork-join task running one phase of a Compaction over the chunks
+     * in [lo, hi)
+     *
+     * @author Morgan Zabriskie
+     */
+    @SuppressWarnings("serial")
+    private class CompactionTask extends RecursiveAction {
+
+        private final Compaction compaction;
+        private final boolean scatter;
+        private final int lo;
+        private final int hi;
+
+        public CompactionTask(Compaction compaction, boolean scatter, int lo, int hi) {
+            this.compaction = compaction;
+            this.scatter = scatter;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                if (scatter) {
+                    compaction.scatter(lo);
+                } else {
+                    compaction.mark(lo);
                 }
+            } else {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new CompactionTask(compaction, scatter, lo, mid),
+                        new CompactionTask(compaction, scatter, mid, hi));
             }
         }
     }
- }
\ No newline at end of file
+ }
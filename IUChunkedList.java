@@ -0,0 +1,637 @@
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Unrolled linked list implementation of IndexedUnsortedList.
+ * Elements are kept in a doubly linked sequence of small arrays (chunks).
+ * A positional insert or remove only shifts elements inside one chunk,
+ * and chunks split when they fill up and merge with a neighbor when they
+ * run low. An index array of the chunks, rebuilt lazily after splits and
+ * merges, lets positional lookups scan chunk counts instead of chasing
+ * links. By default new chunks are sized near the square root of the
+ * list size, so positional add(), remove(), get() and set() are about
+ * O(sqrt(n)). Whole lists can be split and concatenated by relinking
+ * chunks.
+ * An Iterator with working remove() method is implemented, but
+ * ListIterator is unsupported.
+ *
+ * @author Morgan Zabriskie
+ *
+ * @param <T> type to store
+ */
+public class IUChunkedList<T> implements IndexedUnsortedList<T> {
+
+    private static final int MIN_CHUNK_CAPACITY = 16;
+
+    private Chunk<T> head;
+    private Chunk<T> tail;
+    private int size;
+    private int modCount;
+    private final int fixedChunkCapacity;
+
+    // lazily rebuilt array of chunks in list order
+    private Chunk<?>[] index;
+    private int chunkCount;
+    private boolean indexValid;
+
+    // results of the last locate() call
+    private Chunk<T> foundChunk;
+    private int foundOffset;
+
+    /** Creates an empty list whose chunk size adapts to the list size */
+    public IUChunkedList() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty list whose chunks all hold chunkCapacity elements,
+     * or adapt to the list size if chunkCapacity is 0
+     *
+     * @param chunkCapacity
+     */
+    public IUChunkedList(int chunkCapacity) {
+        if (chunkCapacity < 0 || (chunkCapacity > 0 && chunkCapacity < 2)) {
+            throw new IllegalArgumentException("chunkCapacity must be 0 or at least 2: " + chunkCapacity);
+        }
+        fixedChunkCapacity = chunkCapacity;
+        head = null;
+        tail = null;
+        size = 0;
+        modCount = 0;
+        index = new Chunk<?>[0];
+        chunkCount = 0;
+        indexValid = true;
+    }
+
+    /**
+     * Node holding a run of consecutive elements
+     *
+     * @param <T> type to store
+     */
+    private static class Chunk<T> {
+        private final Object[] items;
+        private int count;
+        private Chunk<T> prev;
+        private Chunk<T> next;
+
+        private Chunk(int capacity) {
+            items = new Object[capacity];
+        }
+
+        @SuppressWarnings("unchecked")
+        private T get(int offset) {
+            return (T) items[offset];
+        }
+    }
+
+    /** Capacity for a newly created chunk */
+    private int newChunkCapacity() {
+        if (fixedChunkCapacity > 0) {
+            return fixedChunkCapacity;
+        }
+        int root = (int) Math.sqrt(size);
+        return Math.max(MIN_CHUNK_CAPACITY, Integer.highestOneBit(Math.max(root, 1)) << 1);
+    }
+
+    /** Rebuild the chunk index if splits or merges have changed the chunks */
+    private void ensureIndex() {
+        if (indexValid) {
+            return;
+        }
+        if (index.length < chunkCount) {
+            index = new Chunk<?>[Math.max(chunkCount, index.length * 2)];
+        }
+        int i = 0;
+        for (Chunk<T> chunk = head; chunk != null; chunk = chunk.next) {
+            index[i++] = chunk;
+        }
+        for (int j = i; j < index.length && index[j] != null; j++) {
+            index[j] = null;
+        }
+        indexValid = true;
+    }
+
+    /**
+     * Find the chunk and offset holding the element at list index, scanning
+     * chunk counts from whichever end of the list is nearer. Results are
+     * left in foundChunk and foundOffset.
+     *
+     * @param listIndex in [0, size)
+     */
+    @SuppressWarnings("unchecked")
+    private void locate(int listIndex) {
+        ensureIndex();
+        if (listIndex < size / 2) {
+            int start = 0;
+            for (int i = 0; i < chunkCount; i++) {
+                Chunk<T> chunk = (Chunk<T>) index[i];
+                if (listIndex < start + chunk.count) {
+                    foundChunk = chunk;
+                    foundOffset = listIndex - start;
+                    return;
+                }
+                start += chunk.count;
+            }
+        } else {
+            int end = size;
+            for (int i = chunkCount - 1; i >= 0; i--) {
+                Chunk<T> chunk = (Chunk<T>) index[i];
+                int start = end - chunk.count;
+                if (listIndex >= start) {
+                    foundChunk = chunk;
+                    foundOffset = listIndex - start;
+                    return;
+                }
+                end = start;
+            }
+        }
+        throw new IllegalStateException("chunk counts out of step with size");
+    }
+
+    /**
+     * Link a new chunk after the given chunk, or at the front if after is null
+     *
+     * @param chunk new chunk
+     * @param after existing chunk or null
+     */
+    private void linkAfter(Chunk<T> chunk, Chunk<T> after) {
+        chunk.prev = after;
+        chunk.next = (after == null) ? head : after.next;
+        if (chunk.prev == null) {
+            head = chunk;
+        } else {
+            chunk.prev.next = chunk;
+        }
+        if (chunk.next == null) {
+            tail = chunk;
+        } else {
+            chunk.next.prev = chunk;
+        }
+        chunkCount++;
+        indexValid = false;
+    }
+
+    /**
+     * Remove a chunk from the chain
+     *
+     * @param chunk chunk to unlink
+     */
+    private void unlink(Chunk<T> chunk) {
+        if (chunk.prev == null) {
+            head = chunk.next;
+        } else {
+            chunk.prev.next = chunk.next;
+        }
+        if (chunk.next == null) {
+            tail = chunk.prev;
+        } else {
+            chunk.next.prev = chunk.prev;
+        }
+        chunk.prev = null;
+        chunk.next = null;
+        chunkCount--;
+        indexValid = false;
+    }
+
+    /**
+     * Move the elements of chunk from offset on into a new chunk linked
+     * right after it
+     *
+     * @param chunk  chunk to split
+     * @param offset first element to move, in [0, chunk.count]
+     * @return the new chunk
+     */
+    private Chunk<T> splitChunk(Chunk<T> chunk, int offset) {
+        int moved = chunk.count - offset;
+        Chunk<T> right = new Chunk<T>(Math.max(newChunkCapacity(), chunk.items.length));
+        System.arraycopy(chunk.items, offset, right.items, 0, moved);
+        Arrays.fill(chunk.items, offset, chunk.count, null);
+        right.count = moved;
+        chunk.count = offset;
+        linkAfter(right, chunk);
+        return right;
+    }
+
+    /**
+     * Insert element at list index, splitting a full chunk first
+     *
+     * @param listIndex in [0, size]
+     * @param element
+     */
+    private void insertAt(int listIndex, T element) {
+        Chunk<T> chunk;
+        int offset;
+        if (head == null) {
+            chunk = new Chunk<T>(newChunkCapacity());
+            linkAfter(chunk, null);
+            offset = 0;
+        } else if (listIndex == size) {
+            chunk = tail;
+            offset = tail.count;
+        } else {
+            locate(listIndex);
+            chunk = foundChunk;
+            offset = foundOffset;
+        }
+        if (chunk.count == chunk.items.length) {
+            if (offset == chunk.count) {
+                // appending to a full chunk: start a fresh one
+                chunk = splitChunk(chunk, chunk.count);
+                offset = 0;
+            } else {
+                int mid = chunk.count / 2;
+                Chunk<T> right = splitChunk(chunk, mid);
+                if (offset > mid) {
+                    chunk = right;
+                    offset -= mid;
+                }
+            }
+        }
+        System.arraycopy(chunk.items, offset, chunk.items, offset + 1, chunk.count - offset);
+        chunk.items[offset] = element;
+        chunk.count++;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Remove the element at offset within chunk, merging or unlinking the
+     * chunk if it becomes sparse
+     *
+     * @param chunk
+     * @param offset in [0, chunk.count)
+     * @return the removed element
+     */
+    private T removeFrom(Chunk<T> chunk, int offset) {
+        T element = chunk.get(offset);
+        System.arraycopy(chunk.items, offset + 1, chunk.items, offset, chunk.count - offset - 1);
+        chunk.count--;
+        chunk.items[chunk.count] = null;
+        size--;
+        modCount++;
+
+        if (chunk.count == 0) {
+            unlink(chunk);
+        } else if (chunk.count <= chunk.items.length / 4) {
+            Chunk<T> next = chunk.next;
+            Chunk<T> prev = chunk.prev;
+            if (next != null && chunk.count + next.count <= chunk.items.length / 2) {
+                System.arraycopy(next.items, 0, chunk.items, chunk.count, next.count);
+                chunk.count += next.count;
+                unlink(next);
+            } else if (prev != null && prev.count + chunk.count <= prev.items.length / 2) {
+                System.arraycopy(chunk.items, 0, prev.items, prev.count, chunk.count);
+                prev.count += chunk.count;
+                unlink(chunk);
+            }
+        }
+        return element;
+    }
+
+    /**
+     * Remove the element at list index
+     *
+     * @param listIndex in [0, size)
+     * @return the removed element
+     */
+    private T removeAt(int listIndex) {
+        if (listIndex == size - 1) {
+            return removeFrom(tail, tail.count - 1);
+        } else {
+            locate(listIndex);
+            return removeFrom(foundChunk, foundOffset);
+        }
+    }
+
+    @Override
+    public void addToFront(T element) {
+        insertAt(0, element);
+    }
+
+    @Override
+    public void addToRear(T element) {
+        insertAt(size, element);
+    }
+
+    @Override
+    public void add(T element) {
+        insertAt(size, element);
+    }
+
+    @Override
+    public void addAfter(T element, T target) {
+        int targetLocation = indexOf(target);
+        if (targetLocation == -1) {
+            throw new NoSuchElementException();
+        } else {
+            insertAt(targetLocation + 1, element);
+        }
+    }
+
+    @Override
+    public void add(int index, T element) {
+        if ((index < 0) || (index > size)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            insertAt(index, element);
+        }
+    }
+
+    @Override
+    public T removeFirst() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        } else {
+            return removeFrom(head, 0);
+        }
+    }
+
+    @Override
+    public T removeLast() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        } else {
+            return removeFrom(tail, tail.count - 1);
+        }
+    }
+
+    @Override
+    public T remove(T element) {
+        for (Chunk<T> chunk = head; chunk != null; chunk = chunk.next) {
+            for (int i = 0; i < chunk.count; i++) {
+                if (chunk.items[i] == element) {
+                    return removeFrom(chunk, i);
+                }
+            }
+        }
+        throw new NoSuchElementException();
+    }
+
+    @Override
+    public T remove(int index) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            return removeAt(index);
+        }
+    }
+
+    @Override
+    public void set(int index, T element) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            locate(index);
+            foundChunk.items[foundOffset] = element;
+            modCount++;
+        }
+    }
+
+    @Override
+    public T get(int index) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            locate(index);
+            return foundChunk.get(foundOffset);
+        }
+    }
+
+    @Override
+    public int indexOf(T element) {
+        int start = 0;
+        for (Chunk<T> chunk = head; chunk != null; chunk = chunk.next) {
+            for (int i = 0; i < chunk.count; i++) {
+                if (chunk.items[i] == element) {
+                    return start + i;
+                }
+            }
+            start += chunk.count;
+        }
+        return -1;
+    }
+
+    @Override
+    public T first() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        } else {
+            return head.get(0);
+        }
+    }
+
+    @Override
+    public T last() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        } else {
+            return tail.get(tail.count - 1);
+        }
+    }
+
+    @Override
+    public boolean contains(T target) {
+        return indexOf(target) != -1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes the elements from index to the end of this list and returns
+     * them as a new list. Only the chunk containing index is copied; the
+     * chunks after it are handed over as they are.
+     *
+     * @param index first element to move, in [0, size]
+     * @return new list holding the former elements [index, size)
+     * @throws IndexOutOfBoundsException if index < 0 || index > size
+     */
+    public IUChunkedList<T> splitAt(int index) {
+        if ((index < 0) || (index > size)) {
+            throw new IndexOutOfBoundsException();
+        }
+        IUChunkedList<T> rest = new IUChunkedList<T>(fixedChunkCapacity);
+        if (index == size) {
+            return rest;
+        }
+        locate(index);
+        Chunk<T> first = foundChunk;
+        if (foundOffset > 0) {
+            first = splitChunk(foundChunk, foundOffset);
+        }
+        int moved = 0;
+        int movedChunks = 0;
+        for (Chunk<T> chunk = first; chunk != null; chunk = chunk.next) {
+            moved += chunk.count;
+            movedChunks++;
+        }
+        rest.head = first;
+        rest.tail = tail;
+        rest.size = moved;
+        rest.chunkCount = movedChunks;
+        rest.indexValid = false;
+
+        tail = first.prev;
+        if (tail == null) {
+            head = null;
+        } else {
+            tail.next = null;
+        }
+        first.prev = null;
+        size -= moved;
+        chunkCount -= movedChunks;
+        indexValid = false;
+        modCount++;
+        return rest;
+    }
+
+    /**
+     * Moves all elements of other to the end of this list by relinking its
+     * chunks, leaving other empty.
+     *
+     * @param other list to append, must not be this list
+     * @throws IllegalArgumentException if other is this list
+     */
+    public void concat(IUChunkedList<T> other) {
+        if (other == this) {
+            throw new IllegalArgumentException("cannot concatenate a list with itself");
+        }
+        if (other.head == null) {
+            return;
+        }
+        if (head == null) {
+            head = other.head;
+        } else {
+            tail.next = other.head;
+            other.head.prev = tail;
+        }
+        tail = other.tail;
+        size += other.size;
+        chunkCount += other.chunkCount;
+        indexValid = false;
+        modCount++;
+
+        other.head = null;
+        other.tail = null;
+        other.size = 0;
+        other.chunkCount = 0;
+        other.indexValid = false;
+        other.modCount++;
+    }
+
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "[ ]";
+        } else {
+            StringBuilder returnVal = new StringBuilder("[");
+            for (Chunk<T> chunk = head; chunk != null; chunk = chunk.next) {
+                for (int i = 0; i < chunk.count; i++) {
+                    returnVal.append(chunk.items[i]);
+                    returnVal.append((chunk.next == null && i == chunk.count - 1) ? "]" : ", ");
+                }
+            }
+            return returnVal.toString();
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new ChunkIterator();
+    }
+
+    @Override
+    public ListIterator<T> listIterator() {
+        throw new UnsupportedOperationException("Unimplemented method 'listIterator'");
+    }
+
+    @Override
+    public ListIterator<T> listIterator(int startingIndex) {
+        throw new UnsupportedOperationException("Unimplemented method 'listIterator'");
+    }
+
+    /**
+     * Private inner class for iterators in the IUChunkedList class.
+     * Walks each chunk's array in turn.
+     *
+     * @author Morgan Zabriskie
+     */
+    private class ChunkIterator implements Iterator<T> {
+
+        // instance variables
+        private Chunk<T> chunk = head;
+        private int offset = 0;
+        private Chunk<T> lastChunk = null;
+        private int lastOffset = -1;
+        private int iterModCount;
+
+        public ChunkIterator() {
+            this.iterModCount = modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (modCount != iterModCount) {
+                throw new ConcurrentModificationException();
+            } else {
+                while (chunk != null && offset >= chunk.count) {
+                    chunk = chunk.next;
+                    offset = 0;
+                }
+                return chunk != null;
+            }
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            } else {
+                lastChunk = chunk;
+                lastOffset = offset;
+                offset++;
+                return lastChunk.get(lastOffset);
+            }
+        }
+
+        @Override
+        public void remove() {
+            if (modCount != iterModCount) {
+                throw new ConcurrentModificationException();
+            } else if (lastChunk == null) {
+                throw new IllegalStateException();
+            } else {
+                // find the element following the removed one before chunks can merge
+                Chunk<T> nextChunk = lastChunk;
+                int nextOffset = lastOffset;
+                Chunk<T> prev = lastChunk.prev;
+                int prevCount = (prev == null) ? 0 : prev.count;
+                removeFrom(lastChunk, lastOffset);
+                if (lastChunk.count == 0 || (prev != null && prev.count > prevCount)) {
+                    // lastChunk was unlinked, or merged into prev
+                    if (lastChunk.count == 0) {
+                        nextChunk = (prev == null) ? head : prev.next;
+                        nextOffset = 0;
+                    } else {
+                        nextChunk = prev;
+                        nextOffset = prevCount + lastOffset;
+                    }
+                }
+                chunk = nextChunk;
+                offset = nextOffset;
+                lastChunk = null;
+                iterModCount = modCount;
+            }
+        }
+    }
+}
@@ -0,0 +1,343 @@
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Circular array (ring buffer) implementation of IndexedUnsortedList.
+ * Elements live in array slots head, head + 1, ... wrapping around the
+ * end of the array, so adding or removing at either end of the list is
+ * O(1) amortized and get()/set() are O(1).
+ * An Iterator with working remove() method is implemented, but
+ * ListIterator is unsupported.
+ *
+ * @author Morgan Zabriskie
+ *
+ * @param <T> type to store
+ */
+public class IUCircularArrayList<T> implements IndexedUnsortedList<T> {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private T[] array;
+    private int head;
+    private int count;
+    private int modCount;
+
+    /** Creates an empty list with default initial capacity */
+    public IUCircularArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list with the given initial capacity
+     *
+     * @param initialCapacity
+     */
+    @SuppressWarnings("unchecked")
+    public IUCircularArrayList(int initialCapacity) {
+        array = (T[]) (new Object[Math.max(initialCapacity, 1)]);
+        head = 0;
+        count = 0;
+        modCount = 0;
+    }
+
+    /**
+     * Translate a list index into a slot of array
+     *
+     * @param index list index in [0, array.length)
+     * @return array slot holding that index
+     */
+    private int slot(int index) {
+        int slot = head + index;
+        if (slot >= array.length) {
+            slot -= array.length;
+        }
+        return slot;
+    }
+
+    /** Double the capacity of array, unwrapping the elements so head is 0 */
+    @SuppressWarnings("unchecked")
+    private void expandCapacity() {
+        T[] larger = (T[]) (new Object[array.length * 2]);
+        int firstRun = Math.min(count, array.length - head);
+        System.arraycopy(array, head, larger, 0, firstRun);
+        System.arraycopy(array, 0, larger, firstRun, count - firstRun);
+        array = larger;
+        head = 0;
+    }
+
+    /**
+     * Insert element at the given list index, shifting whichever side of
+     * the list is shorter
+     *
+     * @param index   list index in [0, count]
+     * @param element element to insert
+     */
+    private void insertAt(int index, T element) {
+        if (count == array.length) {
+            expandCapacity();
+        }
+        if (index < count - index) {
+            // shift the front part one slot to the left
+            head = (head == 0) ? array.length - 1 : head - 1;
+            for (int i = 0; i < index; i++) {
+                array[slot(i)] = array[slot(i + 1)];
+            }
+        } else {
+            // shift the rear part one slot to the right
+            for (int i = count; i > index; i--) {
+                array[slot(i)] = array[slot(i - 1)];
+            }
+        }
+        array[slot(index)] = element;
+        count++;
+        modCount++;
+    }
+
+    /**
+     * Remove the element at the given list index, closing the hole from
+     * whichever side of the list is shorter
+     *
+     * @param index list index in [0, count)
+     * @return the removed element
+     */
+    private T removeAt(int index) {
+        T element = array[slot(index)];
+        if (index < count - 1 - index) {
+            // close the hole by shifting the front part one slot to the right
+            for (int i = index; i > 0; i--) {
+                array[slot(i)] = array[slot(i - 1)];
+            }
+            array[head] = null;
+            head = slot(1);
+        } else {
+            // close the hole by shifting the rear part one slot to the left
+            for (int i = index; i < count - 1; i++) {
+                array[slot(i)] = array[slot(i + 1)];
+            }
+            array[slot(count - 1)] = null;
+        }
+        count--;
+        modCount++;
+        return element;
+    }
+
+    @Override
+    public void addToFront(T element) {
+        insertAt(0, element);
+    }
+
+    @Override
+    public void addToRear(T element) {
+        insertAt(count, element);
+    }
+
+    @Override
+    public void add(T element) {
+        insertAt(count, element);
+    }
+
+    @Override
+    public void addAfter(T element, T target) {
+        int targetLocation = indexOf(target);
+        if (targetLocation == -1) {
+            throw new NoSuchElementException();
+        } else {
+            insertAt(targetLocation + 1, element);
+        }
+    }
+
+    @Override
+    public void add(int index, T element) {
+        if ((index < 0) || (index > count)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            insertAt(index, element);
+        }
+    }
+
+    @Override
+    public T removeFirst() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        } else {
+            return removeAt(0);
+        }
+    }
+
+    @Override
+    public T removeLast() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        } else {
+            return removeAt(count - 1);
+        }
+    }
+
+    @Override
+    public T remove(T element) {
+        int elementLocation = indexOf(element);
+        if (elementLocation == -1) {
+            throw new NoSuchElementException();
+        } else {
+            return removeAt(elementLocation);
+        }
+    }
+
+    @Override
+    public T remove(int index) {
+        if ((index < 0) || (index >= count)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            return removeAt(index);
+        }
+    }
+
+    @Override
+    public void set(int index, T element) {
+        if ((index < 0) || (index >= count)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            array[slot(index)] = element;
+            modCount++;
+        }
+    }
+
+    @Override
+    public T get(int index) {
+        if ((index < 0) || (index >= count)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            return array[slot(index)];
+        }
+    }
+
+    @Override
+    public int indexOf(T element) {
+        int index = -1;
+
+        for (int i = 0; i < count; i++) {
+            if (array[slot(i)] == element) {
+                index = i;
+                break;
+            }
+        }
+
+        return index;
+    }
+
+    @Override
+    public T first() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        } else {
+            return array[head];
+        }
+    }
+
+    @Override
+    public T last() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        } else {
+            return array[slot(count - 1)];
+        }
+    }
+
+    @Override
+    public boolean contains(T target) {
+        return indexOf(target) != -1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "[ ]";
+        } else {
+            StringBuilder returnVal = new StringBuilder("[");
+            for (int i = 0; i < count; i++) {
+                returnVal.append(array[slot(i)]);
+                returnVal.append((i == (count - 1)) ? "]" : ", ");
+            }
+            return returnVal.toString();
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new CircularIterator();
+    }
+
+    @Override
+    public ListIterator<T> listIterator() {
+        throw new UnsupportedOperationException("Unimplemented method 'listIterator'");
+    }
+
+    @Override
+    public ListIterator<T> listIterator(int startingIndex) {
+        throw new UnsupportedOperationException("Unimplemented method 'listIterator'");
+    }
+
+    /**
+     * Private inner class for iterators in the IUCircularArrayList class
+     *
+     * @author Morgan Zabriskie
+     */
+    private class CircularIterator implements Iterator<T> {
+
+        // instance variables
+        private boolean nextCalled = false;
+        private int index = 0;
+        private int iterModCount;
+
+        public CircularIterator() {
+            this.iterModCount = modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (modCount != iterModCount) {
+                throw new ConcurrentModificationException();
+            } else {
+                return index < count;
+            }
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            } else {
+                T next = array[slot(index)];
+                index++;
+                nextCalled = true;
+                return next;
+            }
+        }
+
+        @Override
+        public void remove() {
+            if (modCount != iterModCount) {
+                throw new ConcurrentModificationException();
+            } else if (!nextCalled) {
+                throw new IllegalStateException();
+            } else {
+                index--;
+                removeAt(index);
+                iterModCount = modCount;
+                nextCalled = false;
+            }
+        }
+    }
+}
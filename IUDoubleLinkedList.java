@@ -0,0 +1,480 @@
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Doubly linked node-based implementation of IndexedUnsortedList.
+ * Positional methods walk from whichever end of the list is nearer, so
+ * get(), set(), add(int, T) and remove(int) touch at most size / 2 nodes.
+ * A full ListIterator with add(), set(), remove() and previous() is
+ * implemented, and iterator() returns the same fail-fast iterator.
+ *
+ * Optionally, unlinked nodes are kept on a free-list and reused by later
+ * adds, so queue-like workloads that add and remove constantly allocate
+ * no new nodes once the free-list has filled up.
+ *
+ * @author Morgan Zabriskie
+ *
+ * @param <T> type to store
+ */
+public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
+
+    private Node<T> head;
+    private Node<T> tail;
+    private int size;
+    private int modCount;
+
+    // recycled nodes, chained through next
+    private Node<T> freeList;
+    private int freeCount;
+    private final int maxFreeNodes;
+
+    /** Creates an empty list that does not recycle nodes */
+    public IUDoubleLinkedList() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty list that keeps up to maxFreeNodes unlinked nodes
+     * for reuse
+     *
+     * @param maxFreeNodes
+     */
+    public IUDoubleLinkedList(int maxFreeNodes) {
+        if (maxFreeNodes < 0) {
+            throw new IllegalArgumentException("maxFreeNodes must not be negative: " + maxFreeNodes);
+        }
+        this.maxFreeNodes = maxFreeNodes;
+        head = null;
+        tail = null;
+        size = 0;
+        modCount = 0;
+        freeList = null;
+        freeCount = 0;
+    }
+
+    /**
+     * Node holding one element
+     *
+     * @param <T> type to store
+     */
+    private static class Node<T> {
+        private T element;
+        private Node<T> prev;
+        private Node<T> next;
+    }
+
+    /**
+     * Take a node from the free-list, or allocate one if it is empty
+     *
+     * @param element
+     * @return unlinked node holding element
+     */
+    private Node<T> newNode(T element) {
+        Node<T> node = freeList;
+        if (node == null) {
+            node = new Node<T>();
+        } else {
+            freeList = node.next;
+            node.next = null;
+            freeCount--;
+        }
+        node.element = element;
+        return node;
+    }
+
+    /**
+     * Clear an unlinked node and put it on the free-list if there is room
+     *
+     * @param node
+     */
+    private void recycle(Node<T> node) {
+        node.element = null;
+        node.prev = null;
+        if (freeCount < maxFreeNodes) {
+            node.next = freeList;
+            freeList = node;
+            freeCount++;
+        } else {
+            node.next = null;
+        }
+    }
+
+    /**
+     * Find the node at index, walking from the nearer end
+     *
+     * @param index in [0, size)
+     * @return the node
+     */
+    private Node<T> nodeAt(int index) {
+        Node<T> current;
+        if (index < (size >> 1)) {
+            current = head;
+            for (int i = 0; i < index; i++) {
+                current = current.next;
+            }
+        } else {
+            current = tail;
+            for (int i = size - 1; i > index; i--) {
+                current = current.prev;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Insert element before successor, or at the rear if successor is null
+     *
+     * @param element
+     * @param successor
+     * @return the new node
+     */
+    private Node<T> linkBefore(T element, Node<T> successor) {
+        Node<T> node = newNode(element);
+        Node<T> predecessor = (successor == null) ? tail : successor.prev;
+        node.prev = predecessor;
+        node.next = successor;
+        if (predecessor == null) {
+            head = node;
+        } else {
+            predecessor.next = node;
+        }
+        if (successor == null) {
+            tail = node;
+        } else {
+            successor.prev = node;
+        }
+        size++;
+        modCount++;
+        return node;
+    }
+
+    /**
+     * Remove node from the list
+     *
+     * @param node
+     * @return the element it held
+     */
+    private T unlink(Node<T> node) {
+        T element = node.element;
+        if (node.prev == null) {
+            head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+        recycle(node);
+        size--;
+        modCount++;
+        return element;
+    }
+
+    /**
+     * Find the first node holding element
+     *
+     * @param element
+     * @return the node, or null if element is not in the list
+     */
+    private Node<T> find(T element) {
+        for (Node<T> current = head; current != null; current = current.next) {
+            if (current.element == element) {
+                return current;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void addToFront(T element) {
+        linkBefore(element, head);
+    }
+
+    @Override
+    public void addToRear(T element) {
+        linkBefore(element, null);
+    }
+
+    @Override
+    public void add(T element) {
+        linkBefore(element, null);
+    }
+
+    @Override
+    public void addAfter(T element, T target) {
+        Node<T> targetNode = find(target);
+        if (targetNode == null) {
+            throw new NoSuchElementException();
+        } else {
+            linkBefore(element, targetNode.next);
+        }
+    }
+
+    @Override
+    public void add(int index, T element) {
+        if ((index < 0) || (index > size)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            linkBefore(element, (index == size) ? null : nodeAt(index));
+        }
+    }
+
+    @Override
+    public T removeFirst() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        } else {
+            return unlink(head);
+        }
+    }
+
+    @Override
+    public T removeLast() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        } else {
+            return unlink(tail);
+        }
+    }
+
+    @Override
+    public T remove(T element) {
+        Node<T> node = find(element);
+        if (node == null) {
+            throw new NoSuchElementException();
+        } else {
+            return unlink(node);
+        }
+    }
+
+    @Override
+    public T remove(int index) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            return unlink(nodeAt(index));
+        }
+    }
+
+    @Override
+    public void set(int index, T element) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            nodeAt(index).element = element;
+            modCount++;
+        }
+    }
+
+    @Override
+    public T get(int index) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            return nodeAt(index).element;
+        }
+    }
+
+    @Override
+    public int indexOf(T element) {
+        int index = 0;
+        for (Node<T> current = head; current != null; current = current.next) {
+            if (current.element == element) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    @Override
+    public T first() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        } else {
+            return head.element;
+        }
+    }
+
+    @Override
+    public T last() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        } else {
+            return tail.element;
+        }
+    }
+
+    @Override
+    public boolean contains(T target) {
+        return find(target) != null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "[ ]";
+        } else {
+            StringBuilder returnVal = new StringBuilder("[");
+            for (Node<T> current = head; current != null; current = current.next) {
+                returnVal.append(current.element);
+                returnVal.append((current.next == null) ? "]" : ", ");
+            }
+            return returnVal.toString();
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new DLLIterator(0);
+    }
+
+    @Override
+    public ListIterator<T> listIterator() {
+        return new DLLIterator(0);
+    }
+
+    @Override
+    public ListIterator<T> listIterator(int startingIndex) {
+        if ((startingIndex < 0) || (startingIndex > size)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            return new DLLIterator(startingIndex);
+        }
+    }
+
+    /**
+     * Private inner class for iterators in the IUDoubleLinkedList class.
+     * The cursor sits between the node previous() would return and
+     * nextNode, the node next() would return.
+     *
+     * @author Morgan Zabriskie
+     */
+    private class DLLIterator implements ListIterator<T> {
+
+        // instance variables
+        private Node<T> nextNode;
+        private int nextIndex;
+        private Node<T> lastReturned = null;
+        private int iterModCount;
+
+        /**
+         * Creates an iterator positioned before the element at startingIndex
+         *
+         * @param startingIndex in [0, size]
+         */
+        public DLLIterator(int startingIndex) {
+            this.nextNode = (startingIndex == size) ? null : nodeAt(startingIndex);
+            this.nextIndex = startingIndex;
+            this.iterModCount = modCount;
+        }
+
+        /** Throw if the list changed other than through this iterator */
+        private void checkForComodification() {
+            if (modCount != iterModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            checkForComodification();
+            return nextIndex < size;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            } else {
+                lastReturned = nextNode;
+                nextNode = nextNode.next;
+                nextIndex++;
+                return lastReturned.element;
+            }
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            checkForComodification();
+            return nextIndex > 0;
+        }
+
+        @Override
+        public T previous() {
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            } else {
+                nextNode = (nextNode == null) ? tail : nextNode.prev;
+                lastReturned = nextNode;
+                nextIndex--;
+                return lastReturned.element;
+            }
+        }
+
+        @Override
+        public int nextIndex() {
+            checkForComodification();
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            checkForComodification();
+            return nextIndex - 1;
+        }
+
+        @Override
+        public void remove() {
+            checkForComodification();
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            } else {
+                if (lastReturned == nextNode) {
+                    // last move was previous()
+                    nextNode = nextNode.next;
+                } else {
+                    nextIndex--;
+                }
+                unlink(lastReturned);
+                lastReturned = null;
+                iterModCount = modCount;
+            }
+        }
+
+        @Override
+        public void set(T element) {
+            checkForComodification();
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            } else {
+                lastReturned.element = element;
+                modCount++;
+                iterModCount = modCount;
+            }
+        }
+
+        @Override
+        public void add(T element) {
+            checkForComodification();
+            linkBefore(element, nextNode);
+            nextIndex++;
+            lastReturned = null;
+            iterModCount = modCount;
+        }
+    }
+}
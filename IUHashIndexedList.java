@@ -0,0 +1,490 @@
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * IUArrayList with a hash side index from each element to its number of
+ * occurrences and the position of its first occurrence, so contains(),
+ * indexOf(), remove(T) and addAfter() are O(1) expected instead of a
+ * linear scan. Elements are matched by identity, like IUArrayList.
+ *
+ * Occurrence counts are updated on every mutation. First positions are
+ * only trusted below a dirty mark: an insert or remove in the middle of
+ * the list moves every later element, so instead of renumbering the
+ * index it just lowers the mark. The next lookup that needs a position
+ * at or past the mark rescans from the mark to the end and raises it
+ * again. Adding and removing at the rear never lowers the mark.
+ * A full ListIterator is implemented, and iterator() returns the same
+ * fail-fast iterator.
+ *
+ * @author Morgan Zabriskie
+ *
+ * @param <T> type to store
+ */
+public class IUHashIndexedList<T> implements IndexedUnsortedList<T> {
+
+    private final IUArrayList<T> list;
+    private final IdentityHashMap<T, Entry> index;
+    // first positions below this are correct, at or above it they may be stale
+    private int dirtyFrom;
+
+    /** Creates an empty list with default initial capacity */
+    public IUHashIndexedList() {
+        this(new IUArrayList<T>());
+    }
+
+    /**
+     * Creates an empty list with the given initial capacity
+     *
+     * @param initialCapacity
+     */
+    public IUHashIndexedList(int initialCapacity) {
+        this(new IUArrayList<T>(initialCapacity));
+    }
+
+    /**
+     * Creates an index over an empty backing list
+     *
+     * @param list
+     */
+    private IUHashIndexedList(IUArrayList<T> list) {
+        this.list = list;
+        this.index = new IdentityHashMap<T, Entry>();
+        this.dirtyFrom = Integer.MAX_VALUE;
+    }
+
+    /** Side index record for one distinct element */
+    private static final class Entry {
+        private int count;
+        private int first;
+    }
+
+    /**
+     * Record element inserted at position
+     *
+     * @param position
+     * @param element
+     * @param size     list size before the insert
+     */
+    private void indexInsert(int position, T element, int size) {
+        if (position < size) {
+            dirtyFrom = Math.min(dirtyFrom, position);
+        }
+        Entry entry = index.get(element);
+        if (entry == null) {
+            entry = new Entry();
+            entry.first = position;
+            index.put(element, entry);
+        }
+        entry.count++;
+    }
+
+    /**
+     * Record element removed from position
+     *
+     * @param position
+     * @param element
+     * @param size     list size before the remove
+     */
+    private void indexRemove(int position, T element, int size) {
+        if (position < size - 1) {
+            dirtyFrom = Math.min(dirtyFrom, position);
+        }
+        Entry entry = index.get(element);
+        entry.count--;
+        if (entry.count == 0) {
+            index.remove(element);
+        }
+    }
+
+    /**
+     * Record oldElement replaced by newElement at position
+     *
+     * @param position
+     * @param oldElement
+     * @param newElement
+     */
+    private void indexSet(int position, T oldElement, T newElement) {
+        if (oldElement == newElement) {
+            return;
+        }
+        Entry old = index.get(oldElement);
+        old.count--;
+        if (old.count == 0) {
+            index.remove(oldElement);
+        } else if (old.first == position) {
+            dirtyFrom = Math.min(dirtyFrom, position);
+        }
+        Entry entry = index.get(newElement);
+        if (entry == null) {
+            entry = new Entry();
+            entry.first = position;
+            index.put(newElement, entry);
+        } else if (entry.first > position) {
+            entry.first = position;
+        }
+        entry.count++;
+    }
+
+    /**
+     * Rescan positions from dirtyFrom to the end, back to front, so each
+     * stale first position ends at its element's earliest occurrence
+     */
+    private void rebuildPositions() {
+        int from = dirtyFrom;
+        for (int i = list.size() - 1; i >= from; i--) {
+            Entry entry = index.get(list.get(i));
+            if (entry.first >= from) {
+                entry.first = i;
+            }
+        }
+        dirtyFrom = Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void addToFront(T element) {
+        indexInsert(0, element, list.size());
+        list.addToFront(element);
+    }
+
+    @Override
+    public void addToRear(T element) {
+        indexInsert(list.size(), element, list.size());
+        list.addToRear(element);
+    }
+
+    @Override
+    public void add(T element) {
+        indexInsert(list.size(), element, list.size());
+        list.add(element);
+    }
+
+    @Override
+    public void addAfter(T element, T target) {
+        int targetLocation = indexOf(target);
+        if (targetLocation == -1) {
+            throw new NoSuchElementException();
+        } else {
+            add(targetLocation + 1, element);
+        }
+    }
+
+    @Override
+    public void add(int index, T element) {
+        if ((index < 0) || (index > list.size())) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            indexInsert(index, element, list.size());
+            list.add(index, element);
+        }
+    }
+
+    @Override
+    public void addAll(T[] elements) {
+        addAll(list.size(), elements);
+    }
+
+    @Override
+    public void addAll(Iterable<? extends T> elements) {
+        addAll(list.size(), elements);
+    }
+
+    @Override
+    public void addAll(int index, T[] elements) {
+        if ((index < 0) || (index > list.size())) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            int size = list.size();
+            for (int i = 0; i < elements.length; i++) {
+                indexInsert(index + i, elements[i], size + i);
+            }
+            list.addAll(index, elements);
+        }
+    }
+
+    @Override
+    public void addAll(int index, Iterable<? extends T> elements) {
+        if ((index < 0) || (index > list.size())) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            // copy first, so the index is not touched while elements is iterated
+            IUArrayList<T> items = new IUArrayList<T>();
+            items.addAll(elements);
+            int size = list.size();
+            for (int i = 0; i < items.size(); i++) {
+                indexInsert(index + i, items.get(i), size + i);
+            }
+            list.addAll(index, items);
+        }
+    }
+
+    @Override
+    public T removeFirst() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        } else {
+            return remove(0);
+        }
+    }
+
+    @Override
+    public T removeLast() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        } else {
+            return remove(list.size() - 1);
+        }
+    }
+
+    @Override
+    public T remove(T element) {
+        int elementLocation = indexOf(element);
+        if (elementLocation == -1) {
+            throw new NoSuchElementException();
+        } else {
+            return remove(elementLocation);
+        }
+    }
+
+    @Override
+    public T remove(int index) {
+        if ((index < 0) || (index >= list.size())) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            indexRemove(index, list.get(index), list.size());
+            return list.remove(index);
+        }
+    }
+
+    /**
+     * Removes every element that satisfies filter with one compaction of
+     * the backing list. The filter sees the list and index unchanged;
+     * removed elements are collected and taken out of the index only
+     * once the backing list has been compacted.
+     * 
+     * @param filter returns true for elements to be removed
+     * @return true if any element was removed
+     */
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        Removals removals = new Removals(filter);
+        if (!list.removeIf(removals)) {
+            return false;
+        }
+        dirtyFrom = Math.min(dirtyFrom, removals.first);
+        for (int i = 0; i < removals.removed.size(); i++) {
+            T element = removals.removed.get(i);
+            Entry entry = index.get(element);
+            entry.count--;
+            if (entry.count == 0) {
+                index.remove(element);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Filter wrapper for removeIf() that records which elements the filter
+     * accepted and the position of the first of them
+     */
+    private class Removals implements Predicate<T> {
+
+        private final Predicate<? super T> filter;
+        private final IUArrayList<T> removed = new IUArrayList<T>();
+        private int tested;
+        private int first = -1;
+
+        public Removals(Predicate<? super T> filter) {
+            this.filter = filter;
+        }
+
+        @Override
+        public boolean test(T element) {
+            int position = tested++;
+            if (filter.test(element)) {
+                if (first == -1) {
+                    first = position;
+                }
+                removed.add(element);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Sorts the elements in place; occurrence counts are unchanged and
+     * every first position is marked stale.
+     * 
+     * @param comparator order to sort by, or null for natural ordering
+     */
+    public void sort(Comparator<? super T> comparator) {
+        // stale before sorting, since a comparator that throws may already have moved elements
+        dirtyFrom = 0;
+        list.sort(comparator);
+    }
+
+    /**
+     * Sorts the elements in place on the common ForkJoinPool; occurrence
+     * counts are unchanged and every first position is marked stale.
+     * 
+     * @param comparator order to sort by, or null for natural ordering
+     */
+    public void parallelSort(Comparator<? super T> comparator) {
+        // stale before sorting, since a comparator that throws may already have moved elements
+        dirtyFrom = 0;
+        list.parallelSort(comparator);
+    }
+
+    @Override
+    public void set(int index, T element) {
+        if ((index < 0) || (index >= list.size())) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            indexSet(index, list.get(index), element);
+            list.set(index, element);
+        }
+    }
+
+    @Override
+    public T get(int index) {
+        return list.get(index);
+    }
+
+    @Override
+    public int indexOf(T element) {
+        Entry entry = index.get(element);
+        if (entry == null) {
+            return -1;
+        }
+        if (entry.first >= dirtyFrom) {
+            rebuildPositions();
+        }
+        return entry.first;
+    }
+
+    @Override
+    public T first() {
+        return list.first();
+    }
+
+    @Override
+    public T last() {
+        return list.last();
+    }
+
+    @Override
+    public boolean contains(T target) {
+        return index.containsKey(target);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return list.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return list.size();
+    }
+
+    @Override
+    public String toString() {
+        return list.toString();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new IndexedIterator(list.listIterator());
+    }
+
+    @Override
+    public ListIterator<T> listIterator() {
+        return new IndexedIterator(list.listIterator());
+    }
+
+    @Override
+    public ListIterator<T> listIterator(int startingIndex) {
+        return new IndexedIterator(list.listIterator(startingIndex));
+    }
+
+    /**
+     * Private inner class for iterators in the IUHashIndexedList class.
+     * Wraps the backing list's iterator, which does the fail-fast checks,
+     * and reports each edit to the side index.
+     *
+     * @author Morgan Zabriskie
+     */
+    private class IndexedIterator implements ListIterator<T> {
+
+        // instance variables
+        private final ListIterator<T> it;
+        private T lastReturned;
+        private int lastIndex = -1;
+
+        public IndexedIterator(ListIterator<T> it) {
+            this.it = it;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return it.hasNext();
+        }
+
+        @Override
+        public T next() {
+            lastReturned = it.next();
+            lastIndex = it.previousIndex();
+            return lastReturned;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return it.hasPrevious();
+        }
+
+        @Override
+        public T previous() {
+            lastReturned = it.previous();
+            lastIndex = it.nextIndex();
+            return lastReturned;
+        }
+
+        @Override
+        public int nextIndex() {
+            return it.nextIndex();
+        }
+
+        @Override
+        public int previousIndex() {
+            return it.previousIndex();
+        }
+
+        @Override
+        public void remove() {
+            int size = list.size();
+            it.remove();
+            indexRemove(lastIndex, lastReturned, size);
+            lastIndex = -1;
+        }
+
+        @Override
+        public void set(T element) {
+            it.set(element);
+            indexSet(lastIndex, lastReturned, element);
+            lastReturned = element;
+        }
+
+        @Override
+        public void add(T element) {
+            int position = it.nextIndex();
+            int size = list.size();
+            it.add(element);
+            indexInsert(position, element, size);
+            lastIndex = -1;
+        }
+    }
+}
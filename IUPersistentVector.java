@@ -0,0 +1,951 @@
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Persistent vector implementation of IndexedUnsortedList: a 32-way trie
+ * of immutable nodes in the style of an RRB-vector (relaxed radix
+ * balanced tree). Every internal node keeps a table of cumulative child
+ * sizes, so nodes need not be full and two vectors can be concatenated
+ * in O(log n) by rebuilding only the nodes along the seam. get() and
+ * set() are O(log n) with a branching factor of 32; appends go to a
+ * 32-slot tail buffer first and so are amortized O(1).
+ *
+ * snapshot() is O(1): the snapshot and this vector share every node, and
+ * later changes to either one copy the path they change instead of
+ * modifying shared nodes. concat(), take() and drop() return new vectors
+ * in O(log n) in the same way, and positional add() and remove() are
+ * built from them.
+ *
+ * Between snapshots a vector behaves like a transient: each node records
+ * the edit token of the vector that created it, and a vector changes
+ * its own nodes in place rather than copying them again, so a run of
+ * edits copies each node at most once. Taking a snapshot (or calling
+ * concat(), take() or drop()) gives the vector a new token, which is
+ * what makes the nodes it had so far immutable. Since shared nodes are
+ * never modified, vectors that share structure can be used from
+ * different threads at once; a single vector is not safe to change while
+ * other threads use it. The Iterator is fail-fast and ListIterator is
+ * unsupported. Elements are matched by identity (==).
+ *
+ * @author Morgan Zabriskie
+ *
+ * @param <T> type to store
+ */
+public class IUPersistentVector<T> implements IndexedUnsortedList<T> {
+
+    private static final int BITS = 5;
+    private static final int BRANCHING = 1 << BITS;
+    // concat may leave this many more nodes than the minimum at each level of the seam
+    private static final int EXTRAS = 2;
+    // nodes with at least BRANCHING - INVARIANT slots are left alone by concat
+    private static final int INVARIANT = 1;
+    private static final Node EMPTY = new Node(null, new Object[0], null);
+
+    // the trie holds elements [0, treeSize); the tail holds the next tailCount
+    private Node root;
+    private int shift;
+    private int treeSize;
+    private Object[] tail;
+    private int tailCount;
+    // nodes (and the tail) created under this token may be changed in place
+    private Object edit;
+    private Object tailEdit;
+    private int modCount;
+
+    /** Creates an empty vector */
+    public IUPersistentVector() {
+        this(EMPTY, 0, 0, null, 0);
+    }
+
+    /**
+     * Creates a vector over existing structure, which it will not modify
+     *
+     * @param root
+     * @param shift
+     * @param treeSize
+     * @param tail
+     * @param tailCount
+     */
+    private IUPersistentVector(Node root, int shift, int treeSize, Object[] tail, int tailCount) {
+        this.root = root;
+        this.shift = shift;
+        this.treeSize = treeSize;
+        this.tail = tail;
+        this.tailCount = tailCount;
+        this.edit = new Object();
+        this.tailEdit = null;
+        this.modCount = 0;
+    }
+
+    /**
+     * Creates a vector holding a trie, with an empty tail
+     *
+     * @param tree
+     */
+    private IUPersistentVector(Tree tree) {
+        this(tree.root, tree.shift, tree.size(), null, 0);
+    }
+
+    /**
+     * Trie node. Leaves (shift 0) hold elements and no sizes; internal
+     * nodes hold child nodes and sizes[i], the number of elements in
+     * children 0 to i.
+     */
+    private static final class Node {
+        private final Object owner;
+        private final Object[] array;
+        private final int[] sizes;
+
+        private Node(Object owner, Object[] array, int[] sizes) {
+            this.owner = owner;
+            this.array = array;
+            this.sizes = sizes;
+        }
+    }
+
+    /** A root node with the shift of its level */
+    private static final class Tree {
+        private final Node root;
+        private final int shift;
+
+        private Tree(Node root, int shift) {
+            this.root = root;
+            this.shift = shift;
+        }
+
+        private int size() {
+            return IUPersistentVector.size(root, shift);
+        }
+    }
+
+    /**
+     * Number of elements under node
+     *
+     * @param node
+     * @param shift level of node
+     * @return element count
+     */
+    private static int size(Node node, int shift) {
+        return (shift == 0) ? node.array.length : node.sizes[node.sizes.length - 1];
+    }
+
+    /**
+     * New internal node over children, with its size table
+     *
+     * @param owner    edit token, or null
+     * @param children
+     * @param shift    level of the new node
+     * @return node
+     */
+    private static Node internal(Object owner, Object[] children, int shift) {
+        int[] sizes = new int[children.length];
+        int total = 0;
+        for (int i = 0; i < children.length; i++) {
+            total += size((Node) children[i], shift - BITS);
+            sizes[i] = total;
+        }
+        return new Node(owner, children, sizes);
+    }
+
+    /**
+     * node itself if it was created under edit, otherwise a copy of it
+     * owned by edit
+     *
+     * @param node
+     * @param edit token of the vector making the change, or null to always copy
+     * @return node that may be changed in place
+     */
+    private static Node editable(Node node, Object edit) {
+        if (edit != null && node.owner == edit) {
+            return node;
+        }
+        return new Node(edit, node.array.clone(), (node.sizes == null) ? null : node.sizes.clone());
+    }
+
+    /**
+     * Child of a node at the given level holding element index: the radix
+     * guess index >>> shift is never past the right child, since no child
+     * holds more than 1 << shift elements, so only a short scan forward
+     * through the size table is needed
+     *
+     * @param node
+     * @param shift
+     * @param index
+     * @return child slot
+     */
+    private static int slotFor(Node node, int shift, int index) {
+        int[] sizes = node.sizes;
+        int slot = index >>> shift;
+        while (sizes[slot] <= index) {
+            slot++;
+        }
+        return slot;
+    }
+
+    /**
+     * Element index of a trie
+     *
+     * @param node
+     * @param shift
+     * @param index
+     * @return element
+     */
+    private static Object lookup(Node node, int shift, int index) {
+        while (shift > 0) {
+            int slot = slotFor(node, shift, index);
+            if (slot > 0) {
+                index -= node.sizes[slot - 1];
+            }
+            node = (Node) node.array[slot];
+            shift -= BITS;
+        }
+        return node.array[index];
+    }
+
+    /**
+     * Replace element index of a trie, copying the path to it unless
+     * edit owns it
+     *
+     * @param node
+     * @param shift
+     * @param index
+     * @param element
+     * @param edit
+     * @return new or updated node
+     */
+    private static Node update(Node node, int shift, int index, Object element, Object edit) {
+        Node copy = editable(node, edit);
+        if (shift == 0) {
+            copy.array[index] = element;
+        } else {
+            int slot = slotFor(node, shift, index);
+            int before = (slot == 0) ? 0 : node.sizes[slot - 1];
+            copy.array[slot] = update((Node) node.array[slot], shift - BITS, index - before, element, edit);
+        }
+        return copy;
+    }
+
+    /**
+     * A chain of single-child nodes from the given level down to leaf
+     *
+     * @param shift
+     * @param leaf
+     * @param edit
+     * @return top of the chain
+     */
+    private static Node newPath(int shift, Node leaf, Object edit) {
+        if (shift == 0) {
+            return leaf;
+        }
+        return internal(edit, new Object[] { newPath(shift - BITS, leaf, edit) }, shift);
+    }
+
+    /**
+     * Append leaf after the last leaf of the trie under node
+     *
+     * @param node
+     * @param shift at least BITS
+     * @param leaf
+     * @param edit
+     * @return new or updated node, or null if node has no room
+     */
+    private static Node pushLeafInto(Node node, int shift, Node leaf, Object edit) {
+        int n = node.array.length;
+        if (shift > BITS) {
+            Node pushed = pushLeafInto((Node) node.array[n - 1], shift - BITS, leaf, edit);
+            if (pushed != null) {
+                Node copy = editable(node, edit);
+                copy.array[n - 1] = pushed;
+                copy.sizes[n - 1] += leaf.array.length;
+                return copy;
+            }
+        }
+        if (n == BRANCHING) {
+            return null;
+        }
+        Object[] children = Arrays.copyOf(node.array, n + 1);
+        children[n] = newPath(shift - BITS, leaf, edit);
+        int[] sizes = Arrays.copyOf(node.sizes, n + 1);
+        sizes[n] = sizes[n - 1] + leaf.array.length;
+        return new Node(edit, children, sizes);
+    }
+
+    /**
+     * Append leaf to a trie, adding a level on top if it is full
+     *
+     * @param tree
+     * @param leaf
+     * @param edit
+     * @return new trie
+     */
+    private static Tree pushLeaf(Tree tree, Node leaf, Object edit) {
+        if (tree.size() == 0) {
+            return new Tree(leaf, 0);
+        }
+        if (tree.shift == 0) {
+            return new Tree(internal(edit, new Object[] { tree.root, leaf }, BITS), BITS);
+        }
+        Node pushed = pushLeafInto(tree.root, tree.shift, leaf, edit);
+        if (pushed != null) {
+            return new Tree(pushed, tree.shift);
+        }
+        int newShift = tree.shift + BITS;
+        return new Tree(internal(edit, new Object[] { tree.root, newPath(tree.shift, leaf, edit) }, newShift), newShift);
+    }
+
+    /**
+     * Drop single-child levels from the top of a trie
+     *
+     * @param tree
+     * @return equivalent trie whose root has several children or is a leaf
+     */
+    private static Tree collapse(Tree tree) {
+        Node node = tree.root;
+        int level = tree.shift;
+        while (level > 0 && node.array.length == 1) {
+            node = (Node) node.array[0];
+            level -= BITS;
+        }
+        return new Tree(node, level);
+    }
+
+    /**
+     * The first n elements of the trie under node
+     *
+     * @param node
+     * @param shift
+     * @param n     in [1, size]
+     * @return node at the same level
+     */
+    private static Node takeNode(Node node, int shift, int n) {
+        if (n == size(node, shift)) {
+            return node;
+        }
+        if (shift == 0) {
+            return new Node(null, Arrays.copyOf(node.array, n), null);
+        }
+        int slot = slotFor(node, shift, n - 1);
+        int before = (slot == 0) ? 0 : node.sizes[slot - 1];
+        Object[] children = Arrays.copyOf(node.array, slot + 1);
+        children[slot] = takeNode((Node) node.array[slot], shift - BITS, n - before);
+        int[] sizes = Arrays.copyOf(node.sizes, slot + 1);
+        sizes[slot] = n;
+        return new Node(null, children, sizes);
+    }
+
+    /**
+     * The trie under node without its first n elements
+     *
+     * @param node
+     * @param shift
+     * @param n     in [0, size)
+     * @return node at the same level
+     */
+    private static Node dropNode(Node node, int shift, int n) {
+        if (n == 0) {
+            return node;
+        }
+        if (shift == 0) {
+            return new Node(null, Arrays.copyOfRange(node.array, n, node.array.length), null);
+        }
+        int slot = slotFor(node, shift, n);
+        int before = (slot == 0) ? 0 : node.sizes[slot - 1];
+        int count = node.array.length - slot;
+        Object[] children = new Object[count];
+        children[0] = dropNode((Node) node.array[slot], shift - BITS, n - before);
+        System.arraycopy(node.array, slot + 1, children, 1, count - 1);
+        int[] sizes = new int[count];
+        for (int i = 0; i < count; i++) {
+            sizes[i] = node.sizes[slot + i] - n;
+        }
+        return new Node(null, children, sizes);
+    }
+
+    /**
+     * The first n elements of a trie
+     *
+     * @param tree
+     * @param n    in [0, size]
+     * @return new trie
+     */
+    private static Tree take(Tree tree, int n) {
+        if (n == 0) {
+            return new Tree(EMPTY, 0);
+        }
+        return collapse(new Tree(takeNode(tree.root, tree.shift, n), tree.shift));
+    }
+
+    /**
+     * A trie without its first n elements
+     *
+     * @param tree
+     * @param n    in [0, size]
+     * @return new trie
+     */
+    private static Tree drop(Tree tree, int n) {
+        if (n == tree.size()) {
+            return new Tree(EMPTY, 0);
+        }
+        return collapse(new Tree(dropNode(tree.root, tree.shift, n), tree.shift));
+    }
+
+    /**
+     * The elements of left followed by those of right, rebuilding only
+     * the nodes along the seam between them
+     *
+     * @param left
+     * @param right
+     * @return new trie
+     */
+    private static Tree concat(Tree left, Tree right) {
+        if (left.size() == 0) {
+            return right;
+        }
+        if (right.size() == 0) {
+            return left;
+        }
+        Node merged = concatSubTree(left.root, left.shift, right.root, right.shift, true);
+        return collapse(new Tree(merged, Math.max(left.shift, right.shift) + BITS));
+    }
+
+    /**
+     * Concatenate two subtrees
+     *
+     * @param left
+     * @param leftShift
+     * @param right
+     * @param rightShift
+     * @param top        true at the roots, where two leaves that fit in one are merged
+     * @return node one level above the higher subtree, with one or two children
+     */
+    private static Node concatSubTree(Node left, int leftShift, Node right, int rightShift, boolean top) {
+        if (leftShift > rightShift) {
+            Node middle = concatSubTree((Node) left.array[left.array.length - 1], leftShift - BITS, right, rightShift,
+                    false);
+            return rebalance(left, middle, null, leftShift);
+        } else if (leftShift < rightShift) {
+            Node middle = concatSubTree(left, leftShift, (Node) right.array[0], rightShift - BITS, false);
+            return rebalance(null, middle, right, rightShift);
+        } else if (leftShift == 0) {
+            int total = left.array.length + right.array.length;
+            if (top && total <= BRANCHING) {
+                Object[] elements = Arrays.copyOf(left.array, total);
+                System.arraycopy(right.array, 0, elements, left.array.length, right.array.length);
+                return internal(null, new Object[] { new Node(null, elements, null) }, BITS);
+            }
+            return internal(null, new Object[] { left, right }, BITS);
+        } else {
+            Node middle = concatSubTree((Node) left.array[left.array.length - 1], leftShift - BITS,
+                    (Node) right.array[0], rightShift - BITS, false);
+            return rebalance(left, middle, right, leftShift);
+        }
+    }
+
+    /**
+     * Merge the children of left (but its last), middle, and right (but
+     * its first), repacking them so there are at most EXTRAS more nodes
+     * than the minimum
+     *
+     * @param left   node at shift, or null
+     * @param middle node at shift
+     * @param right  node at shift, or null
+     * @param shift
+     * @return node one level above shift, with one or two children
+     */
+    private static Node rebalance(Node left, Node middle, Node right, int shift) {
+        int leftCount = (left == null) ? 0 : left.array.length - 1;
+        int rightCount = (right == null) ? 0 : right.array.length - 1;
+        Node[] all = new Node[leftCount + middle.array.length + rightCount];
+        if (left != null) {
+            System.arraycopy(left.array, 0, all, 0, leftCount);
+        }
+        System.arraycopy(middle.array, 0, all, leftCount, middle.array.length);
+        if (right != null) {
+            System.arraycopy(right.array, 1, all, leftCount + middle.array.length, rightCount);
+        }
+        Node[] packed = repack(all, shift - BITS);
+        if (packed.length <= BRANCHING) {
+            return internal(null, new Object[] { internal(null, packed, shift) }, shift + BITS);
+        }
+        Node first = internal(null, Arrays.copyOf(packed, BRANCHING), shift);
+        Node second = internal(null, Arrays.copyOfRange(packed, BRANCHING, packed.length), shift);
+        return internal(null, new Object[] { first, second }, shift + BITS);
+    }
+
+    /**
+     * Redistribute the slots of a row of sibling nodes. Starting from the
+     * left, each node short of BRANCHING - INVARIANT slots is merged into
+     * the nodes after it, until the row is at most EXTRAS nodes longer
+     * than the minimum; nodes the plan leaves unchanged are reused.
+     *
+     * @param all   nodes at the given level
+     * @param shift level of the nodes
+     * @return repacked row
+     */
+    private static Node[] repack(Node[] all, int shift) {
+        int[] plan = new int[all.length];
+        int total = 0;
+        for (int i = 0; i < all.length; i++) {
+            plan[i] = all[i].array.length;
+            total += plan[i];
+        }
+        int optimal = (total + BRANCHING - 1) / BRANCHING;
+        int length = all.length;
+        int i = 0;
+        while (length > optimal + EXTRAS) {
+            while (plan[i] >= BRANCHING - INVARIANT) {
+                i++;
+            }
+            int remaining = plan[i];
+            do {
+                int filled = Math.min(remaining + plan[i + 1], BRANCHING);
+                remaining = remaining + plan[i + 1] - filled;
+                plan[i] = filled;
+                i++;
+            } while (remaining > 0);
+            System.arraycopy(plan, i + 1, plan, i, length - i - 1);
+            length--;
+            i--;
+        }
+        Node[] packed = new Node[length];
+        int source = 0;
+        int offset = 0;
+        for (int k = 0; k < length; k++) {
+            int want = plan[k];
+            if (offset == 0 && all[source].array.length == want) {
+                packed[k] = all[source++];
+                continue;
+            }
+            Object[] items = new Object[want];
+            int filled = 0;
+            while (filled < want) {
+                Object[] from = all[source].array;
+                int n = Math.min(want - filled, from.length - offset);
+                System.arraycopy(from, offset, items, filled, n);
+                filled += n;
+                offset += n;
+                if (offset == from.length) {
+                    source++;
+                    offset = 0;
+                }
+            }
+            packed[k] = (shift == 0) ? new Node(null, items, null) : internal(null, items, shift);
+        }
+        return packed;
+    }
+
+    /**
+     * Position of the first element of the trie under node that is target
+     *
+     * @param node
+     * @param shift
+     * @param target
+     * @return index of the match, or -1
+     */
+    private static int find(Node node, int shift, Object target) {
+        if (shift == 0) {
+            for (int i = 0; i < node.array.length; i++) {
+                if (node.array[i] == target) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        for (int i = 0; i < node.array.length; i++) {
+            int location = find((Node) node.array[i], shift - BITS, target);
+            if (location != -1) {
+                return ((i == 0) ? 0 : node.sizes[i - 1]) + location;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * This vector's elements as a trie, tail included, without changing
+     * this vector
+     *
+     * @return trie sharing this vector's nodes
+     */
+    private Tree whole() {
+        Tree tree = new Tree(root, shift);
+        if (tailCount == 0) {
+            return tree;
+        }
+        return pushLeaf(tree, new Node(null, Arrays.copyOf(tail, tailCount), null), null);
+    }
+
+    /**
+     * Make this vector's contents the given trie, with an empty tail
+     *
+     * @param tree
+     */
+    private void replace(Tree tree) {
+        root = tree.root;
+        shift = tree.shift;
+        treeSize = tree.size();
+        tail = null;
+        tailCount = 0;
+        modCount++;
+    }
+
+    /** Stop changing the current nodes and tail in place, since they are about to be shared */
+    private void share() {
+        edit = new Object();
+    }
+
+    /** Make sure the tail exists and may be changed in place */
+    private void ensureTail() {
+        if (tail == null) {
+            tail = new Object[BRANCHING];
+            tailEdit = edit;
+        } else if (tailEdit != edit) {
+            tail = Arrays.copyOf(tail, BRANCHING);
+            tailEdit = edit;
+        }
+    }
+
+    /**
+     * Returns a vector with the same elements as this one, in O(1). The
+     * two share all their structure and are independent from now on.
+     *
+     * @return snapshot of this vector
+     */
+    public IUPersistentVector<T> snapshot() {
+        share();
+        return new IUPersistentVector<T>(root, shift, treeSize, tail, tailCount);
+    }
+
+    /**
+     * Returns a new vector holding the elements of this vector followed
+     * by those of other, in O(log n). Neither vector is changed.
+     *
+     * @param other
+     * @return concatenation
+     */
+    public IUPersistentVector<T> concat(IUPersistentVector<? extends T> other) {
+        share();
+        other.share();
+        return new IUPersistentVector<T>(concat(whole(), other.whole()));
+    }
+
+    /**
+     * Returns a new vector holding the first n elements of this one, in
+     * O(log n). This vector is not changed.
+     *
+     * @param n
+     * @return prefix of length n
+     * @throws IndexOutOfBoundsException if n < 0 or n > size
+     */
+    public IUPersistentVector<T> take(int n) {
+        if ((n < 0) || (n > size())) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            share();
+            return new IUPersistentVector<T>(take(whole(), n));
+        }
+    }
+
+    /**
+     * Returns a new vector holding all but the first n elements of this
+     * one, in O(log n). This vector is not changed.
+     *
+     * @param n
+     * @return suffix after the first n elements
+     * @throws IndexOutOfBoundsException if n < 0 or n > size
+     */
+    public IUPersistentVector<T> drop(int n) {
+        if ((n < 0) || (n > size())) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            share();
+            return new IUPersistentVector<T>(drop(whole(), n));
+        }
+    }
+
+    @Override
+    public void addToFront(T element) {
+        add(0, element);
+    }
+
+    @Override
+    public void addToRear(T element) {
+        add(element);
+    }
+
+    @Override
+    public void add(T element) {
+        if (tailCount == BRANCHING) {
+            Node leaf = new Node((tailEdit == edit) ? edit : null, tail, null);
+            Tree tree = pushLeaf(new Tree(root, shift), leaf, edit);
+            root = tree.root;
+            shift = tree.shift;
+            treeSize += BRANCHING;
+            tail = null;
+            tailCount = 0;
+        }
+        ensureTail();
+        tail[tailCount] = element;
+        tailCount++;
+        modCount++;
+    }
+
+    @Override
+    public void addAfter(T element, T target) {
+        int targetLocation = indexOf(target);
+        if (targetLocation == -1) {
+            throw new NoSuchElementException();
+        } else {
+            add(targetLocation + 1, element);
+        }
+    }
+
+    @Override
+    public void add(int index, T element) {
+        if ((index < 0) || (index > size())) {
+            throw new IndexOutOfBoundsException();
+        } else if (index == size()) {
+            add(element);
+        } else {
+            Tree tree = whole();
+            Tree single = new Tree(new Node(null, new Object[] { element }, null), 0);
+            replace(concat(concat(take(tree, index), single), drop(tree, index)));
+        }
+    }
+
+    @Override
+    public T removeFirst() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        } else {
+            return remove(0);
+        }
+    }
+
+    @Override
+    public T removeLast() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        } else {
+            return remove(size() - 1);
+        }
+    }
+
+    @Override
+    public T remove(T element) {
+        int elementLocation = indexOf(element);
+        if (elementLocation == -1) {
+            throw new NoSuchElementException();
+        } else {
+            return remove(elementLocation);
+        }
+    }
+
+    @Override
+    public T remove(int index) {
+        if ((index < 0) || (index >= size())) {
+            throw new IndexOutOfBoundsException();
+        }
+        T element = get(index);
+        if (index >= treeSize && index == size() - 1) {
+            // last element of the tail
+            ensureTail();
+            tailCount--;
+            tail[tailCount] = null;
+            modCount++;
+        } else {
+            Tree tree = whole();
+            replace(concat(take(tree, index), drop(tree, index + 1)));
+        }
+        return element;
+    }
+
+    @Override
+    public void set(int index, T element) {
+        if ((index < 0) || (index >= size())) {
+            throw new IndexOutOfBoundsException();
+        } else if (index >= treeSize) {
+            ensureTail();
+            tail[index - treeSize] = element;
+            modCount++;
+        } else {
+            root = update(root, shift, index, element, edit);
+            modCount++;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if ((index < 0) || (index >= size())) {
+            throw new IndexOutOfBoundsException();
+        } else if (index >= treeSize) {
+            return (T) tail[index - treeSize];
+        } else {
+            return (T) lookup(root, shift, index);
+        }
+    }
+
+    @Override
+    public int indexOf(T element) {
+        int location = (treeSize == 0) ? -1 : find(root, shift, element);
+        if (location == -1) {
+            for (int i = 0; i < tailCount; i++) {
+                if (tail[i] == element) {
+                    return treeSize + i;
+                }
+            }
+        }
+        return location;
+    }
+
+    @Override
+    public T first() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        } else {
+            return get(0);
+        }
+    }
+
+    @Override
+    public T last() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        } else {
+            return get(size() - 1);
+        }
+    }
+
+    @Override
+    public boolean contains(T target) {
+        return indexOf(target) != -1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public int size() {
+        return treeSize + tailCount;
+    }
+
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "[ ]";
+        } else {
+            StringBuilder returnVal = new StringBuilder("[");
+            Iterator<T> it = iterator();
+            while (it.hasNext()) {
+                returnVal.append(it.next());
+                returnVal.append(it.hasNext() ? ", " : "]");
+            }
+            return returnVal.toString();
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new VectorIterator();
+    }
+
+    @Override
+    public ListIterator<T> listIterator() {
+        throw new UnsupportedOperationException("Unimplemented method 'listIterator'");
+    }
+
+    @Override
+    public ListIterator<T> listIterator(int startingIndex) {
+        throw new UnsupportedOperationException("Unimplemented method 'listIterator'");
+    }
+
+    /**
+     * Private inner class for iterators in the IUPersistentVector class.
+     * Walks one leaf array at a time, descending the trie only when it
+     * moves on to the next leaf.
+     *
+     * @author Morgan Zabriskie
+     */
+    private class VectorIterator implements Iterator<T> {
+
+        // instance variables
+        private boolean nextCalled = false;
+        private int index = 0;
+        private int iterModCount;
+        // leaf holding elements [leafStart, leafEnd)
+        private Object[] leaf;
+        private int leafStart;
+        private int leafEnd = -1;
+
+        public VectorIterator() {
+            this.iterModCount = modCount;
+        }
+
+        /** Find the leaf holding element index */
+        private void findLeaf() {
+            if (index >= treeSize) {
+                leaf = tail;
+                leafStart = treeSize;
+                leafEnd = treeSize + tailCount;
+                return;
+            }
+            Node node = root;
+            int local = index;
+            for (int level = shift; level > 0; level -= BITS) {
+                int slot = slotFor(node, level, local);
+                if (slot > 0) {
+                    local -= node.sizes[slot - 1];
+                }
+                node = (Node) node.array[slot];
+            }
+            leaf = node.array;
+            leafStart = index - local;
+            leafEnd = leafStart + leaf.length;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (modCount != iterModCount) {
+                throw new ConcurrentModificationException();
+            } else {
+                return index < size();
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            } else {
+                if (index >= leafEnd || index < leafStart) {
+                    findLeaf();
+                }
+                T next = (T) leaf[index - leafStart];
+                index++;
+                nextCalled = true;
+                return next;
+            }
+        }
+
+        @Override
+        public void remove() {
+            if (modCount != iterModCount) {
+                throw new ConcurrentModificationException();
+            } else if (!nextCalled) {
+                throw new IllegalStateException();
+            } else {
+                index--;
+                IUPersistentVector.this.remove(index);
+                leafEnd = -1;
+                iterModCount = modCount;
+                nextCalled = false;
+            }
+        }
+    }
+}
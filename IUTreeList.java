@@ -0,0 +1,626 @@
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Counted B+tree implementation of IndexedUnsortedList.
+ * Elements live in the leaves, which are linked in list order. Each
+ * branch keeps the element count of every child in an int[] next to its
+ * child pointers, so finding a position reads one small array per level
+ * instead of following pointers to each child. get(), set(), add(int, T)
+ * and remove(int) all run in O(log n). Leaves hold LEAF_CAPACITY
+ * elements and branches BRANCH_CAPACITY children; nodes split when full
+ * and merge or rebalance with a neighbor when they fall below a quarter.
+ * An Iterator with working remove() method is implemented, but
+ * ListIterator is unsupported.
+ *
+ * @author Morgan Zabriskie
+ *
+ * @param <T> type to store
+ */
+public class IUTreeList<T> implements IndexedUnsortedList<T> {
+
+    private static final int LEAF_CAPACITY = 64;
+    private static final int BRANCH_CAPACITY = 32;
+
+    private Node root;
+    private Leaf firstLeaf;
+    private int size;
+    private int modCount;
+    // offset within the leaf returned by the last findLeaf() call
+    private int foundOffset;
+
+    /** Creates an empty list */
+    public IUTreeList() {
+        firstLeaf = new Leaf();
+        root = firstLeaf;
+        size = 0;
+        modCount = 0;
+    }
+
+    /** Common type for tree nodes */
+    private abstract static class Node {
+        int count;
+    }
+
+    /** Bottom node holding up to LEAF_CAPACITY elements */
+    private static final class Leaf extends Node {
+        final Object[] items = new Object[LEAF_CAPACITY];
+        Leaf prev;
+        Leaf next;
+    }
+
+    /** Inner node holding up to BRANCH_CAPACITY children and their element counts */
+    private static final class Branch extends Node {
+        final Node[] children = new Node[BRANCH_CAPACITY];
+        final int[] sizes = new int[BRANCH_CAPACITY];
+    }
+
+    /**
+     * Number of elements below a node
+     *
+     * @param node
+     * @return element count of the subtree
+     */
+    private static int sizeOf(Node node) {
+        if (node instanceof Leaf) {
+            return node.count;
+        }
+        Branch branch = (Branch) node;
+        int total = 0;
+        for (int i = 0; i < branch.count; i++) {
+            total += branch.sizes[i];
+        }
+        return total;
+    }
+
+    /**
+     * Find the leaf holding the element at index; the offset inside the
+     * leaf is left in foundOffset
+     *
+     * @param index in [0, size)
+     * @return the leaf
+     */
+    private Leaf findLeaf(int index) {
+        Node node = root;
+        while (node instanceof Branch) {
+            Branch branch = (Branch) node;
+            int j = 0;
+            while (index >= branch.sizes[j]) {
+                index -= branch.sizes[j];
+                j++;
+            }
+            node = branch.children[j];
+        }
+        foundOffset = index;
+        return (Leaf) node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T element(Leaf leaf, int offset) {
+        return (T) leaf.items[offset];
+    }
+
+    /**
+     * Split a full leaf, moving its upper half into a new leaf linked after it
+     *
+     * @param leaf
+     * @return the new right leaf
+     */
+    private Leaf splitLeaf(Leaf leaf) {
+        Leaf right = new Leaf();
+        int half = leaf.count / 2;
+        int moved = leaf.count - half;
+        System.arraycopy(leaf.items, half, right.items, 0, moved);
+        Arrays.fill(leaf.items, half, leaf.count, null);
+        right.count = moved;
+        leaf.count = half;
+        right.next = leaf.next;
+        right.prev = leaf;
+        if (leaf.next != null) {
+            leaf.next.prev = right;
+        }
+        leaf.next = right;
+        return right;
+    }
+
+    /**
+     * Split a full branch, moving its upper half of children into a new branch
+     *
+     * @param branch
+     * @return the new right branch
+     */
+    private static Branch splitBranch(Branch branch) {
+        Branch right = new Branch();
+        int half = branch.count / 2;
+        int moved = branch.count - half;
+        System.arraycopy(branch.children, half, right.children, 0, moved);
+        System.arraycopy(branch.sizes, half, right.sizes, 0, moved);
+        Arrays.fill(branch.children, half, branch.count, null);
+        right.count = moved;
+        branch.count = half;
+        return right;
+    }
+
+    /**
+     * Insert child (with the given element count) into branch at position j
+     *
+     * @param branch branch with room for one more child
+     * @param j
+     * @param child
+     * @param childSize
+     */
+    private static void insertChild(Branch branch, int j, Node child, int childSize) {
+        System.arraycopy(branch.children, j, branch.children, j + 1, branch.count - j);
+        System.arraycopy(branch.sizes, j, branch.sizes, j + 1, branch.count - j);
+        branch.children[j] = child;
+        branch.sizes[j] = childSize;
+        branch.count++;
+    }
+
+    /**
+     * Remove the child at position j from branch
+     *
+     * @param branch
+     * @param j
+     */
+    private static void removeChild(Branch branch, int j) {
+        System.arraycopy(branch.children, j + 1, branch.children, j, branch.count - j - 1);
+        System.arraycopy(branch.sizes, j + 1, branch.sizes, j, branch.count - j - 1);
+        branch.count--;
+        branch.children[branch.count] = null;
+        branch.sizes[branch.count] = 0;
+    }
+
+    /**
+     * Insert element at index within the subtree rooted at node
+     *
+     * @param node
+     * @param index   position within the subtree, in [0, subtree size]
+     * @param element
+     * @return a new right sibling if node had to split, else null
+     */
+    private Node insert(Node node, int index, T element) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            Leaf right = null;
+            if (leaf.count == LEAF_CAPACITY) {
+                right = splitLeaf(leaf);
+                if (index > leaf.count) {
+                    index -= leaf.count;
+                    leaf = right;
+                }
+            }
+            System.arraycopy(leaf.items, index, leaf.items, index + 1, leaf.count - index);
+            leaf.items[index] = element;
+            leaf.count++;
+            return right;
+        }
+
+        Branch branch = (Branch) node;
+        int j = 0;
+        while (j < branch.count - 1 && index > branch.sizes[j]) {
+            index -= branch.sizes[j];
+            j++;
+        }
+        Node split = insert(branch.children[j], index, element);
+        if (split == null) {
+            branch.sizes[j]++;
+            return null;
+        }
+        int splitSize = sizeOf(split);
+        branch.sizes[j] = branch.sizes[j] + 1 - splitSize;
+
+        Branch right = null;
+        Branch target = branch;
+        int position = j + 1;
+        if (branch.count == BRANCH_CAPACITY) {
+            right = splitBranch(branch);
+            if (position > branch.count) {
+                position -= branch.count;
+                target = right;
+            }
+        }
+        insertChild(target, position, split, splitSize);
+        return right;
+    }
+
+    /**
+     * Remove the element at index within the subtree rooted at node,
+     * repairing underfull children on the way back up
+     *
+     * @param node
+     * @param index position within the subtree
+     * @return the removed element
+     */
+    private T remove(Node node, int index) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            T element = element(leaf, index);
+            System.arraycopy(leaf.items, index + 1, leaf.items, index, leaf.count - index - 1);
+            leaf.count--;
+            leaf.items[leaf.count] = null;
+            return element;
+        }
+
+        Branch branch = (Branch) node;
+        int j = 0;
+        while (index >= branch.sizes[j]) {
+            index -= branch.sizes[j];
+            j++;
+        }
+        T element = remove(branch.children[j], index);
+        branch.sizes[j]--;
+        repair(branch, j);
+        return element;
+    }
+
+    /**
+     * Merge or rebalance child j of branch with a neighbor if it has fallen
+     * below a quarter full
+     *
+     * @param branch
+     * @param j
+     */
+    private void repair(Branch branch, int j) {
+        Node child = branch.children[j];
+        boolean isLeaf = child instanceof Leaf;
+        int capacity = isLeaf ? LEAF_CAPACITY : BRANCH_CAPACITY;
+        if (child.count >= capacity / 4 || branch.count == 1) {
+            return;
+        }
+        int left = (j > 0) ? j - 1 : j;
+        int right = left + 1;
+        Node a = branch.children[left];
+        Node b = branch.children[right];
+
+        if (a.count + b.count <= capacity) {
+            // merge b into a
+            if (isLeaf) {
+                Leaf la = (Leaf) a;
+                Leaf lb = (Leaf) b;
+                System.arraycopy(lb.items, 0, la.items, la.count, lb.count);
+                la.next = lb.next;
+                if (lb.next != null) {
+                    lb.next.prev = la;
+                }
+            } else {
+                Branch ba = (Branch) a;
+                Branch bb = (Branch) b;
+                System.arraycopy(bb.children, 0, ba.children, ba.count, bb.count);
+                System.arraycopy(bb.sizes, 0, ba.sizes, ba.count, bb.count);
+            }
+            a.count += b.count;
+            branch.sizes[left] += branch.sizes[right];
+            removeChild(branch, right);
+        } else {
+            // move elements or children across so both hold about half
+            int total = a.count + b.count;
+            int targetA = total / 2;
+            if (isLeaf) {
+                Leaf la = (Leaf) a;
+                Leaf lb = (Leaf) b;
+                if (la.count < targetA) {
+                    int n = targetA - la.count;
+                    System.arraycopy(lb.items, 0, la.items, la.count, n);
+                    System.arraycopy(lb.items, n, lb.items, 0, lb.count - n);
+                    Arrays.fill(lb.items, lb.count - n, lb.count, null);
+                } else {
+                    int n = la.count - targetA;
+                    System.arraycopy(lb.items, 0, lb.items, n, lb.count);
+                    System.arraycopy(la.items, targetA, lb.items, 0, n);
+                    Arrays.fill(la.items, targetA, la.count, null);
+                }
+                branch.sizes[left] = targetA;
+                branch.sizes[right] = total - targetA;
+            } else {
+                Branch ba = (Branch) a;
+                Branch bb = (Branch) b;
+                int moved = 0;
+                if (ba.count < targetA) {
+                    int n = targetA - ba.count;
+                    System.arraycopy(bb.children, 0, ba.children, ba.count, n);
+                    System.arraycopy(bb.sizes, 0, ba.sizes, ba.count, n);
+                    for (int k = 0; k < n; k++) {
+                        moved += bb.sizes[k];
+                    }
+                    System.arraycopy(bb.children, n, bb.children, 0, bb.count - n);
+                    System.arraycopy(bb.sizes, n, bb.sizes, 0, bb.count - n);
+                    Arrays.fill(bb.children, bb.count - n, bb.count, null);
+                } else {
+                    int n = ba.count - targetA;
+                    for (int k = targetA; k < ba.count; k++) {
+                        moved -= ba.sizes[k];
+                    }
+                    System.arraycopy(bb.children, 0, bb.children, n, bb.count);
+                    System.arraycopy(bb.sizes, 0, bb.sizes, n, bb.count);
+                    System.arraycopy(ba.children, targetA, bb.children, 0, n);
+                    System.arraycopy(ba.sizes, targetA, bb.sizes, 0, n);
+                    Arrays.fill(ba.children, targetA, ba.count, null);
+                }
+                branch.sizes[left] += moved;
+                branch.sizes[right] -= moved;
+            }
+            a.count = targetA;
+            b.count = total - targetA;
+        }
+    }
+
+    /**
+     * Insert element at list index
+     *
+     * @param index in [0, size]
+     * @param element
+     */
+    private void insertAt(int index, T element) {
+        Node split = insert(root, index, element);
+        if (split != null) {
+            Branch newRoot = new Branch();
+            insertChild(newRoot, 0, root, sizeOf(root));
+            insertChild(newRoot, 1, split, sizeOf(split));
+            root = newRoot;
+        }
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Remove the element at list index
+     *
+     * @param index in [0, size)
+     * @return the removed element
+     */
+    private T removeAt(int index) {
+        T element = remove(root, index);
+        while (root instanceof Branch && root.count == 1) {
+            root = ((Branch) root).children[0];
+        }
+        size--;
+        modCount++;
+        return element;
+    }
+
+    @Override
+    public void addToFront(T element) {
+        insertAt(0, element);
+    }
+
+    @Override
+    public void addToRear(T element) {
+        insertAt(size, element);
+    }
+
+    @Override
+    public void add(T element) {
+        insertAt(size, element);
+    }
+
+    @Override
+    public void addAfter(T element, T target) {
+        int targetLocation = indexOf(target);
+        if (targetLocation == -1) {
+            throw new NoSuchElementException();
+        } else {
+            insertAt(targetLocation + 1, element);
+        }
+    }
+
+    @Override
+    public void add(int index, T element) {
+        if ((index < 0) || (index > size)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            insertAt(index, element);
+        }
+    }
+
+    @Override
+    public T removeFirst() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        } else {
+            return removeAt(0);
+        }
+    }
+
+    @Override
+    public T removeLast() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        } else {
+            return removeAt(size - 1);
+        }
+    }
+
+    @Override
+    public T remove(T element) {
+        int elementLocation = indexOf(element);
+        if (elementLocation == -1) {
+            throw new NoSuchElementException();
+        } else {
+            return removeAt(elementLocation);
+        }
+    }
+
+    @Override
+    public T remove(int index) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            return removeAt(index);
+        }
+    }
+
+    @Override
+    public void set(int index, T element) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            Leaf leaf = findLeaf(index);
+            leaf.items[foundOffset] = element;
+            modCount++;
+        }
+    }
+
+    @Override
+    public T get(int index) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            Leaf leaf = findLeaf(index);
+            return element(leaf, foundOffset);
+        }
+    }
+
+    @Override
+    public int indexOf(T element) {
+        int start = 0;
+        for (Leaf leaf = firstLeaf; leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.count; i++) {
+                if (leaf.items[i] == element) {
+                    return start + i;
+                }
+            }
+            start += leaf.count;
+        }
+        return -1;
+    }
+
+    @Override
+    public T first() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        } else {
+            return get(0);
+        }
+    }
+
+    @Override
+    public T last() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        } else {
+            return get(size - 1);
+        }
+    }
+
+    @Override
+    public boolean contains(T target) {
+        return indexOf(target) != -1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "[ ]";
+        } else {
+            StringBuilder returnVal = new StringBuilder("[");
+            int seen = 0;
+            for (Leaf leaf = firstLeaf; leaf != null; leaf = leaf.next) {
+                for (int i = 0; i < leaf.count; i++) {
+                    seen++;
+                    returnVal.append(leaf.items[i]);
+                    returnVal.append((seen == size) ? "]" : ", ");
+                }
+            }
+            return returnVal.toString();
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new LeafIterator();
+    }
+
+    @Override
+    public ListIterator<T> listIterator() {
+        throw new UnsupportedOperationException("Unimplemented method 'listIterator'");
+    }
+
+    @Override
+    public ListIterator<T> listIterator(int startingIndex) {
+        throw new UnsupportedOperationException("Unimplemented method 'listIterator'");
+    }
+
+    /**
+     * Private inner class for iterators in the IUTreeList class.
+     * Walks the linked leaves in order.
+     *
+     * @author Morgan Zabriskie
+     */
+    private class LeafIterator implements Iterator<T> {
+
+        // instance variables
+        private Leaf leaf = firstLeaf;
+        private int offset = 0;
+        private int nextIndex = 0;
+        private boolean nextCalled = false;
+        private int iterModCount;
+
+        public LeafIterator() {
+            this.iterModCount = modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (modCount != iterModCount) {
+                throw new ConcurrentModificationException();
+            } else {
+                return nextIndex < size;
+            }
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            } else {
+                while (offset >= leaf.count) {
+                    leaf = leaf.next;
+                    offset = 0;
+                }
+                nextCalled = true;
+                nextIndex++;
+                return element(leaf, offset++);
+            }
+        }
+
+        @Override
+        public void remove() {
+            if (modCount != iterModCount) {
+                throw new ConcurrentModificationException();
+            } else if (!nextCalled) {
+                throw new IllegalStateException();
+            } else {
+                nextIndex--;
+                removeAt(nextIndex);
+                // leaves may have merged or rebalanced, so find our place again
+                if (nextIndex < size) {
+                    leaf = findLeaf(nextIndex);
+                    offset = foundOffset;
+                } else if (size > 0) {
+                    // exhausted: park just past the last element, found in O(log n)
+                    leaf = findLeaf(size - 1);
+                    offset = foundOffset + 1;
+                } else {
+                    leaf = firstLeaf;
+                    offset = 0;
+                }
+                nextCalled = false;
+                iterModCount = modCount;
+            }
+        }
+    }
+}
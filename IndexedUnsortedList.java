@@ -1,4 +1,7 @@
 import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  *  Interface for an Iterable, Indexed, Unsorted List ADT.
@@ -185,4 +188,179 @@ public interface IndexedUnsortedList<T> extends Iterable<T>
      * @throws UnsupportedOperationException if not implemented
      */
     public ListIterator<T> listIterator(int startingIndex);
+
+    /**  
+     * Adds the specified elements, in order, to the rear of this list. 
+     *
+     * @param elements the elements to be added to the rear of this list
+     */
+    public default void addAll(T[] elements) {
+        for (T element : elements) {
+            add(element);
+        }
+    }
+
+    /**  
+     * Adds the specified elements, in iteration order, to the rear of this list. 
+     *
+     * @param elements the elements to be added to the rear of this list
+     */
+    public default void addAll(Iterable<? extends T> elements) {
+        elements = detach(elements);
+        for (T element : elements) {
+            add(element);
+        }
+    }
+
+    /**  
+     * Inserts the specified elements, in order, starting at the specified index. 
+     *
+     * @param index    the index at which the first element is to be inserted
+     * @param elements the elements to be inserted
+     * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index > size)
+     */
+    public default void addAll(int index, T[] elements) {
+        if ((index < 0) || (index > size())) {
+            throw new IndexOutOfBoundsException();
+        }
+        for (T element : elements) {
+            add(index++, element);
+        }
+    }
+
+    /**  
+     * Inserts the specified elements, in iteration order, starting at the specified index. 
+     *
+     * @param index    the index at which the first element is to be inserted
+     * @param elements the elements to be inserted
+     * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index > size)
+     */
+    public default void addAll(int index, Iterable<? extends T> elements) {
+        elements = detach(elements);
+        if ((index < 0) || (index > size())) {
+            throw new IndexOutOfBoundsException();
+        }
+        for (T element : elements) {
+            add(index++, element);
+        }
+    }
+
+    /**  
+     * Removes every element of this list that satisfies the specified filter. 
+     *
+     * @param filter returns true for elements to be removed
+     * @return true if any element was removed
+     */
+    public default boolean removeIf(Predicate<? super T> filter) {
+        boolean removed = false;
+        Iterator<T> it = iterator();
+        while (it.hasNext()) {
+            if (filter.test(it.next())) {
+                it.remove();
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    /**  
+     * Removes every element of this list that the specified list contains. 
+     * Lookups use the other list's contains(), so an IUHashIndexedList
+     * argument keeps this linear in the size of this list.
+     *
+     * @param elements the elements to be removed
+     * @return true if any element was removed
+     */
+    public default boolean removeAll(IndexedUnsortedList<T> elements) {
+        return removeIf(elements::contains);
+    }
+
+    /**  
+     * Removes every element of this list that the specified list does not contain. 
+     *
+     * @param elements the elements to be kept
+     * @return true if any element was removed
+     */
+    public default boolean retainAll(IndexedUnsortedList<T> elements) {
+        return removeIf(element -> !elements.contains(element));
+    }
+
+    /**  
+     * Removes the elements from fromIndex, inclusive, to toIndex, exclusive. 
+     *
+     * @param fromIndex index of the first element to be removed
+     * @param toIndex   index after the last element to be removed
+     * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size or fromIndex > toIndex
+     */
+    public default void removeRange(int fromIndex, int toIndex) {
+        if ((fromIndex < 0) || (toIndex > size()) || (fromIndex > toIndex)) {
+            throw new IndexOutOfBoundsException();
+        }
+        for (int i = fromIndex; i < toIndex; i++) {
+            remove(fromIndex);
+        }
+    }
+
+    /**  
+     * Returns a live view of the elements from fromIndex, inclusive, to
+     * toIndex, exclusive. Changes made through the view are made to this
+     * list; once this list is structurally modified other than through
+     * the view, the view throws ConcurrentModificationException.
+     *
+     * @param fromIndex index of the first element in the view
+     * @param toIndex   index after the last element in the view
+     * @return view of the range
+     * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size or fromIndex > toIndex
+     * @throws UnsupportedOperationException if this list does not support views
+     */
+    public default IndexedUnsortedList<T> subList(int fromIndex, int toIndex) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**  
+     * Returns a Spliterator over the elements in this list, in order,
+     * that knows its size, so streams can split it evenly. 
+     *
+     * @return a Spliterator over the elements in this list
+     */
+    @Override
+    public default Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED);
+    }
+
+    /**  
+     * Returns a sequential Stream over the elements in this list. 
+     *
+     * @return a Stream over the elements in this list
+     */
+    public default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**  
+     * Returns a possibly parallel Stream over the elements in this list. 
+     *
+     * @return a parallel Stream over the elements in this list
+     */
+    public default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**  
+     * Returns elements, or a copy of it if it is this list itself, so a
+     * bulk add does not iterate over its own additions. 
+     *
+     * @param elements elements about to be added to this list
+     * @return elements safe to iterate while this list changes
+     */
+    private Iterable<? extends T> detach(Iterable<? extends T> elements) {
+        if (elements != this) {
+            return elements;
+        }
+        ArrayList<T> copy = new ArrayList<T>(size());
+        for (T element : this) {
+            copy.add(element);
+        }
+        return copy;
+    }
 }
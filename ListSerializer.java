@@ -0,0 +1,410 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Versioned binary snapshot format for any IndexedUnsortedList.
+ *
+ * A stream holds a header, a 4-byte magic number, a 1-byte format
+ * version, the 1-byte ElementCodec tag and the 4-byte element count,
+ * followed by the elements in list order. All numbers are big-endian.
+ *
+ * Elements are streamed through one fixed-size buffer in each direction,
+ * so a snapshot never builds a second copy of the list in memory. The
+ * built-in Integer, Long, Double and String codecs are written straight
+ * into that buffer; custom codecs go through DataOutput/DataInput views
+ * of the same buffer. Reading sizes the resulting IUArrayList from the
+ * header as far as the bytes already available can back it, or up to
+ * MAX_PRESIZE elements beyond that, so a list read from a file or byte
+ * array is allocated once, at its exact size, while a corrupt count
+ * cannot force a huge allocation; past that the reservation grows as
+ * elements are actually decoded. Strings are likewise
+ * read in buffer-sized steps rather than allocated from their length
+ * field.
+ *
+ * @author Morgan Zabriskie
+ */
+public final class ListSerializer {
+
+    /** Format version written by this class */
+    public static final byte VERSION = 1;
+
+    private static final int MAGIC = 0x49554c53; // "IULS"
+    private static final int BUFFER_BYTES = 64 * 1024;
+    // element count trusted from a header beyond what the available bytes can hold
+    private static final int MAX_PRESIZE = 64 * 1024;
+
+    private ListSerializer() {
+    }
+
+    /**
+     * Writes list to out. The stream is flushed but not closed.
+     *
+     * @param <T>   type of elements
+     * @param list  list to write
+     * @param codec encodes each element
+     * @param out   destination
+     * @throws IOException if out cannot be written
+     */
+    public static <T> void write(IndexedUnsortedList<T> list, ElementCodec<T> codec, OutputStream out)
+            throws IOException {
+        new Writer(out).write(list, codec);
+        out.flush();
+    }
+
+    /**
+     * Writes list to channel. The channel is not closed.
+     *
+     * @param <T>     type of elements
+     * @param list    list to write
+     * @param codec   encodes each element
+     * @param channel destination
+     * @throws IOException if channel cannot be written
+     */
+    public static <T> void write(IndexedUnsortedList<T> list, ElementCodec<T> codec, WritableByteChannel channel)
+            throws IOException {
+        new Writer(Channels.newOutputStream(channel)).write(list, codec);
+    }
+
+    /**
+     * Reads a list written by write() from in. The reader buffers ahead,
+     * so in may be advanced past the end of the list and should not be
+     * used for other data afterwards.
+     *
+     * @param <T>   type of elements
+     * @param in    source
+     * @param codec decodes each element, the same kind of codec used to write
+     * @return new list, sized to hold exactly the elements read
+     * @throws IOException if in cannot be read, ends early, is not a list
+     *                     stream or was written with a different built-in codec
+     */
+    public static <T> IUArrayList<T> read(InputStream in, ElementCodec<T> codec) throws IOException {
+        return new Reader(in).read(codec);
+    }
+
+    /**
+     * Reads a list written by write() from channel.
+     *
+     * @param <T>     type of elements
+     * @param channel source
+     * @param codec   decodes each element, the same kind of codec used to write
+     * @return new list, sized to hold exactly the elements read
+     * @throws IOException if channel cannot be read, ends early, is not a
+     *                     list stream or was written with a different built-in codec
+     */
+    public static <T> IUArrayList<T> read(ReadableByteChannel channel, ElementCodec<T> codec) throws IOException {
+        return new Reader(Channels.newInputStream(channel)).read(codec);
+    }
+
+    /**
+     * Buffered encoder for one snapshot
+     *
+     * @author Morgan Zabriskie
+     */
+    private static final class Writer extends OutputStream {
+
+        private final OutputStream out;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        private final DataOutputStream data = new DataOutputStream(this);
+
+        Writer(OutputStream out) {
+            this.out = out;
+        }
+
+        /**
+         * Encode header and elements, then drain the buffer
+         *
+         * @param list
+         * @param codec
+         * @throws IOException
+         */
+        <T> void write(IndexedUnsortedList<T> list, ElementCodec<T> codec) throws IOException {
+            byte tag = codec.tag();
+            int size = list.size();
+            buffer.putInt(MAGIC);
+            buffer.put(VERSION);
+            buffer.put(tag);
+            buffer.putInt(size);
+
+            Iterator<T> it = list.iterator();
+            int written = 0;
+            while (it.hasNext()) {
+                T element = it.next();
+                switch (tag) {
+                case ElementCodec.INT:
+                    require(Integer.BYTES);
+                    buffer.putInt((Integer) element);
+                    break;
+                case ElementCodec.LONG:
+                    require(Long.BYTES);
+                    buffer.putLong((Long) element);
+                    break;
+                case ElementCodec.DOUBLE:
+                    require(Double.BYTES);
+                    buffer.putDouble((Double) element);
+                    break;
+                case ElementCodec.STRING:
+                    putString((String) element);
+                    break;
+                default:
+                    codec.write(data, element);
+                    break;
+                }
+                written++;
+            }
+            if (written != size) {
+                throw new IllegalStateException("list size changed while writing: " + size + " -> " + written);
+            }
+            drain();
+        }
+
+        /**
+         * Encode a String in the ElementCodec.strings() layout
+         *
+         * @param element
+         * @throws IOException
+         */
+        private void putString(String element) throws IOException {
+            require(Integer.BYTES);
+            if (element == null) {
+                buffer.putInt(-1);
+            } else {
+                byte[] bytes = element.getBytes(StandardCharsets.UTF_8);
+                buffer.putInt(bytes.length);
+                write(bytes, 0, bytes.length);
+            }
+        }
+
+        /**
+         * Make room for count bytes in the buffer
+         *
+         * @param count at most BUFFER_BYTES
+         * @throws IOException
+         */
+        private void require(int count) throws IOException {
+            if (buffer.remaining() < count) {
+                drain();
+            }
+        }
+
+        /** Hand the buffered bytes to the destination */
+        private void drain() throws IOException {
+            out.write(buffer.array(), 0, buffer.position());
+            buffer.clear();
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            require(1);
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (length > buffer.capacity()) {
+                // too big to buffer, pass straight through
+                drain();
+                out.write(bytes, offset, length);
+            } else {
+                require(length);
+                buffer.put(bytes, offset, length);
+            }
+        }
+    }
+
+    /**
+     * Buffered decoder for one snapshot
+     *
+     * @author Morgan Zabriskie
+     */
+    private static final class Reader extends InputStream {
+
+        private final InputStream in;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        private final DataInputStream data = new DataInputStream(this);
+
+        Reader(InputStream in) {
+            this.in = in;
+            buffer.limit(0);
+        }
+
+        /**
+         * Decode header and elements
+         *
+         * @param codec
+         * @return list of decoded elements
+         * @throws IOException
+         */
+        @SuppressWarnings("unchecked")
+        <T> IUArrayList<T> read(ElementCodec<T> codec) throws IOException {
+            require(Integer.BYTES + 2 + Integer.BYTES);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("not a list stream");
+            }
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IOException("unsupported list stream version " + version);
+            }
+            byte tag = buffer.get();
+            if (tag != codec.tag()) {
+                throw new IOException("stream was written with codec tag " + tag + ", reading with " + codec.tag());
+            }
+            int size = buffer.getInt();
+            if (size < 0) {
+                throw new IOException("corrupt element count " + size);
+            }
+
+            int reserved = reservation(size, 0, tag);
+            IUArrayList<T> list = new IUArrayList<T>(reserved);
+            for (int i = 0; i < size; i++) {
+                if (i == reserved) {
+                    reserved = reservation(size, i, tag);
+                    list.ensureCapacity(reserved);
+                }
+                switch (tag) {
+                case ElementCodec.INT:
+                    require(Integer.BYTES);
+                    list.add((T) Integer.valueOf(buffer.getInt()));
+                    break;
+                case ElementCodec.LONG:
+                    require(Long.BYTES);
+                    list.add((T) Long.valueOf(buffer.getLong()));
+                    break;
+                case ElementCodec.DOUBLE:
+                    require(Double.BYTES);
+                    list.add((T) Double.valueOf(buffer.getDouble()));
+                    break;
+                case ElementCodec.STRING:
+                    list.add((T) getString());
+                    break;
+                default:
+                    list.add(codec.read(data));
+                    break;
+                }
+            }
+            // lifts the shrink floor the reservation set; copies nothing unless a reservation overshot
+            list.trimToSize();
+            return list;
+        }
+
+        /**
+         * Number of elements to reserve room for, of the size the header
+         * claims, once read have been decoded. The header is trusted as far
+         * as the bytes already available could hold that many elements,
+         * and otherwise for MAX_PRESIZE or read more elements, whichever is
+         * larger, so the room reserved for a corrupt count stays within a
+         * constant factor of the data actually present.
+         *
+         * @param size count from the header
+         * @param read elements decoded so far
+         * @param tag  codec tag, for the smallest encoded element
+         * @return total elements to reserve room for, at most size
+         * @throws IOException
+         */
+        private int reservation(int size, int read, byte tag) throws IOException {
+            int width;
+            switch (tag) {
+            case ElementCodec.INT:
+            case ElementCodec.STRING:
+                width = Integer.BYTES;
+                break;
+            case ElementCodec.LONG:
+                width = Long.BYTES;
+                break;
+            case ElementCodec.DOUBLE:
+                width = Double.BYTES;
+                break;
+            default:
+                width = 1;
+                break;
+            }
+            long available = (buffer.remaining() + (long) in.available()) / width;
+            long step = Math.max(available, Math.max(MAX_PRESIZE, read));
+            return (int) Math.min(size, read + step);
+        }
+
+        /**
+         * Decode a String in the ElementCodec.strings() layout
+         *
+         * @return decoded String, possibly null
+         * @throws IOException
+         */
+        private String getString() throws IOException {
+            require(Integer.BYTES);
+            int length = buffer.getInt();
+            if (length < 0) {
+                return null;
+            }
+            // grow with the bytes actually read, so a corrupt length cannot force a huge allocation
+            byte[] bytes = new byte[Math.min(length, BUFFER_BYTES)];
+            int filled = 0;
+            while (filled < length) {
+                if (filled == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, (int) Math.min(length, 2L * bytes.length));
+                }
+                int n = read(bytes, filled, bytes.length - filled);
+                if (n < 0) {
+                    throw new EOFException("list stream ended early");
+                }
+                filled += n;
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Make sure at least count bytes are buffered
+         *
+         * @param count at most BUFFER_BYTES
+         * @throws IOException if the source ends first
+         */
+        private void require(int count) throws IOException {
+            if (buffer.remaining() >= count) {
+                return;
+            }
+            buffer.compact();
+            while (buffer.position() < count) {
+                int n = in.read(buffer.array(), buffer.position(), buffer.remaining());
+                if (n < 0) {
+                    throw new EOFException("list stream ended early");
+                }
+                buffer.position(buffer.position() + n);
+            }
+            buffer.flip();
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!buffer.hasRemaining()) {
+                require(1);
+            }
+            return buffer.get() & 0xff;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                if (length >= buffer.capacity()) {
+                    // large request, read straight into the caller's array
+                    return in.read(bytes, offset, length);
+                }
+                require(1);
+            }
+            int n = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, n);
+            return n;
+        }
+    }
+}
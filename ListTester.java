@@ -1,7 +1,25 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
 /**
  * A unit test class for lists that implement IndexedUnsortedList. 
@@ -17,7 +35,9 @@ import java.util.NoSuchElementException;
 public class ListTester {
 	//possible lists that could be tested
 	private static enum ListToUse {
-		goodList, badList, arrayList, singleLinkedList, doubleLinkedList
+		goodList, badList, arrayList, singleLinkedList, doubleLinkedList,
+		circularArrayList, intArrayList, offHeapList, chunkedList, treeList, hashIndexedList, equalsArrayList,
+		concurrentArrayList, persistentVector
 	};
 	// TODO: THIS IS WHERE YOU CHOOSE WHICH LIST TO TEST
 	private final static ListToUse LIST_TO_USE = ListToUse.arrayList;
@@ -26,7 +46,7 @@ public class ListTester {
 	private enum Result {
 		IndexOutOfBounds, IllegalState, NoSuchElement, 
 		ConcurrentModification, UnsupportedOperation, 
-		NoException, UnexpectedException,
+		IOFailure, NoException, UnexpectedException,
 		True, False, Pass, Fail, 
 		MatchingValue,
 		ValidString
@@ -83,7 +103,10 @@ public class ListTester {
 				printSectionSummaries = false;
 		}
 		switch (LIST_TO_USE) {
+		case arrayList:
 		case doubleLinkedList:
+		case hashIndexedList:
+		case equalsArrayList:
 			SUPPORTS_LIST_ITERATOR = true;
 			break;
 		default:
@@ -228,6 +251,24 @@ public class ListTester {
 		if (SUPPORTS_LIST_ITERATOR) {
 			test_ListIterConcurrency();
 		}
+		//Tests of the specialized lists' own APIs
+		test_PrimitiveSorts();
+		test_MappedList();
+		test_ListSerializer();
+		test_ScanAggregates();
+		test_BulkOperations();
+		test_RangeViews();
+		test_Sorts();
+		test_ParallelTransforms();
+		test_ParallelFilter();
+		test_ConcurrentBulk();
+		test_CopyOnWrite();
+		test_AppendOnly();
+		test_StripedCollector();
+		test_Capacity();
+		test_ChunkedList();
+		test_Streams();
+		test_PersistentVector();
 
 		// report final verdict
 		printFinalSummary();
@@ -257,11 +298,38 @@ public class ListTester {
 		case arrayList:
 			listToUse = new IUArrayList<Integer>();
 			break;
+		case circularArrayList:
+			listToUse = new IUCircularArrayList<Integer>();
+			break;
+		case intArrayList:
+			listToUse = new IntIUArrayList().asList();
+			break;
+		case offHeapList:
+			listToUse = new OffHeapIUList<Integer>(FixedWidthCodec.ints());
+			break;
+		case chunkedList:
+			listToUse = new IUChunkedList<Integer>();
+			break;
+		case treeList:
+			listToUse = new IUTreeList<Integer>();
+			break;
+		case doubleLinkedList:
+			listToUse = new IUDoubleLinkedList<Integer>();
+			break;
+		case hashIndexedList:
+			listToUse = new IUHashIndexedList<Integer>();
+			break;
+		case equalsArrayList:
+			listToUse = new IUArrayList<Integer>(EqualityStrategy.equality());
+			break;
+		case concurrentArrayList:
+			listToUse = new ConcurrentIUArrayList<Integer>();
+			break;
+		case persistentVector:
+			listToUse = new IUPersistentVector<Integer>();
+			break;
 //		case singleLinkedList:
 //			listToUse = new IUSingleLinkedList<Integer>();
-//			break;
-//		case doubleLinkedList:
-//			listToUse = new IUDoubleLinkedList<Integer>();
 //			break;
 		default:
 			listToUse = null;
@@ -948,7 +1016,22 @@ public class ListTester {
 			printTest(scenarioName + "_testIterRemove", testIterRemove(scenario.build().iterator(), Result.IllegalState));
 			// ListIterator
 			if (SUPPORTS_LIST_ITERATOR) {
-				//TODO: will add for double-linked list
+				printTest(scenarioName + "_testListIter", testListIter(scenario.build(), Result.NoException));
+				printTest(scenarioName + "_testListIterNeg1", testListIter(scenario.build(), -1, Result.IndexOutOfBounds));
+				printTest(scenarioName + "_testListIter0", testListIter(scenario.build(), 0, Result.NoException));
+				printTest(scenarioName + "_testListIter1", testListIter(scenario.build(), 1, Result.IndexOutOfBounds));
+				printTest(scenarioName + "_testListIterHasNext", testIterHasNext(scenario.build().listIterator(), Result.False));
+				printTest(scenarioName + "_testListIterNext", testIterNext(scenario.build().listIterator(), null, Result.NoSuchElement));
+				printTest(scenarioName + "_testListIterHasPrevious", testListIterHasPrevious(scenario.build().listIterator(), Result.False));
+				printTest(scenarioName + "_testListIterPrevious", testListIterPrevious(scenario.build().listIterator(), null, Result.NoSuchElement));
+				printTest(scenarioName + "_testListIterNextIndex", testListIterNextIndex(scenario.build().listIterator(), 0, Result.MatchingValue));
+				printTest(scenarioName + "_testListIterPreviousIndex", testListIterPreviousIndex(scenario.build().listIterator(), -1, Result.MatchingValue));
+				printTest(scenarioName + "_testListIterRemove", testIterRemove(scenario.build().listIterator(), Result.IllegalState));
+				printTest(scenarioName + "_testListIterSet", testListIterSet(scenario.build().listIterator(), ELEMENT_X, Result.IllegalState));
+				printTest(scenarioName + "_testListIterAdd", testListIterAdd(scenario.build().listIterator(), ELEMENT_X, Result.NoException));
+				printTest(scenarioName + "_listIterAdd_testListIterHasPrevious", testListIterHasPrevious(listIterAfterAdd(scenario.build().listIterator()), Result.True));
+				printTest(scenarioName + "_listIterAdd_testListIterPrevious", testListIterPrevious(listIterAfterAdd(scenario.build().listIterator()), ELEMENT_X, Result.MatchingValue));
+				printTest(scenarioName + "_listIterAdd_testListIterRemove", testIterRemove(listIterAfterAdd(scenario.build().listIterator()), Result.IllegalState));
 			} else {
 				printTest(scenarioName + "_testListIter", testListIter(scenario.build(), Result.UnsupportedOperation));
 				printTest(scenarioName + "_testListIter0", testListIter(scenario.build(), 0, Result.UnsupportedOperation));
@@ -1021,7 +1104,34 @@ public class ListTester {
 			printTest(scenarioName + "_iterNextRemove_testIterRemove", testIterRemove(iterAfterRemove(iterAfterNext(scenario.build(), 1)), Result.IllegalState));
 			// ListIterator
 			if (SUPPORTS_LIST_ITERATOR) {
-				//TODO: will add for double-linked list
+				printTest(scenarioName + "_testListIter", testListIter(scenario.build(), Result.NoException));
+				printTest(scenarioName + "_testListIterNeg1", testListIter(scenario.build(), -1, Result.IndexOutOfBounds));
+				printTest(scenarioName + "_testListIter0", testListIter(scenario.build(), 0, Result.NoException));
+				printTest(scenarioName + "_testListIter1", testListIter(scenario.build(), 1, Result.NoException));
+				printTest(scenarioName + "_testListIter2", testListIter(scenario.build(), 2, Result.IndexOutOfBounds));
+				printTest(scenarioName + "_testListIterHasPrevious", testListIterHasPrevious(scenario.build().listIterator(), Result.False));
+				printTest(scenarioName + "_testListIterPrevious", testListIterPrevious(scenario.build().listIterator(), null, Result.NoSuchElement));
+				printTest(scenarioName + "_testListIterSet", testListIterSet(scenario.build().listIterator(), ELEMENT_X, Result.IllegalState));
+				printTest(scenarioName + "_listIterNext1_testListIterNextIndex", testListIterNextIndex(listIterAfterNext(scenario.build().listIterator(), 1), 1, Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext1_testListIterPreviousIndex", testListIterPreviousIndex(listIterAfterNext(scenario.build().listIterator(), 1), 0, Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext1_testListIterPrevious", testListIterPrevious(listIterAfterNext(scenario.build().listIterator(), 1), contents[0], Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext1_testListIterSet", testListIterSet(listIterAfterNext(scenario.build().listIterator(), 1), ELEMENT_X, Result.NoException));
+				printTest(scenarioName + "_listIterNext1_testListIterRemove", testIterRemove(listIterAfterNext(scenario.build().listIterator(), 1), Result.NoException));
+				printTest(scenarioName + "_listIterNext1Remove_testListIterRemove", testIterRemove(listIterAfterRemove(listIterAfterNext(scenario.build().listIterator(), 1)), Result.IllegalState));
+				printTest(scenarioName + "_listIterNext1Remove_testListIterSet", testListIterSet(listIterAfterRemove(listIterAfterNext(scenario.build().listIterator(), 1)), ELEMENT_X, Result.IllegalState));
+				printTest(scenarioName + "_listIterNext1Remove_testListIterNextIndex", testListIterNextIndex(listIterAfterRemove(listIterAfterNext(scenario.build().listIterator(), 1)), 0, Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext1Add_testListIterPrevious", testListIterPrevious(listIterAfterAdd(listIterAfterNext(scenario.build().listIterator(), 1)), ELEMENT_X, Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext1Add_testListIterRemove", testIterRemove(listIterAfterAdd(listIterAfterNext(scenario.build().listIterator(), 1)), Result.IllegalState));
+				printTest(scenarioName + "_listIter1_testListIterHasNext", testIterHasNext(scenario.build().listIterator(1), Result.False));
+				printTest(scenarioName + "_listIter1_testListIterNext", testIterNext(scenario.build().listIterator(1), null, Result.NoSuchElement));
+				printTest(scenarioName + "_listIter1_testListIterHasPrevious", testListIterHasPrevious(scenario.build().listIterator(1), Result.True));
+				printTest(scenarioName + "_listIter1_testListIterRemove", testIterRemove(scenario.build().listIterator(1), Result.IllegalState));
+				printTest(scenarioName + "_listIter1Previous1_testListIterNextIndex", testListIterNextIndex(listIterAfterPrevious(scenario.build().listIterator(1), 1), 0, Result.MatchingValue));
+				printTest(scenarioName + "_listIter1Previous1_testListIterNext", testIterNext(listIterAfterPrevious(scenario.build().listIterator(1), 1), contents[0], Result.MatchingValue));
+				printTest(scenarioName + "_listIter1Previous1_testListIterSet", testListIterSet(listIterAfterPrevious(scenario.build().listIterator(1), 1), ELEMENT_X, Result.NoException));
+				printTest(scenarioName + "_listIter1Previous1_testListIterRemove", testIterRemove(listIterAfterPrevious(scenario.build().listIterator(1), 1), Result.NoException));
+				printTest(scenarioName + "_listIter1Previous1Remove_testListIterNextIndex", testListIterNextIndex(listIterAfterRemove(listIterAfterPrevious(scenario.build().listIterator(1), 1)), 0, Result.MatchingValue));
+				printTest(scenarioName + "_listIter1Previous1_testListIterHasPrevious", testListIterHasPrevious(listIterAfterPrevious(scenario.build().listIterator(1), 1), Result.False));
 			} else {
 				printTest(scenarioName + "_testListIter", testListIter(scenario.build(), Result.UnsupportedOperation));
 				printTest(scenarioName + "_testListIter0", testListIter(scenario.build(), 0, Result.UnsupportedOperation));
@@ -1111,7 +1221,51 @@ public class ListTester {
 			printTest(scenarioName + "_iterNextRemoveNext_testIterRemove", testIterRemove(iterAfterRemoveAndNext(iterAfterNext(scenario.build(), 1)), Result.NoException));
 			// ListIterator
 			if (SUPPORTS_LIST_ITERATOR) {
-				//TODO: will add for double-linked list
+				printTest(scenarioName + "_testListIter", testListIter(scenario.build(), Result.NoException));
+				printTest(scenarioName + "_testListIterNeg1", testListIter(scenario.build(), -1, Result.IndexOutOfBounds));
+				printTest(scenarioName + "_testListIter0", testListIter(scenario.build(), 0, Result.NoException));
+				printTest(scenarioName + "_testListIter1", testListIter(scenario.build(), 1, Result.NoException));
+				printTest(scenarioName + "_testListIter2", testListIter(scenario.build(), 2, Result.NoException));
+				printTest(scenarioName + "_testListIter3", testListIter(scenario.build(), 3, Result.IndexOutOfBounds));
+				printTest(scenarioName + "_testListIterHasPrevious", testListIterHasPrevious(scenario.build().listIterator(), Result.False));
+				printTest(scenarioName + "_testListIterPrevious", testListIterPrevious(scenario.build().listIterator(), null, Result.NoSuchElement));
+				printTest(scenarioName + "_testListIterSet", testListIterSet(scenario.build().listIterator(), ELEMENT_X, Result.IllegalState));
+				printTest(scenarioName + "_listIterNext1_testListIterNextIndex", testListIterNextIndex(listIterAfterNext(scenario.build().listIterator(), 1), 1, Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext1_testListIterPreviousIndex", testListIterPreviousIndex(listIterAfterNext(scenario.build().listIterator(), 1), 0, Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext1_testListIterPrevious", testListIterPrevious(listIterAfterNext(scenario.build().listIterator(), 1), contents[0], Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext1_testListIterSet", testListIterSet(listIterAfterNext(scenario.build().listIterator(), 1), ELEMENT_X, Result.NoException));
+				printTest(scenarioName + "_listIterNext1_testListIterRemove", testIterRemove(listIterAfterNext(scenario.build().listIterator(), 1), Result.NoException));
+				printTest(scenarioName + "_listIterNext1Remove_testListIterRemove", testIterRemove(listIterAfterRemove(listIterAfterNext(scenario.build().listIterator(), 1)), Result.IllegalState));
+				printTest(scenarioName + "_listIterNext1Remove_testListIterSet", testListIterSet(listIterAfterRemove(listIterAfterNext(scenario.build().listIterator(), 1)), ELEMENT_X, Result.IllegalState));
+				printTest(scenarioName + "_listIterNext1Remove_testListIterNextIndex", testListIterNextIndex(listIterAfterRemove(listIterAfterNext(scenario.build().listIterator(), 1)), 0, Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext1Add_testListIterPrevious", testListIterPrevious(listIterAfterAdd(listIterAfterNext(scenario.build().listIterator(), 1)), ELEMENT_X, Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext1Add_testListIterRemove", testIterRemove(listIterAfterAdd(listIterAfterNext(scenario.build().listIterator(), 1)), Result.IllegalState));
+				printTest(scenarioName + "_listIterNext1Add_testListIterNext", testIterNext(listIterAfterAdd(listIterAfterNext(scenario.build().listIterator(), 1)), contents[1], Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext2_testListIterNextIndex", testListIterNextIndex(listIterAfterNext(scenario.build().listIterator(), 2), 2, Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext2_testListIterPreviousIndex", testListIterPreviousIndex(listIterAfterNext(scenario.build().listIterator(), 2), 1, Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext2_testListIterPrevious", testListIterPrevious(listIterAfterNext(scenario.build().listIterator(), 2), contents[1], Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext2_testListIterSet", testListIterSet(listIterAfterNext(scenario.build().listIterator(), 2), ELEMENT_X, Result.NoException));
+				printTest(scenarioName + "_listIterNext2_testListIterRemove", testIterRemove(listIterAfterNext(scenario.build().listIterator(), 2), Result.NoException));
+				printTest(scenarioName + "_listIterNext2Remove_testListIterRemove", testIterRemove(listIterAfterRemove(listIterAfterNext(scenario.build().listIterator(), 2)), Result.IllegalState));
+				printTest(scenarioName + "_listIterNext2Remove_testListIterSet", testListIterSet(listIterAfterRemove(listIterAfterNext(scenario.build().listIterator(), 2)), ELEMENT_X, Result.IllegalState));
+				printTest(scenarioName + "_listIterNext2Remove_testListIterNextIndex", testListIterNextIndex(listIterAfterRemove(listIterAfterNext(scenario.build().listIterator(), 2)), 1, Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext2Add_testListIterPrevious", testListIterPrevious(listIterAfterAdd(listIterAfterNext(scenario.build().listIterator(), 2)), ELEMENT_X, Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext2Add_testListIterRemove", testIterRemove(listIterAfterAdd(listIterAfterNext(scenario.build().listIterator(), 2)), Result.IllegalState));
+				printTest(scenarioName + "_listIter2_testListIterHasNext", testIterHasNext(scenario.build().listIterator(2), Result.False));
+				printTest(scenarioName + "_listIter2_testListIterNext", testIterNext(scenario.build().listIterator(2), null, Result.NoSuchElement));
+				printTest(scenarioName + "_listIter2_testListIterHasPrevious", testListIterHasPrevious(scenario.build().listIterator(2), Result.True));
+				printTest(scenarioName + "_listIter2_testListIterRemove", testIterRemove(scenario.build().listIterator(2), Result.IllegalState));
+				printTest(scenarioName + "_listIter2Previous1_testListIterNextIndex", testListIterNextIndex(listIterAfterPrevious(scenario.build().listIterator(2), 1), 1, Result.MatchingValue));
+				printTest(scenarioName + "_listIter2Previous1_testListIterNext", testIterNext(listIterAfterPrevious(scenario.build().listIterator(2), 1), contents[1], Result.MatchingValue));
+				printTest(scenarioName + "_listIter2Previous1_testListIterSet", testListIterSet(listIterAfterPrevious(scenario.build().listIterator(2), 1), ELEMENT_X, Result.NoException));
+				printTest(scenarioName + "_listIter2Previous1_testListIterRemove", testIterRemove(listIterAfterPrevious(scenario.build().listIterator(2), 1), Result.NoException));
+				printTest(scenarioName + "_listIter2Previous1Remove_testListIterNextIndex", testListIterNextIndex(listIterAfterRemove(listIterAfterPrevious(scenario.build().listIterator(2), 1)), 1, Result.MatchingValue));
+				printTest(scenarioName + "_listIter2Previous2_testListIterNextIndex", testListIterNextIndex(listIterAfterPrevious(scenario.build().listIterator(2), 2), 0, Result.MatchingValue));
+				printTest(scenarioName + "_listIter2Previous2_testListIterNext", testIterNext(listIterAfterPrevious(scenario.build().listIterator(2), 2), contents[0], Result.MatchingValue));
+				printTest(scenarioName + "_listIter2Previous2_testListIterSet", testListIterSet(listIterAfterPrevious(scenario.build().listIterator(2), 2), ELEMENT_X, Result.NoException));
+				printTest(scenarioName + "_listIter2Previous2_testListIterRemove", testIterRemove(listIterAfterPrevious(scenario.build().listIterator(2), 2), Result.NoException));
+				printTest(scenarioName + "_listIter2Previous2Remove_testListIterNextIndex", testListIterNextIndex(listIterAfterRemove(listIterAfterPrevious(scenario.build().listIterator(2), 2)), 0, Result.MatchingValue));
+				printTest(scenarioName + "_listIter2Previous2_testListIterHasPrevious", testListIterHasPrevious(listIterAfterPrevious(scenario.build().listIterator(2), 2), Result.False));
 			} else {
 				printTest(scenarioName + "_testListIter", testListIter(scenario.build(), Result.UnsupportedOperation));
 				printTest(scenarioName + "_testListIter0", testListIter(scenario.build(), 0, Result.UnsupportedOperation));
@@ -1218,7 +1372,68 @@ public class ListTester {
 			printTest(scenarioName + "_iterNextNextRemoveNext_testIterRemove", testIterRemove(iterAfterRemoveAndNext(iterAfterNext(scenario.build(), 2)), Result.NoException));
 			// ListIterator
 			if (SUPPORTS_LIST_ITERATOR) {
-				//TODO: will add for double-linked list
+				printTest(scenarioName + "_testListIter", testListIter(scenario.build(), Result.NoException));
+				printTest(scenarioName + "_testListIterNeg1", testListIter(scenario.build(), -1, Result.IndexOutOfBounds));
+				printTest(scenarioName + "_testListIter0", testListIter(scenario.build(), 0, Result.NoException));
+				printTest(scenarioName + "_testListIter1", testListIter(scenario.build(), 1, Result.NoException));
+				printTest(scenarioName + "_testListIter2", testListIter(scenario.build(), 2, Result.NoException));
+				printTest(scenarioName + "_testListIter3", testListIter(scenario.build(), 3, Result.NoException));
+				printTest(scenarioName + "_testListIter4", testListIter(scenario.build(), 4, Result.IndexOutOfBounds));
+				printTest(scenarioName + "_testListIterHasPrevious", testListIterHasPrevious(scenario.build().listIterator(), Result.False));
+				printTest(scenarioName + "_testListIterPrevious", testListIterPrevious(scenario.build().listIterator(), null, Result.NoSuchElement));
+				printTest(scenarioName + "_testListIterSet", testListIterSet(scenario.build().listIterator(), ELEMENT_X, Result.IllegalState));
+				printTest(scenarioName + "_listIterNext1_testListIterNextIndex", testListIterNextIndex(listIterAfterNext(scenario.build().listIterator(), 1), 1, Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext1_testListIterPreviousIndex", testListIterPreviousIndex(listIterAfterNext(scenario.build().listIterator(), 1), 0, Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext1_testListIterPrevious", testListIterPrevious(listIterAfterNext(scenario.build().listIterator(), 1), contents[0], Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext1_testListIterSet", testListIterSet(listIterAfterNext(scenario.build().listIterator(), 1), ELEMENT_X, Result.NoException));
+				printTest(scenarioName + "_listIterNext1_testListIterRemove", testIterRemove(listIterAfterNext(scenario.build().listIterator(), 1), Result.NoException));
+				printTest(scenarioName + "_listIterNext1Remove_testListIterRemove", testIterRemove(listIterAfterRemove(listIterAfterNext(scenario.build().listIterator(), 1)), Result.IllegalState));
+				printTest(scenarioName + "_listIterNext1Remove_testListIterSet", testListIterSet(listIterAfterRemove(listIterAfterNext(scenario.build().listIterator(), 1)), ELEMENT_X, Result.IllegalState));
+				printTest(scenarioName + "_listIterNext1Remove_testListIterNextIndex", testListIterNextIndex(listIterAfterRemove(listIterAfterNext(scenario.build().listIterator(), 1)), 0, Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext1Add_testListIterPrevious", testListIterPrevious(listIterAfterAdd(listIterAfterNext(scenario.build().listIterator(), 1)), ELEMENT_X, Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext1Add_testListIterRemove", testIterRemove(listIterAfterAdd(listIterAfterNext(scenario.build().listIterator(), 1)), Result.IllegalState));
+				printTest(scenarioName + "_listIterNext1Add_testListIterNext", testIterNext(listIterAfterAdd(listIterAfterNext(scenario.build().listIterator(), 1)), contents[1], Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext2_testListIterNextIndex", testListIterNextIndex(listIterAfterNext(scenario.build().listIterator(), 2), 2, Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext2_testListIterPreviousIndex", testListIterPreviousIndex(listIterAfterNext(scenario.build().listIterator(), 2), 1, Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext2_testListIterPrevious", testListIterPrevious(listIterAfterNext(scenario.build().listIterator(), 2), contents[1], Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext2_testListIterSet", testListIterSet(listIterAfterNext(scenario.build().listIterator(), 2), ELEMENT_X, Result.NoException));
+				printTest(scenarioName + "_listIterNext2_testListIterRemove", testIterRemove(listIterAfterNext(scenario.build().listIterator(), 2), Result.NoException));
+				printTest(scenarioName + "_listIterNext2Remove_testListIterRemove", testIterRemove(listIterAfterRemove(listIterAfterNext(scenario.build().listIterator(), 2)), Result.IllegalState));
+				printTest(scenarioName + "_listIterNext2Remove_testListIterSet", testListIterSet(listIterAfterRemove(listIterAfterNext(scenario.build().listIterator(), 2)), ELEMENT_X, Result.IllegalState));
+				printTest(scenarioName + "_listIterNext2Remove_testListIterNextIndex", testListIterNextIndex(listIterAfterRemove(listIterAfterNext(scenario.build().listIterator(), 2)), 1, Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext2Add_testListIterPrevious", testListIterPrevious(listIterAfterAdd(listIterAfterNext(scenario.build().listIterator(), 2)), ELEMENT_X, Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext2Add_testListIterRemove", testIterRemove(listIterAfterAdd(listIterAfterNext(scenario.build().listIterator(), 2)), Result.IllegalState));
+				printTest(scenarioName + "_listIterNext2Add_testListIterNext", testIterNext(listIterAfterAdd(listIterAfterNext(scenario.build().listIterator(), 2)), contents[2], Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext3_testListIterNextIndex", testListIterNextIndex(listIterAfterNext(scenario.build().listIterator(), 3), 3, Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext3_testListIterPreviousIndex", testListIterPreviousIndex(listIterAfterNext(scenario.build().listIterator(), 3), 2, Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext3_testListIterPrevious", testListIterPrevious(listIterAfterNext(scenario.build().listIterator(), 3), contents[2], Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext3_testListIterSet", testListIterSet(listIterAfterNext(scenario.build().listIterator(), 3), ELEMENT_X, Result.NoException));
+				printTest(scenarioName + "_listIterNext3_testListIterRemove", testIterRemove(listIterAfterNext(scenario.build().listIterator(), 3), Result.NoException));
+				printTest(scenarioName + "_listIterNext3Remove_testListIterRemove", testIterRemove(listIterAfterRemove(listIterAfterNext(scenario.build().listIterator(), 3)), Result.IllegalState));
+				printTest(scenarioName + "_listIterNext3Remove_testListIterSet", testListIterSet(listIterAfterRemove(listIterAfterNext(scenario.build().listIterator(), 3)), ELEMENT_X, Result.IllegalState));
+				printTest(scenarioName + "_listIterNext3Remove_testListIterNextIndex", testListIterNextIndex(listIterAfterRemove(listIterAfterNext(scenario.build().listIterator(), 3)), 2, Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext3Add_testListIterPrevious", testListIterPrevious(listIterAfterAdd(listIterAfterNext(scenario.build().listIterator(), 3)), ELEMENT_X, Result.MatchingValue));
+				printTest(scenarioName + "_listIterNext3Add_testListIterRemove", testIterRemove(listIterAfterAdd(listIterAfterNext(scenario.build().listIterator(), 3)), Result.IllegalState));
+				printTest(scenarioName + "_listIter3_testListIterHasNext", testIterHasNext(scenario.build().listIterator(3), Result.False));
+				printTest(scenarioName + "_listIter3_testListIterNext", testIterNext(scenario.build().listIterator(3), null, Result.NoSuchElement));
+				printTest(scenarioName + "_listIter3_testListIterHasPrevious", testListIterHasPrevious(scenario.build().listIterator(3), Result.True));
+				printTest(scenarioName + "_listIter3_testListIterRemove", testIterRemove(scenario.build().listIterator(3), Result.IllegalState));
+				printTest(scenarioName + "_listIter3Previous1_testListIterNextIndex", testListIterNextIndex(listIterAfterPrevious(scenario.build().listIterator(3), 1), 2, Result.MatchingValue));
+				printTest(scenarioName + "_listIter3Previous1_testListIterNext", testIterNext(listIterAfterPrevious(scenario.build().listIterator(3), 1), contents[2], Result.MatchingValue));
+				printTest(scenarioName + "_listIter3Previous1_testListIterSet", testListIterSet(listIterAfterPrevious(scenario.build().listIterator(3), 1), ELEMENT_X, Result.NoException));
+				printTest(scenarioName + "_listIter3Previous1_testListIterRemove", testIterRemove(listIterAfterPrevious(scenario.build().listIterator(3), 1), Result.NoException));
+				printTest(scenarioName + "_listIter3Previous1Remove_testListIterNextIndex", testListIterNextIndex(listIterAfterRemove(listIterAfterPrevious(scenario.build().listIterator(3), 1)), 2, Result.MatchingValue));
+				printTest(scenarioName + "_listIter3Previous2_testListIterNextIndex", testListIterNextIndex(listIterAfterPrevious(scenario.build().listIterator(3), 2), 1, Result.MatchingValue));
+				printTest(scenarioName + "_listIter3Previous2_testListIterNext", testIterNext(listIterAfterPrevious(scenario.build().listIterator(3), 2), contents[1], Result.MatchingValue));
+				printTest(scenarioName + "_listIter3Previous2_testListIterSet", testListIterSet(listIterAfterPrevious(scenario.build().listIterator(3), 2), ELEMENT_X, Result.NoException));
+				printTest(scenarioName + "_listIter3Previous2_testListIterRemove", testIterRemove(listIterAfterPrevious(scenario.build().listIterator(3), 2), Result.NoException));
+				printTest(scenarioName + "_listIter3Previous2Remove_testListIterNextIndex", testListIterNextIndex(listIterAfterRemove(listIterAfterPrevious(scenario.build().listIterator(3), 2)), 1, Result.MatchingValue));
+				printTest(scenarioName + "_listIter3Previous3_testListIterNextIndex", testListIterNextIndex(listIterAfterPrevious(scenario.build().listIterator(3), 3), 0, Result.MatchingValue));
+				printTest(scenarioName + "_listIter3Previous3_testListIterNext", testIterNext(listIterAfterPrevious(scenario.build().listIterator(3), 3), contents[0], Result.MatchingValue));
+				printTest(scenarioName + "_listIter3Previous3_testListIterSet", testListIterSet(listIterAfterPrevious(scenario.build().listIterator(3), 3), ELEMENT_X, Result.NoException));
+				printTest(scenarioName + "_listIter3Previous3_testListIterRemove", testIterRemove(listIterAfterPrevious(scenario.build().listIterator(3), 3), Result.NoException));
+				printTest(scenarioName + "_listIter3Previous3Remove_testListIterNextIndex", testListIterNextIndex(listIterAfterRemove(listIterAfterPrevious(scenario.build().listIterator(3), 3)), 0, Result.MatchingValue));
+				printTest(scenarioName + "_listIter3Previous3_testListIterHasPrevious", testListIterHasPrevious(listIterAfterPrevious(scenario.build().listIterator(3), 3), Result.False));
 			} else {
 				printTest(scenarioName + "_testListIter", testListIter(scenario.build(), Result.UnsupportedOperation));
 				printTest(scenarioName + "_testListIter0", testListIter(scenario.build(), 0, Result.UnsupportedOperation));
@@ -2083,6 +2298,15 @@ public class ListTester {
 		return iterator;
 	}
 
+	/** Helper for testing ListIterators. Return a ListIterator that has had add(ELEMENT_X) called once.
+	 * @param iterator
+	 * @return same ListIterator following a call to add()
+	 */
+	private ListIterator<Integer> listIterAfterAdd(ListIterator<Integer> iterator) {
+		iterator.add(ELEMENT_X);
+		return iterator;
+	}
+
 	////////////////////////////////////////////////////////
 	// XXX Iterator Concurrency Tests
 	// Can simply use as given. Don't need to add more.
@@ -2405,14 +2629,442 @@ public class ListTester {
 
 	////////////////////////////////////////////////////////
 	// XXX ListIterator Concurrency Tests
-	// Will add tests for double-linked list
 	////////////////////////////////////////////////////////
 
 	/** run ListIterator concurrency tests */
 	private void test_ListIterConcurrency() {
 		System.out.println("\nListIterator Concurrency Tests\n");
 		try {
-			//TODO: will add for double-linked list
+			printTest("emptyList_testConcurrentListIter", testListIterConcurrent(newList(), Result.NoException));
+			printTest("A_testConcurrentListIter01", testListIterConcurrent(emptyList_addToFrontA_A(), 0, 1, Result.NoException));
+			IndexedUnsortedList<Integer> list = newList();
+			ListIterator<Integer> it1 = list.listIterator();
+			ListIterator<Integer> it2 = list.listIterator();
+			it1.add(ELEMENT_A);
+			printTest("emptyList_iter1AddA_testIter2HasNext", testIterHasNext(it2, Result.ConcurrentModification));
+			printTest("emptyList_iter1AddA_testIter1HasPrevious", testListIterHasPrevious(it1, Result.True));
+
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			it1.remove();
+			printTest("A_iter1NextRemove_testIter2HasNext", testIterHasNext(it2, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			it1.remove();
+			printTest("A_iter1NextRemove_testIter2Next", testIterNext(it2, ELEMENT_A, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			it1.remove();
+			printTest("A_iter1NextRemove_testIter2HasPrevious", testListIterHasPrevious(it2, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			it1.remove();
+			printTest("A_iter1NextRemove_testIter2Previous", testListIterPrevious(it2, ELEMENT_A, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			it1.remove();
+			printTest("A_iter1NextRemove_testIter2NextIndex", testListIterNextIndex(it2, 0, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			it1.remove();
+			printTest("A_iter1NextRemove_testIter2Set", testListIterSet(it2, ELEMENT_X, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			it1.remove();
+			printTest("A_iter1NextRemove_testIter2Add", testListIterAdd(it2, ELEMENT_X, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			it1.remove();
+			printTest("A_iter1NextRemove_testIter2Remove", testIterRemove(it2, Result.ConcurrentModification));
+
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			it1.set(ELEMENT_B);
+			printTest("A_iter1NextSetB_testIter2HasNext", testIterHasNext(it2, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			it1.set(ELEMENT_B);
+			printTest("A_iter1NextSetB_testIter2Next", testIterNext(it2, ELEMENT_A, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			it1.set(ELEMENT_B);
+			printTest("A_iter1NextSetB_testIter2HasPrevious", testListIterHasPrevious(it2, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			it1.set(ELEMENT_B);
+			printTest("A_iter1NextSetB_testIter2Previous", testListIterPrevious(it2, ELEMENT_A, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			it1.set(ELEMENT_B);
+			printTest("A_iter1NextSetB_testIter2NextIndex", testListIterNextIndex(it2, 0, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			it1.set(ELEMENT_B);
+			printTest("A_iter1NextSetB_testIter2Set", testListIterSet(it2, ELEMENT_X, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			it1.set(ELEMENT_B);
+			printTest("A_iter1NextSetB_testIter2Add", testListIterAdd(it2, ELEMENT_X, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			it1.set(ELEMENT_B);
+			printTest("A_iter1NextSetB_testIter2Remove", testIterRemove(it2, Result.ConcurrentModification));
+
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.add(ELEMENT_B);
+			printTest("A_iter1AddB_testIter2HasNext", testIterHasNext(it2, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.add(ELEMENT_B);
+			printTest("A_iter1AddB_testIter2Next", testIterNext(it2, ELEMENT_A, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.add(ELEMENT_B);
+			printTest("A_iter1AddB_testIter2HasPrevious", testListIterHasPrevious(it2, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.add(ELEMENT_B);
+			printTest("A_iter1AddB_testIter2Previous", testListIterPrevious(it2, ELEMENT_A, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.add(ELEMENT_B);
+			printTest("A_iter1AddB_testIter2NextIndex", testListIterNextIndex(it2, 0, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.add(ELEMENT_B);
+			printTest("A_iter1AddB_testIter2Set", testListIterSet(it2, ELEMENT_X, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.add(ELEMENT_B);
+			printTest("A_iter1AddB_testIter2Add", testListIterAdd(it2, ELEMENT_X, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.add(ELEMENT_B);
+			printTest("A_iter1AddB_testIter2Remove", testIterRemove(it2, Result.ConcurrentModification));
+
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1 = list.listIterator(1);
+			it1.previous();
+			it1.remove();
+			printTest("A_iter1PreviousRemove_testIter2HasNext", testIterHasNext(it2, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1 = list.listIterator(1);
+			it1.previous();
+			it1.remove();
+			printTest("A_iter1PreviousRemove_testIter2Next", testIterNext(it2, ELEMENT_A, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1 = list.listIterator(1);
+			it1.previous();
+			it1.remove();
+			printTest("A_iter1PreviousRemove_testIter2HasPrevious", testListIterHasPrevious(it2, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1 = list.listIterator(1);
+			it1.previous();
+			it1.remove();
+			printTest("A_iter1PreviousRemove_testIter2Previous", testListIterPrevious(it2, ELEMENT_A, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1 = list.listIterator(1);
+			it1.previous();
+			it1.remove();
+			printTest("A_iter1PreviousRemove_testIter2NextIndex", testListIterNextIndex(it2, 0, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1 = list.listIterator(1);
+			it1.previous();
+			it1.remove();
+			printTest("A_iter1PreviousRemove_testIter2Set", testListIterSet(it2, ELEMENT_X, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1 = list.listIterator(1);
+			it1.previous();
+			it1.remove();
+			printTest("A_iter1PreviousRemove_testIter2Add", testListIterAdd(it2, ELEMENT_X, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1 = list.listIterator(1);
+			it1.previous();
+			it1.remove();
+			printTest("A_iter1PreviousRemove_testIter2Remove", testIterRemove(it2, Result.ConcurrentModification));
+
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			printTest("A_iter1Next_testIter2HasNext", testIterHasNext(it2, Result.True));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			printTest("A_iter1Next_testIter2Next", testIterNext(it2, ELEMENT_A, Result.MatchingValue));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			printTest("A_iter1Next_testIter2HasPrevious", testListIterHasPrevious(it2, Result.False));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			printTest("A_iter1Next_testIter2Previous", testListIterPrevious(it2, ELEMENT_A, Result.NoSuchElement));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			printTest("A_iter1Next_testIter2NextIndex", testListIterNextIndex(it2, 0, Result.MatchingValue));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			printTest("A_iter1Next_testIter2Set", testListIterSet(it2, ELEMENT_X, Result.IllegalState));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			printTest("A_iter1Next_testIter2Add", testListIterAdd(it2, ELEMENT_X, Result.NoException));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			printTest("A_iter1Next_testIter2Remove", testIterRemove(it2, Result.IllegalState));
+
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			it1.previous();
+			printTest("A_iter1NextPrevious_testIter2HasNext", testIterHasNext(it2, Result.True));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			it1.previous();
+			printTest("A_iter1NextPrevious_testIter2Next", testIterNext(it2, ELEMENT_A, Result.MatchingValue));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			it1.previous();
+			printTest("A_iter1NextPrevious_testIter2HasPrevious", testListIterHasPrevious(it2, Result.False));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			it1.previous();
+			printTest("A_iter1NextPrevious_testIter2Previous", testListIterPrevious(it2, ELEMENT_A, Result.NoSuchElement));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			it1.previous();
+			printTest("A_iter1NextPrevious_testIter2NextIndex", testListIterNextIndex(it2, 0, Result.MatchingValue));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			it1.previous();
+			printTest("A_iter1NextPrevious_testIter2Set", testListIterSet(it2, ELEMENT_X, Result.IllegalState));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			it1.previous();
+			printTest("A_iter1NextPrevious_testIter2Add", testListIterAdd(it2, ELEMENT_X, Result.NoException));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			it2 = list.listIterator();
+			it1.next();
+			it1.previous();
+			printTest("A_iter1NextPrevious_testIter2Remove", testIterRemove(it2, Result.IllegalState));
+
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.addToFront(ELEMENT_B);
+			printTest("A_addToFrontB_testListIterHasPreviousConcurrent", testListIterHasPrevious(it1, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.addToFront(ELEMENT_B);
+			printTest("A_addToFrontB_testListIterPreviousConcurrent", testListIterPrevious(it1, ELEMENT_A, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.addToFront(ELEMENT_B);
+			printTest("A_addToFrontB_testListIterAddConcurrent", testListIterAdd(it1, ELEMENT_X, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.addToFront(ELEMENT_B);
+			printTest("A_addToFrontB_testListIterSetConcurrent", testListIterSet(it1, ELEMENT_X, Result.ConcurrentModification));
+
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.addToRear(ELEMENT_B);
+			printTest("A_addToRearB_testListIterHasPreviousConcurrent", testListIterHasPrevious(it1, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.addToRear(ELEMENT_B);
+			printTest("A_addToRearB_testListIterPreviousConcurrent", testListIterPrevious(it1, ELEMENT_A, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.addToRear(ELEMENT_B);
+			printTest("A_addToRearB_testListIterAddConcurrent", testListIterAdd(it1, ELEMENT_X, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.addToRear(ELEMENT_B);
+			printTest("A_addToRearB_testListIterSetConcurrent", testListIterSet(it1, ELEMENT_X, Result.ConcurrentModification));
+
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.add(0, ELEMENT_B);
+			printTest("A_add0B_testListIterHasPreviousConcurrent", testListIterHasPrevious(it1, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.add(0, ELEMENT_B);
+			printTest("A_add0B_testListIterPreviousConcurrent", testListIterPrevious(it1, ELEMENT_A, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.add(0, ELEMENT_B);
+			printTest("A_add0B_testListIterAddConcurrent", testListIterAdd(it1, ELEMENT_X, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.add(0, ELEMENT_B);
+			printTest("A_add0B_testListIterSetConcurrent", testListIterSet(it1, ELEMENT_X, Result.ConcurrentModification));
+
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.set(0, ELEMENT_B);
+			printTest("A_set0B_testListIterHasPreviousConcurrent", testListIterHasPrevious(it1, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.set(0, ELEMENT_B);
+			printTest("A_set0B_testListIterPreviousConcurrent", testListIterPrevious(it1, ELEMENT_A, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.set(0, ELEMENT_B);
+			printTest("A_set0B_testListIterAddConcurrent", testListIterAdd(it1, ELEMENT_X, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.set(0, ELEMENT_B);
+			printTest("A_set0B_testListIterSetConcurrent", testListIterSet(it1, ELEMENT_X, Result.ConcurrentModification));
+
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.removeFirst();
+			printTest("A_removeFirst_testListIterHasPreviousConcurrent", testListIterHasPrevious(it1, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.removeFirst();
+			printTest("A_removeFirst_testListIterPreviousConcurrent", testListIterPrevious(it1, ELEMENT_A, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.removeFirst();
+			printTest("A_removeFirst_testListIterAddConcurrent", testListIterAdd(it1, ELEMENT_X, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.removeFirst();
+			printTest("A_removeFirst_testListIterSetConcurrent", testListIterSet(it1, ELEMENT_X, Result.ConcurrentModification));
+
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.remove(0);
+			printTest("A_remove0_testListIterHasPreviousConcurrent", testListIterHasPrevious(it1, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.remove(0);
+			printTest("A_remove0_testListIterPreviousConcurrent", testListIterPrevious(it1, ELEMENT_A, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.remove(0);
+			printTest("A_remove0_testListIterAddConcurrent", testListIterAdd(it1, ELEMENT_X, Result.ConcurrentModification));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.remove(0);
+			printTest("A_remove0_testListIterSetConcurrent", testListIterSet(it1, ELEMENT_X, Result.ConcurrentModification));
+
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.get(0);
+			printTest("A_get0_testListIterHasPreviousConcurrent", testListIterHasPrevious(it1, Result.False));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.get(0);
+			printTest("A_get0_testListIterPreviousConcurrent", testListIterPrevious(it1, ELEMENT_A, Result.NoSuchElement));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.get(0);
+			printTest("A_get0_testListIterAddConcurrent", testListIterAdd(it1, ELEMENT_X, Result.NoException));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.get(0);
+			printTest("A_get0_testListIterSetConcurrent", testListIterSet(it1, ELEMENT_X, Result.IllegalState));
+
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.indexOf(ELEMENT_A);
+			printTest("A_indexOfA_testListIterHasPreviousConcurrent", testListIterHasPrevious(it1, Result.False));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.indexOf(ELEMENT_A);
+			printTest("A_indexOfA_testListIterPreviousConcurrent", testListIterPrevious(it1, ELEMENT_A, Result.NoSuchElement));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.indexOf(ELEMENT_A);
+			printTest("A_indexOfA_testListIterAddConcurrent", testListIterAdd(it1, ELEMENT_X, Result.NoException));
+			list = emptyList_addToFrontA_A();
+			it1 = list.listIterator();
+			list.indexOf(ELEMENT_A);
+			printTest("A_indexOfA_testListIterSetConcurrent", testListIterSet(it1, ELEMENT_X, Result.IllegalState));
 		} catch (Exception e) {
 			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_ListIterConcurrency");
 			e.printStackTrace();
@@ -2422,9 +3074,2081 @@ public class ListTester {
 			}
 		}
 	}
-}// end class IndexedUnsortedListTester
 
-/** Interface for builder method Lambda references used above */
-interface Scenario<T> {
-	IndexedUnsortedList<T> build();
+	/** Runs a check and compares its answer against expectedResult
+	 * @param check returns true if the checked property holds
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testCheck(BooleanSupplier check, Result expectedResult) {
+		Result result;
+		try {
+			result = check.getAsBoolean() ? Result.True : Result.False;
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testCheck", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Runs an action and checks the exception it throws, if any, against expectedResult
+	 * @param action the call to make
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testAction(Action action, Result expectedResult) {
+		Result result;
+		try {
+			action.run();
+			result = Result.NoException;
+		} catch (IndexOutOfBoundsException e) {
+			result = Result.IndexOutOfBounds;
+		} catch (IllegalStateException e) {
+			result = Result.IllegalState;
+		} catch (NoSuchElementException e) {
+			result = Result.NoSuchElement;
+		} catch (ConcurrentModificationException e) {
+			result = Result.ConcurrentModification;
+		} catch (UnsupportedOperationException e) {
+			result = Result.UnsupportedOperation;
+		} catch (IOException e) {
+			result = Result.IOFailure;
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testAction", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Check that a list holds exactly the expected elements, in order
+	 * @param list
+	 * @param expectedContents
+	 * @return true if size and every element match (by equals())
+	 */
+	private boolean hasContents(IndexedUnsortedList<?> list, Object[] expectedContents) {
+		if (list.size() != expectedContents.length) {
+			return false;
+		}
+		for (int i = 0; i < expectedContents.length; i++) {
+			if (!list.get(i).equals(expectedContents[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX Primitive List Sort Tests
+	// parallelSort() only takes the radix path above 8192
+	// elements, so these compare big lists with Arrays.sort
+	////////////////////////////////////////////////////////
+
+	/** run sort() and parallelSort() tests for the primitive array lists */
+	private void test_PrimitiveSorts() {
+		System.out.println("\nPrimitive List Sort Tests\n");
+		try {
+			Random random = new Random(4);
+			for (int size : new int[] {100, 100_000}) {
+				int[] ints = random.ints(size).toArray();
+				printTest("ints" + size + "_testParallelSort", testCheck(() -> sortsLikeArrays(ints, true), Result.True));
+				printTest("ints" + size + "_testSort", testCheck(() -> sortsLikeArrays(ints, false), Result.True));
+				// keys that share their high bytes, so radix passes are skipped
+				int[] narrow = random.ints(size, 1000, 1256).toArray();
+				printTest("narrowInts" + size + "_testParallelSort", testCheck(() -> sortsLikeArrays(narrow, true), Result.True));
+				long[] longs = random.longs(size).toArray();
+				printTest("longs" + size + "_testParallelSort", testCheck(() -> sortsLikeArrays(longs, true), Result.True));
+				printTest("longs" + size + "_testSort", testCheck(() -> sortsLikeArrays(longs, false), Result.True));
+				double[] doubles = random.doubles(size, -1e6, 1e6).toArray();
+				double[] specials = {Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+						Double.MIN_VALUE, -Double.MIN_VALUE, Double.longBitsToDouble(0x7ff8000000000123L)};
+				for (int i = 0; i < size / 10; i++) {
+					doubles[random.nextInt(size)] = specials[random.nextInt(specials.length)];
+				}
+				printTest("doubles" + size + "_testParallelSort", testCheck(() -> sortsLikeArrays(doubles, true), Result.True));
+				printTest("doubles" + size + "_testSort", testCheck(() -> sortsLikeArrays(doubles, false), Result.True));
+			}
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_PrimitiveSorts");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	/** Sort values in an IntIUArrayList and compare with Arrays.sort
+	 * @param values values to sort, not modified
+	 * @param parallel use parallelSort() rather than sort()
+	 * @return true if the list ends up in the same order as Arrays.sort
+	 */
+	private boolean sortsLikeArrays(int[] values, boolean parallel) {
+		IntIUArrayList list = new IntIUArrayList();
+		for (int value : values) {
+			list.add(value);
+		}
+		if (parallel) {
+			list.parallelSort();
+		} else {
+			list.sort();
+		}
+		int[] expected = values.clone();
+		Arrays.sort(expected);
+		return Arrays.equals(list.toArray(), expected);
+	}
+
+	/** Sort values in a LongIUArrayList and compare with Arrays.sort
+	 * @param values values to sort, not modified
+	 * @param parallel use parallelSort() rather than sort()
+	 * @return true if the list ends up in the same order as Arrays.sort
+	 */
+	private boolean sortsLikeArrays(long[] values, boolean parallel) {
+		LongIUArrayList list = new LongIUArrayList();
+		for (long value : values) {
+			list.add(value);
+		}
+		if (parallel) {
+			list.parallelSort();
+		} else {
+			list.sort();
+		}
+		long[] expected = values.clone();
+		Arrays.sort(expected);
+		return Arrays.equals(list.toArray(), expected);
+	}
+
+	/** Sort values in a DoubleIUArrayList and compare with Arrays.sort,
+	 * which orders -0.0 before 0.0 and NaNs last
+	 * @param values values to sort, not modified
+	 * @param parallel use parallelSort() rather than sort()
+	 * @return true if the list ends up in the same order as Arrays.sort
+	 */
+	private boolean sortsLikeArrays(double[] values, boolean parallel) {
+		DoubleIUArrayList list = new DoubleIUArrayList();
+		for (double value : values) {
+			list.add(value);
+		}
+		if (parallel) {
+			list.parallelSort();
+		} else {
+			list.sort();
+		}
+		double[] expected = values.clone();
+		Arrays.sort(expected);
+		return Arrays.equals(list.toArray(), expected);
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX Mapped List Tests
+	// reopen, force() and close(), and rejection of corrupt files
+	////////////////////////////////////////////////////////
+
+	/** run MappedIUList persistence tests */
+	private void test_MappedList() {
+		System.out.println("\nMapped List Tests\n");
+		Path file = null;
+		try {
+			Integer[] LIST_ABC = {ELEMENT_A, ELEMENT_B, ELEMENT_C};
+			Integer[] LIST_AC = {ELEMENT_A, ELEMENT_C};
+			file = Files.createTempFile("ListTester", ".iul");
+			Path path = file;
+			MappedIUList<Integer> list = new MappedIUList<Integer>(file, FixedWidthCodec.ints());
+			list.add(ELEMENT_A);
+			list.add(ELEMENT_B);
+			list.add(ELEMENT_C);
+			printTest("mappedABC_testForce", testAction(() -> list.force(), Result.NoException));
+			printTest("mappedABC_force_testReopen", testMappedOpen(file, FixedWidthCodec.ints(), LIST_ABC, Result.MatchingValue));
+			list.remove(ELEMENT_B);
+			printTest("mappedABC_removeB_testClose", testAction(() -> list.close(), Result.NoException));
+			printTest("mappedAC_close_testCloseAgain", testAction(() -> list.close(), Result.NoException));
+			printTest("mappedAC_close_testGet", testAction(() -> list.get(0), Result.IllegalState));
+			printTest("mappedAC_close_testAdd", testAction(() -> list.add(ELEMENT_D), Result.IllegalState));
+			printTest("mappedAC_close_testReopen", testMappedOpen(file, FixedWidthCodec.ints(), LIST_AC, Result.MatchingValue));
+			printTest("mappedAC_testReopenOtherWidth", testMappedOpen(file, FixedWidthCodec.longs(), null, Result.IOFailure));
+
+			// the header stores the size at byte 12 and the capacity at byte 16
+			int capacity;
+			try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+				raw.seek(16);
+				capacity = raw.readInt();
+				raw.seek(12);
+				raw.writeInt(capacity + 1);
+			}
+			printTest("mappedAC_sizeOverCapacity_testReopen", testMappedOpen(file, FixedWidthCodec.ints(), null, Result.IOFailure));
+			try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+				raw.seek(12);
+				raw.writeInt(-1);
+			}
+			printTest("mappedAC_negativeSize_testReopen", testMappedOpen(file, FixedWidthCodec.ints(), null, Result.IOFailure));
+			try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+				raw.seek(12);
+				raw.writeInt(LIST_AC.length);
+				raw.setLength(MappedIUList.HEADER_BYTES + (capacity - 1) * Integer.BYTES);
+			}
+			printTest("mappedAC_truncated_testReopen", testMappedOpen(file, FixedWidthCodec.ints(), null, Result.IOFailure));
+			printTest("mappedAC_truncated_testLengthUnchanged", testCheck(() -> path.toFile().length()
+					== MappedIUList.HEADER_BYTES + (capacity - 1) * Integer.BYTES, Result.True));
+			try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+				raw.setLength(10);
+			}
+			printTest("mappedShortHeader_testReopen", testMappedOpen(file, FixedWidthCodec.ints(), null, Result.IOFailure));
+			printTest("mappedShortHeader_testLengthUnchanged", testCheck(() -> path.toFile().length() == 10, Result.True));
+			try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+				raw.setLength(MappedIUList.HEADER_BYTES);
+				raw.seek(0);
+				raw.writeInt(0x12345678);
+			}
+			printTest("mappedBadMagic_testReopen", testMappedOpen(file, FixedWidthCodec.ints(), null, Result.IOFailure));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_MappedList");
+			e.printStackTrace();
+		} finally {
+			if (file != null) {
+				file.toFile().delete();
+			}
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	/** Opens a MappedIUList on file and checks its contents against expectedContents
+	 * @param file backing file
+	 * @param codec codec to open it with
+	 * @param expectedContents contents, or null if expectedResult is an Exception
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private <T> boolean testMappedOpen(Path file, FixedWidthCodec<T> codec, T[] expectedContents, Result expectedResult) {
+		Result result;
+		try (MappedIUList<T> list = new MappedIUList<T>(file, codec)) {
+			if (expectedContents != null && hasContents(list, expectedContents)) {
+				result = Result.MatchingValue;
+			} else {
+				result = Result.Fail;
+			}
+		} catch (IOException e) {
+			result = Result.IOFailure;
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testMappedOpen", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX List Serializer Tests
+	// round trips, and headers that claim more than the
+	// stream holds
+	////////////////////////////////////////////////////////
+
+	/** run ListSerializer tests */
+	private void test_ListSerializer() {
+		System.out.println("\nList Serializer Tests\n");
+		try {
+			Integer[] LIST_ABC = {ELEMENT_A, ELEMENT_B, ELEMENT_C};
+			IUArrayList<Integer> abc = new IUArrayList<Integer>();
+			abc.addAll(LIST_ABC);
+			printTest("ABC_testRoundTrip", testRead(serialized(abc, ElementCodec.ints()), ElementCodec.ints(), LIST_ABC, Result.MatchingValue));
+			char[] longChars = new char[200_000];
+			Arrays.fill(longChars, 'x');
+			String[] strings = {"a", null, "", new String(longChars), "\u00e9\u4e2d"};
+			IUArrayList<String> stringList = new IUArrayList<String>();
+			stringList.addAll(strings);
+			byte[] stringStream = serialized(stringList, ElementCodec.strings());
+			printTest("strings_testRoundTrip", testRead(stringStream, ElementCodec.strings(), strings, Result.MatchingValue));
+			printTest("strings_testTruncated", testRead(Arrays.copyOf(stringStream, stringStream.length - 1000), ElementCodec.strings(), null, Result.IOFailure));
+			printTest("ABC_testReadWithOtherCodec", testRead(serialized(abc, ElementCodec.ints()), ElementCodec.longs(), null, Result.IOFailure));
+
+			// a header claiming far more elements than follow must fail on the data, not on the allocation
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(bytes);
+			out.writeInt(0x49554c53);
+			out.writeByte(ListSerializer.VERSION);
+			out.writeByte(ElementCodec.INT);
+			out.writeInt(0x7ffffff0);
+			out.writeInt(ELEMENT_A);
+			printTest("hugeCount_testRead", testRead(bytes.toByteArray(), ElementCodec.ints(), null, Result.IOFailure));
+			bytes.reset();
+			out.writeInt(0x49554c53);
+			out.writeByte(ListSerializer.VERSION);
+			out.writeByte(ElementCodec.STRING);
+			out.writeInt(1);
+			out.writeInt(0x7ffffff0);
+			out.writeBytes("abc");
+			printTest("hugeStringLength_testRead", testRead(bytes.toByteArray(), ElementCodec.strings(), null, Result.IOFailure));
+
+			// lists past MAX_PRESIZE are rebuilt whole, whether or not the stream reports what it holds
+			Integer[] large = new Integer[300_000];
+			for (int i = 0; i < large.length; i++) {
+				large[i] = i;
+			}
+			IUArrayList<Integer> largeList = new IUArrayList<Integer>();
+			largeList.addAll(large);
+			byte[] largeStream = serialized(largeList, ElementCodec.ints());
+			printTest("large_testRoundTrip", testRead(largeStream, ElementCodec.ints(), large, Result.MatchingValue));
+			IUArrayList<Integer> trickled = ListSerializer.read(new FilterInputStream(new ByteArrayInputStream(largeStream)) {
+				@Override
+				public int available() {
+					return 0;
+				}
+			}, ElementCodec.ints());
+			printTest("large_noAvailable_testRoundTrip", testCheck(() -> Arrays.equals(trickled.toArray(), large), Result.True));
+			printTest("large_noAvailable_testCapacity", testCheck(() -> trickled.capacity() == large.length, Result.True));
+
+			// a restored list is sized exactly, but may shrink again like any other
+			IUArrayList<Integer> abcdx = new IUArrayList<Integer>();
+			abcdx.addAll(new Integer[] {ELEMENT_A, ELEMENT_B, ELEMENT_C, ELEMENT_D, ELEMENT_X});
+			IUArrayList<Integer> restored = ListSerializer.read(new ByteArrayInputStream(serialized(abcdx, ElementCodec.ints())), ElementCodec.ints());
+			printTest("ABCDX_read_testCapacity", testCheck(() -> restored.capacity() == 5, Result.True));
+			for (int i = 0; i < 4; i++) {
+				restored.removeLast();
+			}
+			printTest("ABCDX_read_removeLast4_testCapacity", testCheck(() -> restored.capacity() < 5, Result.True));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_ListSerializer");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	/** Write list with ListSerializer
+	 * @param list
+	 * @param codec
+	 * @return the bytes written
+	 * @throws IOException
+	 */
+	private <T> byte[] serialized(IndexedUnsortedList<T> list, ElementCodec<T> codec) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ListSerializer.write(list, codec, bytes);
+		return bytes.toByteArray();
+	}
+
+	/** Reads stream with ListSerializer and checks the list read against expectedContents
+	 * @param stream serialized list
+	 * @param codec codec to read with
+	 * @param expectedContents contents, or null if expectedResult is an Exception
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private <T> boolean testRead(byte[] stream, ElementCodec<T> codec, T[] expectedContents, Result expectedResult) {
+		Result result;
+		try {
+			IUArrayList<T> list = ListSerializer.read(new ByteArrayInputStream(stream), codec);
+			if (expectedContents != null && Arrays.equals(list.toArray(), expectedContents)) {
+				result = Result.MatchingValue;
+			} else {
+				result = Result.Fail;
+			}
+		} catch (IOException e) {
+			result = Result.IOFailure;
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testRead", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX Scan Aggregate Tests
+	// sum(), min(), max(), count(), countBetween() and
+	// indexOf() of the primitive lists against simple loops
+	////////////////////////////////////////////////////////
+
+	/** run primitive list aggregate tests */
+	private void test_ScanAggregates() {
+		System.out.println("\nScan Aggregate Tests\n");
+		try {
+			Random random = new Random(14);
+			int[] ints = random.ints(10_000, -50, 50).toArray();
+			ints[9_000] = Integer.MAX_VALUE;
+			ints[9_001] = Integer.MAX_VALUE;
+			ints[9_002] = Integer.MIN_VALUE;
+			IntIUArrayList intList = new IntIUArrayList();
+			for (int value : ints) {
+				intList.add(value);
+			}
+			long intSum = 0;
+			int intMin = Integer.MAX_VALUE;
+			int intMax = Integer.MIN_VALUE;
+			int intCount = 0;
+			int intBetween = 0;
+			for (int value : ints) {
+				intSum += value;
+				intMin = Math.min(intMin, value);
+				intMax = Math.max(intMax, value);
+				intCount += (value == 7) ? 1 : 0;
+				intBetween += (value >= -10 && value <= 10) ? 1 : 0;
+			}
+			long expectedIntSum = intSum;
+			int expectedIntMin = intMin;
+			int expectedIntMax = intMax;
+			int expectedIntCount = intCount;
+			int expectedIntBetween = intBetween;
+			printTest("ints_testSumWithoutOverflow", testCheck(() -> intList.sum() == expectedIntSum, Result.True));
+			printTest("ints_testMin", testCheck(() -> intList.min() == expectedIntMin, Result.True));
+			printTest("ints_testMax", testCheck(() -> intList.max() == expectedIntMax, Result.True));
+			printTest("ints_testCount", testCheck(() -> intList.count(7) == expectedIntCount, Result.True));
+			printTest("ints_testCountBetween", testCheck(() -> intList.countBetween(-10, 10) == expectedIntBetween, Result.True));
+			printTest("ints_testIndexOf", testCheck(() -> intList.indexOf(Integer.MAX_VALUE) == 9_000, Result.True));
+			printTest("ints_testIndexOfMissing", testCheck(() -> intList.indexOf(1_000) == -1, Result.True));
+
+			long[] longs = random.longs(10_000, -1_000_000_000_000L, 1_000_000_000_000L).toArray();
+			LongIUArrayList longList = new LongIUArrayList();
+			for (long value : longs) {
+				longList.add(value);
+			}
+			longs[4321] = longs[1234];
+			longList.set(4321, longs[1234]);
+			long longSum = 0;
+			long longMin = Long.MAX_VALUE;
+			long longMax = Long.MIN_VALUE;
+			int longCount = 0;
+			int longBetween = 0;
+			for (long value : longs) {
+				longSum += value;
+				longCount += (value == longs[1234]) ? 1 : 0;
+				longMin = Math.min(longMin, value);
+				longMax = Math.max(longMax, value);
+				longBetween += (value >= 0 && value <= 500_000_000_000L) ? 1 : 0;
+			}
+			long expectedLongSum = longSum;
+			long expectedLongMin = longMin;
+			long expectedLongMax = longMax;
+			int expectedLongCount = longCount;
+			int expectedLongBetween = longBetween;
+			printTest("longs_testSum", testCheck(() -> longList.sum() == expectedLongSum, Result.True));
+			printTest("longs_testMin", testCheck(() -> longList.min() == expectedLongMin, Result.True));
+			printTest("longs_testMax", testCheck(() -> longList.max() == expectedLongMax, Result.True));
+			printTest("longs_testCount", testCheck(() -> longList.count(longs[1234]) == expectedLongCount, Result.True));
+			printTest("longs_testCountBetween", testCheck(() -> longList.countBetween(0, 500_000_000_000L) == expectedLongBetween, Result.True));
+			printTest("longs_testIndexOf", testCheck(() -> longList.indexOf(longs[5678]) <= 5678
+					&& longs[longList.indexOf(longs[5678])] == longs[5678], Result.True));
+
+			// doubles match like Double.equals(): NaN matches NaN, -0.0 does not match 0.0
+			DoubleIUArrayList doubleList = new DoubleIUArrayList();
+			for (double value : new double[] {1.5, -0.0, 0.0, Double.NaN, 2.5, Double.NaN}) {
+				doubleList.add(value);
+			}
+			printTest("doublesNaN_testIndexOfZero", testCheck(() -> doubleList.indexOf(0.0) == 2, Result.True));
+			printTest("doublesNaN_testIndexOfNegativeZero", testCheck(() -> doubleList.indexOf(-0.0) == 1, Result.True));
+			printTest("doublesNaN_testIndexOfNaN", testCheck(() -> doubleList.indexOf(Double.NaN) == 3, Result.True));
+			printTest("doublesNaN_testContainsOtherNaN", testCheck(() -> doubleList.contains(Double.longBitsToDouble(0x7ff8000000000123L)), Result.True));
+			printTest("doublesNaN_testCountNaN", testCheck(() -> doubleList.count(Double.NaN) == 2, Result.True));
+			printTest("doublesNaN_testCountZero", testCheck(() -> doubleList.count(0.0) == 1, Result.True));
+			printTest("doublesNaN_testMin", testCheck(() -> Double.isNaN(doubleList.min()), Result.True));
+			printTest("doublesNaN_testMax", testCheck(() -> Double.isNaN(doubleList.max()), Result.True));
+			printTest("doublesNaN_testSum", testCheck(() -> Double.isNaN(doubleList.sum()), Result.True));
+			// NaN is never in a range; both zeros are in [-0.0, 0.0]
+			printTest("doublesNaN_testCountBetweenZeros", testCheck(() -> doubleList.countBetween(-0.0, 0.0) == 2, Result.True));
+			printTest("doublesNaN_testCountBetweenAll", testCheck(() -> doubleList.countBetween(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY) == 4, Result.True));
+			DoubleIUArrayList zeros = new DoubleIUArrayList();
+			zeros.add(0.0);
+			zeros.add(-0.0);
+			zeros.add(0.0);
+			printTest("zeros_testMinIsNegativeZero", testCheck(() -> Double.doubleToRawLongBits(zeros.min()) == Double.doubleToRawLongBits(-0.0), Result.True));
+			printTest("zeros_testMaxIsPositiveZero", testCheck(() -> Double.doubleToRawLongBits(zeros.max()) == Double.doubleToRawLongBits(0.0), Result.True));
+			// sums are added strictly left to right
+			DoubleIUArrayList cancelling = new DoubleIUArrayList();
+			cancelling.add(1e16);
+			cancelling.add(1.0);
+			cancelling.add(-1e16);
+			printTest("cancelling_testSumInOrder", testCheck(() -> cancelling.sum() == 0.0, Result.True));
+			double[] doubles = random.doubles(10_000, -1e3, 1e3).toArray();
+			DoubleIUArrayList randomDoubles = new DoubleIUArrayList();
+			double doubleSum = 0;
+			for (double value : doubles) {
+				randomDoubles.add(value);
+				doubleSum += value;
+			}
+			double expectedDoubleSum = doubleSum;
+			printTest("doubles_testSum", testCheck(() -> randomDoubles.sum() == expectedDoubleSum, Result.True));
+
+			printTest("emptyInts_testSum", testCheck(() -> new IntIUArrayList().sum() == 0, Result.True));
+			printTest("emptyInts_testMin", testAction(() -> new IntIUArrayList().min(), Result.NoSuchElement));
+			printTest("emptyLongs_testMax", testAction(() -> new LongIUArrayList().max(), Result.NoSuchElement));
+			printTest("emptyDoubles_testMin", testAction(() -> new DoubleIUArrayList().min(), Result.NoSuchElement));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_ScanAggregates");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX Bulk Operation Tests
+	// addAll(), removeAll(), retainAll() and removeIf() on
+	// the list under test, including a list added to itself
+	////////////////////////////////////////////////////////
+
+	/** run addAll, removeAll, retainAll and removeIf tests */
+	private void test_BulkOperations() {
+		System.out.println("\nBulk Operation Tests\n");
+		try {
+			Integer[] LIST_ABC = {ELEMENT_A, ELEMENT_B, ELEMENT_C};
+			IndexedUnsortedList<Integer> list = newList();
+			printTest("emptyList_addAllABC_testAddAll", testAction(() -> list.addAll(LIST_ABC), Result.NoException));
+			printTest("emptyList_addAllABC_testContents", testCheck(() -> hasContents(list, LIST_ABC), Result.True));
+			IndexedUnsortedList<Integer> a = listOf(ELEMENT_A);
+			printTest("A_addAll0BC_testAddAll", testAction(() -> a.addAll(0, new Integer[] {ELEMENT_B, ELEMENT_C}), Result.NoException));
+			printTest("A_addAll0BC_testContents", testCheck(() -> hasContents(a, new Integer[] {ELEMENT_B, ELEMENT_C, ELEMENT_A}), Result.True));
+			IndexedUnsortedList<Integer> abc = listOf(LIST_ABC);
+			IndexedUnsortedList<Integer> dx = listOf(ELEMENT_D, ELEMENT_X);
+			printTest("ABC_addAll1DX_testAddAll", testAction(() -> abc.addAll(1, dx), Result.NoException));
+			printTest("ABC_addAll1DX_testContents", testCheck(() -> hasContents(abc, new Integer[] {ELEMENT_A, ELEMENT_D, ELEMENT_X, ELEMENT_B, ELEMENT_C}), Result.True));
+			printTest("ABC_addAll1DX_testIndexOfB", testCheck(() -> abc.indexOf(ELEMENT_B) == 3, Result.True));
+			IndexedUnsortedList<Integer> abc2 = listOf(LIST_ABC);
+			printTest("ABC_addAll4ABC_testAddAll", testAction(() -> abc2.addAll(4, LIST_ABC), Result.IndexOutOfBounds));
+			printTest("ABC_addAllNeg1ABC_testAddAll", testAction(() -> abc2.addAll(-1, dx), Result.IndexOutOfBounds));
+			printTest("ABC_addAllOutOfBounds_testContents", testCheck(() -> hasContents(abc2, LIST_ABC), Result.True));
+			// a list added to itself adds a copy of what it held before the call
+			printTest("ABC_addAllSelf_testAddAll", testAction(() -> abc2.addAll(abc2), Result.NoException));
+			printTest("ABC_addAllSelf_testContents", testCheck(() -> hasContents(abc2, new Integer[] {ELEMENT_A, ELEMENT_B, ELEMENT_C, ELEMENT_A, ELEMENT_B, ELEMENT_C}), Result.True));
+			IndexedUnsortedList<Integer> abc3 = listOf(LIST_ABC);
+			printTest("ABC_addAll1Self_testAddAll", testAction(() -> abc3.addAll(1, abc3), Result.NoException));
+			printTest("ABC_addAll1Self_testContents", testCheck(() -> hasContents(abc3, new Integer[] {ELEMENT_A, ELEMENT_A, ELEMENT_B, ELEMENT_C, ELEMENT_B, ELEMENT_C}), Result.True));
+
+			IndexedUnsortedList<Integer> abcabc = listOf(ELEMENT_A, ELEMENT_B, ELEMENT_C, ELEMENT_A, ELEMENT_B, ELEMENT_C);
+			printTest("ABCABC_removeAllAC_testChanged", testCheck(() -> abcabc.removeAll(listOf(ELEMENT_A, ELEMENT_C)), Result.True));
+			printTest("ABCABC_removeAllAC_testContents", testCheck(() -> hasContents(abcabc, new Integer[] {ELEMENT_B, ELEMENT_B}), Result.True));
+			printTest("ABCABC_removeAllAC_testIndexOfA", testCheck(() -> abcabc.indexOf(ELEMENT_A) == -1, Result.True));
+			printTest("ABCABC_removeAllAC_testLastB", testCheck(() -> abcabc.last().equals(ELEMENT_B), Result.True));
+			IndexedUnsortedList<Integer> abc4 = listOf(LIST_ABC);
+			printTest("ABC_removeAllX_testChanged", testCheck(() -> abc4.removeAll(listOf(ELEMENT_X)), Result.False));
+			printTest("ABC_removeAllX_testContents", testCheck(() -> hasContents(abc4, LIST_ABC), Result.True));
+			printTest("ABC_removeAllSelf_testChanged", testCheck(() -> abc4.removeAll(abc4), Result.True));
+			printTest("ABC_removeAllSelf_testEmpty", testCheck(() -> abc4.isEmpty(), Result.True));
+			IndexedUnsortedList<Integer> abc5 = listOf(LIST_ABC);
+			printTest("ABC_retainAllBX_testChanged", testCheck(() -> abc5.retainAll(listOf(ELEMENT_B, ELEMENT_X)), Result.True));
+			printTest("ABC_retainAllBX_testContents", testCheck(() -> hasContents(abc5, new Integer[] {ELEMENT_B}), Result.True));
+			printTest("B_retainAllB_testChanged", testCheck(() -> abc5.retainAll(listOf(ELEMENT_B)), Result.False));
+			printTest("B_retainAllEmpty_testChanged", testCheck(() -> abc5.retainAll(newList()), Result.True));
+			printTest("B_retainAllEmpty_testEmpty", testCheck(() -> abc5.isEmpty(), Result.True));
+			IndexedUnsortedList<Integer> abc6 = listOf(LIST_ABC);
+			printTest("ABC_removeIfB_testChanged", testCheck(() -> abc6.removeIf(ELEMENT_B::equals), Result.True));
+			printTest("ABC_removeIfB_testContents", testCheck(() -> hasContents(abc6, new Integer[] {ELEMENT_A, ELEMENT_C}), Result.True));
+			printTest("AC_removeIfX_testChanged", testCheck(() -> abc6.removeIf(ELEMENT_X::equals), Result.False));
+			printTest("AC_removeIfAll_testChanged", testCheck(() -> abc6.removeIf(element -> true), Result.True));
+			printTest("AC_removeIfAll_testEmpty", testCheck(() -> abc6.isEmpty(), Result.True));
+			printTest("emptyList_removeIfAll_testChanged", testCheck(() -> newList().removeIf(element -> true), Result.False));
+			// the list is still usable after a bulk removal empties it
+			printTest("AC_removeIfAll_addA_testAdd", testAction(() -> abc6.add(ELEMENT_A), Result.NoException));
+			printTest("AC_removeIfAll_addA_testContents", testCheck(() -> hasContents(abc6, new Integer[] {ELEMENT_A}), Result.True));
+			IndexedUnsortedList<Integer> abc7 = listOf(LIST_ABC);
+			Iterator<Integer> it = abc7.iterator();
+			abc7.removeIf(ELEMENT_X::equals);
+			printTest("ABC_removeIfNothing_testIterNext", testAction(() -> it.next(), Result.NoException));
+			abc7.removeIf(ELEMENT_A::equals);
+			printTest("ABC_removeIfA_testIterConcurrent", testAction(() -> it.next(), Result.ConcurrentModification));
+
+			// big enough to take several growth and shrink steps
+			Random random = new Random(15);
+			Integer[] values = new Integer[5_000];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = random.nextInt(100);
+			}
+			IndexedUnsortedList<Integer> big = newList();
+			big.addAll(values);
+			printTest("big_removeIfOdd_testChanged", testCheck(() -> big.removeIf(value -> value % 2 != 0), Result.True));
+			printTest("big_removeIfOdd_testContents", testCheck(() -> hasContents(big, Arrays.stream(values).filter(value -> value % 2 == 0).toArray()), Result.True));
+			printTest("big_retainAllSmall_testChanged", testCheck(() -> big.retainAll(listOf(0, 2, 4, 6, 8)), Result.True));
+			printTest("big_retainAllSmall_testContents", testCheck(() -> hasContents(big, Arrays.stream(values).filter(value -> value < 10 && value % 2 == 0).toArray()), Result.True));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_BulkOperations");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX Range View Tests
+	// removeRange() on the list under test, and live,
+	// nested subList() views of IUArrayList
+	////////////////////////////////////////////////////////
+
+	/** run removeRange and subList tests */
+	private void test_RangeViews() {
+		System.out.println("\nRange View Tests\n");
+		try {
+			IndexedUnsortedList<Integer> abcd = listOf(ELEMENT_A, ELEMENT_B, ELEMENT_C, ELEMENT_D);
+			printTest("ABCD_removeRange13_testRemoveRange", testAction(() -> abcd.removeRange(1, 3), Result.NoException));
+			printTest("ABCD_removeRange13_testContents", testCheck(() -> hasContents(abcd, new Integer[] {ELEMENT_A, ELEMENT_D}), Result.True));
+			printTest("AD_removeRange11_testRemoveRange", testAction(() -> abcd.removeRange(1, 1), Result.NoException));
+			printTest("AD_removeRange03_testRemoveRange", testAction(() -> abcd.removeRange(0, 3), Result.IndexOutOfBounds));
+			printTest("AD_removeRange10_testRemoveRange", testAction(() -> abcd.removeRange(1, 0), Result.IndexOutOfBounds));
+			printTest("AD_removeRangeNeg1_testRemoveRange", testAction(() -> abcd.removeRange(-1, 1), Result.IndexOutOfBounds));
+			printTest("AD_removeRangeRejected_testContents", testCheck(() -> hasContents(abcd, new Integer[] {ELEMENT_A, ELEMENT_D}), Result.True));
+			printTest("AD_removeRange02_testRemoveRange", testAction(() -> abcd.removeRange(0, 2), Result.NoException));
+			printTest("AD_removeRange02_testEmpty", testCheck(() -> abcd.isEmpty(), Result.True));
+			Integer[] values = new Integer[5_000];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = i;
+			}
+			IndexedUnsortedList<Integer> big = newList();
+			big.addAll(values);
+			big.removeRange(100, 4_900);
+			printTest("big_removeRange_testContents", testCheck(() -> hasContents(big, Arrays.stream(values).filter(value -> value < 100 || value >= 4_900).toArray()), Result.True));
+
+			// views of [0, 10): view is [2, 8), nested is view's [1, 4), so [3, 6)
+			IUArrayList<Integer> list = new IUArrayList<Integer>();
+			list.addAll(Arrays.copyOf(values, 10));
+			IndexedUnsortedList<Integer> view = list.subList(2, 8);
+			IndexedUnsortedList<Integer> nested = view.subList(1, 4);
+			printTest("view_testContents", testCheck(() -> hasContents(view, new Integer[] {2, 3, 4, 5, 6, 7}), Result.True));
+			printTest("nested_testContents", testCheck(() -> hasContents(nested, new Integer[] {3, 4, 5}), Result.True));
+			printTest("nested_testIndexOf5", testCheck(() -> nested.indexOf(5) == 2, Result.True));
+			printTest("nested_testIndexOf6", testCheck(() -> nested.indexOf(6) == -1, Result.True));
+			printTest("nested_testGet3", testAction(() -> nested.get(3), Result.IndexOutOfBounds));
+			printTest("nested_set1X_testSet", testAction(() -> nested.set(1, ELEMENT_X), Result.NoException));
+			printTest("nested_set1X_testListGet4", testCheck(() -> list.get(4).equals(ELEMENT_X), Result.True));
+			printTest("nested_set1X_testViewGet2", testCheck(() -> view.get(2).equals(ELEMENT_X), Result.True));
+			printTest("nested_set1X_testListIndexOfX", testCheck(() -> list.indexOf(ELEMENT_X) == 4, Result.True));
+			// structural changes through the innermost view resize every enclosing view
+			printTest("nested_addZ_testAdd", testAction(() -> nested.add(ELEMENT_Z), Result.NoException));
+			printTest("nested_addZ_testNestedContents", testCheck(() -> hasContents(nested, new Integer[] {3, ELEMENT_X, 5, ELEMENT_Z}), Result.True));
+			printTest("nested_addZ_testViewContents", testCheck(() -> hasContents(view, new Integer[] {2, 3, ELEMENT_X, 5, ELEMENT_Z, 6, 7}), Result.True));
+			printTest("nested_addZ_testListContents", testCheck(() -> hasContents(list, new Integer[] {0, 1, 2, 3, ELEMENT_X, 5, ELEMENT_Z, 6, 7, 8, 9}), Result.True));
+			printTest("nested_remove0_testRemove", testCheck(() -> nested.remove(0).equals(3), Result.True));
+			printTest("nested_addAll0AB_testAddAll", testAction(() -> nested.addAll(0, new Integer[] {ELEMENT_A, ELEMENT_B}), Result.NoException));
+			printTest("nested_addAll0AB_testViewContents", testCheck(() -> hasContents(view, new Integer[] {2, ELEMENT_A, ELEMENT_B, ELEMENT_X, 5, ELEMENT_Z, 6, 7}), Result.True));
+			printTest("nested_removeRange13_testRemoveRange", testAction(() -> nested.removeRange(1, 3), Result.NoException));
+			printTest("nested_removeRange13_testNestedContents", testCheck(() -> hasContents(nested, new Integer[] {ELEMENT_A, 5, ELEMENT_Z}), Result.True));
+			printTest("nested_removeRange14_testRemoveRange", testAction(() -> nested.removeRange(1, 4), Result.IndexOutOfBounds));
+			printTest("nested_removeIfA_testChanged", testCheck(() -> nested.removeIf(ELEMENT_A::equals), Result.True));
+			printTest("nested_removeIfA_testViewContents", testCheck(() -> hasContents(view, new Integer[] {2, 5, ELEMENT_Z, 6, 7}), Result.True));
+			printTest("nested_removeIfA_testListContents", testCheck(() -> hasContents(list, new Integer[] {0, 1, 2, 5, ELEMENT_Z, 6, 7, 8, 9}), Result.True));
+			// edits through a view's iterator reach the list too
+			ListIterator<Integer> it = nested.listIterator();
+			it.next();
+			it.remove();
+			it.add(ELEMENT_C);
+			printTest("nested_iterEdits_testViewSize", testCheck(() -> view.size() == 5, Result.True));
+			printTest("nested_iterEdits_testListContents", testCheck(() -> hasContents(list, new Integer[] {0, 1, 2, ELEMENT_C, ELEMENT_Z, 6, 7, 8, 9}), Result.True));
+			printTest("view_removeRange_testRemoveRange", testAction(() -> view.removeRange(0, view.size()), Result.NoException));
+			printTest("view_removeRange_testViewEmpty", testCheck(() -> view.isEmpty(), Result.True));
+			printTest("view_removeRange_testListContents", testCheck(() -> hasContents(list, new Integer[] {0, 1, 8, 9}), Result.True));
+			// an empty view still inserts at its offset
+			printTest("view_addD_testAdd", testAction(() -> view.add(ELEMENT_D), Result.NoException));
+			printTest("view_addD_testListContents", testCheck(() -> hasContents(list, new Integer[] {0, 1, ELEMENT_D, 8, 9}), Result.True));
+
+			// a change made outside a view invalidates it, and views nested in it
+			IndexedUnsortedList<Integer> outer = list.subList(1, 4);
+			IndexedUnsortedList<Integer> inner = outer.subList(1, 2);
+			IndexedUnsortedList<Integer> sibling = list.subList(0, 2);
+			printTest("inner_addA_testAdd", testAction(() -> inner.add(ELEMENT_A), Result.NoException));
+			printTest("inner_addA_testOuterSize", testCheck(() -> outer.size() == 4, Result.True));
+			printTest("inner_addA_testSiblingGet", testAction(() -> sibling.get(0), Result.ConcurrentModification));
+			list.add(ELEMENT_B);
+			printTest("list_addB_testOuterGet", testAction(() -> outer.get(0), Result.ConcurrentModification));
+			printTest("list_addB_testInnerSize", testAction(() -> inner.size(), Result.ConcurrentModification));
+			printTest("list_addB_testInnerSubList", testAction(() -> inner.subList(0, 0), Result.ConcurrentModification));
+
+			printTest("list_subListNeg1_testSubList", testAction(() -> list.subList(-1, 2), Result.IndexOutOfBounds));
+			printTest("list_subList32_testSubList", testAction(() -> list.subList(3, 2), Result.IndexOutOfBounds));
+			printTest("list_subListPastEnd_testSubList", testAction(() -> list.subList(0, list.size() + 1), Result.IndexOutOfBounds));
+			IndexedUnsortedList<Integer> whole = list.subList(0, list.size());
+			printTest("whole_subListPastEnd_testSubList", testAction(() -> whole.subList(1, whole.size() + 1), Result.IndexOutOfBounds));
+
+			// views of an equality-hashed list keep its cached hashes in step
+			IUArrayList<Integer> hashed = new IUArrayList<Integer>(EqualityStrategy.equality());
+			hashed.addAll(Arrays.copyOf(values, 10));
+			IndexedUnsortedList<Integer> hashedView = hashed.subList(3, 7).subList(1, 3);
+			hashedView.set(0, 1_000);
+			hashedView.add(0, 2_000);
+			printTest("hashedView_testIndexOf", testCheck(() -> hashed.indexOf(1_000) == 5 && hashed.indexOf(2_000) == 4 && hashed.indexOf(4) == -1, Result.True));
+			printTest("hashedView_testViewIndexOf", testCheck(() -> hashedView.indexOf(1_000) == 1, Result.True));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_RangeViews");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX Sort Tests
+	// sort() and parallelSort() of the object lists; lists
+	// that cache hashes or index positions must still find
+	// every element afterwards
+	////////////////////////////////////////////////////////
+
+	/** run sort and parallelSort tests for IUArrayList and IUHashIndexedList */
+	private void test_Sorts() {
+		System.out.println("\nSort Tests\n");
+		try {
+			// big enough for Arrays.parallelSort to split, above 1000 so no boxes are shared
+			Random random = new Random(18);
+			Integer[] values = new Integer[20_000];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = 1_000 + i;
+			}
+			for (int i = values.length - 1; i > 0; i--) {
+				int j = random.nextInt(i + 1);
+				Integer swap = values[i];
+				values[i] = values[j];
+				values[j] = swap;
+			}
+			Integer[] ascending = values.clone();
+			Arrays.sort(ascending);
+			Integer[] descending = values.clone();
+			Arrays.sort(descending, Comparator.reverseOrder());
+			for (boolean parallel : new boolean[] {false, true}) {
+				String prefix = parallel ? "parallel" : "sequential";
+				IUArrayList<Integer> plain = new IUArrayList<Integer>();
+				plain.addAll(values);
+				printTest(prefix + "_arrayList_testSortNatural", testSort(plain, null, parallel, ascending, false, Result.True));
+				printTest(prefix + "_arrayList_testSortReversed", testSort(plain, Comparator.reverseOrder(), parallel, descending, false, Result.True));
+				IUArrayList<Integer> hashed = new IUArrayList<Integer>(EqualityStrategy.equality());
+				hashed.addAll(values);
+				printTest(prefix + "_equalsArrayList_testSortNatural", testSort(hashed, null, parallel, ascending, true, Result.True));
+				printTest(prefix + "_equalsArrayList_testSortReversed", testSort(hashed, Comparator.reverseOrder(), parallel, descending, true, Result.True));
+				IUHashIndexedList<Integer> indexed = new IUHashIndexedList<Integer>();
+				indexed.addAll(values);
+				printTest(prefix + "_hashIndexedList_testSortNatural", testSort(indexed, null, parallel, ascending, false, Result.True));
+				printTest(prefix + "_hashIndexedList_testSortReversed", testSort(indexed, Comparator.reverseOrder(), parallel, descending, false, Result.True));
+				// edits after a sort must see the rebuilt index
+				indexed.removeFirst();
+				indexed.add(0, values[0]);
+				printTest(prefix + "_hashIndexedList_sortEdit_testIndexOf", testCheck(() -> indexed.indexOf(values[0]) == 0
+						&& indexed.indexOf(descending[1]) == 1, Result.True));
+
+				// both sorts are stable: equal keys keep their relative order
+				IUArrayList<Integer> byTens = new IUArrayList<Integer>(EqualityStrategy.equality());
+				byTens.addAll(values);
+				Integer[] stable = values.clone();
+				Arrays.sort(stable, Comparator.comparing(value -> value / 10));
+				printTest(prefix + "_equalsArrayList_testSortStable", testSort(byTens, Comparator.comparing(value -> value / 10), parallel, stable, true, Result.True));
+
+				IUArrayList<Integer> abc = new IUArrayList<Integer>();
+				abc.addAll(new Integer[] {ELEMENT_C, ELEMENT_A, ELEMENT_B});
+				Iterator<Integer> it = abc.iterator();
+				printTest(prefix + "_CAB_testSort", testSort(abc, null, parallel, new Integer[] {ELEMENT_A, ELEMENT_B, ELEMENT_C}, false, Result.True));
+				printTest(prefix + "_CAB_sort_testIterConcurrent", testAction(() -> it.next(), Result.ConcurrentModification));
+				printTest(prefix + "_emptyList_testSort", testSort(new IUArrayList<Integer>(), null, parallel, new Integer[0], false, Result.True));
+				// a comparator that edits the list is caught
+				Comparator<Integer> meddling = (a, b) -> {
+					abc.add(ELEMENT_X);
+					return a.compareTo(b);
+				};
+				printTest(prefix + "_ABC_sortMeddling_testSort", testSort(abc, meddling, parallel, null, false, Result.ConcurrentModification));
+
+				// a comparator that gives up part way leaves the elements permuted, but lookups and iterators consistent;
+				// kept below 8192 elements, where Arrays.parallelSort sorts sequentially: its fork-join merges can hang on a throw
+				Integer[] few = Arrays.copyOf(values, 5_000);
+				AtomicLong comparisons = new AtomicLong();
+				Comparator<Integer> failing = (a, b) -> {
+					if (comparisons.incrementAndGet() == 20_000) {
+						throw new IllegalStateException("comparator failed");
+					}
+					return a.compareTo(b);
+				};
+				IUArrayList<Integer> failedHashed = new IUArrayList<Integer>(EqualityStrategy.equality());
+				failedHashed.addAll(few);
+				Iterator<Integer> failedIt = failedHashed.iterator();
+				printTest(prefix + "_equalsArrayList_sortFailing_testSort", testAction(() -> sortBy(failedHashed, failing, parallel), Result.IllegalState));
+				printTest(prefix + "_equalsArrayList_sortFailing_testIndexOf", testCheck(() -> isIndexed(failedHashed, few), Result.True));
+				printTest(prefix + "_equalsArrayList_sortFailing_testIterConcurrent", testAction(() -> failedIt.next(), Result.ConcurrentModification));
+				comparisons.set(0);
+				IUHashIndexedList<Integer> failedIndexed = new IUHashIndexedList<Integer>();
+				failedIndexed.addAll(few);
+				printTest(prefix + "_hashIndexedList_sortFailing_testSort", testAction(() -> sortBy(failedIndexed, failing, parallel), Result.IllegalState));
+				printTest(prefix + "_hashIndexedList_sortFailing_testIndexOf", testCheck(() -> isIndexed(failedIndexed, few), Result.True));
+				failedIndexed.addAfter(ELEMENT_X, failedIndexed.get(2_000));
+				printTest(prefix + "_hashIndexedList_sortFailing_testAddAfter", testCheck(() -> failedIndexed.get(2_001) == ELEMENT_X, Result.True));
+				// natural ordering fails the same way on an element that is not Comparable
+				IUArrayList<Object> mixed = new IUArrayList<Object>(EqualityStrategy.equality());
+				mixed.addAll(few);
+				mixed.add(new Object());
+				printTest(prefix + "_mixedList_sortNatural_testIndexOf", testCheck(() -> {
+					try {
+						sortBy(mixed, null, parallel);
+						return false;
+					} catch (ClassCastException e) {
+						return isIndexed(mixed, few);
+					}
+				}, Result.True));
+			}
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_Sorts");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	/** Sorts list and checks its contents, and that indexOf() finds each element where it now is
+	 * @param list IUArrayList or IUHashIndexedList to sort
+	 * @param comparator order to sort by, or null for natural ordering
+	 * @param parallel true to use parallelSort()
+	 * @param expectedContents contents after sorting, or null if expectedResult is an Exception
+	 * @param byEquality true to search with an equal new Integer rather than the element itself,
+	 *  for lists that match by equals() rather than identity
+	 * @param expectedResult
+	 * @return test success
+	 */
+	private boolean testSort(IndexedUnsortedList<Integer> list, Comparator<Integer> comparator, boolean parallel, Integer[] expectedContents, boolean byEquality, Result expectedResult) {
+		Result result;
+		try {
+			sortBy(list, comparator, parallel);
+			result = Result.True;
+			if (expectedContents == null || !hasContents(list, expectedContents)) {
+				result = Result.False;
+			}
+			for (int i = 0; i < list.size() && result == Result.True; i++) {
+				// indexOf() finds the first match, so only distinct elements are looked up
+				Integer element = byEquality ? Integer.valueOf(list.get(i).intValue()) : list.get(i);
+				if (list.indexOf(element) != i && (i == 0 || !list.get(i - 1).equals(element))) {
+					result = Result.False;
+				}
+			}
+		} catch (ConcurrentModificationException e) {
+			result = Result.ConcurrentModification;
+		} catch (Exception e) {
+			System.out.printf("%s caught unexpected %s\n", "testSort", e.toString());
+			e.printStackTrace();
+			result = Result.UnexpectedException;
+		}
+		return result == expectedResult;
+	}
+
+	/** Sorts an IUArrayList or IUHashIndexedList with sort() or parallelSort()
+	 * @param list
+	 * @param comparator order to sort by, or null for natural ordering
+	 * @param parallel true for parallelSort()
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> void sortBy(IndexedUnsortedList<T> list, Comparator<? super T> comparator, boolean parallel) {
+		if (list instanceof IUHashIndexedList) {
+			if (parallel) {
+				((IUHashIndexedList<T>) list).parallelSort(comparator);
+			} else {
+				((IUHashIndexedList<T>) list).sort(comparator);
+			}
+		} else if (parallel) {
+			((IUArrayList<T>) list).parallelSort(comparator);
+		} else {
+			((IUArrayList<T>) list).sort(comparator);
+		}
+	}
+
+	/** Checks that indexOf() finds sampled elements of list where they are,
+	 * and contains() finds sampled values, whatever order they are in
+	 * @param list holding each of values once, in any order, and possibly more
+	 * @param values
+	 * @return true if every lookup agrees with the list's contents
+	 */
+	private <T> boolean isIndexed(IndexedUnsortedList<T> list, T[] values) {
+		for (int i = 0; i < list.size(); i += 97) {
+			if (list.indexOf(list.get(i)) != i) {
+				return false;
+			}
+		}
+		for (int k = 0; k < values.length; k += 101) {
+			if (!list.contains(values[k])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX Parallel Transform Tests
+	// parallelReplaceAll(), parallelReduce() and
+	// parallelForEach() of IUArrayList against their
+	// sequential forms, on lists split into several leaves
+	////////////////////////////////////////////////////////
+
+	/** run parallelReplaceAll, parallelReduce and parallelForEach tests */
+	private void test_ParallelTransforms() {
+		System.out.println("\nParallel Transform Tests\n");
+		try {
+			// at least four leaves of 4096 at any pool parallelism
+			Random random = new Random(19);
+			Integer[] values = new Integer[50_000];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = random.nextInt(1_000_000);
+			}
+			IUArrayList<Integer> parallel = new IUArrayList<Integer>(EqualityStrategy.equality());
+			parallel.addAll(values);
+			IUArrayList<Integer> sequential = new IUArrayList<Integer>(EqualityStrategy.equality());
+			sequential.addAll(values);
+			UnaryOperator<Integer> shift = value -> value + 1_000_000;
+			parallel.parallelReplaceAll(shift);
+			sequential.replaceAll(shift);
+			printTest("big_parallelReplaceAll_testContents", testCheck(() -> hasContents(parallel, sequential.toArray()), Result.True));
+			// the cached hashes follow the new elements
+			printTest("big_parallelReplaceAll_testIndexOf", testCheck(() -> parallel.indexOf(values[40_000] + 1_000_000) == sequential.indexOf(values[40_000] + 1_000_000)
+					&& parallel.indexOf(values[40_000]) == sequential.indexOf(values[40_000]), Result.True));
+			long sum = 0;
+			for (Integer value : values) {
+				sum += value;
+			}
+			long expectedSum = sum;
+			IUArrayList<Long> longs = new IUArrayList<Long>();
+			for (Integer value : values) {
+				longs.add(value.longValue());
+			}
+			printTest("big_parallelReduceSum_testValue", testCheck(() -> longs.parallelReduce(0L, Long::sum) == expectedSum, Result.True));
+			printTest("big_reduceSum_testValue", testCheck(() -> longs.reduce(0L, Long::sum) == expectedSum, Result.True));
+			// concatenation is associative but not commutative, so leaves must combine in order
+			IUArrayList<String> strings = new IUArrayList<String>();
+			for (Integer value : values) {
+				strings.add(Integer.toString(value % 10));
+			}
+			printTest("big_parallelReduceConcat_testValue", testCheck(() -> strings.parallelReduce("", String::concat).equals(strings.reduce("", String::concat)), Result.True));
+			printTest("emptyList_parallelReduce_testIdentity", testCheck(() -> new IUArrayList<String>().parallelReduce("identity", String::concat).equals("identity"), Result.True));
+			AtomicIntegerArray visits = new AtomicIntegerArray(values.length);
+			IUArrayList<Integer> positions = new IUArrayList<Integer>();
+			for (int i = 0; i < values.length; i++) {
+				positions.add(i);
+			}
+			positions.parallelForEach(visits::incrementAndGet);
+			printTest("big_parallelForEach_testVisitsEachOnce", testCheck(() -> {
+				for (int i = 0; i < visits.length(); i++) {
+					if (visits.get(i) != 1) {
+						return false;
+					}
+				}
+				return true;
+			}, Result.True));
+			AtomicLong visited = new AtomicLong();
+			new IUArrayList<Integer>().parallelForEach(value -> visited.incrementAndGet());
+			printTest("emptyList_parallelForEach_testNoVisits", testCheck(() -> visited.get() == 0, Result.True));
+
+			// a function that edits the list is caught once its leaf finishes
+			IUArrayList<Integer> abc = new IUArrayList<Integer>();
+			abc.addAll(new Integer[] {ELEMENT_A, ELEMENT_B, ELEMENT_C});
+			printTest("ABC_parallelReplaceAllMeddling_testReplaceAll", testAction(() -> abc.parallelReplaceAll(value -> {
+				abc.addToRear(ELEMENT_X);
+				return value;
+			}), Result.ConcurrentModification));
+			printTest("ABC_parallelReduceMeddling_testReduce", testAction(() -> abc.parallelReduce(0, (a, b) -> {
+				abc.addToRear(ELEMENT_X);
+				return a + b;
+			}), Result.ConcurrentModification));
+			printTest("ABC_parallelForEachMeddling_testForEach", testAction(() -> abc.parallelForEach(value -> abc.addToFront(ELEMENT_X)), Result.ConcurrentModification));
+			Iterator<Integer> it = abc.iterator();
+			abc.parallelReplaceAll(value -> value);
+			printTest("ABC_parallelReplaceAll_testIterConcurrent", testAction(() -> it.next(), Result.ConcurrentModification));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_ParallelTransforms");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX Parallel Filter Tests
+	// parallelRemoveIf() of IUArrayList against a stream
+	// filter, on lists big enough for several chunks and on
+	// lists small enough for the sequential path
+	////////////////////////////////////////////////////////
+
+	/** run parallelRemoveIf tests */
+	private void test_ParallelFilter() {
+		System.out.println("\nParallel Filter Tests\n");
+		try {
+			Random random = new Random(20);
+			Integer[] values = new Integer[50_000];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = random.nextInt(1_000_000);
+			}
+			IUArrayList<Integer> big = new IUArrayList<Integer>(EqualityStrategy.equality());
+			big.addAll(values);
+			Object[] evens = Arrays.stream(values).filter(value -> value % 2 == 0).toArray();
+			printTest("big_parallelRemoveIfOdd_testChanged", testCheck(() -> big.parallelRemoveIf(value -> value % 2 != 0), Result.True));
+			printTest("big_parallelRemoveIfOdd_testContents", testCheck(() -> hasContents(big, evens), Result.True));
+			// survivors carry their cached hashes with them
+			printTest("big_parallelRemoveIfOdd_testIndexOf", testCheck(() -> big.indexOf((Integer) evens[evens.length - 1]) == Arrays.asList(evens).indexOf(evens[evens.length - 1]), Result.True));
+			printTest("big_parallelRemoveIfNothing_testChanged", testCheck(() -> big.parallelRemoveIf(value -> value % 2 != 0), Result.False));
+			printTest("big_parallelRemoveIfNothing_testContents", testCheck(() -> hasContents(big, evens), Result.True));
+			// keep one element per 4096, so most chunks keep a single survivor
+			IUArrayList<Integer> positions = new IUArrayList<Integer>();
+			for (int i = 0; i < values.length; i++) {
+				positions.add(i);
+			}
+			printTest("big_parallelRemoveIfSparse_testChanged", testCheck(() -> positions.parallelRemoveIf(value -> value % 4_096 != 4_095), Result.True));
+			printTest("big_parallelRemoveIfSparse_testContents", testCheck(() -> hasContents(positions, new Integer[] {4_095, 8_191, 12_287, 16_383, 20_479, 24_575, 28_671, 32_767, 36_863, 40_959, 45_055, 49_151}), Result.True));
+			IUArrayList<Integer> all = new IUArrayList<Integer>();
+			all.addAll(values);
+			printTest("big_parallelRemoveIfAll_testChanged", testCheck(() -> all.parallelRemoveIf(value -> true), Result.True));
+			printTest("big_parallelRemoveIfAll_testEmpty", testCheck(() -> all.isEmpty(), Result.True));
+			printTest("big_parallelRemoveIfAll_addA_testAdd", testAction(() -> all.add(ELEMENT_A), Result.NoException));
+			printTest("big_parallelRemoveIfAll_addA_testContents", testCheck(() -> hasContents(all, new Integer[] {ELEMENT_A}), Result.True));
+
+			// a filter that throws leaves the list as it was
+			IUArrayList<Integer> failing = new IUArrayList<Integer>();
+			failing.addAll(values);
+			printTest("big_parallelRemoveIfThrows_testRemoveIf", testAction(() -> failing.parallelRemoveIf(value -> {
+				if (value == values[30_000]) {
+					throw new IllegalStateException();
+				}
+				return value % 2 == 0;
+			}), Result.IllegalState));
+			printTest("big_parallelRemoveIfThrows_testContents", testCheck(() -> hasContents(failing, values), Result.True));
+			// a filter that edits the list is caught after marking
+			AtomicBoolean meddled = new AtomicBoolean();
+			printTest("big_parallelRemoveIfMeddling_testRemoveIf", testAction(() -> failing.parallelRemoveIf(value -> {
+				if (meddled.compareAndSet(false, true)) {
+					failing.addToRear(ELEMENT_X);
+				}
+				return false;
+			}), Result.ConcurrentModification));
+			Iterator<Integer> it = big.iterator();
+			big.parallelRemoveIf(value -> value == evens[0]);
+			printTest("big_parallelRemoveIf_testIterConcurrent", testAction(() -> it.next(), Result.ConcurrentModification));
+
+			// the compacted array honors ensureCapacity() and shrinks otherwise
+			IUArrayList<Integer> reserved = new IUArrayList<Integer>();
+			reserved.ensureCapacity(100_000);
+			reserved.addAll(values);
+			reserved.parallelRemoveIf(value -> value >= 1_000);
+			printTest("reserved_parallelRemoveIf_testCapacity", testCheck(() -> reserved.capacity() == 100_000, Result.True));
+			IUArrayList<Integer> unreserved = new IUArrayList<Integer>();
+			unreserved.addAll(values);
+			unreserved.parallelRemoveIf(value -> value >= 1_000);
+			printTest("unreserved_parallelRemoveIf_testCapacity", testCheck(() -> unreserved.capacity() < values.length, Result.True));
+
+			// lists that fit in one chunk take the sequential path
+			IUArrayList<Integer> abc = new IUArrayList<Integer>();
+			abc.addAll(new Integer[] {ELEMENT_A, ELEMENT_B, ELEMENT_C});
+			printTest("ABC_parallelRemoveIfB_testChanged", testCheck(() -> abc.parallelRemoveIf(ELEMENT_B::equals), Result.True));
+			printTest("ABC_parallelRemoveIfB_testContents", testCheck(() -> hasContents(abc, new Integer[] {ELEMENT_A, ELEMENT_C}), Result.True));
+			printTest("emptyList_parallelRemoveIf_testChanged", testCheck(() -> new IUArrayList<Integer>().parallelRemoveIf(value -> true), Result.False));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_ParallelFilter");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX Concurrent List Tests
+	// ConcurrentIUArrayList bulk operations run while other
+	// threads write, so each must make its change atomically
+	////////////////////////////////////////////////////////
+
+	/** run ConcurrentIUArrayList bulk operation tests */
+	private void test_ConcurrentBulk() {
+		System.out.println("\nConcurrent List Tests\n");
+		try {
+			// the writer only appends ELEMENT_Z, so the front of the list and its other elements are the main thread's
+			ConcurrentIUArrayList<Integer> list = new ConcurrentIUArrayList<Integer>();
+			Integer[] values = new Integer[10_000];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = 1_000 + i;
+			}
+			list.addAll(values);
+			IUArrayList<Integer> batch = new IUArrayList<Integer>();
+			for (int i = 0; i < 100; i++) {
+				batch.add(100_000 + i);
+			}
+			AtomicBoolean stop = new AtomicBoolean();
+			AtomicLong appended = new AtomicLong();
+			Thread writer = new Thread(() -> {
+				while (!stop.get() && appended.get() < 5_000) {
+					list.add(ELEMENT_Z);
+					appended.incrementAndGet();
+					Thread.yield();
+				}
+			});
+			writer.start();
+			boolean batchesIntact = true;
+			boolean removedAny = false;
+			try {
+				for (int round = 0; round < 200; round++) {
+					list.addAll(0, batch);
+					batchesIntact &= list.get(0) == batch.get(0) && list.get(99) == batch.get(99);
+					list.removeRange(0, batch.size());
+					removedAny |= list.removeIf(value -> value != ELEMENT_Z && value % 2 == 0);
+					list.addAll(batch);
+					list.removeAll(batch);
+					Thread.yield();
+				}
+			} finally {
+				stop.set(true);
+				writer.join();
+			}
+			boolean expectedIntact = batchesIntact;
+			boolean expectedRemoved = removedAny;
+			printTest("concurrentWriter_addAllRemoveRange_testIntact", testCheck(() -> expectedIntact, Result.True));
+			printTest("concurrentWriter_removeIf_testChanged", testCheck(() -> expectedRemoved, Result.True));
+			printTest("concurrentWriter_testWriterAppends", testCheck(() -> countOf(list, ELEMENT_Z) == appended.get(), Result.True));
+			printTest("concurrentWriter_testContents", testCheck(() -> {
+				Object[] odds = Arrays.stream(values).filter(value -> value % 2 != 0).toArray();
+				list.removeIf(value -> value == ELEMENT_Z);
+				return hasContents(list, odds);
+			}, Result.True));
+
+			// two lists removing each other's elements must not deadlock
+			ConcurrentIUArrayList<Integer> left = new ConcurrentIUArrayList<Integer>();
+			ConcurrentIUArrayList<Integer> right = new ConcurrentIUArrayList<Integer>();
+			left.addAll(Arrays.copyOf(values, 100));
+			right.addAll(Arrays.copyOfRange(values, 100, 200));
+			Thread leftThread = new Thread(() -> {
+				for (int i = 0; i < 2_000; i++) {
+					left.removeAll(right);
+					left.retainAll(left);
+				}
+			});
+			Thread rightThread = new Thread(() -> {
+				for (int i = 0; i < 2_000; i++) {
+					right.removeAll(left);
+				}
+			});
+			leftThread.setDaemon(true);
+			rightThread.setDaemon(true);
+			leftThread.start();
+			rightThread.start();
+			leftThread.join(30_000);
+			rightThread.join(30_000);
+			printTest("crossRemoveAll_testNoDeadlock", testCheck(() -> !leftThread.isAlive() && !rightThread.isAlive(), Result.True));
+			printTest("crossRemoveAll_testContents", testCheck(() -> hasContents(left, Arrays.copyOf(values, 100)) && hasContents(right, Arrays.copyOfRange(values, 100, 200)), Result.True));
+			printTest("left_removeAllSelf_testChanged", testCheck(() -> left.removeAll(left), Result.True));
+			printTest("left_removeAllSelf_testEmpty", testCheck(() -> left.isEmpty(), Result.True));
+			printTest("right_removeIfThrows_testRemoveIf", testAction(() -> right.removeIf(value -> {
+				if (value == values[150]) {
+					throw new IllegalStateException();
+				}
+				return true;
+			}), Result.IllegalState));
+			printTest("right_removeIfThrows_testContents", testCheck(() -> hasContents(right, Arrays.copyOfRange(values, 100, 200)), Result.True));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_ConcurrentBulk");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	/** Number of elements of list that are target
+	 * @param list
+	 * @param target
+	 * @return count
+	 */
+	private long countOf(IndexedUnsortedList<Integer> list, Integer target) {
+		long count = 0;
+		for (Integer element : list) {
+			if (element == target) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX Copy-On-Write List Tests
+	// CopyOnWriteIUList snapshot iteration, update() batches
+	// and single-copy bulk operations, seen by a reader thread
+	////////////////////////////////////////////////////////
+
+	/** run CopyOnWriteIUList tests */
+	private void test_CopyOnWrite() {
+		System.out.println("\nCopy-On-Write List Tests\n");
+		try {
+			Integer[] LIST_ABC = {ELEMENT_A, ELEMENT_B, ELEMENT_C};
+			CopyOnWriteIUList<Integer> list = new CopyOnWriteIUList<Integer>();
+			list.addAll(LIST_ABC);
+			// an iterator walks the contents it started with
+			Iterator<Integer> it = list.iterator();
+			it.next();
+			list.add(ELEMENT_D);
+			list.removeFirst();
+			list.set(0, ELEMENT_X);
+			printTest("ABC_iterSnapshot_testNext", testCheck(() -> it.next() == ELEMENT_B && it.next() == ELEMENT_C, Result.True));
+			printTest("ABC_iterSnapshot_testHasNext", testCheck(() -> it.hasNext(), Result.False));
+			printTest("ABC_iterSnapshot_testRemove", testAction(() -> it.remove(), Result.UnsupportedOperation));
+			printTest("XCD_testContents", testCheck(() -> hasContents(list, new Integer[] {ELEMENT_X, ELEMENT_C, ELEMENT_D}), Result.True));
+
+			// update() publishes all of a batch or none of it
+			printTest("XCD_updateThrows_testUpdate", testAction(() -> list.update(working -> {
+				working.add(ELEMENT_A);
+				working.removeFirst();
+				throw new IllegalStateException();
+			}), Result.IllegalState));
+			printTest("XCD_updateThrows_testContents", testCheck(() -> hasContents(list, new Integer[] {ELEMENT_X, ELEMENT_C, ELEMENT_D}), Result.True));
+			printTest("XCD_update_testUpdate", testAction(() -> list.update(working -> {
+				working.removeFirst();
+				working.addToFront(ELEMENT_A);
+				working.add(1, ELEMENT_B);
+			}), Result.NoException));
+			printTest("XCD_update_testContents", testCheck(() -> hasContents(list, new Integer[] {ELEMENT_A, ELEMENT_B, ELEMENT_C, ELEMENT_D}), Result.True));
+
+			CopyOnWriteIUList<Integer> abc = new CopyOnWriteIUList<Integer>();
+			abc.addAll(LIST_ABC);
+			IUArrayList<Integer> dx = new IUArrayList<Integer>();
+			dx.addAll(new Integer[] {ELEMENT_D, ELEMENT_X});
+			printTest("ABC_addAll1DX_testAddAll", testAction(() -> abc.addAll(1, dx), Result.NoException));
+			printTest("ABC_addAll1DX_testContents", testCheck(() -> hasContents(abc, new Integer[] {ELEMENT_A, ELEMENT_D, ELEMENT_X, ELEMENT_B, ELEMENT_C}), Result.True));
+			printTest("ADXBC_addAll6DX_testAddAll", testAction(() -> abc.addAll(6, dx), Result.IndexOutOfBounds));
+			printTest("ADXBC_removeRange13_testRemoveRange", testAction(() -> abc.removeRange(1, 3), Result.NoException));
+			printTest("ADXBC_removeRange13_testContents", testCheck(() -> hasContents(abc, LIST_ABC), Result.True));
+			printTest("ABC_removeRange24_testRemoveRange", testAction(() -> abc.removeRange(2, 4), Result.IndexOutOfBounds));
+			printTest("ABC_addAll1Self_testAddAll", testAction(() -> abc.addAll(1, abc), Result.NoException));
+			printTest("ABC_addAll1Self_testContents", testCheck(() -> hasContents(abc, new Integer[] {ELEMENT_A, ELEMENT_A, ELEMENT_B, ELEMENT_C, ELEMENT_B, ELEMENT_C}), Result.True));
+			printTest("AABCBC_addAllSelf_testAddAll", testAction(() -> abc.addAll(abc), Result.NoException));
+			printTest("AABCBC_addAllSelf_testSize", testCheck(() -> abc.size() == 12, Result.True));
+			printTest("AABCBCx2_removeAllDX_testChanged", testCheck(() -> abc.removeAll(dx), Result.False));
+			printTest("AABCBCx2_retainAllAC_testChanged", testCheck(() -> abc.retainAll(arrayListOf(ELEMENT_A, ELEMENT_C)), Result.True));
+			printTest("AABCBCx2_retainAllAC_testContents", testCheck(() -> hasContents(abc, new Integer[] {ELEMENT_A, ELEMENT_A, ELEMENT_C, ELEMENT_C, ELEMENT_A, ELEMENT_A, ELEMENT_C, ELEMENT_C}), Result.True));
+
+			// every write changes the size by a multiple of ten in one publish, so a reader never sees any other size
+			CopyOnWriteIUList<Integer> shared = new CopyOnWriteIUList<Integer>();
+			Integer[] digits = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+			IUArrayList<Integer> ten = arrayListOf(digits);
+			AtomicBoolean stop = new AtomicBoolean();
+			AtomicBoolean torn = new AtomicBoolean();
+			Thread reader = new Thread(() -> {
+				while (!stop.get()) {
+					int counted = 0;
+					for (Iterator<Integer> snapshot = shared.iterator(); snapshot.hasNext(); snapshot.next()) {
+						counted++;
+					}
+					if (counted % 10 != 0 || shared.size() % 10 != 0) {
+						torn.set(true);
+					}
+				}
+			});
+			reader.start();
+			try {
+				for (int round = 0; round < 2_000; round++) {
+					shared.addAll(ten);
+					shared.addAll(0, digits);
+					shared.update(working -> {
+						for (int i = 0; i < 10; i++) {
+							working.add(i);
+						}
+					});
+					shared.removeRange(0, 10);
+					if (round % 100 == 99) {
+						shared.removeIf(value -> true);
+					}
+					Thread.yield();
+				}
+			} finally {
+				stop.set(true);
+				reader.join();
+			}
+			printTest("sharedWithReader_testNoTornReads", testCheck(() -> torn.get(), Result.False));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_CopyOnWrite");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	/** Builds an IUArrayList holding elements, in order
+	 * @param elements
+	 * @return new IUArrayList of elements
+	 */
+	private IUArrayList<Integer> arrayListOf(Integer... elements) {
+		IUArrayList<Integer> list = new IUArrayList<Integer>();
+		list.addAll(elements);
+		return list;
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX Append-Only List Tests
+	// IUAppendOnlyList under several appending threads: the
+	// published size is always a prefix of written slots and
+	// each thread's elements keep the order it added them in
+	////////////////////////////////////////////////////////
+
+	/** run IUAppendOnlyList tests */
+	private void test_AppendOnly() {
+		System.out.println("\nAppend-Only List Tests\n");
+		try {
+			IUAppendOnlyList<Integer> small = new IUAppendOnlyList<Integer>();
+			small.add(ELEMENT_A);
+			small.add(null);
+			Iterator<Integer> it = small.iterator();
+			small.addAll(new Integer[] {ELEMENT_B, ELEMENT_C});
+			printTest("ANull_testGetNull", testCheck(() -> small.get(1) == null && small.indexOf(null) == 1, Result.True));
+			printTest("ANullBC_testContents", testCheck(() -> small.size() == 4 && small.get(0) == ELEMENT_A && small.last() == ELEMENT_C, Result.True));
+			// the iterator also returns elements published after it was created
+			printTest("ANullBC_iter_testSeesLaterAppends", testCheck(() -> {
+				int count = 0;
+				while (it.hasNext()) {
+					it.next();
+					count++;
+				}
+				return count == 4;
+			}, Result.True));
+			printTest("ANullBC_testGet4", testAction(() -> small.get(4), Result.IndexOutOfBounds));
+			printTest("ANullBC_testAddToFront", testAction(() -> small.addToFront(ELEMENT_D), Result.UnsupportedOperation));
+			printTest("ANullBC_testRemoveLast", testAction(() -> small.removeLast(), Result.UnsupportedOperation));
+			printTest("ANullBC_testSet", testAction(() -> small.set(0, ELEMENT_D), Result.UnsupportedOperation));
+			printTest("ANullBC_testRemoveIf", testAction(() -> small.removeIf(value -> true), Result.UnsupportedOperation));
+
+			// writer w appends w * PER_WRITER + seq for seq = 0, 1, 2, ..., some singly and some in runs of three
+			final int WRITERS = 4;
+			final int PER_WRITER = 30_000;
+			IUAppendOnlyList<Integer> list = new IUAppendOnlyList<Integer>();
+			AtomicBoolean prefixBroken = new AtomicBoolean();
+			AtomicBoolean writersDone = new AtomicBoolean();
+			Thread[] writers = new Thread[WRITERS];
+			for (int w = 0; w < WRITERS; w++) {
+				int base = w * PER_WRITER;
+				writers[w] = new Thread(() -> {
+					int seq = 0;
+					while (seq < PER_WRITER) {
+						if (seq % 7 == 0 && seq + 3 <= PER_WRITER) {
+							list.addAll(new Integer[] {base + seq, base + seq + 1, base + seq + 2});
+							seq += 3;
+						} else {
+							list.add(base + seq);
+							seq++;
+						}
+						if (seq % 64 == 0) {
+							Thread.yield();
+						}
+					}
+				});
+			}
+			// the reader checks that each published prefix holds every writer's elements in order, with no gaps
+			Thread reader = new Thread(() -> {
+				int lastSize = 0;
+				while (!writersDone.get()) {
+					int size = list.size();
+					if (size < lastSize || !isWriterOrdered(list, size, WRITERS, PER_WRITER)) {
+						prefixBroken.set(true);
+					}
+					lastSize = size;
+					Thread.yield();
+				}
+			});
+			reader.start();
+			for (Thread writer : writers) {
+				writer.start();
+			}
+			for (Thread writer : writers) {
+				writer.join();
+			}
+			writersDone.set(true);
+			reader.join();
+			printTest("concurrentAppends_testPrefixOrdered", testCheck(() -> prefixBroken.get(), Result.False));
+			printTest("concurrentAppends_testSize", testCheck(() -> list.size() == WRITERS * PER_WRITER, Result.True));
+			printTest("concurrentAppends_testAllOrdered", testCheck(() -> isWriterOrdered(list, list.size(), WRITERS, PER_WRITER), Result.True));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_AppendOnly");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	/** Check that the first size elements of list hold, for each writer, exactly its
+	 * elements w * perWriter + 0, 1, 2, ... in that order
+	 * @param list
+	 * @param size number of elements to check, at most list.size()
+	 * @param writers
+	 * @param perWriter
+	 * @return true if every element is the next one expected from its writer
+	 */
+	private static boolean isWriterOrdered(IndexedUnsortedList<Integer> list, int size, int writers, int perWriter) {
+		int[] next = new int[writers];
+		for (int i = 0; i < size; i++) {
+			Integer value = list.get(i);
+			if (value == null) {
+				return false;
+			}
+			int writer = value / perWriter;
+			if (writer < 0 || writer >= writers || value % perWriter != next[writer]) {
+				return false;
+			}
+			next[writer]++;
+		}
+		return true;
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX Striped Collector Tests
+	// StripedAppendCollector keeps each thread's order, loses
+	// nothing to a racing close(), and drops the chunks of
+	// threads that have exited
+	////////////////////////////////////////////////////////
+
+	/** run StripedAppendCollector tests */
+	private void test_StripedCollector() {
+		System.out.println("\nStriped Collector Tests\n");
+		try {
+			// small chunks and a 1 ms timer, so merges and flushes interleave with the adds
+			final int WRITERS = 4;
+			final int PER_WRITER = 20_000;
+			StripedAppendCollector<Integer> collector = new StripedAppendCollector<Integer>(new IUAppendOnlyList<Integer>(), 16, 1);
+			Thread[] writers = new Thread[WRITERS];
+			for (int w = 0; w < WRITERS; w++) {
+				int base = w * PER_WRITER;
+				writers[w] = new Thread(() -> {
+					for (int seq = 0; seq < PER_WRITER; seq++) {
+						collector.add(base + seq);
+					}
+				});
+				writers[w].start();
+			}
+			for (Thread writer : writers) {
+				while (writer.isAlive()) {
+					collector.flush();
+					Thread.yield();
+				}
+			}
+			collector.close();
+			IUAppendOnlyList<Integer> merged = collector.target();
+			printTest("fourWriters_close_testSize", testCheck(() -> merged.size() == WRITERS * PER_WRITER, Result.True));
+			printTest("fourWriters_close_testOrdered", testCheck(() -> isWriterOrdered(merged, merged.size(), WRITERS, PER_WRITER), Result.True));
+			printTest("closed_testAdd", testAction(() -> collector.add(ELEMENT_A), Result.IllegalState));
+
+			// every add() that returned normally before close() must be in the list afterwards
+			StripedAppendCollector<Integer> racing = new StripedAppendCollector<Integer>(new IUAppendOnlyList<Integer>(), 64, 0);
+			AtomicLong accepted = new AtomicLong();
+			Thread[] adders = new Thread[WRITERS];
+			for (int w = 0; w < WRITERS; w++) {
+				adders[w] = new Thread(() -> {
+					try {
+						while (true) {
+							racing.add(ELEMENT_B);
+							accepted.incrementAndGet();
+						}
+					} catch (IllegalStateException e) {
+						// closed
+					}
+				});
+				adders[w].start();
+			}
+			while (accepted.get() < 10_000) {
+				Thread.yield();
+			}
+			racing.close();
+			for (Thread adder : adders) {
+				adder.join();
+			}
+			printTest("racingClose_testNothingLost", testCheck(() -> racing.target().size() == accepted.get(), Result.True));
+
+			// the chunks of exited threads are merged and dropped on the next flush
+			StripedAppendCollector<Integer> pruned = new StripedAppendCollector<Integer>(new IUAppendOnlyList<Integer>(), 16, 0);
+			for (int t = 0; t < 50; t++) {
+				Thread shortLived = new Thread(() -> {
+					pruned.add(ELEMENT_A);
+					pruned.add(ELEMENT_B);
+					pruned.add(ELEMENT_C);
+				});
+				shortLived.start();
+				shortLived.join();
+			}
+			printTest("fiftyExited_testChunkCount", testCheck(() -> pruned.chunkCount() == 50, Result.True));
+			pruned.add(ELEMENT_D);
+			pruned.flush();
+			printTest("fiftyExited_flush_testChunkCount", testCheck(() -> pruned.chunkCount() == 1, Result.True));
+			printTest("fiftyExited_flush_testSize", testCheck(() -> pruned.target().size() == 151, Result.True));
+			pruned.add(ELEMENT_X);
+			pruned.close();
+			printTest("fiftyExited_close_testLast", testCheck(() -> pruned.target().last() == ELEMENT_X && pruned.target().size() == 152, Result.True));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_StripedCollector");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX Capacity Tests
+	// Array lists grow only for calls that succeed, and keep
+	// ensureCapacity() reservations across removals
+	////////////////////////////////////////////////////////
+
+	/** run capacity tests for the array lists */
+	private void test_Capacity() {
+		System.out.println("\nCapacity Tests\n");
+		try {
+			// a full array must not grow for an insert that is then refused
+			IUArrayList<Integer> full = new IUArrayList<Integer>(2);
+			full.add(ELEMENT_A);
+			full.add(ELEMENT_B);
+			printTest("fullAB_addIndex3_testThrows", testAction(() -> full.add(3, ELEMENT_X), Result.IndexOutOfBounds));
+			printTest("fullAB_addIndexNeg1_testThrows", testAction(() -> full.add(-1, ELEMENT_X), Result.IndexOutOfBounds));
+			printTest("fullAB_addAfterMissing_testThrows", testAction(() -> full.addAfter(ELEMENT_X, ELEMENT_C), Result.NoSuchElement));
+			printTest("fullAB_refused_testCapacity", testCheck(() -> full.capacity() == 2 && hasContents(full, new Integer[] {ELEMENT_A, ELEMENT_B}), Result.True));
+			full.addAfter(ELEMENT_C, ELEMENT_A);
+			full.add(1, ELEMENT_D);
+			printTest("fullAB_accepted_testContents", testCheck(() -> full.capacity() > 2 && hasContents(full, new Integer[] {ELEMENT_A, ELEMENT_D, ELEMENT_C, ELEMENT_B}), Result.True));
+
+			// the primitive lists keep an ensureCapacity() reservation through removals until trimToSize()
+			IntIUArrayList ints = new IntIUArrayList(0);
+			LongIUArrayList longs = new LongIUArrayList(0);
+			DoubleIUArrayList doubles = new DoubleIUArrayList(0);
+			ints.ensureCapacity(1000);
+			longs.ensureCapacity(1000);
+			doubles.ensureCapacity(1000);
+			for (int i = 0; i < 1000; i++) {
+				ints.add(i);
+				longs.add(i);
+				doubles.add(i);
+			}
+			for (int i = 0; i < 999; i++) {
+				ints.removeLast();
+				longs.removeLast();
+				doubles.removeLast();
+			}
+			printTest("reserved1000_remove999_testIntCapacity", testCheck(() -> ints.capacity() == 1000, Result.True));
+			printTest("reserved1000_remove999_testLongCapacity", testCheck(() -> longs.capacity() == 1000, Result.True));
+			printTest("reserved1000_remove999_testDoubleCapacity", testCheck(() -> doubles.capacity() == 1000, Result.True));
+			ints.trimToSize();
+			longs.trimToSize();
+			doubles.trimToSize();
+			ints.add(1);
+			longs.add(1);
+			doubles.add(1);
+			ints.removeLast();
+			longs.removeLast();
+			doubles.removeLast();
+			printTest("reserved1000_trimToSize_testIntCapacity", testCheck(() -> ints.capacity() < 1000, Result.True));
+			printTest("reserved1000_trimToSize_testLongCapacity", testCheck(() -> longs.capacity() < 1000, Result.True));
+			printTest("reserved1000_trimToSize_testDoubleCapacity", testCheck(() -> doubles.capacity() < 1000, Result.True));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_Capacity");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX Chunked List Tests
+	// IUChunkedList splitAt() and concat() relink chunks;
+	// both lists must stay consistent and fail-fast afterwards
+	////////////////////////////////////////////////////////
+
+	/** run IUChunkedList split and concat tests */
+	private void test_ChunkedList() {
+		System.out.println("\nChunked List Tests\n");
+		try {
+			// chunks of 4 over 0..9 are full, full and half full
+			Integer[] digits = new Integer[10];
+			for (int i = 0; i < digits.length; i++) {
+				digits[i] = i;
+			}
+			IUChunkedList<Integer> whole = chunkedOf(4, digits);
+			Iterator<Integer> wholeIter = whole.iterator();
+			IUChunkedList<Integer> none = whole.splitAt(10);
+			printTest("digits_splitAt10_testRest", testCheck(() -> none.isEmpty() && hasContents(whole, digits), Result.True));
+			printTest("digits_splitAt10_testIterator", testAction(() -> wholeIter.next(), Result.NoException));
+			IUChunkedList<Integer> all = whole.splitAt(0);
+			printTest("digits_splitAt0_testRest", testCheck(() -> whole.isEmpty() && hasContents(all, digits), Result.True));
+			printTest("digits_splitAt0_testIterator", testAction(() -> wholeIter.next(), Result.ConcurrentModification));
+			printTest("digits_splitAt11_testThrows", testAction(() -> all.splitAt(11), Result.IndexOutOfBounds));
+			printTest("digits_splitAtNeg1_testThrows", testAction(() -> all.splitAt(-1), Result.IndexOutOfBounds));
+
+			// at a chunk boundary nothing is copied, inside a chunk the chunk is split
+			IUChunkedList<Integer> atBoundary = chunkedOf(4, digits);
+			IUChunkedList<Integer> boundaryRest = atBoundary.splitAt(4);
+			printTest("digits_splitAt4_testFront", testCheck(() -> hasContents(atBoundary, Arrays.copyOfRange(digits, 0, 4)), Result.True));
+			printTest("digits_splitAt4_testRest", testCheck(() -> hasContents(boundaryRest, Arrays.copyOfRange(digits, 4, 10)), Result.True));
+			IUChunkedList<Integer> inside = chunkedOf(4, digits);
+			IUChunkedList<Integer> insideRest = inside.splitAt(5);
+			printTest("digits_splitAt5_testFront", testCheck(() -> hasContents(inside, Arrays.copyOfRange(digits, 0, 5)), Result.True));
+			printTest("digits_splitAt5_testRest", testCheck(() -> hasContents(insideRest, Arrays.copyOfRange(digits, 5, 10)), Result.True));
+			inside.add(0, ELEMENT_X);
+			inside.add(ELEMENT_Z);
+			insideRest.add(0, ELEMENT_X);
+			insideRest.remove(insideRest.size() - 1);
+			printTest("digits_splitAt5_edit_testFront", testCheck(() -> hasContents(inside, new Integer[] {ELEMENT_X, 0, 1, 2, 3, 4, ELEMENT_Z}), Result.True));
+			printTest("digits_splitAt5_edit_testRest", testCheck(() -> hasContents(insideRest, new Integer[] {ELEMENT_X, 5, 6, 7, 8}), Result.True));
+
+			// concat relinks other's chunks onto this list and leaves other empty
+			IUChunkedList<Integer> front = chunkedOf(4, Arrays.copyOfRange(digits, 0, 5));
+			IUChunkedList<Integer> back = chunkedOf(4, Arrays.copyOfRange(digits, 5, 10));
+			Iterator<Integer> frontIter = front.iterator();
+			Iterator<Integer> backIter = back.iterator();
+			front.concat(back);
+			printTest("front_concatBack_testContents", testCheck(() -> hasContents(front, digits) && back.isEmpty(), Result.True));
+			printTest("front_concatBack_testFrontIterator", testAction(() -> frontIter.next(), Result.ConcurrentModification));
+			printTest("front_concatBack_testBackIterator", testAction(() -> backIter.next(), Result.ConcurrentModification));
+			Iterator<Integer> joinedIter = front.iterator();
+			front.concat(back);
+			front.concat(new IUChunkedList<Integer>());
+			printTest("front_concatEmpty_testIterator", testAction(() -> joinedIter.next(), Result.NoException));
+			printTest("front_concatSelf_testThrows", testCheck(() -> {
+				try {
+					front.concat(front);
+					return false;
+				} catch (IllegalArgumentException e) {
+					return hasContents(front, digits);
+				}
+			}, Result.True));
+			back.add(ELEMENT_A);
+			front.remove(4);
+			front.remove(4);
+			printTest("front_concatBack_edit_testContents", testCheck(() -> hasContents(front, new Integer[] {0, 1, 2, 3, 6, 7, 8, 9}) && hasContents(back, new Integer[] {ELEMENT_A}), Result.True));
+			IUChunkedList<Integer> empty = new IUChunkedList<Integer>(4);
+			empty.concat(front);
+			printTest("empty_concatFront_testContents", testCheck(() -> hasContents(empty, new Integer[] {0, 1, 2, 3, 6, 7, 8, 9}) && front.isEmpty(), Result.True));
+
+			// rotate random runs of an adaptive list through splitAt() and concat(), against an array
+			Random random = new Random(8);
+			Integer[] expected = new Integer[5000];
+			for (int i = 0; i < expected.length; i++) {
+				expected[i] = i;
+			}
+			IUChunkedList<Integer> chunked = chunkedOf(0, expected);
+			for (int round = 0; round < 200; round++) {
+				int cut = random.nextInt(expected.length + 1);
+				int length = random.nextInt(expected.length - cut + 1);
+				IUChunkedList<Integer> middle = chunked.splitAt(cut);
+				IUChunkedList<Integer> rest = middle.splitAt(length);
+				chunked.concat(rest);
+				chunked.concat(middle);
+				Integer[] rotated = new Integer[expected.length];
+				System.arraycopy(expected, 0, rotated, 0, cut);
+				System.arraycopy(expected, cut + length, rotated, cut, expected.length - cut - length);
+				System.arraycopy(expected, cut, rotated, expected.length - length, length);
+				expected = rotated;
+			}
+			Integer[] rotated = expected;
+			printTest("random_splitConcat_testContents", testCheck(() -> hasContents(chunked, rotated), Result.True));
+			printTest("random_splitConcat_testIterator", testCheck(() -> {
+				int i = 0;
+				for (Integer value : chunked) {
+					if (!value.equals(rotated[i++])) {
+						return false;
+					}
+				}
+				return i == rotated.length;
+			}, Result.True));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_ChunkedList");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	/** Builds an IUChunkedList holding elements, in order
+	 * @param chunkCapacity fixed chunk capacity, or 0 to adapt
+	 * @param elements
+	 * @return new IUChunkedList
+	 */
+	private IUChunkedList<Integer> chunkedOf(int chunkCapacity, Integer[] elements) {
+		IUChunkedList<Integer> list = new IUChunkedList<Integer>(chunkCapacity);
+		for (Integer element : elements) {
+			list.add(element);
+		}
+		return list;
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX Stream Tests
+	// the sized array spliterator and the streams built on it:
+	// characteristics, splitting, fail-fast and parallel results
+	////////////////////////////////////////////////////////
+
+	/** run stream and spliterator tests */
+	private void test_Streams() {
+		System.out.println("\nStream Tests\n");
+		try {
+			Random random = new Random(17);
+			Integer[] values = new Integer[50_000];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = random.nextInt(1_000_000);
+			}
+			IUArrayList<Integer> big = arrayListOf(values);
+			long sum = 0;
+			for (Integer value : values) {
+				sum += value;
+			}
+			long expectedSum = sum;
+
+			Spliterator<Integer> whole = big.spliterator();
+			printTest("big_spliterator_testCharacteristics", testCheck(() -> whole.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED), Result.True));
+			printTest("big_spliterator_testExactSize", testCheck(() -> whole.getExactSizeIfKnown() == values.length, Result.True));
+			// splitting down to single elements hands out every index once, prefixes first
+			printTest("big_spliterator_splitFully_testCoverage", testCheck(() -> {
+				IUArrayList<Integer> positions = new IUArrayList<Integer>();
+				for (int i = 0; i < values.length; i++) {
+					positions.add(i);
+				}
+				int[] next = {0};
+				return splitsInOrder(positions.spliterator(), next) && next[0] == values.length;
+			}, Result.True));
+			printTest("emptyList_spliterator_testTrySplit", testCheck(() -> {
+				Spliterator<Integer> empty = new IUArrayList<Integer>().spliterator();
+				return empty.trySplit() == null && empty.estimateSize() == 0 && !empty.tryAdvance(value -> { });
+			}, Result.True));
+
+			// bound at first use, so elements added before that are covered
+			IUArrayList<Integer> abc = arrayListOf(ELEMENT_A, ELEMENT_B, ELEMENT_C);
+			Spliterator<Integer> unbound = abc.spliterator();
+			abc.add(ELEMENT_D);
+			printTest("ABC_spliterator_addD_testLateBinding", testCheck(() -> unbound.estimateSize() == 4, Result.True));
+			abc.add(ELEMENT_X);
+			printTest("ABCD_boundSpliterator_addX_testForEachRemaining", testAction(() -> unbound.forEachRemaining(value -> { }), Result.ConcurrentModification));
+			IUArrayList<Integer> meddled = arrayListOf(ELEMENT_A, ELEMENT_B, ELEMENT_C);
+			printTest("ABC_spliteratorMeddling_testTryAdvance", testAction(() -> meddled.spliterator().tryAdvance(value -> meddled.add(ELEMENT_X)), Result.ConcurrentModification));
+			printTest("ABC_streamMeddling_testForEach", testAction(() -> meddled.stream().forEach(value -> meddled.add(ELEMENT_X)), Result.ConcurrentModification));
+			printTest("ABC_parallelStreamMeddling_testSum", testAction(() -> meddled.parallelStream().mapToLong(value -> {
+				meddled.add(ELEMENT_X);
+				return value;
+			}).sum(), Result.ConcurrentModification));
+
+			// parallel results equal sequential ones, in encounter order where it matters
+			printTest("big_stream_testSum", testCheck(() -> big.stream().mapToLong(Integer::longValue).sum() == expectedSum, Result.True));
+			printTest("big_parallelStream_testSum", testCheck(() -> big.parallelStream().mapToLong(Integer::longValue).sum() == expectedSum, Result.True));
+			printTest("big_parallelStream_testOrder", testCheck(() -> big.parallelStream().map(String::valueOf).collect(Collectors.joining(","))
+					.equals(big.stream().map(String::valueOf).collect(Collectors.joining(","))), Result.True));
+			printTest("big_parallelStream_testFilterCount", testCheck(() -> big.parallelStream().filter(value -> value % 3 == 0).count()
+					== big.stream().filter(value -> value % 3 == 0).count(), Result.True));
+			IndexedUnsortedList<Integer> middle = big.subList(10_000, 40_000);
+			printTest("big_subList_spliterator_testExactSize", testCheck(() -> middle.spliterator().getExactSizeIfKnown() == 30_000, Result.True));
+			printTest("big_subList_parallelStream_testOrder", testCheck(() -> Arrays.equals(middle.parallelStream().toArray(), Arrays.copyOfRange(values, 10_000, 40_000)), Result.True));
+
+			// the interface default is sized too, so every list splits evenly
+			IndexedUnsortedList<Integer> linked = new IUDoubleLinkedList<Integer>();
+			for (Integer value : values) {
+				linked.add(value);
+			}
+			printTest("bigLinked_spliterator_testCharacteristics", testCheck(() -> linked.spliterator().hasCharacteristics(Spliterator.SIZED | Spliterator.ORDERED)
+					&& linked.spliterator().getExactSizeIfKnown() == values.length, Result.True));
+			printTest("bigLinked_parallelStream_testOrder", testCheck(() -> Arrays.equals(linked.parallelStream().toArray(), values), Result.True));
+			IndexedUnsortedList<Integer> underTest = listOf(ELEMENT_A, ELEMENT_B, ELEMENT_C);
+			printTest("ABC_parallelStream_testOrder", testCheck(() -> Arrays.equals(underTest.parallelStream().toArray(), new Integer[] {ELEMENT_A, ELEMENT_B, ELEMENT_C}), Result.True));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_Streams");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	/** Splits spliterator as far as it goes, prefix first, checking that
+	 * it covers positions next[0], next[0] + 1, ... in order and that every
+	 * split keeps the exact sizes adding up
+	 * @param spliterator over a list whose element at each position is the position
+	 * @param next next position expected; advanced past the elements covered
+	 * @return true if coverage and sizes are consistent
+	 */
+	private boolean splitsInOrder(Spliterator<Integer> spliterator, int[] next) {
+		long size = spliterator.estimateSize();
+		Spliterator<Integer> prefix = spliterator.trySplit();
+		if (prefix == null) {
+			int start = next[0];
+			spliterator.forEachRemaining(value -> {
+				if (value == next[0]) {
+					next[0]++;
+				}
+			});
+			return next[0] - start == size;
+		}
+		return prefix.estimateSize() + spliterator.estimateSize() == size
+				&& splitsInOrder(prefix, next) && splitsInOrder(spliterator, next);
+	}
+
+	////////////////////////////////////////////////////////
+	// XXX Persistent Vector Tests
+	// IUPersistentVector snapshots stay unchanged by later
+	// edits, in-place (transient) edits stop at a snapshot,
+	// and concat/take/drop agree with arrays on relaxed trees
+	////////////////////////////////////////////////////////
+
+	/** run IUPersistentVector tests */
+	private void test_PersistentVector() {
+		System.out.println("\nPersistent Vector Tests\n");
+		try {
+			// 1000 elements fill several leaves and leave some in the tail
+			Integer[] thousand = new Integer[1000];
+			for (int i = 0; i < thousand.length; i++) {
+				thousand[i] = 1_000 + i;
+			}
+			IUPersistentVector<Integer> vector = vectorOf(thousand);
+			IUPersistentVector<Integer> snapshot = vector.snapshot();
+			Iterator<Integer> snapshotIt = snapshot.iterator();
+			IUArrayList<Integer> mirror = arrayListOf(thousand);
+			for (IndexedUnsortedList<Integer> list : Arrays.asList(vector, mirror)) {
+				list.set(0, ELEMENT_X);
+				list.set(999, ELEMENT_X);
+				list.add(ELEMENT_Z);
+				list.add(500, ELEMENT_Z);
+				list.remove(100);
+				list.removeFirst();
+			}
+			printTest("thousand_snapshot_editOriginal_testSnapshot", testCheck(() -> sameElements(snapshot, thousand), Result.True));
+			printTest("thousand_snapshot_editOriginal_testSnapshotIterator", testAction(() -> snapshotIt.next(), Result.NoException));
+			printTest("thousand_snapshot_editOriginal_testOriginal", testCheck(() -> sameElements(vector, mirror.toArray()), Result.True));
+			snapshot.set(1, ELEMENT_A);
+			snapshot.removeLast();
+			printTest("thousand_snapshot_editSnapshot_testOriginal", testCheck(() -> sameElements(vector, mirror.toArray()), Result.True));
+
+			// a vector that fits in its tail shares the tail with its snapshot
+			IUPersistentVector<Integer> small = vectorOf(new Integer[] {ELEMENT_A, ELEMENT_B});
+			IUPersistentVector<Integer> smallSnapshot = small.snapshot();
+			small.add(ELEMENT_C);
+			smallSnapshot.add(ELEMENT_D);
+			printTest("AB_snapshot_addBoth_testOriginal", testCheck(() -> sameElements(small, new Integer[] {ELEMENT_A, ELEMENT_B, ELEMENT_C}), Result.True));
+			printTest("AB_snapshot_addBoth_testSnapshot", testCheck(() -> sameElements(smallSnapshot, new Integer[] {ELEMENT_A, ELEMENT_B, ELEMENT_D}), Result.True));
+
+			// runs of in-place edits between snapshots: every snapshot keeps what it saw
+			Random random = new Random(25);
+			IUPersistentVector<Integer> transientVector = vectorOf(thousand);
+			Integer[] current = thousand.clone();
+			IUArrayList<IUPersistentVector<Integer>> frozen = new IUArrayList<IUPersistentVector<Integer>>();
+			IUArrayList<Integer[]> frozenContents = new IUArrayList<Integer[]>();
+			for (int round = 0; round < 40; round++) {
+				for (int edit = 0; edit < 50; edit++) {
+					int index = random.nextInt(current.length);
+					Integer value = 10_000 + round * 100 + edit;
+					transientVector.set(index, value);
+					current[index] = value;
+				}
+				transientVector.add(round);
+				current = Arrays.copyOf(current, current.length + 1);
+				current[current.length - 1] = round;
+				frozen.add(transientVector.snapshot());
+				frozenContents.add(current.clone());
+			}
+			Integer[] lastContents = current;
+			printTest("transientRuns_testVector", testCheck(() -> sameElements(transientVector, lastContents), Result.True));
+			// edits to a snapshot are in place for it, and reach neither the vector nor the other snapshots
+			frozen.get(20).set(0, ELEMENT_X);
+			frozenContents.get(20)[0] = ELEMENT_X;
+			transientVector.set(0, ELEMENT_Z);
+			printTest("transientRuns_testSnapshots", testCheck(() -> {
+				for (int i = 0; i < frozen.size(); i++) {
+					if (!sameElements(frozen.get(i), frozenContents.get(i))) {
+						return false;
+					}
+				}
+				return true;
+			}, Result.True));
+
+			// pieces of uneven sizes concatenated build partly full (relaxed) nodes
+			IUPersistentVector<Integer> relaxed = new IUPersistentVector<Integer>();
+			Integer[] relaxedContents = new Integer[0];
+			int next = 0;
+			for (int piece = 0; piece < 60; piece++) {
+				Integer[] values = new Integer[1 + random.nextInt(70)];
+				for (int i = 0; i < values.length; i++) {
+					values[i] = 100_000 + next++;
+				}
+				relaxed = relaxed.concat(vectorOf(values));
+				relaxedContents = concatenated(relaxedContents, values);
+			}
+			IUPersistentVector<Integer> pieces = relaxed;
+			Integer[] piecesContents = relaxedContents;
+			printTest("unevenPieces_concat_testContents", testCheck(() -> sameElements(pieces, piecesContents), Result.True));
+			boolean cutsMatch = true;
+			for (int cut = 0; cut <= piecesContents.length; cut += 1 + random.nextInt(40)) {
+				Integer[] front = Arrays.copyOfRange(piecesContents, 0, cut);
+				Integer[] back = Arrays.copyOfRange(piecesContents, cut, piecesContents.length);
+				IUPersistentVector<Integer> taken = pieces.take(cut);
+				IUPersistentVector<Integer> dropped = pieces.drop(cut);
+				cutsMatch &= sameElements(taken, front) && sameElements(dropped, back)
+						&& sameElements(dropped.concat(taken), concatenated(back, front));
+			}
+			boolean allCutsMatch = cutsMatch;
+			printTest("unevenPieces_takeDropConcat_testContents", testCheck(() -> allCutsMatch && sameElements(pieces, piecesContents), Result.True));
+			printTest("unevenPieces_concatSelf_testContents", testCheck(() -> sameElements(pieces.concat(pieces), concatenated(piecesContents, piecesContents)), Result.True));
+			printTest("unevenPieces_takeEnds_testContents", testCheck(() -> pieces.take(0).isEmpty() && sameElements(pieces.take(pieces.size()), piecesContents)
+					&& pieces.drop(pieces.size()).isEmpty() && sameElements(pieces.drop(0), piecesContents), Result.True));
+			printTest("unevenPieces_takeSizePlus1_testThrows", testAction(() -> pieces.take(pieces.size() + 1), Result.IndexOutOfBounds));
+			printTest("unevenPieces_dropNeg1_testThrows", testAction(() -> pieces.drop(-1), Result.IndexOutOfBounds));
+			// editing a concatenation leaves its inputs alone
+			IUPersistentVector<Integer> joined = pieces.concat(small);
+			joined.set(0, ELEMENT_X);
+			joined.add(10, ELEMENT_Z);
+			joined.remove(joined.size() - 1);
+			printTest("unevenPieces_concatEdit_testInputs", testCheck(() -> sameElements(pieces, piecesContents)
+					&& sameElements(small, new Integer[] {ELEMENT_A, ELEMENT_B, ELEMENT_C}), Result.True));
+
+			// random concat, take, drop, snapshots and edits over a pool of vectors, against arrays
+			IUArrayList<IUPersistentVector<Integer>> pool = new IUArrayList<IUPersistentVector<Integer>>();
+			IUArrayList<Integer[]> poolContents = new IUArrayList<Integer[]>();
+			for (int i = 0; i < 8; i++) {
+				Integer[] values = new Integer[random.nextInt(200)];
+				for (int j = 0; j < values.length; j++) {
+					values[j] = 100_000 + next++;
+				}
+				pool.add(vectorOf(values));
+				poolContents.add(values);
+			}
+			for (int round = 0; round < 2_000; round++) {
+				int a = random.nextInt(pool.size());
+				IUPersistentVector<Integer> source = pool.get(a);
+				Integer[] sourceContents = poolContents.get(a);
+				IUPersistentVector<Integer> result;
+				Integer[] resultContents;
+				switch (random.nextInt(4)) {
+				case 0:
+					int b = random.nextInt(pool.size());
+					result = source.concat(pool.get(b));
+					resultContents = concatenated(sourceContents, poolContents.get(b));
+					break;
+				case 1:
+					int n = random.nextInt(sourceContents.length + 1);
+					if (random.nextBoolean()) {
+						result = source.take(n);
+						resultContents = Arrays.copyOfRange(sourceContents, 0, n);
+					} else {
+						result = source.drop(n);
+						resultContents = Arrays.copyOfRange(sourceContents, n, sourceContents.length);
+					}
+					break;
+				case 2:
+					// snapshot, then edit the original in place
+					result = source.snapshot();
+					resultContents = sourceContents;
+					Integer[] changed = sourceContents.clone();
+					if (changed.length > 0) {
+						int index = random.nextInt(changed.length);
+						source.set(index, ELEMENT_X);
+						changed[index] = ELEMENT_X;
+					}
+					source.add(ELEMENT_Z);
+					poolContents.set(a, concatenated(changed, new Integer[] {ELEMENT_Z}));
+					break;
+				default:
+					// positional insert and removal, which are built from take, drop and concat
+					result = source.snapshot();
+					Integer[] moved = sourceContents.clone();
+					int at = random.nextInt(moved.length + 1);
+					result.add(at, ELEMENT_A);
+					resultContents = concatenated(concatenated(Arrays.copyOfRange(moved, 0, at), new Integer[] {ELEMENT_A}),
+							Arrays.copyOfRange(moved, at, moved.length));
+					if (resultContents.length > 1) {
+						int gone = random.nextInt(resultContents.length);
+						result.remove(gone);
+						resultContents = concatenated(Arrays.copyOfRange(resultContents, 0, gone), Arrays.copyOfRange(resultContents, gone + 1, resultContents.length));
+					}
+					break;
+				}
+				// keep the pool small and its vectors under a few thousand elements
+				if (result.size() > 4_000) {
+					result = result.take(4_000);
+					resultContents = Arrays.copyOf(resultContents, 4_000);
+				}
+				if (pool.size() < 16) {
+					pool.add(result);
+					poolContents.add(resultContents);
+				} else {
+					int replaced = random.nextInt(pool.size());
+					pool.set(replaced, result);
+					poolContents.set(replaced, resultContents);
+				}
+			}
+			printTest("randomPool_testContents", testCheck(() -> {
+				for (int i = 0; i < pool.size(); i++) {
+					if (!sameElements(pool.get(i), poolContents.get(i))) {
+						return false;
+					}
+				}
+				return true;
+			}, Result.True));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE %s***\n", "test_PersistentVector");
+			e.printStackTrace();
+		} finally {
+			if (printSectionSummaries) {
+				printSectionSummary();
+			}
+		}
+	}
+
+	/** Builds an IUPersistentVector holding elements, in order
+	 * @param elements
+	 * @return new IUPersistentVector
+	 */
+	private IUPersistentVector<Integer> vectorOf(Integer[] elements) {
+		IUPersistentVector<Integer> vector = new IUPersistentVector<Integer>();
+		for (Integer element : elements) {
+			vector.add(element);
+		}
+		return vector;
+	}
+
+	/** Checks a vector against expected contents through both get() and its iterator
+	 * @param vector
+	 * @param expectedContents
+	 * @return true if size and every element match
+	 */
+	private boolean sameElements(IUPersistentVector<Integer> vector, Object[] expectedContents) {
+		if (!hasContents(vector, expectedContents)) {
+			return false;
+		}
+		int i = 0;
+		for (Integer element : vector) {
+			if (element != expectedContents[i++]) {
+				return false;
+			}
+		}
+		return i == expectedContents.length;
+	}
+
+	/** Joins two arrays
+	 * @param front
+	 * @param back
+	 * @return front followed by back
+	 */
+	private Integer[] concatenated(Integer[] front, Integer[] back) {
+		Integer[] joined = Arrays.copyOf(front, front.length + back.length);
+		System.arraycopy(back, 0, joined, front.length, back.length);
+		return joined;
+	}
+
+	/** Builds a list under test holding elements, in order
+	 * @param elements
+	 * @return new list of elements
+	 */
+	private IndexedUnsortedList<Integer> listOf(Integer... elements) {
+		IndexedUnsortedList<Integer> list = newList();
+		for (Integer element : elements) {
+			list.add(element);
+		}
+		return list;
+	}
+}// end class IndexedUnsortedListTester
+
+/** Interface for builder method Lambda references used above */
+interface Scenario<T> {
+	IndexedUnsortedList<T> build();
+}
+
+/** Interface for Lambda references to single calls tested with testAction() */
+interface Action {
+	void run() throws Exception;
 }
@@ -0,0 +1,651 @@
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Array-based list of long values, backed by a long[] so elements are
+ * stored without boxing. Operations mirror IndexedUnsortedList with
+ * primitive parameters and return types; remove-by-value is named
+ * removeElement() so it cannot be confused with remove(int index).
+ * Searches and the sum(), min(), max(), count() and countBetween()
+ * aggregates scan the primitive array directly (see ScanKernels), and
+ * parallelSort() is a parallel radix sort (see SortKernels).
+ * asList() provides a boxed IndexedUnsortedList view for existing callers.
+ *
+ * @author Morgan Zabriskie
+ */
+public class LongIUArrayList {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private long[] array;
+    private int rear;
+    private int modCount;
+    private final GrowthPolicy growthPolicy;
+    // automatic shrinking never goes below this; raised by ensureCapacity()
+    private int minimumCapacity;
+
+    /** Creates an empty list with default initial capacity */
+    public LongIUArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list with the given initial capacity
+     *
+     * @param initialCapacity
+     */
+    public LongIUArrayList(int initialCapacity) {
+        this(initialCapacity, GrowthPolicy.doubling());
+    }
+
+    /**
+     * Creates an empty list with the given initial capacity that resizes
+     * according to the given policy
+     *
+     * @param initialCapacity
+     * @param growthPolicy
+     */
+    public LongIUArrayList(int initialCapacity, GrowthPolicy growthPolicy) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must not be negative: " + initialCapacity);
+        }
+        array = new long[initialCapacity];
+        rear = 0;
+        modCount = 0;
+        this.growthPolicy = growthPolicy;
+        this.minimumCapacity = initialCapacity;
+    }
+
+    /** Grow array, as the growth policy decides, if it has no free slot */
+    private void expandCapacity() {
+        if (rear == array.length) {
+            array = Arrays.copyOf(array, growthPolicy.grow(array.length, rear + 1));
+        }
+    }
+
+    /** Give back capacity, as the growth policy decides, after a removal */
+    private void shrinkCapacity() {
+        int newCapacity = Math.max(growthPolicy.shrink(array.length, rear), Math.max(rear, minimumCapacity));
+        if (newCapacity < array.length) {
+            array = Arrays.copyOf(array, newCapacity);
+        }
+    }
+
+    /**
+     * Block-move the elements in [index, rear) by distance slots and
+     * record a single structural modification
+     *
+     * @param index    first element to move
+     * @param distance number of slots to move the block right (or left if negative)
+     */
+    private void shift(int index, int distance) {
+        System.arraycopy(array, index, array, index + distance, rear - index);
+        rear += distance;
+        modCount++;
+        if (distance < 0) {
+            shrinkCapacity();
+        }
+    }
+
+    /**
+     * Grows the backing array, if necessary, so it can hold at least
+     * minCapacity elements without further resizing. Automatic shrinking
+     * keeps at least this capacity until trimToSize() is called.
+     *
+     * @param minCapacity
+     */
+    public void ensureCapacity(int minCapacity) {
+        minimumCapacity = Math.max(minimumCapacity, minCapacity);
+        if (minCapacity > array.length) {
+            array = Arrays.copyOf(array, growthPolicy.grow(array.length, minCapacity));
+        }
+    }
+
+    /**
+     * Shrinks the backing array to exactly the current number of
+     * elements, and drops the floor on automatic shrinking set by the
+     * initial capacity and ensureCapacity()
+     */
+    public void trimToSize() {
+        minimumCapacity = 0;
+        if (rear < array.length) {
+            array = Arrays.copyOf(array, rear);
+        }
+    }
+
+    /**
+     * Returns the number of elements the backing array can hold before
+     * it has to grow.
+     *
+     * @return current capacity
+     */
+    public int capacity() {
+        return array.length;
+    }
+
+    /**
+     * Adds the specified element to the front of this list.
+     *
+     * @param element
+     */
+    public void addToFront(long element) {
+        expandCapacity();
+        shift(0, 1);
+        array[0] = element;
+    }
+
+    /**
+     * Adds the specified element to the rear of this list.
+     *
+     * @param element
+     */
+    public void addToRear(long element) {
+        expandCapacity();
+        array[rear] = element;
+        rear++;
+        modCount++;
+    }
+
+    /**
+     * Adds the specified element to the rear of this list.
+     *
+     * @param element
+     */
+    public void add(long element) {
+        addToRear(element);
+    }
+
+    /**
+     * Adds the specified element after the first element matching target.
+     *
+     * @param element
+     * @param target
+     * @throws NoSuchElementException if target is not in this list
+     */
+    public void addAfter(long element, long target) {
+        int targetLocation = indexOf(target);
+        if (targetLocation == -1) {
+            throw new NoSuchElementException();
+        } else {
+            expandCapacity();
+            shift(targetLocation + 1, 1);
+            array[targetLocation + 1] = element;
+        }
+    }
+
+    /**
+     * Inserts the specified element at the specified index.
+     *
+     * @param index
+     * @param element
+     * @throws IndexOutOfBoundsException if index < 0 || index > size
+     */
+    public void add(int index, long element) {
+        if ((index < 0) || (index > rear)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            expandCapacity();
+            shift(index, 1);
+            array[index] = element;
+        }
+    }
+
+    /**
+     * Removes and returns the first element from this list.
+     *
+     * @return the first element
+     * @throws NoSuchElementException if list is empty
+     */
+    public long removeFirst() {
+        if (rear == 0) {
+            throw new NoSuchElementException();
+        } else {
+            long element = array[0];
+            shift(1, -1);
+            return element;
+        }
+    }
+
+    /**
+     * Removes and returns the last element from this list.
+     *
+     * @return the last element
+     * @throws NoSuchElementException if list is empty
+     */
+    public long removeLast() {
+        if (rear == 0) {
+            throw new NoSuchElementException();
+        } else {
+            long element = array[rear - 1];
+            rear--;
+            modCount++;
+            shrinkCapacity();
+            return element;
+        }
+    }
+
+    /**
+     * Removes and returns the first element matching the given value.
+     *
+     * @param element
+     * @return the removed element
+     * @throws NoSuchElementException if element is not in this list
+     */
+    public long removeElement(long element) {
+        int elementLocation = indexOf(element);
+        if (elementLocation == -1) {
+            throw new NoSuchElementException();
+        } else {
+            long removed = array[elementLocation];
+            shift(elementLocation + 1, -1);
+            return removed;
+        }
+    }
+
+    /**
+     * Removes and returns the element at the specified index.
+     *
+     * @param index
+     * @return the removed element
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size
+     */
+    public long remove(int index) {
+        if ((index < 0) || (index >= rear)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            long element = array[index];
+            shift(index + 1, -1);
+            return element;
+        }
+    }
+
+    /**
+     * Replaces the element at the specified index.
+     *
+     * @param index
+     * @param element
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size
+     */
+    public void set(int index, long element) {
+        if ((index < 0) || (index >= rear)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            array[index] = element;
+            modCount++;
+        }
+    }
+
+    /**
+     * Returns the element at the specified index.
+     *
+     * @param index
+     * @return the element at index
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size
+     */
+    public long get(int index) {
+        if ((index < 0) || (index >= rear)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            return array[index];
+        }
+    }
+
+    /**
+     * Returns the index of the first element matching the given value.
+     *
+     * @param element
+     * @return index of element, or -1 if it is not in this list
+     */
+    public int indexOf(long element) {
+        return ScanKernels.indexOf(array, rear, element);
+    }
+
+    /**
+     * Returns the first element in this list.
+     *
+     * @return the first element
+     * @throws NoSuchElementException if list is empty
+     */
+    public long first() {
+        if (rear == 0) {
+            throw new NoSuchElementException();
+        } else {
+            return array[0];
+        }
+    }
+
+    /**
+     * Returns the last element in this list.
+     *
+     * @return the last element
+     * @throws NoSuchElementException if list is empty
+     */
+    public long last() {
+        if (rear == 0) {
+            throw new NoSuchElementException();
+        } else {
+            return array[rear - 1];
+        }
+    }
+
+    /**
+     * Returns true if this list contains the given value.
+     *
+     * @param target
+     * @return true if target is in this list
+     */
+    public boolean contains(long target) {
+        return indexOf(target) != -1;
+    }
+
+    /**
+     * Returns the sum of the elements, wrapping around on overflow.
+     *
+     * @return sum of all elements, 0 if empty
+     */
+    public long sum() {
+        return ScanKernels.sum(array, rear);
+    }
+
+    /**
+     * Returns the smallest element.
+     *
+     * @return minimum element
+     * @throws NoSuchElementException if list is empty
+     */
+    public long min() {
+        if (rear == 0) {
+            throw new NoSuchElementException();
+        } else {
+            return ScanKernels.min(array, rear);
+        }
+    }
+
+    /**
+     * Returns the largest element.
+     *
+     * @return maximum element
+     * @throws NoSuchElementException if list is empty
+     */
+    public long max() {
+        if (rear == 0) {
+            throw new NoSuchElementException();
+        } else {
+            return ScanKernels.max(array, rear);
+        }
+    }
+
+    /**
+     * Returns the number of elements equal to the given value.
+     *
+     * @param element
+     * @return number of occurrences
+     */
+    public int count(long element) {
+        return ScanKernels.count(array, rear, element);
+    }
+
+    /**
+     * Returns the number of elements in the range [low, high].
+     *
+     * @param low  smallest value counted
+     * @param high largest value counted
+     * @return number of elements in range
+     */
+    public int countBetween(long low, long high) {
+        return ScanKernels.countBetween(array, rear, low, high);
+    }
+
+    /**
+     * Sorts the elements into ascending order with a dual-pivot quicksort.
+     */
+    public void sort() {
+        Arrays.sort(array, 0, rear);
+        modCount++;
+    }
+
+    /**
+     * Sorts the elements into ascending order with a radix sort that runs
+     * its passes in parallel on the common ForkJoinPool (see SortKernels);
+     * short lists are sorted like sort().
+     */
+    public void parallelSort() {
+        SortKernels.radixSort(array, rear);
+        modCount++;
+    }
+
+    /**
+     * Returns true if this list contains no elements.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return rear == 0;
+    }
+
+    /**
+     * Returns the number of elements in this list.
+     *
+     * @return number of elements
+     */
+    public int size() {
+        return rear;
+    }
+
+    /**
+     * Returns a copy of the elements in this list.
+     *
+     * @return new array holding the elements in order
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(array, rear);
+    }
+
+    @Override
+    public String toString() {
+        if (rear == 0) {
+            return "[ ]";
+        } else {
+            StringBuilder returnVal = new StringBuilder("[");
+            for (int i = 0; i < rear; i++) {
+                returnVal.append(array[i]);
+                returnVal.append((i == (rear - 1)) ? "]" : ", ");
+            }
+            return returnVal.toString();
+        }
+    }
+
+    /**
+     * Returns a fail-fast iterator that hands out elements without boxing
+     * through nextLong().
+     *
+     * @return primitive iterator over this list
+     */
+    public PrimitiveIterator.OfLong iterator() {
+        return new LongArrayIterator();
+    }
+
+    /**
+     * Returns a live IndexedUnsortedList view of this list. Elements are
+     * boxed on the way out and unboxed on the way in, so null elements
+     * are rejected with NullPointerException.
+     *
+     * @return boxed view backed by this list
+     */
+    public IndexedUnsortedList<Long> asList() {
+        return new BoxedView();
+    }
+
+    /**
+     * Private inner class for iterators in the LongIUArrayList class
+     *
+     * @author Morgan Zabriskie
+     */
+    private class LongArrayIterator implements PrimitiveIterator.OfLong {
+
+        // instance variables
+        private boolean nextCalled = false;
+        private int index = 0;
+        private int iterModCount;
+
+        public LongArrayIterator() {
+            this.iterModCount = modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (modCount != iterModCount) {
+                throw new ConcurrentModificationException();
+            } else {
+                return index < rear;
+            }
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            } else {
+                nextCalled = true;
+                return array[index++];
+            }
+        }
+
+        @Override
+        public void remove() {
+            if (modCount != iterModCount) {
+                throw new ConcurrentModificationException();
+            } else if (!nextCalled) {
+                throw new IllegalStateException();
+            } else {
+                index--;
+                shift(index + 1, -1);
+                iterModCount = modCount;
+                nextCalled = false;
+            }
+        }
+    }
+
+    /**
+     * Boxed IndexedUnsortedList adapter over the enclosing LongIUArrayList
+     *
+     * @author Morgan Zabriskie
+     */
+    private class BoxedView implements IndexedUnsortedList<Long> {
+
+        @Override
+        public void addToFront(Long element) {
+            LongIUArrayList.this.addToFront(element);
+        }
+
+        @Override
+        public void addToRear(Long element) {
+            LongIUArrayList.this.addToRear(element);
+        }
+
+        @Override
+        public void add(Long element) {
+            LongIUArrayList.this.add((long) element);
+        }
+
+        @Override
+        public void addAfter(Long element, Long target) {
+            if (target == null) {
+                throw new NoSuchElementException();
+            }
+            LongIUArrayList.this.addAfter(element, target);
+        }
+
+        @Override
+        public void add(int index, Long element) {
+            LongIUArrayList.this.add(index, (long) element);
+        }
+
+        @Override
+        public Long removeFirst() {
+            return LongIUArrayList.this.removeFirst();
+        }
+
+        @Override
+        public Long removeLast() {
+            return LongIUArrayList.this.removeLast();
+        }
+
+        @Override
+        public Long remove(Long element) {
+            if (element == null) {
+                throw new NoSuchElementException();
+            }
+            return LongIUArrayList.this.removeElement(element);
+        }
+
+        @Override
+        public Long remove(int index) {
+            return LongIUArrayList.this.remove(index);
+        }
+
+        @Override
+        public void set(int index, Long element) {
+            LongIUArrayList.this.set(index, (long) element);
+        }
+
+        @Override
+        public Long get(int index) {
+            return LongIUArrayList.this.get(index);
+        }
+
+        @Override
+        public int indexOf(Long element) {
+            return (element == null) ? -1 : LongIUArrayList.this.indexOf(element);
+        }
+
+        @Override
+        public Long first() {
+            return LongIUArrayList.this.first();
+        }
+
+        @Override
+        public Long last() {
+            return LongIUArrayList.this.last();
+        }
+
+        @Override
+        public boolean contains(Long target) {
+            return (target != null) && LongIUArrayList.this.contains(target);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return LongIUArrayList.this.isEmpty();
+        }
+
+        @Override
+        public int size() {
+            return LongIUArrayList.this.size();
+        }
+
+        @Override
+        public String toString() {
+            return LongIUArrayList.this.toString();
+        }
+
+        @Override
+        public Iterator<Long> iterator() {
+            return LongIUArrayList.this.iterator();
+        }
+
+        @Override
+        public ListIterator<Long> listIterator() {
+            throw new UnsupportedOperationException("Unimplemented method 'listIterator'");
+        }
+
+        @Override
+        public ListIterator<Long> listIterator(int startingIndex) {
+            throw new UnsupportedOperationException("Unimplemented method 'listIterator'");
+        }
+    }
+}
@@ -0,0 +1,521 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * IndexedUnsortedList that keeps fixed-width elements in a memory-mapped
+ * file, so a list survives a restart and reopens without rebuilding, and
+ * can hold more data than fits on the Java heap. Elements are encoded
+ * straight into the mapping by a FixedWidthCodec; appends, get() and
+ * set() never copy element data through the heap.
+ *
+ * The file starts with a HEADER_BYTES header recording a magic number,
+ * format version, element width, size and capacity, followed by the
+ * element slots. The header is updated on every change, but nothing is
+ * guaranteed to reach the disk until force() or close() is called.
+ * Elements are matched by their encoded bytes and null elements are not
+ * supported. A single mapping is limited to 2 GiB of element data.
+ * An Iterator with working remove() method is implemented, but
+ * ListIterator is unsupported.
+ *
+ * @author Morgan Zabriskie
+ *
+ * @param <T> type to store
+ */
+public class MappedIUList<T> implements IndexedUnsortedList<T>, AutoCloseable {
+
+    /** Number of bytes before the first element slot in the file */
+    public static final int HEADER_BYTES = 32;
+
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final int MAGIC = 0x49554c31; // "IUL1"
+    private static final int VERSION = 1;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int WIDTH_OFFSET = 8;
+    private static final int SIZE_OFFSET = 12;
+    private static final int CAPACITY_OFFSET = 16;
+
+    private final FixedWidthCodec<T> codec;
+    private final int width;
+    private final GrowthPolicy growthPolicy;
+    private final ByteBuffer key;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private int rear;
+    private int modCount;
+
+    /**
+     * Opens the list stored in file, or creates an empty list there with
+     * default initial capacity if the file does not exist or is empty.
+     *
+     * @param file  backing file
+     * @param codec maps elements to and from bytes
+     * @throws IOException if the file cannot be opened, is not a list file
+     *                     written with a codec of the same width, or is
+     *                     truncated or has an inconsistent header
+     */
+    public MappedIUList(Path file, FixedWidthCodec<T> codec) throws IOException {
+        this(file, codec, DEFAULT_CAPACITY, GrowthPolicy.doubling().withoutShrink());
+    }
+
+    /**
+     * Opens the list stored in file, or creates an empty list there with
+     * the given initial capacity if the file does not exist or is empty.
+     *
+     * @param file            backing file
+     * @param codec           maps elements to and from bytes
+     * @param initialCapacity capacity for a new file, ignored when reopening
+     * @param growthPolicy
+     * @throws IOException if the file cannot be opened, is not a list file
+     *                     written with a codec of the same width, or is
+     *                     truncated or has an inconsistent header
+     */
+    public MappedIUList(Path file, FixedWidthCodec<T> codec, int initialCapacity, GrowthPolicy growthPolicy)
+            throws IOException {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must not be negative: " + initialCapacity);
+        }
+        this.codec = codec;
+        this.width = codec.width();
+        this.growthPolicy = growthPolicy;
+        this.key = ByteBuffer.allocate(width);
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            long fileSize = channel.size();
+            boolean newFile = fileSize == 0;
+            if (!newFile && fileSize < HEADER_BYTES) {
+                // mapping the header would silently extend the file
+                throw new IOException(file + " is too short to hold a list header");
+            }
+            this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            if (newFile) {
+                header.putInt(MAGIC_OFFSET, MAGIC);
+                header.putInt(VERSION_OFFSET, VERSION);
+                header.putInt(WIDTH_OFFSET, width);
+                header.putInt(SIZE_OFFSET, 0);
+                this.capacity = initialCapacity;
+                this.rear = 0;
+            } else {
+                if (header.getInt(MAGIC_OFFSET) != MAGIC || header.getInt(VERSION_OFFSET) != VERSION) {
+                    throw new IOException(file + " is not a version " + VERSION + " list file");
+                }
+                if (header.getInt(WIDTH_OFFSET) != width) {
+                    throw new IOException(file + " holds " + header.getInt(WIDTH_OFFSET)
+                            + "-byte elements, codec writes " + width);
+                }
+                this.capacity = header.getInt(CAPACITY_OFFSET);
+                this.rear = header.getInt(SIZE_OFFSET);
+                if (capacity < 0 || rear < 0 || rear > capacity) {
+                    throw new IOException(file + " has a corrupt header: size " + rear + ", capacity " + capacity);
+                }
+                if (HEADER_BYTES + (long) capacity * width > fileSize) {
+                    // mapping the element slots would silently extend the file with zeros
+                    throw new IOException(file + " is truncated: " + fileSize + " bytes, header claims capacity "
+                            + capacity);
+                }
+            }
+            this.buffer = map(capacity);
+            header.putInt(CAPACITY_OFFSET, capacity);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        this.modCount = 0;
+    }
+
+    /**
+     * Map the element region of the file for the given number of elements,
+     * extending the file if necessary
+     *
+     * @param elements capacity in elements
+     * @return mapping of the element slots
+     * @throws IOException if the region cannot be mapped
+     */
+    private MappedByteBuffer map(int elements) throws IOException {
+        if ((long) elements * width > Integer.MAX_VALUE) {
+            throw new IllegalStateException("capacity too large for a single mapping: " + elements);
+        }
+        return channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES, (long) elements * width);
+    }
+
+    /** Record the current size in the file header */
+    private void writeSize() {
+        header.putInt(SIZE_OFFSET, rear);
+    }
+
+    /** Throw if close() has already unmapped the file */
+    private void checkOpen() {
+        if (buffer == null) {
+            throw new IllegalStateException("list has been closed");
+        }
+    }
+
+    /** Extend the file and remap, as the growth policy decides, if there is no free slot */
+    private void expandCapacity() {
+        if (rear == capacity) {
+            int newCapacity = growthPolicy.grow(capacity, rear + 1);
+            try {
+                MappedByteBuffer larger = map(newCapacity);
+                DirectMemory.free(buffer);
+                buffer = larger;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            capacity = newCapacity;
+            header.putInt(CAPACITY_OFFSET, capacity);
+        }
+    }
+
+    /**
+     * Block-move the elements in [index, rear) by distance slots inside
+     * the mapping and record a single structural modification
+     *
+     * @param index    first element to move
+     * @param distance number of slots to move the block right (or left if negative)
+     */
+    private void shift(int index, int distance) {
+        buffer.put((index + distance) * width, buffer, index * width, (rear - index) * width);
+        rear += distance;
+        writeSize();
+        modCount++;
+    }
+
+    /**
+     * Returns true if the element at index encodes to the bytes in key
+     *
+     * @param index element to compare
+     * @return true if all width bytes match
+     */
+    private boolean matchesKey(int index) {
+        int offset = index * width;
+        int i = 0;
+        for (; i + Long.BYTES <= width; i += Long.BYTES) {
+            if (buffer.getLong(offset + i) != key.getLong(i)) {
+                return false;
+            }
+        }
+        for (; i < width; i++) {
+            if (buffer.get(offset + i) != key.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Insert element at index, which must be in [0, rear]
+     *
+     * @param index
+     * @param element
+     */
+    private void insertAt(int index, T element) {
+        checkOpen();
+        // encode first so a codec failure leaves the list untouched
+        codec.write(key, 0, element);
+        expandCapacity();
+        shift(index, 1);
+        buffer.put(index * width, key, 0, width);
+    }
+
+    /**
+     * Remove and return the element at index, which must be in [0, rear)
+     *
+     * @param index
+     * @return the removed element
+     */
+    private T removeAt(int index) {
+        T element = codec.read(buffer, index * width);
+        shift(index + 1, -1);
+        return element;
+    }
+
+    @Override
+    public void addToFront(T element) {
+        insertAt(0, element);
+    }
+
+    @Override
+    public void addToRear(T element) {
+        checkOpen();
+        expandCapacity();
+        // the slot past rear is free, so a codec failure leaves the list untouched
+        codec.write(buffer, rear * width, element);
+        rear++;
+        writeSize();
+        modCount++;
+    }
+
+    @Override
+    public void add(T element) {
+        addToRear(element);
+    }
+
+    @Override
+    public void addAfter(T element, T target) {
+        int targetLocation = indexOf(target);
+        if (targetLocation == -1) {
+            throw new NoSuchElementException();
+        } else {
+            insertAt(targetLocation + 1, element);
+        }
+    }
+
+    @Override
+    public void add(int index, T element) {
+        checkOpen();
+        if ((index < 0) || (index > rear)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            insertAt(index, element);
+        }
+    }
+
+    @Override
+    public T removeFirst() {
+        checkOpen();
+        if (rear == 0) {
+            throw new NoSuchElementException();
+        } else {
+            return removeAt(0);
+        }
+    }
+
+    @Override
+    public T removeLast() {
+        checkOpen();
+        if (rear == 0) {
+            throw new NoSuchElementException();
+        } else {
+            T element = codec.read(buffer, (rear - 1) * width);
+            rear--;
+            writeSize();
+            modCount++;
+            return element;
+        }
+    }
+
+    @Override
+    public T remove(T element) {
+        int elementLocation = indexOf(element);
+        if (elementLocation == -1) {
+            throw new NoSuchElementException();
+        } else {
+            return removeAt(elementLocation);
+        }
+    }
+
+    @Override
+    public T remove(int index) {
+        checkOpen();
+        if ((index < 0) || (index >= rear)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            return removeAt(index);
+        }
+    }
+
+    @Override
+    public void set(int index, T element) {
+        checkOpen();
+        if ((index < 0) || (index >= rear)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            codec.write(buffer, index * width, element);
+            modCount++;
+        }
+    }
+
+    @Override
+    public T get(int index) {
+        checkOpen();
+        if ((index < 0) || (index >= rear)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            return codec.read(buffer, index * width);
+        }
+    }
+
+    @Override
+    public int indexOf(T element) {
+        checkOpen();
+        if (element == null) {
+            return -1;
+        }
+        codec.write(key, 0, element);
+        for (int i = 0; i < rear; i++) {
+            if (matchesKey(i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public T first() {
+        checkOpen();
+        if (rear == 0) {
+            throw new NoSuchElementException();
+        } else {
+            return codec.read(buffer, 0);
+        }
+    }
+
+    @Override
+    public T last() {
+        checkOpen();
+        if (rear == 0) {
+            throw new NoSuchElementException();
+        } else {
+            return codec.read(buffer, (rear - 1) * width);
+        }
+    }
+
+    @Override
+    public boolean contains(T target) {
+        return indexOf(target) != -1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return rear == 0;
+    }
+
+    @Override
+    public int size() {
+        return rear;
+    }
+
+    /**
+     * Returns the number of elements the file can hold before it has to
+     * grow.
+     *
+     * @return current capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Writes any changes to the elements and header through to the
+     * storage device.
+     */
+    public void force() {
+        checkOpen();
+        buffer.force();
+        header.force();
+    }
+
+    /**
+     * Forces changes to disk, unmaps the file and closes it. The list must
+     * not be used afterwards; calling close() again has no effect.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (buffer != null) {
+            force();
+            DirectMemory.free(buffer);
+            DirectMemory.free(header);
+            buffer = null;
+            modCount++;
+            channel.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        checkOpen();
+        if (rear == 0) {
+            return "[ ]";
+        } else {
+            StringBuilder returnVal = new StringBuilder("[");
+            for (int i = 0; i < rear; i++) {
+                returnVal.append(codec.read(buffer, i * width));
+                returnVal.append((i == (rear - 1)) ? "]" : ", ");
+            }
+            return returnVal.toString();
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        checkOpen();
+        return new MappedIterator();
+    }
+
+    @Override
+    public ListIterator<T> listIterator() {
+        throw new UnsupportedOperationException("Unimplemented method 'listIterator'");
+    }
+
+    @Override
+    public ListIterator<T> listIterator(int startingIndex) {
+        throw new UnsupportedOperationException("Unimplemented method 'listIterator'");
+    }
+
+    /**
+     * Private inner class for iterators in the MappedIUList class.
+     * Each call to next() decodes one element straight from the mapping.
+     *
+     * @author Morgan Zabriskie
+     */
+    private class MappedIterator implements Iterator<T> {
+
+        // instance variables
+        private boolean nextCalled = false;
+        private int index = 0;
+        private int iterModCount;
+
+        public MappedIterator() {
+            this.iterModCount = modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (modCount != iterModCount) {
+                throw new ConcurrentModificationException();
+            } else {
+                return index < rear;
+            }
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            } else {
+                T next = codec.read(buffer, index * width);
+                index++;
+                nextCalled = true;
+                return next;
+            }
+        }
+
+        @Override
+        public void remove() {
+            if (modCount != iterModCount) {
+                throw new ConcurrentModificationException();
+            } else if (!nextCalled) {
+                throw new IllegalStateException();
+            } else {
+                index--;
+                shift(index + 1, -1);
+                iterModCount = modCount;
+                nextCalled = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,473 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * IndexedUnsortedList that keeps fixed-width elements in native memory
+ * outside the Java heap, so very large lists put no pressure on the
+ * garbage collector. Elements are encoded into a direct ByteBuffer by a
+ * FixedWidthCodec and decoded again on every read, so get() returns an
+ * equal copy rather than the object that was added.
+ *
+ * Elements are matched by their encoded bytes and null elements are not
+ * supported. The native buffer grows and, if the GrowthPolicy allows,
+ * shrinks after removals; by default it only grows. Call close() when
+ * done to free the native memory immediately; any use after close()
+ * throws IllegalStateException.
+ * An Iterator with working remove() method is implemented, but
+ * ListIterator is unsupported.
+ *
+ * @author Morgan Zabriskie
+ *
+ * @param <T> type to store
+ */
+public class OffHeapIUList<T> implements IndexedUnsortedList<T>, AutoCloseable {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private final FixedWidthCodec<T> codec;
+    private final int width;
+    private final GrowthPolicy growthPolicy;
+    private final int minimumCapacity;
+    private final ByteBuffer key;
+    private ByteBuffer buffer;
+    private int capacity;
+    private int rear;
+    private int modCount;
+
+    /**
+     * Creates an empty list with default initial capacity
+     *
+     * @param codec maps elements to and from bytes
+     */
+    public OffHeapIUList(FixedWidthCodec<T> codec) {
+        this(codec, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list with the given initial capacity
+     *
+     * @param codec           maps elements to and from bytes
+     * @param initialCapacity
+     */
+    public OffHeapIUList(FixedWidthCodec<T> codec, int initialCapacity) {
+        this(codec, initialCapacity, GrowthPolicy.doubling().withoutShrink());
+    }
+
+    /**
+     * Creates an empty list with the given initial capacity that resizes
+     * according to the given policy. Automatic shrinking never takes the
+     * capacity below initialCapacity.
+     *
+     * @param codec           maps elements to and from bytes
+     * @param initialCapacity
+     * @param growthPolicy
+     */
+    public OffHeapIUList(FixedWidthCodec<T> codec, int initialCapacity, GrowthPolicy growthPolicy) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must not be negative: " + initialCapacity);
+        }
+        this.codec = codec;
+        this.width = codec.width();
+        this.growthPolicy = growthPolicy;
+        this.minimumCapacity = initialCapacity;
+        this.key = ByteBuffer.allocate(width).order(ByteOrder.nativeOrder());
+        this.buffer = allocate(initialCapacity);
+        this.capacity = initialCapacity;
+        this.rear = 0;
+        this.modCount = 0;
+    }
+
+    /**
+     * Allocate native memory for the given number of elements
+     *
+     * @param elements capacity in elements
+     * @return new direct buffer
+     */
+    private ByteBuffer allocate(int elements) {
+        if ((long) elements * width > Integer.MAX_VALUE) {
+            throw new IllegalStateException("capacity too large for a single buffer: " + elements);
+        }
+        return ByteBuffer.allocateDirect(elements * width).order(ByteOrder.nativeOrder());
+    }
+
+    /** Throw if close() has already released the native memory */
+    private void checkOpen() {
+        if (buffer == null) {
+            throw new IllegalStateException("list has been closed");
+        }
+    }
+
+    /**
+     * Copy the elements into a new native buffer of the given capacity
+     * and free the old one
+     *
+     * @param newCapacity at least rear
+     */
+    private void relocate(int newCapacity) {
+        ByteBuffer moved = allocate(newCapacity);
+        moved.put(0, buffer, 0, rear * width);
+        DirectMemory.free(buffer);
+        buffer = moved;
+        capacity = newCapacity;
+    }
+
+    /** Move to a larger native buffer, as the growth policy decides, if there is no free slot */
+    private void expandCapacity() {
+        if (rear == capacity) {
+            relocate(growthPolicy.grow(capacity, rear + 1));
+        }
+    }
+
+    /** Give back native memory, as the growth policy decides, after a removal */
+    private void shrinkCapacity() {
+        int newCapacity = Math.max(growthPolicy.shrink(capacity, rear), Math.max(rear, minimumCapacity));
+        if (newCapacity < capacity) {
+            relocate(newCapacity);
+        }
+    }
+
+    /**
+     * Moves the elements into a native buffer of exactly the current
+     * number of elements, freeing the rest.
+     */
+    public void trimToSize() {
+        checkOpen();
+        if (rear < capacity) {
+            relocate(rear);
+        }
+    }
+
+    /**
+     * Block-move the elements in [index, rear) by distance slots inside
+     * the native buffer and record a single structural modification
+     *
+     * @param index    first element to move
+     * @param distance number of slots to move the block right (or left if negative)
+     */
+    private void shift(int index, int distance) {
+        buffer.put((index + distance) * width, buffer, index * width, (rear - index) * width);
+        rear += distance;
+        modCount++;
+        if (distance < 0) {
+            shrinkCapacity();
+        }
+    }
+
+    /**
+     * Returns true if the element at index encodes to the bytes in key
+     *
+     * @param index element to compare
+     * @return true if all width bytes match
+     */
+    private boolean matchesKey(int index) {
+        int offset = index * width;
+        int i = 0;
+        for (; i + Long.BYTES <= width; i += Long.BYTES) {
+            if (buffer.getLong(offset + i) != key.getLong(i)) {
+                return false;
+            }
+        }
+        for (; i < width; i++) {
+            if (buffer.get(offset + i) != key.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Insert element at index, which must be in [0, rear]
+     *
+     * @param index
+     * @param element
+     */
+    private void insertAt(int index, T element) {
+        checkOpen();
+        // encode first so a codec failure leaves the list untouched
+        codec.write(key, 0, element);
+        expandCapacity();
+        shift(index, 1);
+        buffer.put(index * width, key, 0, width);
+    }
+
+    /**
+     * Remove and return the element at index, which must be in [0, rear)
+     *
+     * @param index
+     * @return the removed element
+     */
+    private T removeAt(int index) {
+        T element = codec.read(buffer, index * width);
+        shift(index + 1, -1);
+        return element;
+    }
+
+    @Override
+    public void addToFront(T element) {
+        insertAt(0, element);
+    }
+
+    @Override
+    public void addToRear(T element) {
+        checkOpen();
+        // encode first so a codec failure leaves the list untouched
+        codec.write(key, 0, element);
+        expandCapacity();
+        buffer.put(rear * width, key, 0, width);
+        rear++;
+        modCount++;
+    }
+
+    @Override
+    public void add(T element) {
+        addToRear(element);
+    }
+
+    @Override
+    public void addAfter(T element, T target) {
+        int targetLocation = indexOf(target);
+        if (targetLocation == -1) {
+            throw new NoSuchElementException();
+        } else {
+            insertAt(targetLocation + 1, element);
+        }
+    }
+
+    @Override
+    public void add(int index, T element) {
+        checkOpen();
+        if ((index < 0) || (index > rear)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            insertAt(index, element);
+        }
+    }
+
+    @Override
+    public T removeFirst() {
+        checkOpen();
+        if (rear == 0) {
+            throw new NoSuchElementException();
+        } else {
+            return removeAt(0);
+        }
+    }
+
+    @Override
+    public T removeLast() {
+        checkOpen();
+        if (rear == 0) {
+            throw new NoSuchElementException();
+        } else {
+            T element = codec.read(buffer, (rear - 1) * width);
+            rear--;
+            modCount++;
+            shrinkCapacity();
+            return element;
+        }
+    }
+
+    @Override
+    public T remove(T element) {
+        int elementLocation = indexOf(element);
+        if (elementLocation == -1) {
+            throw new NoSuchElementException();
+        } else {
+            return removeAt(elementLocation);
+        }
+    }
+
+    @Override
+    public T remove(int index) {
+        checkOpen();
+        if ((index < 0) || (index >= rear)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            return removeAt(index);
+        }
+    }
+
+    @Override
+    public void set(int index, T element) {
+        checkOpen();
+        if ((index < 0) || (index >= rear)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            codec.write(buffer, index * width, element);
+            modCount++;
+        }
+    }
+
+    @Override
+    public T get(int index) {
+        checkOpen();
+        if ((index < 0) || (index >= rear)) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            return codec.read(buffer, index * width);
+        }
+    }
+
+    @Override
+    public int indexOf(T element) {
+        checkOpen();
+        if (element == null) {
+            return -1;
+        }
+        codec.write(key, 0, element);
+        for (int i = 0; i < rear; i++) {
+            if (matchesKey(i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public T first() {
+        checkOpen();
+        if (rear == 0) {
+            throw new NoSuchElementException();
+        } else {
+            return codec.read(buffer, 0);
+        }
+    }
+
+    @Override
+    public T last() {
+        checkOpen();
+        if (rear == 0) {
+            throw new NoSuchElementException();
+        } else {
+            return codec.read(buffer, (rear - 1) * width);
+        }
+    }
+
+    @Override
+    public boolean contains(T target) {
+        return indexOf(target) != -1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return rear == 0;
+    }
+
+    @Override
+    public int size() {
+        return rear;
+    }
+
+    /**
+     * Returns the number of elements the native buffer can hold before
+     * it has to grow.
+     *
+     * @return current capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Frees the native memory held by this list. The list must not be
+     * used afterwards; calling close() again has no effect.
+     */
+    @Override
+    public void close() {
+        if (buffer != null) {
+            DirectMemory.free(buffer);
+            buffer = null;
+            capacity = 0;
+            rear = 0;
+            modCount++;
+        }
+    }
+
+    @Override
+    public String toString() {
+        checkOpen();
+        if (rear == 0) {
+            return "[ ]";
+        } else {
+            StringBuilder returnVal = new StringBuilder("[");
+            for (int i = 0; i < rear; i++) {
+                returnVal.append(codec.read(buffer, i * width));
+                returnVal.append((i == (rear - 1)) ? "]" : ", ");
+            }
+            return returnVal.toString();
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        checkOpen();
+        return new OffHeapIterator();
+    }
+
+    @Override
+    public ListIterator<T> listIterator() {
+        throw new UnsupportedOperationException("Unimplemented method 'listIterator'");
+    }
+
+    @Override
+    public ListIterator<T> listIterator(int startingIndex) {
+        throw new UnsupportedOperationException("Unimplemented method 'listIterator'");
+    }
+
+    /**
+     * Private inner class for iterators in the OffHeapIUList class.
+     * Each call to next() decodes one element straight from native memory.
+     *
+     * @author Morgan Zabriskie
+     */
+    private class OffHeapIterator implements Iterator<T> {
+
+        // instance variables
+        private boolean nextCalled = false;
+        private int index = 0;
+        private int iterModCount;
+
+        public OffHeapIterator() {
+            this.iterModCount = modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (modCount != iterModCount) {
+                throw new ConcurrentModificationException();
+            } else {
+                return index < rear;
+            }
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            } else {
+                T next = codec.read(buffer, index * width);
+                index++;
+                nextCalled = true;
+                return next;
+            }
+        }
+
+        @Override
+        public void remove() {
+            if (modCount != iterModCount) {
+                throw new ConcurrentModificationException();
+            } else if (!nextCalled) {
+                throw new IllegalStateException();
+            } else {
+                index--;
+                shift(index + 1, -1);
+                iterModCount = modCount;
+                nextCalled = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+import java.util.function.IntSupplier;
+
+/**
+ * Timing of the primitive lists' scan kernels against the loops they
+ * replace: a boxed IUArrayList<Integer> walked with get(), and for
+ * DoubleIUArrayList.indexOf() the bit-comparing loop it used before.
+ *
+ * Every measurement repeats its scan until at least 200 ms have passed,
+ * after an equal warm-up, and reports the mean time of one scan. The
+ * searches for a missing value read the whole list.
+ *
+ * Usage: java ScanBenchmark [size...]
+ *
+ * @author Morgan Zabriskie
+ */
+public final class ScanBenchmark {
+
+    private static final long WARMUP_NANOS = 200_000_000L;
+    private static final long MEASURE_NANOS = 200_000_000L;
+    // absent from every list, so searches scan to the end
+    private static final int MISSING = -1;
+
+    // results of the scans, so they cannot be optimized away
+    private static long sink;
+
+    private ScanBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark for each size given
+     *
+     * @param args list sizes (default: 1048576 and 32768)
+     */
+    public static void main(String[] args) {
+        int[] sizes = (args.length == 0) ? new int[] {1 << 20, 1 << 15} : new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i]);
+        }
+        for (int size : sizes) {
+            run(size);
+        }
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+
+    /**
+     * Time every pair of scans on lists of size elements
+     *
+     * @param size
+     */
+    private static void run(int size) {
+        IUArrayList<Integer> boxed = new IUArrayList<Integer>(size);
+        IUArrayList<Integer> boxedEquality = new IUArrayList<Integer>(size, GrowthPolicy.doubling(), EqualityStrategy.equality());
+        IntIUArrayList ints = new IntIUArrayList(size);
+        DoubleIUArrayList doubles = new DoubleIUArrayList(size);
+        double[] rawDoubles = new double[size];
+        for (int i = 0; i < size; i++) {
+            int value = (int) ((i * 2654435761L) & 0xffffff);
+            boxed.add(value);
+            boxedEquality.add(value);
+            ints.add(value);
+            doubles.add(value);
+            rawDoubles[i] = value;
+        }
+        Integer missing = Integer.valueOf(MISSING);
+        System.out.printf("%n%d elements, microseconds per scan%n", size);
+
+        report("sum, boxed loop", time(() -> {
+            long sum = 0;
+            for (int i = 0; i < boxed.size(); i++) {
+                sum += boxed.get(i);
+            }
+            return (int) sum;
+        }));
+        report("sum, kernel", time(() -> (int) ints.sum()));
+
+        report("min, boxed loop", time(() -> {
+            int min = Integer.MAX_VALUE;
+            for (int i = 0; i < boxed.size(); i++) {
+                min = Math.min(min, boxed.get(i));
+            }
+            return min;
+        }));
+        report("min, kernel", time(() -> ints.min()));
+
+        report("count(x), boxed loop", time(() -> {
+            int count = 0;
+            for (int i = 0; i < boxed.size(); i++) {
+                if (boxed.get(i).intValue() == MISSING) {
+                    count++;
+                }
+            }
+            return count;
+        }));
+        report("count(x), kernel", time(() -> ints.count(MISSING)));
+
+        report("indexOf miss, identity", time(() -> boxed.indexOf(missing)));
+        report("indexOf miss, equality", time(() -> boxedEquality.indexOf(missing)));
+        report("indexOf miss, kernel", time(() -> ints.indexOf(MISSING)));
+
+        long missingBits = Double.doubleToLongBits(MISSING);
+        report("double indexOf, old loop", time(() -> {
+            for (int i = 0; i < rawDoubles.length; i++) {
+                if (Double.doubleToLongBits(rawDoubles[i]) == missingBits) {
+                    return i;
+                }
+            }
+            return -1;
+        }));
+        report("double indexOf, kernel", time(() -> doubles.indexOf(MISSING)));
+    }
+
+    /**
+     * Mean nanoseconds per call of scan, after warming it up
+     *
+     * @param scan
+     * @return nanoseconds per call
+     */
+    private static double time(IntSupplier scan) {
+        long end = System.nanoTime() + WARMUP_NANOS;
+        while (System.nanoTime() < end) {
+            sink += scan.getAsInt();
+        }
+        long calls = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            sink += scan.getAsInt();
+            calls++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < MEASURE_NANOS);
+        return (double) elapsed / calls;
+    }
+
+    /**
+     * Print one result line
+     *
+     * @param name
+     * @param nanos
+     */
+    private static void report(String name, double nanos) {
+        System.out.printf("%-26s %10.1f us%n", name, nanos / 1e3);
+    }
+}
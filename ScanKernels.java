@@ -0,0 +1,346 @@
+/**
+ * Search and aggregate loops over the prefix [0, n) of primitive arrays,
+ * shared by IntIUArrayList, LongIUArrayList and DoubleIUArrayList.
+ *
+ * Every kernel is a plain counted loop over a primitive array with a
+ * branch-free or rarely-taken body, the shape the JIT unrolls and
+ * vectorizes best; hand-unrolled blocks and split accumulators measured
+ * slower. Double kernels compare raw bits, which the JIT handles like
+ * long compares, and take a separate path for NaN, so they match exactly
+ * like Double.equals(). Double sums are added strictly left to right so
+ * the result is exactly that of a simple loop.
+ *
+ * @author Morgan Zabriskie
+ */
+final class ScanKernels {
+
+    private ScanKernels() {
+    }
+
+    /**
+     * Index of the first value equal to x in a[0, n)
+     *
+     * @param a
+     * @param n
+     * @param x
+     * @return index, or -1
+     */
+    static int indexOf(int[] a, int n, int x) {
+        for (int i = 0; i < n; i++) {
+            if (a[i] == x) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Index of the first value equal to x in a[0, n)
+     *
+     * @param a
+     * @param n
+     * @param x
+     * @return index, or -1
+     */
+    static int indexOf(long[] a, int n, long x) {
+        for (int i = 0; i < n; i++) {
+            if (a[i] == x) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Index of the first value in a[0, n) matching x like Double.equals()
+     *
+     * @param a
+     * @param n
+     * @param x
+     * @return index, or -1
+     */
+    static int indexOf(double[] a, int n, double x) {
+        if (x != x) {
+            // every NaN matches every other NaN
+            for (int i = 0; i < n; i++) {
+                if (a[i] != a[i]) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        long bits = Double.doubleToRawLongBits(x);
+        for (int i = 0; i < n; i++) {
+            if (Double.doubleToRawLongBits(a[i]) == bits) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Sum of a[0, n), widened so it cannot overflow
+     *
+     * @param a
+     * @param n
+     * @return sum
+     */
+    static long sum(int[] a, int n) {
+        long s = 0;
+        for (int i = 0; i < n; i++) {
+            s += a[i];
+        }
+        return s;
+    }
+
+    /**
+     * Sum of a[0, n), wrapping on overflow
+     *
+     * @param a
+     * @param n
+     * @return sum
+     */
+    static long sum(long[] a, int n) {
+        long s = 0;
+        for (int i = 0; i < n; i++) {
+            s += a[i];
+        }
+        return s;
+    }
+
+    /**
+     * Sum of a[0, n) added strictly left to right
+     *
+     * @param a
+     * @param n
+     * @return sum
+     */
+    static double sum(double[] a, int n) {
+        double s = 0.0;
+        for (int i = 0; i < n; i++) {
+            s += a[i];
+        }
+        return s;
+    }
+
+    /**
+     * Smallest value in a[0, n), n greater than 0
+     *
+     * @param a
+     * @param n
+     * @return minimum
+     */
+    static int min(int[] a, int n) {
+        int m = a[0];
+        for (int i = 1; i < n; i++) {
+            int v = a[i];
+            if (v < m) {
+                m = v;
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Largest value in a[0, n), n greater than 0
+     *
+     * @param a
+     * @param n
+     * @return maximum
+     */
+    static int max(int[] a, int n) {
+        int m = a[0];
+        for (int i = 1; i < n; i++) {
+            int v = a[i];
+            if (v > m) {
+                m = v;
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Smallest value in a[0, n), n greater than 0
+     *
+     * @param a
+     * @param n
+     * @return minimum
+     */
+    static long min(long[] a, int n) {
+        long m = a[0];
+        for (int i = 1; i < n; i++) {
+            long v = a[i];
+            if (v < m) {
+                m = v;
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Largest value in a[0, n), n greater than 0
+     *
+     * @param a
+     * @param n
+     * @return maximum
+     */
+    static long max(long[] a, int n) {
+        long m = a[0];
+        for (int i = 1; i < n; i++) {
+            long v = a[i];
+            if (v > m) {
+                m = v;
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Smallest value in a[0, n) as Math.min() sees it: NaN if any value
+     * is NaN, and -0.0 below 0.0. n greater than 0
+     *
+     * @param a
+     * @param n
+     * @return minimum
+     */
+    static double min(double[] a, int n) {
+        double m = a[0];
+        for (int i = 1; i < n; i++) {
+            m = Math.min(m, a[i]);
+        }
+        return m;
+    }
+
+    /**
+     * Largest value in a[0, n) as Math.max() sees it: NaN if any value
+     * is NaN, and 0.0 above -0.0. n greater than 0
+     *
+     * @param a
+     * @param n
+     * @return maximum
+     */
+    static double max(double[] a, int n) {
+        double m = a[0];
+        for (int i = 1; i < n; i++) {
+            m = Math.max(m, a[i]);
+        }
+        return m;
+    }
+
+    /**
+     * Number of values in a[0, n) equal to x
+     *
+     * @param a
+     * @param n
+     * @param x
+     * @return count
+     */
+    static int count(int[] a, int n, int x) {
+        int c = 0;
+        for (int i = 0; i < n; i++) {
+            if (a[i] == x) {
+                c++;
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Number of values in a[0, n) equal to x
+     *
+     * @param a
+     * @param n
+     * @param x
+     * @return count
+     */
+    static int count(long[] a, int n, long x) {
+        int c = 0;
+        for (int i = 0; i < n; i++) {
+            if (a[i] == x) {
+                c++;
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Number of values in a[0, n) matching x like Double.equals()
+     *
+     * @param a
+     * @param n
+     * @param x
+     * @return count
+     */
+    static int count(double[] a, int n, double x) {
+        int c = 0;
+        if (x != x) {
+            for (int i = 0; i < n; i++) {
+                if (a[i] != a[i]) {
+                    c++;
+                }
+            }
+        } else {
+            long bits = Double.doubleToRawLongBits(x);
+            for (int i = 0; i < n; i++) {
+                if (Double.doubleToRawLongBits(a[i]) == bits) {
+                    c++;
+                }
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Number of values in a[0, n) within [low, high]
+     *
+     * @param a
+     * @param n
+     * @param low
+     * @param high
+     * @return count
+     */
+    static int countBetween(int[] a, int n, int low, int high) {
+        int c = 0;
+        for (int i = 0; i < n; i++) {
+            int v = a[i];
+            c += (v >= low & v <= high) ? 1 : 0;
+        }
+        return c;
+    }
+
+    /**
+     * Number of values in a[0, n) within [low, high]
+     *
+     * @param a
+     * @param n
+     * @param low
+     * @param high
+     * @return count
+     */
+    static int countBetween(long[] a, int n, long low, long high) {
+        int c = 0;
+        for (int i = 0; i < n; i++) {
+            long v = a[i];
+            c += (v >= low & v <= high) ? 1 : 0;
+        }
+        return c;
+    }
+
+    /**
+     * Number of values in a[0, n) within [low, high]; NaN is never counted
+     *
+     * @param a
+     * @param n
+     * @param low
+     * @param high
+     * @return count
+     */
+    static int countBetween(double[] a, int n, double low, double high) {
+        int c = 0;
+        for (int i = 0; i < n; i++) {
+            double v = a[i];
+            c += (v >= low & v <= high) ? 1 : 0;
+        }
+        return c;
+    }
+}
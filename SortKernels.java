@@ -0,0 +1,249 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+
+/**
+ * Parallel LSD radix sorts over the prefix [0, n) of primitive arrays,
+ * shared by IntIUArrayList, LongIUArrayList and DoubleIUArrayList.
+ *
+ * Each pass sorts on one byte of the key. The range is cut into one
+ * chunk per worker of the common ForkJoinPool; every chunk counts its
+ * own byte histogram in parallel, a sequential prefix sum over the
+ * (byte, chunk) counts gives every chunk its own output offsets, and the
+ * chunks scatter into a scratch array in parallel without contention.
+ * A pass is skipped when every key has the same byte. Ranges shorter
+ * than RADIX_THRESHOLD go to Arrays.sort(), the dual-pivot quicksort.
+ *
+ * Signed keys are ordered by flipping the sign bit. Doubles are ordered
+ * like Arrays.sort(double[]): -0.0 before 0.0, and NaNs last.
+ *
+ * @author Morgan Zabriskie
+ */
+final class SortKernels {
+
+    private static final int RADIX_THRESHOLD = 1 << 13;
+    private static final int MIN_CHUNK = 1 << 14;
+    private static final int RADIX = 256;
+
+    private SortKernels() {
+    }
+
+    /**
+     * Sort a[0, n) into ascending order
+     *
+     * @param a
+     * @param n
+     */
+    static void radixSort(int[] a, int n) {
+        if (n < RADIX_THRESHOLD) {
+            Arrays.sort(a, 0, n);
+            return;
+        }
+        int chunks = chunks(n);
+        int[][] counts = new int[chunks][RADIX];
+        int[] src = a;
+        int[] dst = new int[n];
+        for (int shift = 0; shift < 32; shift += 8) {
+            // the top byte is compared with its sign bit flipped
+            int flip = (shift == 24) ? 0x80 : 0;
+            int s = shift;
+            int[] from = src;
+            int[] to = dst;
+            forEachChunk(chunks, c -> {
+                int[] count = counts[c];
+                Arrays.fill(count, 0);
+                for (int i = lo(n, chunks, c), hi = lo(n, chunks, c + 1); i < hi; i++) {
+                    count[((from[i] >>> s) & 0xFF) ^ flip]++;
+                }
+            });
+            if (toOffsets(counts, n)) {
+                continue;
+            }
+            forEachChunk(chunks, c -> {
+                int[] offset = counts[c];
+                for (int i = lo(n, chunks, c), hi = lo(n, chunks, c + 1); i < hi; i++) {
+                    int v = from[i];
+                    to[offset[((v >>> s) & 0xFF) ^ flip]++] = v;
+                }
+            });
+            src = to;
+            dst = from;
+        }
+        if (src != a) {
+            System.arraycopy(src, 0, a, 0, n);
+        }
+    }
+
+    /**
+     * Sort a[0, n) into ascending order
+     *
+     * @param a
+     * @param n
+     */
+    static void radixSort(long[] a, int n) {
+        if (n < RADIX_THRESHOLD) {
+            Arrays.sort(a, 0, n);
+            return;
+        }
+        radixSortKeys(a, n);
+    }
+
+    /**
+     * Sort a[0, n) into the order of Arrays.sort(double[]). NaNs are
+     * moved to the end first; the rest are sorted as longs whose order
+     * matches the doubles' and then converted back, so bit patterns are
+     * kept exactly.
+     *
+     * @param a
+     * @param n
+     */
+    static void radixSort(double[] a, int n) {
+        if (n < RADIX_THRESHOLD) {
+            Arrays.sort(a, 0, n);
+            return;
+        }
+        int numbers = 0;
+        int nans = 0;
+        double[] nan = null;
+        for (int i = 0; i < n; i++) {
+            double v = a[i];
+            if (v != v) {
+                if (nan == null) {
+                    nan = new double[n - i];
+                }
+                nan[nans++] = v;
+            } else {
+                a[numbers++] = v;
+            }
+        }
+        if (nans > 0) {
+            System.arraycopy(nan, 0, a, numbers, nans);
+        }
+        long[] keys = new long[numbers];
+        int m = numbers;
+        int chunks = chunks(m);
+        // for negatives flip all bits but the sign, so signed long order is double order
+        forEachChunk(chunks, c -> {
+            for (int i = lo(m, chunks, c), hi = lo(m, chunks, c + 1); i < hi; i++) {
+                long bits = Double.doubleToRawLongBits(a[i]);
+                keys[i] = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+            }
+        });
+        radixSortKeys(keys, m);
+        forEachChunk(chunks, c -> {
+            for (int i = lo(m, chunks, c), hi = lo(m, chunks, c + 1); i < hi; i++) {
+                long key = keys[i];
+                a[i] = Double.longBitsToDouble(key ^ ((key >> 63) & Long.MAX_VALUE));
+            }
+        });
+    }
+
+    /**
+     * Radix sort a[0, n) as signed longs, with no small-range cutoff
+     *
+     * @param a
+     * @param n
+     */
+    private static void radixSortKeys(long[] a, int n) {
+        int chunks = chunks(n);
+        int[][] counts = new int[chunks][RADIX];
+        long[] src = a;
+        long[] dst = new long[n];
+        for (int shift = 0; shift < 64; shift += 8) {
+            int flip = (shift == 56) ? 0x80 : 0;
+            int s = shift;
+            long[] from = src;
+            long[] to = dst;
+            forEachChunk(chunks, c -> {
+                int[] count = counts[c];
+                Arrays.fill(count, 0);
+                for (int i = lo(n, chunks, c), hi = lo(n, chunks, c + 1); i < hi; i++) {
+                    count[((int) (from[i] >>> s) & 0xFF) ^ flip]++;
+                }
+            });
+            if (toOffsets(counts, n)) {
+                continue;
+            }
+            forEachChunk(chunks, c -> {
+                int[] offset = counts[c];
+                for (int i = lo(n, chunks, c), hi = lo(n, chunks, c + 1); i < hi; i++) {
+                    long v = from[i];
+                    to[offset[((int) (v >>> s) & 0xFF) ^ flip]++] = v;
+                }
+            });
+            src = to;
+            dst = from;
+        }
+        if (src != a) {
+            System.arraycopy(src, 0, a, 0, n);
+        }
+    }
+
+    /**
+     * Turn per-chunk byte counts into per-chunk output offsets in place:
+     * all of byte b's keys from chunk c go after byte b's keys from the
+     * chunks before c and after every key with a smaller byte
+     *
+     * @param counts counts[chunk][byte]
+     * @param n      total number of keys
+     * @return true if every key has the same byte, so the pass can be skipped
+     */
+    private static boolean toOffsets(int[][] counts, int n) {
+        int offset = 0;
+        for (int b = 0; b < RADIX; b++) {
+            int start = offset;
+            for (int[] count : counts) {
+                int k = count[b];
+                count[b] = offset;
+                offset += k;
+            }
+            if (offset - start == n) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Number of chunks to cut n keys into: one per worker, but none
+     * shorter than MIN_CHUNK
+     *
+     * @param n
+     * @return chunk count, at least 1
+     */
+    private static int chunks(int n) {
+        return Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism(), n / MIN_CHUNK));
+    }
+
+    /**
+     * First index of chunk c when n keys are cut into chunks pieces
+     *
+     * @param n
+     * @param chunks
+     * @param c
+     * @return first index of the chunk, or n for c == chunks
+     */
+    private static int lo(int n, int chunks, int c) {
+        return (int) ((long) n * c / chunks);
+    }
+
+    /**
+     * Run body for every chunk index, in parallel on the common pool
+     *
+     * @param chunks
+     * @param body
+     */
+    private static void forEachChunk(int chunks, IntConsumer body) {
+        if (chunks == 1) {
+            body.accept(0);
+            return;
+        }
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[chunks];
+        for (int c = 0; c < chunks; c++) {
+            int chunk = c;
+            tasks[c] = ForkJoinTask.adapt(() -> body.accept(chunk));
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+}
@@ -0,0 +1,204 @@
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects elements added by many threads into a shared IUAppendOnlyList
+ * without the threads contending on its tail. Each thread appends into
+ * its own chunk, an array like IUArrayList's; a full chunk is merged
+ * into the shared list as one contiguous run, so the shared tail is
+ * touched once per chunk instead of once per element. Partly filled
+ * chunks are merged by flush(), by close(), and, if an interval is
+ * given, by a background timer.
+ *
+ * Ordering contract: the elements one thread adds appear in the shared
+ * list in the order that thread added them. Elements from different
+ * threads are interleaved a chunk at a time, in no defined order. An
+ * element is visible in the shared list once its chunk is merged; every
+ * add() that happens-before a call to flush() is visible when flush()
+ * returns.
+ *
+ * Each chunk has its own lock, taken by its thread on every add() and
+ * by a flushing thread only while it merges that chunk, so threads only
+ * wait for each other during a flush. A chunk refers to its thread only
+ * weakly; once the thread has exited, the next flush merges whatever it
+ * left and drops the chunk, so short-lived threads and pools that
+ * replace their workers do not leave chunks behind.
+ *
+ * @author Morgan Zabriskie
+ *
+ * @param <T> type to store
+ */
+public class StripedAppendCollector<T> implements AutoCloseable {
+
+    private static final int DEFAULT_CHUNK_SIZE = 256;
+
+    private final IUAppendOnlyList<T> target;
+    private final int chunkSize;
+    // every thread's chunk, so flush() can reach them
+    private final ConcurrentLinkedQueue<Chunk> chunks;
+    private final ThreadLocal<Chunk> localChunk;
+    private final ScheduledExecutorService timer;
+    private volatile boolean closed;
+
+    /**
+     * Creates a collector that merges into target in chunks of the default
+     * size, only on flush() and close()
+     *
+     * @param target
+     */
+    public StripedAppendCollector(IUAppendOnlyList<T> target) {
+        this(target, DEFAULT_CHUNK_SIZE, 0);
+    }
+
+    /**
+     * Creates a collector that merges into target in chunks of chunkSize,
+     * and also every flushIntervalMillis milliseconds if that is positive
+     *
+     * @param target
+     * @param chunkSize           elements buffered per thread before a merge
+     * @param flushIntervalMillis period of timed flushes, or 0 for none
+     */
+    public StripedAppendCollector(IUAppendOnlyList<T> target, int chunkSize, long flushIntervalMillis) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        if (flushIntervalMillis < 0) {
+            throw new IllegalArgumentException("flushIntervalMillis must not be negative: " + flushIntervalMillis);
+        }
+        this.target = target;
+        this.chunkSize = chunkSize;
+        this.chunks = new ConcurrentLinkedQueue<Chunk>();
+        this.localChunk = ThreadLocal.withInitial(this::register);
+        this.closed = false;
+        if (flushIntervalMillis > 0) {
+            timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "StripedAppendCollector-flush");
+                thread.setDaemon(true);
+                return thread;
+            });
+            timer.scheduleAtFixedRate(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            timer = null;
+        }
+    }
+
+    /**
+     * Create and register the calling thread's chunk
+     *
+     * @return new chunk
+     */
+    private Chunk register() {
+        Chunk chunk = new Chunk(Thread.currentThread());
+        chunks.add(chunk);
+        return chunk;
+    }
+
+    /** One thread's buffer of elements not yet merged */
+    private final class Chunk {
+        private final Object[] elements = new Object[chunkSize];
+        private final WeakReference<Thread> owner;
+        private int count;
+
+        Chunk(Thread owner) {
+            this.owner = new WeakReference<Thread>(owner);
+        }
+
+        /**
+         * True once the owning thread has exited, so it can add no more
+         *
+         * @return true if the owner is gone
+         */
+        private boolean orphaned() {
+            Thread thread = owner.get();
+            return (thread == null) || !thread.isAlive();
+        }
+
+        /** Merge the buffered elements into the shared list. Lock held. */
+        @SuppressWarnings("unchecked")
+        private void merge() {
+            if (count == 0) {
+                return;
+            }
+            target.addAll((T[]) ((count == elements.length) ? elements : Arrays.copyOf(elements, count)));
+            Arrays.fill(elements, 0, count, null);
+            count = 0;
+        }
+    }
+
+    /**
+     * Adds element to the calling thread's chunk, merging the chunk into
+     * the shared list if that fills it.
+     *
+     * @param element
+     * @throws IllegalStateException if the collector is closed
+     */
+    public void add(T element) {
+        Chunk chunk = localChunk.get();
+        synchronized (chunk) {
+            // checked under the chunk's lock, so close() either merges this element or it is refused
+            if (closed) {
+                throw new IllegalStateException("collector is closed");
+            }
+            chunk.elements[chunk.count++] = element;
+            if (chunk.count == chunkSize) {
+                chunk.merge();
+            }
+        }
+    }
+
+    /**
+     * Merges every thread's buffered elements into the shared list, and
+     * drops the chunks of threads that have exited.
+     */
+    public void flush() {
+        Iterator<Chunk> it = chunks.iterator();
+        while (it.hasNext()) {
+            Chunk chunk = it.next();
+            // checked before merging: a thread that had exited by then cannot add to its chunk again
+            boolean orphaned = chunk.orphaned();
+            synchronized (chunk) {
+                chunk.merge();
+            }
+            if (orphaned) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of per-thread chunks currently registered: one
+     * for each thread that has added, less those dropped by flush().
+     *
+     * @return registered chunks
+     */
+    public int chunkCount() {
+        return chunks.size();
+    }
+
+    /**
+     * Returns the shared list elements are merged into.
+     *
+     * @return shared list
+     */
+    public IUAppendOnlyList<T> target() {
+        return target;
+    }
+
+    /**
+     * Stops the flush timer, if any, and merges every buffered element.
+     * Later calls to add() throw IllegalStateException.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (timer != null) {
+            timer.shutdown();
+        }
+        flush();
+    }
+}